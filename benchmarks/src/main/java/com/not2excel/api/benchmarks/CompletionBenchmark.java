@@ -0,0 +1,57 @@
+package com.not2excel.api.benchmarks;
+
+import com.not2excel.api.command.objects.AbstractCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tab completing the first sub command and a sub command six levels deep, with and without the completion cache. The
+ * governor is turned off, it would answer the repeated request without completing it.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompletionBenchmark {
+
+    @Param({"first", "deep"})
+    public String level;
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private AbstractCommand command;
+    private StubSender sender;
+    private String[] args;
+
+    @Setup
+    public void setUp() {
+        this.command = SyntheticTree.register(SyntheticTree.build(4, 6));
+        StubServer.MANAGER.getCompletionGovernor().setEnabled(false);
+        StubServer.MANAGER.getCompletionCache().setEnabled(this.cached);
+        this.sender = new StubSender("completer");
+        this.args = "first".equals(this.level) ? new String[] {"c"} : new String[] {"c1", "c2", "c3", "c0", "c1", "c"};
+    }
+
+    @Benchmark
+    public List<String> complete() {
+        return this.command.tabComplete(this.sender, SyntheticTree.ROOT, this.args);
+    }
+}
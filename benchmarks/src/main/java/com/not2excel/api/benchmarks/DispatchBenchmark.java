@@ -0,0 +1,76 @@
+package com.not2excel.api.benchmarks;
+
+import com.not2excel.api.command.objects.AbstractCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatching a command from the command map to the handler of a sub command {@code depth} levels deep, with plain
+ * arguments, with flags or with a quoted argument
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DispatchBenchmark {
+
+    @Param({"1", "2", "3", "4", "5", "6"})
+    public int depth;
+
+    @Param({"plain", "flags", "quoted"})
+    public String arguments;
+
+    private AbstractCommand command;
+    private StubSender sender;
+    private String[] args;
+
+    @Setup
+    public void setUp() {
+        this.command = SyntheticTree.register(SyntheticTree.build(4, 6));
+        this.sender = new StubSender("dispatcher");
+        final List<String> args = new ArrayList<>();
+        for (int i = 0; i < this.depth; i++) {
+            args.add("c" + (i + 1) % 4);
+        }
+        args.add("value");
+        switch (this.arguments) {
+            case "flags":
+                args.add("-f");
+                args.add("more");
+                args.add("-v");
+                break;
+            case "quoted":
+                args.add("\"a");
+                args.add("quoted");
+                args.add("value\"");
+                break;
+            default:
+                args.add("more");
+        }
+        this.args = args.toArray(new String[args.size()]);
+    }
+
+    @Benchmark
+    public int dispatch() {
+        this.command.execute(this.sender, SyntheticTree.ROOT, this.args);
+        return SyntheticTree.getHandled() + this.sender.getMessages();
+    }
+}
@@ -0,0 +1,70 @@
+package com.not2excel.api.benchmarks;
+
+import com.not2excel.api.command.objects.RegisteredCommand;
+import com.not2excel.api.command.parser.CommandGrammar;
+import com.not2excel.api.command.parser.ParseResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing the arguments of a sub command with no flags, a few flags, many flags and an unknown flag, without handling
+ * the command
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlagParsingBenchmark {
+
+    @Param({"0", "2", "8"})
+    public int flags;
+
+    @Param({"false", "true"})
+    public boolean unknown;
+
+    private CommandGrammar grammar;
+    private StubSender sender;
+    private String[] args;
+
+    @Setup
+    public void setUp() {
+        StubServer.init();
+        final RegisteredCommand registered = SyntheticTree.build(4, 2);
+        this.grammar = registered.getGrammar();
+        this.sender = new StubSender("parser");
+        final List<String> args = new ArrayList<>();
+        args.add("c1");
+        args.add("c2");
+        for (int i = 0; i < this.flags; i++) {
+            args.add(i % 2 == 0 ? "-f" : "-v");
+            args.add("value" + i);
+        }
+        if (this.unknown) {
+            args.add("-x");
+        }
+        this.args = args.toArray(new String[args.size()]);
+    }
+
+    @Benchmark
+    public ParseResult match() {
+        return this.grammar.match(this.sender, this.args);
+    }
+}
@@ -0,0 +1,55 @@
+package com.not2excel.api.benchmarks;
+
+import com.not2excel.api.command.objects.HelpScreen;
+import com.not2excel.api.command.objects.RegisteredCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering the help of a command with 8, 64 and 512 sub commands, and showing a rendered page
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HelpBenchmark {
+
+    @Param({"8", "64", "512"})
+    public int children;
+
+    private RegisteredCommand registered;
+    private HelpScreen help;
+
+    @Setup
+    public void setUp() {
+        StubServer.init();
+        this.registered = SyntheticTree.build(this.children, 1);
+        this.help = render();
+    }
+
+    @Benchmark
+    public HelpScreen render() {
+        return HelpScreen.render(this.registered, this.registered.getCommandHandler(), null);
+    }
+
+    @Benchmark
+    public String[] showPage() {
+        return this.help.getPage(this.help.getPageCount() / 2 + 1);
+    }
+}
@@ -0,0 +1,48 @@
+package com.not2excel.api.benchmarks;
+
+import com.not2excel.api.command.objects.RegisteredCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registering a command tree with 110, 1 110 and 11 110 sub commands through the {@link
+ * com.not2excel.api.command.CommandManager} and compiling its grammar, what registering the commands of a plugin costs
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegistrationBenchmark {
+
+    private static final int FANOUT = 10;
+
+    @Param({"2", "3", "4"})
+    public int depth;
+
+    @Setup
+    public void setUp() {
+        StubServer.init();
+    }
+
+    @Benchmark
+    public Object registerTree() {
+        final RegisteredCommand registered = SyntheticTree.registerTree(FANOUT, this.depth);
+        return registered.getGrammar();
+    }
+}
@@ -0,0 +1,126 @@
+package com.not2excel.api.benchmarks;
+
+import org.bukkit.Server;
+import org.bukkit.command.CommandSender;
+import org.bukkit.permissions.Permission;
+import org.bukkit.permissions.PermissionAttachment;
+import org.bukkit.permissions.PermissionAttachmentInfo;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * A sender with every permission that only counts what it is sent, a class instead of a proxy so dispatching to it
+ * costs what it costs on a server
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+final class StubSender implements CommandSender {
+
+    private final String name;
+    private int messages;
+    private String lastMessage;
+
+    StubSender(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return How many messages were sent, consumed by the benchmarks so sending cannot be optimized away
+     */
+    int getMessages() {
+        return this.messages;
+    }
+
+    String getLastMessage() {
+        return this.lastMessage;
+    }
+
+    @Override
+    public void sendMessage(final String message) {
+        this.messages++;
+        this.lastMessage = message;
+    }
+
+    @Override
+    public void sendMessage(final String[] messages) {
+        this.messages += messages.length;
+        this.lastMessage = messages.length == 0 ? null : messages[messages.length - 1];
+    }
+
+    @Override
+    public Server getServer() {
+        return StubServer.SERVER;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public boolean isPermissionSet(final String name) {
+        return true;
+    }
+
+    @Override
+    public boolean isPermissionSet(final Permission perm) {
+        return true;
+    }
+
+    @Override
+    public boolean hasPermission(final String name) {
+        return true;
+    }
+
+    @Override
+    public boolean hasPermission(final Permission perm) {
+        return true;
+    }
+
+    @Override
+    public PermissionAttachment addAttachment(final Plugin plugin, final String name, final boolean value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PermissionAttachment addAttachment(final Plugin plugin) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PermissionAttachment addAttachment(final Plugin plugin, final String name, final boolean value,
+                                              final int ticks) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PermissionAttachment addAttachment(final Plugin plugin, final int ticks) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeAttachment(final PermissionAttachment attachment) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void recalculatePermissions() {
+    }
+
+    @Override
+    public Set<PermissionAttachmentInfo> getEffectivePermissions() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public boolean isOp() {
+        return true;
+    }
+
+    @Override
+    public void setOp(final boolean value) {
+    }
+}
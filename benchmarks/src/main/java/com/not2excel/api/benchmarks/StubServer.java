@@ -0,0 +1,121 @@
+package com.not2excel.api.benchmarks;
+
+import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.SimplePluginManager;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A stand-in for the server and the plugin, only what the API uses while registering, dispatching and completing
+ * commands is answered, everything else returns {@code null}, {@code false} or {@code 0}. One {@link CommandManager}
+ * is created per JVM, each benchmark runs in its own fork.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+final class StubServer {
+
+    static final Server SERVER;
+    static final SimpleCommandMap COMMAND_MAP;
+    static final Plugin PLUGIN;
+    static final CommandManager MANAGER;
+
+    static {
+        final Logger logger = Logger.getLogger("Benchmarks");
+        logger.setLevel(Level.WARNING);
+        final SimplePluginManager[] pluginManager = new SimplePluginManager[1];
+        SERVER = proxy(Server.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getLogger":
+                    return logger;
+                case "getName":
+                    return "Benchmarks";
+                case "getVersion":
+                case "getBukkitVersion":
+                    return "1.8.8-R0.1-SNAPSHOT";
+                case "getPluginManager":
+                    return pluginManager[0];
+                case "isPrimaryThread":
+                    return true;
+                case "getOnlinePlayers":
+                case "getWorlds":
+                    return Collections.emptyList();
+                default:
+                    return null;
+            }
+        });
+        COMMAND_MAP = new SimpleCommandMap(SERVER);
+        pluginManager[0] = new SimplePluginManager(SERVER, COMMAND_MAP);
+        if (Bukkit.getServer() == null) {
+            Bukkit.setServer(SERVER);
+        }
+        final File dataFolder = new File(System.getProperty("java.io.tmpdir"), "cmdapi-benchmarks");
+        PLUGIN = proxy(Plugin.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return "Benchmarks";
+                case "getServer":
+                    return SERVER;
+                case "getLogger":
+                    return logger;
+                case "getDataFolder":
+                    return dataFolder;
+                case "isEnabled":
+                    return true;
+                default:
+                    return null;
+            }
+        });
+        //registering commands logs at Info, that would be measured as well
+        LevelLogger.getInstance().setLevel(LogType.WARNING);
+        MANAGER = new CommandManager(PLUGIN);
+    }
+
+    private StubServer() {
+    }
+
+    /**
+     * Make sure the server and the manager exist
+     */
+    static void init() {
+    }
+
+    private static <T> T proxy(final Class<T> type, final Answer answer) {
+        return type.cast(Proxy.newProxyInstance(StubServer.class.getClassLoader(), new Class<?>[] {type},
+                                                (proxy, method, args) -> {
+                                                    final Object value = answer.answer(method, args);
+                                                    return value == null ? defaultValue(method) : value;
+                                                }));
+    }
+
+    private static Object defaultValue(final Method method) {
+        final Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type.isPrimitive() && type != void.class) {
+            //converted to the primitive type by the proxy
+            return type == long.class ? 0L : type == double.class ? 0D : type == float.class ? 0F : 0;
+        }
+        return null;
+    }
+
+    private interface Answer {
+
+        Object answer(Method method, Object[] args);
+    }
+}
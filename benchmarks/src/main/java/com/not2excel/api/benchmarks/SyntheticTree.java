@@ -0,0 +1,249 @@
+package com.not2excel.api.benchmarks;
+
+import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.CommandListener;
+import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.command.Flag;
+import com.not2excel.api.command.arguments.ArgumentTypes;
+import com.not2excel.api.command.handler.DefaultHandler;
+import com.not2excel.api.command.objects.AbstractCommand;
+import com.not2excel.api.command.objects.ChildCommand;
+import com.not2excel.api.command.objects.CommandInfo;
+import com.not2excel.api.command.objects.ParentCommand;
+import com.not2excel.api.command.objects.QueuedCommand;
+import com.not2excel.api.command.objects.RegisteredCommand;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Builds command trees of any size. Annotated classes are only found by scanning the jar of a plugin, so the tree is
+ * built from the same nodes {@link com.not2excel.api.command.CommandManager} creates for them: every node below the
+ * root has {@code fanout} sub commands named {@code c0}, {@code c1}, ... down to {@code depth}, all handled by {@link
+ * #handle(CommandInfo)}. The command of a node is e.g. {@code bench.c1.c0}.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public final class SyntheticTree implements CommandListener {
+
+    static final String ROOT = "bench";
+
+    private static final Method HANDLER;
+    private static final Flag[] FLAGS;
+    private static final Method REGISTER_BASE_COMMAND;
+    private static final Method REGISTER_CHILD;
+    private static final Method TREE_CHANGED;
+    private static int handled;
+
+    static {
+        try {
+            HANDLER = SyntheticTree.class.getMethod("handle", CommandInfo.class);
+            //what CommandManager#registerCommands(Class) calls for each annotated method
+            REGISTER_BASE_COMMAND = CommandManager.class.getDeclaredMethod("registerBaseCommand", QueuedCommand.class,
+                                                                           CommandHandler.class);
+            REGISTER_CHILD = CommandManager.class.getDeclaredMethod("registerChild", QueuedCommand.class,
+                                                                    CommandHandler.class, RegisteredCommand.class,
+                                                                    String.class, boolean.class);
+            TREE_CHANGED = CommandManager.class.getDeclaredMethod("treeChanged");
+        } catch (final NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        REGISTER_BASE_COMMAND.setAccessible(true);
+        REGISTER_CHILD.setAccessible(true);
+        TREE_CHANGED.setAccessible(true);
+        FLAGS = HANDLER.getAnnotation(CommandHandler.class).flags();
+    }
+
+    private SyntheticTree() {
+    }
+
+    @CommandHandler(command = ROOT,
+                    usage = "<value> [more...]",
+                    description = "A synthetic command",
+                    flags = {@Flag(flag = 'f', usage = "Force it"), @Flag(flag = 'v', usage = "Be verbose")})
+    public static void handle(final CommandInfo info) {
+        handled += info.getArgsLength();
+    }
+
+    /**
+     * @return How often the arguments of handled commands were counted, so handling cannot be optimized away
+     */
+    static int getHandled() {
+        return handled;
+    }
+
+    /**
+     * @param fanout
+     *     How many sub commands each node has
+     * @param depth
+     *     How many levels of sub commands there are below the root
+     *
+     * @return The root of a tree with {@code fanout + fanout^2 + ... + fanout^depth} sub commands, its grammar is not
+     * compiled yet
+     */
+    static RegisteredCommand build(final int fanout, final int depth) {
+        return build(fanout, depth, StubServer.MANAGER.getArgumentTypes());
+    }
+
+    static RegisteredCommand build(final int fanout, final int depth, final ArgumentTypes argumentTypes) {
+        final QueuedCommand queue = new QueuedCommand(null, HANDLER, argumentTypes);
+        final RegisteredCommand registered = new RegisteredCommand(queue);
+        registered.setCommand(ROOT);
+        addChildren(registered, ROOT, fanout, depth, new DefaultHandler(queue));
+        registered.invalidateGrammar();
+        return registered;
+    }
+
+    /**
+     * Register the tree the way {@link CommandManager} registers the annotated methods of a plugin: the root replaces
+     * the {@code bench} command of the manager, then each level of sub commands is registered in order, as the queued
+     * commands are processed, and everything derived from the tree is invalidated.
+     *
+     * @param fanout
+     *     How many sub commands each node has
+     * @param depth
+     *     How many levels of sub commands there are below the root
+     *
+     * @return The root of a tree with {@code fanout + fanout^2 + ... + fanout^depth} sub commands, its grammar is not
+     * compiled yet
+     */
+    static RegisteredCommand registerTree(final int fanout, final int depth) {
+        final CommandManager manager = StubServer.MANAGER;
+        final ArgumentTypes argumentTypes = manager.getArgumentTypes();
+        invoke(REGISTER_BASE_COMMAND, manager, new QueuedCommand(null, HANDLER, argumentTypes),
+               HANDLER.getAnnotation(CommandHandler.class));
+        final RegisteredCommand registered = manager.getRegisteredCommands().get(ROOT);
+        String[] paths = {ROOT};
+        for (int level = 1; level <= depth; level++) {
+            final String[] children = new String[paths.length * fanout];
+            for (int i = 0; i < children.length; i++) {
+                final String name = "c" + i % fanout;
+                children[i] = paths[i / fanout] + '.' + name;
+                invoke(REGISTER_CHILD, manager, new QueuedCommand(null, HANDLER, argumentTypes),
+                       new Handler(children[i]), registered, name, false);
+            }
+            paths = children;
+        }
+        invoke(TREE_CHANGED, manager);
+        return registered;
+    }
+
+    private static void invoke(final Method method, final CommandManager manager, final Object... args) {
+        try {
+            method.invoke(manager, args);
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException("Cannot call " + method.getName(), e);
+        } catch (final InvocationTargetException e) {
+            throw new IllegalStateException(method.getName() + " failed", e.getCause());
+        }
+    }
+
+    private static void addChildren(final ParentCommand parent, final String path, final int fanout, final int depth,
+                                    final DefaultHandler handler) {
+        if (depth == 0) {
+            return;
+        }
+        for (int i = 0; i < fanout; i++) {
+            final String name = "c" + i;
+            final String childPath = path + '.' + name;
+            final ChildCommand child = new ChildCommand(new Handler(childPath), false);
+            parent.addChild(name, child);
+            child.setHandler(handler);
+            addChildren(child, childPath, fanout, depth - 1, handler);
+        }
+    }
+
+    /**
+     * Register {@code registered} with the manager and the command map so it is dispatched and completed like a
+     * registered command
+     *
+     * @return The command of the command map
+     */
+    static AbstractCommand register(final RegisteredCommand registered) {
+        StubServer.MANAGER.getRegisteredCommands().put(ROOT, registered);
+        final AbstractCommand command = new AbstractCommand(ROOT);
+        command.executor = registered;
+        StubServer.COMMAND_MAP.register("benchmarks", command);
+        return command;
+    }
+
+    /**
+     * The annotation of a generated node, as if it was written on a method
+     */
+    @SuppressWarnings("ClassExplicitlyAnnotation")
+    private static final class Handler implements CommandHandler {
+
+        private final String command;
+
+        private Handler(final String command) {
+            this.command = command;
+        }
+
+        @Override
+        public String command() {
+            return this.command;
+        }
+
+        @Override
+        public String[] aliases() {
+            return new String[0];
+        }
+
+        @Override
+        public String permission() {
+            return "";
+        }
+
+        @Override
+        public String noPermission() {
+            return "You don't have permission to do that.";
+        }
+
+        @Override
+        public String usage() {
+            return "<value> [more...]";
+        }
+
+        @Override
+        public String description() {
+            return "A synthetic sub command";
+        }
+
+        @Override
+        public int min() {
+            return 0;
+        }
+
+        @Override
+        public int max() {
+            return -1;
+        }
+
+        @Override
+        public boolean playerOnly() {
+            return false;
+        }
+
+        @Override
+        public Flag[] flags() {
+            return FLAGS.clone();
+        }
+
+        @Override
+        public boolean asteriskFlag() {
+            return true;
+        }
+
+        @Override
+        public boolean strictArgs() {
+            return false;
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return CommandHandler.class;
+        }
+    }
+}
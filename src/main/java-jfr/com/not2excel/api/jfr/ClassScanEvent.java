@@ -0,0 +1,23 @@
+package com.not2excel.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@Name("com.not2excel.api.ClassScan")
+@Label("Command Class Scan")
+@Category({"Bukkit", "Commands"})
+@Description("Loading the classes of a plugin to find its commands")
+final class ClassScanEvent extends jdk.jfr.Event {
+
+    @Label("Location")
+    String location;
+
+    @Label("Classes")
+    int classes;
+}
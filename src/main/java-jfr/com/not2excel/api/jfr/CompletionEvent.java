@@ -0,0 +1,29 @@
+package com.not2excel.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@Name("com.not2excel.api.Completion")
+@Label("Command Completion")
+@Category({"Bukkit", "Commands"})
+@Description("Tab completing an argument of a command")
+@StackTrace(false)
+final class CompletionEvent extends jdk.jfr.Event {
+
+    @Label("Command")
+    String command;
+
+    @Label("Argument")
+    @Description("The index of the completed argument, not counting flags")
+    int argument;
+
+    @Label("Results")
+    int results;
+}
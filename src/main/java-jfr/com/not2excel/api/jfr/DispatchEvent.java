@@ -0,0 +1,29 @@
+package com.not2excel.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@Name("com.not2excel.api.Dispatch")
+@Label("Command Dispatch")
+@Category({"Bukkit", "Commands"})
+@Description("A command from parsing the arguments until its handler returned")
+@StackTrace(false)
+final class DispatchEvent extends jdk.jfr.Event {
+
+    @Label("Command")
+    @Description("The command that was resolved, e.g. home.set")
+    String command;
+
+    @Label("Sender Type")
+    String senderType;
+
+    @Label("Outcome")
+    String outcome;
+}
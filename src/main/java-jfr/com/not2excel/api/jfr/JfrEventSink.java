@@ -0,0 +1,105 @@
+package com.not2excel.api.jfr;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Emits the events as Flight Recorder events. Loaded by {@link FlightEvents} when Flight Recorder is available.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+final class JfrEventSink implements EventSink {
+
+    private final EventType scan;
+    private final EventType treeBuild;
+    private final EventType dispatch;
+    private final EventType completion;
+
+    JfrEventSink() {
+        //registered up front so the events can be configured before they happen
+        FlightRecorder.register(ClassScanEvent.class);
+        FlightRecorder.register(TreeBuildEvent.class);
+        FlightRecorder.register(DispatchEvent.class);
+        FlightRecorder.register(CompletionEvent.class);
+        this.scan = EventType.getEventType(ClassScanEvent.class);
+        this.treeBuild = EventType.getEventType(TreeBuildEvent.class);
+        this.dispatch = EventType.getEventType(DispatchEvent.class);
+        this.completion = EventType.getEventType(CompletionEvent.class);
+    }
+
+    @Override
+    public Object beginScan() {
+        if (!this.scan.isEnabled()) {
+            return null;
+        }
+        final ClassScanEvent event = new ClassScanEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endScan(final Object event, final String location, final int classes) {
+        final ClassScanEvent scan = (ClassScanEvent) event;
+        scan.location = location;
+        scan.classes = classes;
+        scan.commit();
+    }
+
+    @Override
+    public Object beginTreeBuild() {
+        if (!this.treeBuild.isEnabled()) {
+            return null;
+        }
+        final TreeBuildEvent event = new TreeBuildEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endTreeBuild(final Object event, final String plugin, final int commands) {
+        final TreeBuildEvent treeBuild = (TreeBuildEvent) event;
+        treeBuild.plugin = plugin;
+        treeBuild.commands = commands;
+        treeBuild.commit();
+    }
+
+    @Override
+    public Object beginDispatch() {
+        if (!this.dispatch.isEnabled()) {
+            return null;
+        }
+        final DispatchEvent event = new DispatchEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endDispatch(final Object event, final String command, final String senderType,
+                            final String outcome) {
+        final DispatchEvent dispatch = (DispatchEvent) event;
+        dispatch.command = command;
+        dispatch.senderType = senderType;
+        dispatch.outcome = outcome;
+        dispatch.commit();
+    }
+
+    @Override
+    public Object beginCompletion() {
+        if (!this.completion.isEnabled()) {
+            return null;
+        }
+        final CompletionEvent event = new CompletionEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endCompletion(final Object event, final String command, final int argument, final int results) {
+        final CompletionEvent completion = (CompletionEvent) event;
+        completion.command = command;
+        completion.argument = argument;
+        completion.results = results;
+        completion.commit();
+    }
+}
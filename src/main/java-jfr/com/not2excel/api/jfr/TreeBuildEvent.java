@@ -0,0 +1,23 @@
+package com.not2excel.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@Name("com.not2excel.api.TreeBuild")
+@Label("Command Tree Build")
+@Category({"Bukkit", "Commands"})
+@Description("Adding the queued sub commands to the command tree")
+final class TreeBuildEvent extends jdk.jfr.Event {
+
+    @Label("Plugin")
+    String plugin;
+
+    @Label("Commands")
+    int commands;
+}
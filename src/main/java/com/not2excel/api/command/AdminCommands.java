@@ -0,0 +1,111 @@
+package com.not2excel.api.command;
+
+import com.not2excel.api.command.handler.CommandException;
+import com.not2excel.api.command.metrics.CommandMetrics;
+import com.not2excel.api.command.metrics.LatencyHistogram;
+import com.not2excel.api.command.metrics.NodeMetrics;
+import com.not2excel.api.command.objects.CommandInfo;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Commands to inspect and tune the API on a running server. They are not registered by {@link
+ * CommandManager#registerCommands()}, call {@link CommandManager#registerAdminCommands()} to register them.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public final class AdminCommands implements CommandListener {
+
+    public static final String COMMAND = "cmdapi";
+    public static final String PERMISSION = "cmdapi.admin";
+
+    private static final String ORDERS = "total, runs, p50, p99, max, cpu, name";
+
+    private AdminCommands() { }
+
+    @CommandHandler(command = COMMAND,
+                    permission = PERMISSION,
+                    description = "Inspect and tune the command API",
+                    strictArgs = true,
+                    max = 0)
+    public static void admin(final CommandInfo info) { }
+
+    @CommandHandler(command = COMMAND + ".loglevel",
+                    permission = PERMISSION,
+                    usage = "[level]",
+                    description = "Show or change which log entries are logged")
+    public static void logLevel(final CommandInfo info, @Optional final LogType level) {
+        final LevelLogger logger = LevelLogger.getInstance();
+        final LogType old = logger.getLevel();
+        if (level == null) {
+            info.sendMessage(info.getMessage("log-level", old.getLevel()));
+            return;
+        }
+        logger.setLevel(level);
+        info.sendMessage(info.getMessage("log-level-changed", old.getLevel(), level.getLevel()));
+    }
+
+    @CommandHandler(command = COMMAND + ".stats",
+                    permission = PERMISSION,
+                    usage = "[total|runs|p50|p99|max|cpu|name|reset]",
+                    description = "Show how often commands are used and how long they take")
+    public static void stats(final CommandInfo info, @Optional final String order) throws CommandException {
+        final CommandMetrics metrics = CommandManager.getInstance().getMetrics();
+        final String sort = order == null ? "total" : order.toLowerCase();
+        if ("reset".equals(sort)) {
+            metrics.reset();
+            info.sendMessage(info.getMessage("stats-reset"));
+            return;
+        }
+        final Comparator<NodeMetrics> comparator;
+        switch (sort) {
+            case "total":
+                comparator = Comparator.comparingLong(node -> -node.getLatency().getTotal());
+                break;
+            case "runs":
+                comparator = Comparator.comparingLong(node -> -node.getInvocations());
+                break;
+            case "p50":
+                comparator = Comparator.comparingLong(node -> -node.getLatency().getPercentile(50));
+                break;
+            case "p99":
+                comparator = Comparator.comparingLong(node -> -node.getLatency().getPercentile(99));
+                break;
+            case "max":
+                comparator = Comparator.comparingLong(node -> -node.getLatency().getMax());
+                break;
+            case "cpu":
+                comparator = Comparator.comparingLong(node -> -node.getCpuTime());
+                break;
+            case "name":
+                comparator = Comparator.comparing(NodeMetrics::getCommand);
+                break;
+            default:
+                throw CommandException.of("stats-unknown-order", order, ORDERS);
+        }
+        final List<NodeMetrics> nodes = metrics.getAll();
+        nodes.removeIf(node -> node.getInvocations() == 0 && node.getCompletions() == 0);
+        if (nodes.isEmpty()) {
+            info.sendMessage(info.getMessage("stats-empty"));
+            return;
+        }
+        nodes.sort(comparator.thenComparing(NodeMetrics::getCommand));
+        info.sendMessage(info.getMessage("stats-header", sort));
+        for (final NodeMetrics node : nodes) {
+            final LatencyHistogram latency = node.getLatency();
+            info.sendMessage(info.getMessage("stats-row", node.getCommand(), node.getInvocations(),
+                                             millis(latency.getPercentile(50)), millis(latency.getPercentile(99)),
+                                             millis(latency.getMax()), millis(latency.getTotal()),
+                                             node.getRejections(), node.getCompletions(),
+                                             millis(node.getCpuTime())));
+        }
+    }
+
+    private static String millis(final long nanos) {
+        return String.format("%.2f", nanos / 1e6);
+    }
+}
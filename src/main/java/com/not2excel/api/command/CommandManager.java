@@ -1,14 +1,32 @@
 package com.not2excel.api.command;
 
+import com.not2excel.api.command.arguments.ArgumentType;
+import com.not2excel.api.command.arguments.ArgumentTypes;
+import com.not2excel.api.command.audit.AuditFilter;
+import com.not2excel.api.command.audit.AuditLog;
+import com.not2excel.api.command.completion.CompletionCache;
+import com.not2excel.api.command.completion.CompletionGovernor;
+import com.not2excel.api.command.completion.PermissionProfiles;
 import com.not2excel.api.command.handler.DefaultHandler;
+import com.not2excel.api.command.handler.FailureTracker;
+import com.not2excel.api.command.management.CommandManagerMonitor;
+import com.not2excel.api.command.messages.MessageCatalog;
+import com.not2excel.api.command.metrics.CommandMetrics;
+import com.not2excel.api.command.metrics.CommandWatchdog;
 import com.not2excel.api.command.objects.*;
+import com.not2excel.api.command.replay.TrafficRecorder;
+import com.not2excel.api.command.tracing.SpanExporter;
+import com.not2excel.api.command.tracing.Tracer;
+import com.not2excel.api.jfr.FlightEvents;
 import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
 import com.not2excel.api.reflection.ClassEnumerator;
 import com.not2excel.api.reflection.ReflectionUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandMap;
 import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.event.HandlerList;
 import org.bukkit.help.GenericCommandHelpTopic;
 import org.bukkit.help.HelpTopic;
 import org.bukkit.help.HelpTopicComparator;
@@ -16,10 +34,14 @@ import org.bukkit.help.IndexHelpTopic;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.SimplePluginManager;
 
+import javax.management.JMException;
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Richmond Steele, kh498
@@ -28,33 +50,85 @@ import java.util.concurrent.ConcurrentHashMap;
 @SuppressWarnings("unused")
 public class CommandManager {
 
-    private final static boolean DEBUG = false;
-    private static CommandManager instance;
+    /**
+     * The path in the config of the plugin of the level of the {@link LevelLogger}
+     */
+    public static final String LOG_LEVEL_PATH = "commandapi.log-level";
+    public static final String WATCHDOG_BUDGET_PATH = "commandapi.watchdog-budget";
+    public static final String BREAKER_THRESHOLD_PATH = "commandapi.breaker-threshold";
+    public static final String BREAKER_COOLDOWN_PATH = "commandapi.breaker-cooldown";
+    public static final String COMPLETION_RATE_PATH = "commandapi.completion-rate";
+    public static final String COMPLETION_BURST_PATH = "commandapi.completion-burst";
+    private static volatile CommandManager instance;
     private final Plugin plugin;
     private final Map<Integer, List<QueuedCommand>> queuedCommands = new ConcurrentHashMap<>();
     private final Map<String, RegisteredCommand> registeredCommands = new ConcurrentHashMap<>();
     private final LevelLogger logger;
+    private final ArgumentTypes argumentTypes = new ArgumentTypes();
+    private final CompletionCache completionCache = new CompletionCache(4096);
+    private final CommandMetrics metrics = new CommandMetrics();
+    private final PermissionProfiles permissionProfiles = new PermissionProfiles(this.registeredCommands::values);
+    private final CompletionGovernor completionGovernor = new CompletionGovernor(this.permissionProfiles);
+    private final SenderListener senderListener = new SenderListener(this);
     private CommandMap commandMap;
+    private volatile AuditLog auditLog;
+    private volatile TrafficRecorder trafficRecorder;
 
     public CommandManager(final Plugin plugin) {
         this.plugin = plugin;
         this.logger = LevelLogger.getInstance();
         this.logger.setLogType("CommandHandlerAPI");
         this.logger.setTimeStamped(false);
-        instance = this;
-    }
-
-    private static ParentCommand recursivelyFindInnerMostParent(final String command, final ParentCommand parentCommand,
-                                                                int start) {
-        final String[] list = command.split("\\.");
-        if (start > list.length - 1) {
-            return parentCommand;
+        //e.g. "commandapi.log-level: debug" to trace the registration and dispatch of commands
+        final String level = plugin.getConfig() == null ? null : plugin.getConfig().getString(LOG_LEVEL_PATH, null);
+        if (level != null) {
+            try {
+                this.logger.setLevel(LogType.valueOf(level.trim().toUpperCase()));
+            } catch (final IllegalArgumentException e) {
+                this.logger.log(LogType.WARNING, "Unknown log level '{}' at {}, expected one of {}", level,
+                                LOG_LEVEL_PATH, Arrays.toString(LogType.values()));
+            }
         }
-        if (parentCommand.hasChild(list[start])) {
-            return recursivelyFindInnerMostParent(command, parentCommand.getChild(list[start]), ++start);
+        //e.g. "commandapi.watchdog-budget: 20" to log handlers that run longer than 20 ms, 0 to log none
+        if (plugin.getConfig() != null && plugin.getConfig().isSet(WATCHDOG_BUDGET_PATH)) {
+            final int budget = plugin.getConfig().getInt(WATCHDOG_BUDGET_PATH, 5);
+            CommandWatchdog.getInstance().setEnabled(budget > 0);
+            CommandWatchdog.getInstance().setBudget(budget, TimeUnit.MILLISECONDS);
         }
-        else {
-            return parentCommand;
+        //e.g. "commandapi.breaker-threshold: 10" to disable a command after 10 failures within 10 seconds, 0 to never
+        final FailureTracker failures = FailureTracker.getInstance();
+        if (plugin.getConfig() != null && plugin.getConfig().isSet(BREAKER_THRESHOLD_PATH)) {
+            failures.setThreshold(Math.max(0, plugin.getConfig().getInt(BREAKER_THRESHOLD_PATH, 5)));
+        }
+        if (plugin.getConfig() != null && plugin.getConfig().isSet(BREAKER_COOLDOWN_PATH)) {
+            failures.setCooldown(plugin.getConfig().getInt(BREAKER_COOLDOWN_PATH, 30), TimeUnit.SECONDS);
+        }
+        //e.g. "commandapi.completion-rate: 5" and "commandapi.completion-burst: 10" to allow a sender 10 completion
+        //requests in a row and 5 each second after that
+        if (plugin.getConfig() != null && plugin.getConfig().isSet(COMPLETION_RATE_PATH)) {
+            final double rate = plugin.getConfig().getDouble(COMPLETION_RATE_PATH, 10);
+            if (rate > 0) {
+                this.completionGovernor.setRequestsPerSecond(rate);
+            }
+            else {
+                this.logger.log(LogType.WARNING, "{} must be positive, was {}", COMPLETION_RATE_PATH, rate);
+            }
+        }
+        if (plugin.getConfig() != null && plugin.getConfig().isSet(COMPLETION_BURST_PATH)) {
+            this.completionGovernor.setBurst(Math.max(1, plugin.getConfig().getInt(COMPLETION_BURST_PATH, 20)));
+        }
+        //translations of the API messages and of the annotation text of the plugin
+        MessageCatalog.getInstance().addSource(plugin.getClass().getClassLoader(), "commands");
+        instance = this;
+        try {
+            plugin.getServer().getPluginManager().registerEvents(this.senderListener, plugin);
+        } catch (final RuntimeException e) {
+            this.logger.log(LogType.WARNING, "Failed to listen for players leaving, their caches are kept: {}", e);
+        }
+        try {
+            CommandManagerMonitor.register(this);
+        } catch (final JMException | RuntimeException e) {
+            this.logger.log(LogType.WARNING, "Failed to register the commands with JMX: {}", e);
         }
     }
 
@@ -85,21 +159,31 @@ public class CommandManager {
         }
         for (final Class<?> clazz : classes) {
             if (CommandListener.class.isAssignableFrom(clazz) && !clazz.isInterface() && !clazz.isEnum() &&
-                !clazz.isAnnotation()) {
+                !clazz.isAnnotation() && clazz != AdminCommands.class) {
                 registerCommands(clazz);
             }
         }
         processQueuedCommands();
     }
 
+    /**
+     * Register the {@link AdminCommands}, e.g. {@code /cmdapi loglevel debug}, they need the permission {@value
+     * AdminCommands#PERMISSION}
+     */
+    public void registerAdminCommands() {
+        registerCommands(AdminCommands.class);
+    }
+
     private void processQueuedCommands() {
+        final Object event = FlightEvents.beginTreeBuild();
+        int commands = 0;
         synchronized (this.queuedCommands) {
-            if (DEBUG) {
+            if (this.logger.isEnabled(LogType.DEBUG)) {
                 if (!this.queuedCommands.isEmpty()) {
-                    this.logger.log("Processing Queued commands.");
+                    this.logger.log(LogType.DEBUG, "Processing Queued commands.");
                 }
                 else {
-                    this.logger.log("There are no Queued commands.");
+                    this.logger.log(LogType.DEBUG, "There are no Queued commands.");
                 }
             }
             int MAX_ITERATION = 0;
@@ -114,19 +198,16 @@ public class CommandManager {
                     continue;
                 }
                 for (final QueuedCommand queue : queuedCommandList) {
+                    commands++;
                     final CommandHandler commandHandler = queue.getMethod().getAnnotation(CommandHandler.class);
                     final String[] list = commandHandler.command().split("\\.");
                     final RegisteredCommand registered;
                     synchronized (this.registeredCommands) {
                         if (!this.registeredCommands.containsKey(list[0])) {
-                            if (DEBUG) {
-                                this.logger.log("Registering Empty Base Command: " + list[0]);
-                            }
+                            this.logger.log(LogType.DEBUG, "Registering Empty Base Command: {}", list[0]);
                             final RegisteredCommand registeredEmpty = new RegisteredCommand(null);
                             registeredEmpty.setCommand(list[0]);
-                            synchronized (this.registeredCommands) {
-                                this.registeredCommands.put(list[0], registeredEmpty);
-                            }
+                            this.registeredCommands.put(list[0], registeredEmpty);
                             final AbstractCommand abstractCmd = new AbstractCommand(list[0]);
                             abstractCmd.setDescription("Use '/" + list[0] + " help' to view the subcommands.");
                             abstractCmd.setPermission("");
@@ -146,85 +227,54 @@ public class CommandManager {
             }
             this.queuedCommands.clear();
         }
+        treeChanged();
+        FlightEvents.endTreeBuild(event, this.plugin.getName(), commands);
     }
 
-    private void registerChild(final QueuedCommand queue, final CommandHandler commandHandler,
-                               final RegisteredCommand registered, final String s, final boolean isAlias) {
-        final ChildCommand child = new ChildCommand(commandHandler, isAlias);
-        final ParentCommand parentCommand = recursivelyFindInnerMostParent(commandHandler.command(), registered, 1);
-        final String[] list = commandHandler.command().split("\\.");
-        if (list.length == 2) {
-            registered.addChild(s, child);
-            registered.getChild(s).setHandler(new DefaultHandler(queue));
-            if (DEBUG) {
-                this.logger.log("Registered queued command: " + commandHandler.command());
-            }
-            return;
-        }
+    /**
+     * Read the message files again, e.g. after a translation was edited
+     */
+    public void reloadMessages() {
+        MessageCatalog.getInstance().reload();
+        treeChanged();
+    }
 
-        final List<String> indexer = Arrays.asList(list);
-        final int index = indexer.indexOf(registered.getCommandHandler().command());
-        StringBuilder s1 = new StringBuilder(list[index + 1]);
-        final DefaultChildCommand dummyChild = new DefaultChildCommand(s1.toString());
-
-        if (parentCommand.getClass().equals(registered.getClass())) {
-            if (!registered.getCommandHandler().command().equals(list[list.length - 2 <= 0 ? 0 : list.length - 2])) {
-                dummyChild.setPermission(registered.getPermission());
-                registered.addChild(s1.toString(), dummyChild);
-                registered.getChild(s1.toString()).setHandler(new DefaultHandler(null));
-                if (DEBUG) {
-                    this.logger.log("Generated and Registered DummyChild: " + s1.substring(0, s1.length() - 1));
-                }
-                return;
-            }
-            registered.addChild(s, child);
-            registered.getChild(s).setHandler(new DefaultHandler(queue));
-            if (DEBUG) {
-                this.logger.log("Registered queued command: " + commandHandler.command());
-            }
-        }
-        else if (parentCommand.getClass().equals(DefaultChildCommand.class)) {
-            final DefaultChildCommand defChildCmd = (DefaultChildCommand) parentCommand;
-            if (!defChildCmd.getCommand().equals(list[list.length - 2 <= 0 ? 0 : list.length - 2])) {
-                dummyChild.setPermission(defChildCmd.getPermission());
-                defChildCmd.addChild(s1.toString(), dummyChild);
-                defChildCmd.getChild(s1.toString()).setHandler(new DefaultHandler(null));
-                if (DEBUG) {
-                    this.logger.log("Generated and Registered DummyChild: " + s1.substring(0, s1.length() - 1));
-                }
-                return;
-            }
-            defChildCmd.addChild(s, child);
-            defChildCmd.getChild(s).setHandler(new DefaultHandler(queue));
-            if (DEBUG) {
-                this.logger.log("Registered queued command: " + commandHandler.command());
-            }
-        }
-        else {
-            final ChildCommand childCmd = (ChildCommand) parentCommand;
-            if (!childCmd.getCommand().equals(list[list.length - 2 <= 0 ? 0 : list.length - 2])) {
-                dummyChild.setPermission(childCmd.getPermission());
-                childCmd.addChild(s1.toString(), dummyChild);
-                childCmd.getChild(s1.toString()).setHandler(new DefaultHandler(null));
-                if (DEBUG) {
-                    this.logger.log("Generated and Registered DummyChild: " + s1.substring(0, s1.length() - 1));
-                }
-                return;
-            }
-            childCmd.addChild(s, child);
-            childCmd.getChild(s).setHandler(new DefaultHandler(queue));
-            if (DEBUG) {
-                this.logger.log("Registered queued command: " + commandHandler.command());
-            }
+    /**
+     * Invalidate everything derived from the command tree
+     */
+    private void treeChanged() {
+        this.completionCache.invalidateAll();
+        this.permissionProfiles.invalidateAll();
+        this.completionGovernor.invalidateAll();
+        for (final RegisteredCommand registered : this.registeredCommands.values()) {
+            registered.invalidateGrammar();
         }
+    }
 
-        registerChild(queue, commandHandler, registered, s, isAlias);
-        s1 = new StringBuilder();
-        for (final String s2 : indexer) {
-            if (indexer.indexOf(s2) < index + 1) {
-                s1.append(s2).append(".");
+    private void registerChild(final QueuedCommand queue, final CommandHandler commandHandler,
+                               final RegisteredCommand registered, final String s, final boolean isAlias) {
+        final String[] list = commandHandler.command().split("\\.");
+        ParentCommand parentCommand = registered;
+        String permission = registered.getPermission();
+        //walk down to the parent of the command, generating the parents that have no handler of their own
+        for (int i = 1; i < list.length - 1; i++) {
+            ChildCommand next = parentCommand.getChild(list[i]);
+            if (next == null) {
+                final DefaultChildCommand dummyChild = new DefaultChildCommand(list[i]);
+                dummyChild.setPermission(permission);
+                dummyChild.setHandler(new DefaultHandler(null));
+                parentCommand.addChild(list[i], dummyChild);
+                this.logger.log(LogType.DEBUG, "Generated and Registered DummyChild: {}", dummyChild.getCommand());
+                next = dummyChild;
             }
+            parentCommand = next;
+            permission = next.getPermission();
         }
+        final ChildCommand child = new ChildCommand(commandHandler, isAlias);
+        //the handler is set first, a command dispatched on another thread can find the child once it is added
+        child.setHandler(new DefaultHandler(queue));
+        parentCommand.addChild(s, child);
+        this.logger.log(LogType.DEBUG, "Registered queued command: {}", commandHandler.command());
     }
 
     /**
@@ -245,40 +295,38 @@ public class CommandManager {
             return;
         }
         for (final Method method : clazz.getDeclaredMethods()) {
-            if (DEBUG) {
-                this.logger.log("Testing if method '" + method.getName() + "' is a CommandHandler");
-            }
+            this.logger.log(LogType.DEBUG, "Testing if method '{}' is a CommandHandler", method.getName());
             final CommandHandler commandHandler = method.getAnnotation(CommandHandler.class);
-            if (commandHandler == null || !method.getParameterTypes()[0].equals(CommandInfo.class)) {
+            if (commandHandler == null) {
                 continue;
             }
-            if (DEBUG) {
-                this.logger.log("Method '" + method.getName() + "' is a CommandHandler");
-            }
+            this.logger.log(LogType.DEBUG, "Method '{}' is a CommandHandler", method.getName());
             Object object = clazz;
             if (Modifier.isStatic(method.getModifiers())) {
                 object = null;
             }
+            final QueuedCommand queue;
+            try {
+                queue = new QueuedCommand(object, method, this.argumentTypes);
+            } catch (final IllegalArgumentException e) {
+                this.logger.log(LogType.ERROR, "Failed to register command '" + commandHandler.command() + "': " +
+                                               e.getMessage());
+                continue;
+            }
             if (commandHandler.command().contains(".")) {
-                queueCommand(object, method, commandHandler);
+                queueCommand(queue, commandHandler);
             }
             else {
-                registerBaseCommand(object, method, commandHandler);
+                registerBaseCommand(queue, commandHandler);
             }
         }
         processQueuedCommands();
     }
 
-    private void registerBaseCommand(final Object classObject, final Method method,
-                                     final CommandHandler commandHandler) {
-        if (DEBUG) {
-            this.logger.log("Registering Base Command: " + commandHandler.command());
-        }
-        final QueuedCommand queue = new QueuedCommand(classObject, method);
+    private void registerBaseCommand(final QueuedCommand queue, final CommandHandler commandHandler) {
+        this.logger.log(LogType.DEBUG, "Registering Base Command: {}", commandHandler.command());
         final RegisteredCommand registered = new RegisteredCommand(queue);
-        synchronized (this.registeredCommands) {
-            this.registeredCommands.put(commandHandler.command(), registered);
-        }
+        this.registeredCommands.put(commandHandler.command(), registered);
         final AbstractCommand abstractCmd = new AbstractCommand(commandHandler.command());
         abstractCmd.setAliases(Arrays.asList(commandHandler.aliases()));
         abstractCmd.setDescription(commandHandler.description());
@@ -293,6 +341,7 @@ public class CommandManager {
 
         if (getCommandMap().getCommand(command.getName()) == null) {
             getCommandMap().register(this.plugin.getName(), command);
+            treeChanged();
             this.logger.log("Registered command '" + command.getName() + '\'' + " by " + this.plugin.getName());
         }
         else {
@@ -301,12 +350,9 @@ public class CommandManager {
         }
     }
 
-    private void queueCommand(final Object classObject, final Method method, final CommandHandler commandHandler) {
+    private void queueCommand(final QueuedCommand queue, final CommandHandler commandHandler) {
         synchronized (this.queuedCommands) {
-            if (DEBUG) {
-                this.logger.log("Queueing Command: " + commandHandler.command());
-            }
-            final QueuedCommand queue = new QueuedCommand(classObject, method);
+            this.logger.log(LogType.DEBUG, "Queueing Command: {}", commandHandler.command());
             final int numberOfChildren = commandHandler.command().split("\\.").length - 1;
             List<QueuedCommand> queueList = this.queuedCommands.get(numberOfChildren);
             if (queueList == null) {
@@ -334,6 +380,44 @@ public class CommandManager {
         return this.commandMap;
     }
 
+    /**
+     * Call when the plugin is disabled. Stops listening for players leaving, unregisters the JMX bean, closes the audit
+     * log, the traffic recorder and the span exporter and logs the failures of handlers that were not reported yet.
+     */
+    public void disable() {
+        HandlerList.unregisterAll(this.senderListener);
+        try {
+            CommandManagerMonitor.unregister(this);
+        } catch (final JMException | RuntimeException e) {
+            this.logger.log(LogType.WARNING, "Failed to unregister the commands from JMX: {}", e);
+        }
+        final AuditLog auditLog = this.auditLog;
+        if (auditLog != null) {
+            try {
+                auditLog.close();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        final TrafficRecorder trafficRecorder = this.trafficRecorder;
+        if (trafficRecorder != null) {
+            try {
+                trafficRecorder.close();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        final SpanExporter exporter = Tracer.getInstance().setExporter(null);
+        if (exporter != null) {
+            try {
+                exporter.close();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        FailureTracker.getInstance().flush();
+    }
+
     public Plugin getPlugin() {
         return this.plugin;
     }
@@ -341,4 +425,119 @@ public class CommandManager {
     public Map<String, RegisteredCommand> getRegisteredCommands() {
         return this.registeredCommands;
     }
+
+    /**
+     * Register a type handler parameters can have. Types must be registered before the commands using them.
+     *
+     * @param type
+     *     The class of the parameters to use {@code argumentType} for
+     * @param argumentType
+     *     The parser and completer of {@code type}
+     */
+    public <T> void registerArgumentType(final Class<T> type, final ArgumentType<T> argumentType) {
+        this.argumentTypes.register(type, argumentType);
+        this.completionCache.invalidateAll();
+    }
+
+    public ArgumentTypes getArgumentTypes() {
+        return this.argumentTypes;
+    }
+
+    /**
+     * @return The rate limiter of tab completions for the commands of this manager
+     */
+    public CompletionGovernor getCompletionGovernor() {
+        return this.completionGovernor;
+    }
+
+    /**
+     * @return The cache of tab completion results for the commands of this manager
+     */
+    public CompletionCache getCompletionCache() {
+        return this.completionCache;
+    }
+
+    /**
+     * Call {@link PermissionProfiles#invalidate(org.bukkit.command.CommandSender)} when the permissions of a sender
+     * change to make the change visible in tab completions right away.
+     *
+     * @return The permission profiles of the senders using the commands of this manager
+     */
+    public PermissionProfiles getPermissionProfiles() {
+        return this.permissionProfiles;
+    }
+
+    /**
+     * @return How often the commands of this manager are used and how long they take
+     */
+    public CommandMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Record the commands selected by {@code filter} to the {@code audit} folder of the plugin. The log is closed by
+     * {@link #disable()}.
+     *
+     * @param filter
+     *     Which commands to audit, e.g. {@code AuditFilter.senders("server.staff")}
+     *
+     * @return The audit log
+     *
+     * @throws IOException
+     *     If the audit folder cannot be written to
+     */
+    public AuditLog enableAudit(final AuditFilter filter) throws IOException {
+        final AuditLog auditLog = new AuditLog(new File(this.plugin.getDataFolder(), "audit"), filter);
+        setAuditLog(auditLog);
+        return auditLog;
+    }
+
+    /**
+     * @return Where the commands of this manager are audited, {@code null} if they are not audited
+     */
+    public AuditLog getAuditLog() {
+        return this.auditLog;
+    }
+
+    /**
+     * @param auditLog
+     *     Where to audit the commands of this manager, {@code null} to stop auditing. The previous log is not closed.
+     */
+    public void setAuditLog(final AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    /**
+     * Record the commands and completion requests of all senders to {@code file} so they can be replayed with a {@link
+     * com.not2excel.api.command.replay.TrafficReader}. The recorder is closed by {@link #disable()}.
+     *
+     * @param file
+     *     The file to write the trace to, e.g. {@code traffic.trace} in the data folder of the plugin
+     *
+     * @return The recorder
+     *
+     * @throws IOException
+     *     If the file cannot be written to
+     */
+    public TrafficRecorder enableRecording(final File file) throws IOException {
+        final TrafficRecorder recorder = new TrafficRecorder(file, this.permissionProfiles);
+        setTrafficRecorder(recorder);
+        return recorder;
+    }
+
+    /**
+     * @return Where the traffic of this manager is recorded, {@code null} if it is not recorded
+     */
+    public TrafficRecorder getTrafficRecorder() {
+        return this.trafficRecorder;
+    }
+
+    /**
+     * @param trafficRecorder
+     *     Where to record the traffic of this manager, {@code null} to stop recording. The previous recorder is not
+     *     closed.
+     */
+    public void setTrafficRecorder(final TrafficRecorder trafficRecorder) {
+        this.trafficRecorder = trafficRecorder;
+    }
 }
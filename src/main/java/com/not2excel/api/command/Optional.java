@@ -0,0 +1,19 @@
+package com.not2excel.api.command;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a typed parameter of a command handler as optional. When the argument is not given the parameter is {@code
+ * null}, or the default value ({@code 0} or {@code false}) of a primitive type.
+ * <p>
+ * Only the last parameters of a handler can be optional.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Optional { }
@@ -0,0 +1,32 @@
+package com.not2excel.api.command;
+
+import com.not2excel.api.command.messages.MessageCatalog;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Forgets what is remembered per sender when a player leaves, so the caches keyed by name do not keep every player
+ * that ever joined the server
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+final class SenderListener implements Listener {
+
+    private final CommandManager manager;
+
+    SenderListener(final CommandManager manager) {
+        this.manager = manager;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(final PlayerQuitEvent event) {
+        final Player player = event.getPlayer();
+        this.manager.getPermissionProfiles().invalidate(player);
+        this.manager.getCompletionGovernor().forget(player);
+        MessageCatalog.getInstance().invalidate(player);
+    }
+}
@@ -0,0 +1,28 @@
+package com.not2excel.api.command.arguments;
+
+import org.bukkit.command.CommandSender;
+
+/**
+ * Converts a single argument into the type of a handler parameter.
+ *
+ * @param <T>
+ *     The type of the parameter
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@FunctionalInterface
+public interface ArgumentParser<T> {
+
+    /**
+     * Parsing must not throw on invalid input, return {@code null} instead.
+     *
+     * @param sender
+     *     The sender of the command
+     * @param input
+     *     The argument to parse
+     *
+     * @return The parsed argument or {@code null} if {@code input} is not valid
+     */
+    T parse(CommandSender sender, String input);
+}
@@ -0,0 +1,173 @@
+package com.not2excel.api.command.arguments;
+
+/**
+ * Parsing of primitives. Numbers are parsed without {@link NumberFormatException}s so invalid input is as cheap as
+ * valid input.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class ArgumentParsers {
+
+    private ArgumentParsers() { }
+
+    /**
+     * @param type
+     *     Any type
+     *
+     * @return The wrapper class of {@code type} if it is primitive, {@code type} otherwise
+     */
+    public static Class<?> wrap(final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        }
+        if (type == long.class) {
+            return Long.class;
+        }
+        if (type == double.class) {
+            return Double.class;
+        }
+        if (type == float.class) {
+            return Float.class;
+        }
+        if (type == boolean.class) {
+            return Boolean.class;
+        }
+        if (type == short.class) {
+            return Short.class;
+        }
+        if (type == byte.class) {
+            return Byte.class;
+        }
+        if (type == char.class) {
+            return Character.class;
+        }
+        return Void.class;
+    }
+
+    /**
+     * @param input
+     *     The string to parse
+     *
+     * @return {@code input} as an int or {@code null} if it is not a (base 10) int
+     */
+    public static Integer parseInt(final String input) {
+        final Long value = parseLong(input);
+        if (value == null || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            return null;
+        }
+        return value.intValue();
+    }
+
+    /**
+     * @param input
+     *     The string to parse
+     *
+     * @return {@code input} as a long or {@code null} if it is not a (base 10) long
+     */
+    public static Long parseLong(final String input) {
+        final int length = input.length();
+        if (length == 0) {
+            return null;
+        }
+        int i = 0;
+        boolean negative = false;
+        final char first = input.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++i == length) {
+                return null;
+            }
+        }
+        //accumulate negatively, as Long.parseLong does, so Long.MIN_VALUE can be parsed
+        final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        final long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            final int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                return null;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return null;
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * @param input
+     *     The string to parse
+     *
+     * @return {@code input} as a finite double or {@code null} if it is not a decimal number (optionally with an
+     * exponent)
+     */
+    public static Double parseDouble(final String input) {
+        final int length = input.length();
+        int i = 0;
+        if (i < length && (input.charAt(i) == '-' || input.charAt(i) == '+')) {
+            i++;
+        }
+        int digits = 0;
+        while (i < length && isDigit(input.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < length && input.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(input.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return null;
+        }
+        if (i < length && (input.charAt(i) == 'e' || input.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (input.charAt(i) == '-' || input.charAt(i) == '+')) {
+                i++;
+            }
+            final int exponentStart = i;
+            while (i < length && isDigit(input.charAt(i))) {
+                i++;
+            }
+            if (i == exponentStart) {
+                return null;
+            }
+        }
+        if (i != length) {
+            return null;
+        }
+        //the syntax is checked so this cannot throw
+        final double value = Double.parseDouble(input);
+        return Double.isInfinite(value) ? null : value;
+    }
+
+    /**
+     * @param input
+     *     The string to parse
+     *
+     * @return {@code true} for true, yes and on, {@code false} for false, no and off (ignoring case), {@code null}
+     * otherwise
+     */
+    public static Boolean parseBoolean(final String input) {
+        if ("true".equalsIgnoreCase(input) || "yes".equalsIgnoreCase(input) || "on".equalsIgnoreCase(input)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(input) || "no".equalsIgnoreCase(input) || "off".equalsIgnoreCase(input)) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+}
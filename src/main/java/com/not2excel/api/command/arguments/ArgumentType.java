@@ -0,0 +1,50 @@
+package com.not2excel.api.command.arguments;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.List;
+
+/**
+ * A type handler parameters can have. Besides parsing arguments it also completes them. Register new types with
+ * {@link com.not2excel.api.command.CommandManager#registerArgumentType(Class, ArgumentType)} before registering the
+ * commands using them.
+ * <p>
+ * Anything expensive, like lookup tables, should be built once when the type is created so parsing and completing is
+ * cheap.
+ *
+ * @param <T>
+ *     The type of the parameter
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public interface ArgumentType<T> extends ArgumentParser<T> {
+
+    /**
+     * @return A human readable name of this type, used in error messages e.g. {@code "online player"}
+     */
+    String getName();
+
+    /**
+     * @param sender
+     *     The sender completing the argument
+     * @param prefix
+     *     What has been typed of the argument so far
+     *
+     * @return The valid arguments starting with {@code prefix} (ignoring case), never {@code null}
+     */
+    List<String> complete(CommandSender sender, String prefix);
+
+    /**
+     * Cached completions are shared by all senders with the same {@link
+     * com.not2excel.api.command.completion.PermissionProfiles permission profile}, which only holds the permissions of
+     * the commands and flags in the tree. A type whose completions depend on anything else about the sender, like its
+     * name, its world or a permission checked by the type itself, must not be cached.
+     *
+     * @return If the completions only depend on the prefix (and the permissions of the sender) and can be cached. Types
+     * completing things that come and go, like online players, must return {@code false}.
+     */
+    default boolean isCacheable() {
+        return true;
+    }
+}
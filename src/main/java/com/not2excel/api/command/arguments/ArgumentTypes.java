@@ -0,0 +1,105 @@
+package com.not2excel.api.command.arguments;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The argument types handler parameters can have. Enums are supported without registering them, an {@link
+ * EnumArgumentType} is created the first time an enum is used.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public class ArgumentTypes {
+
+    private final Map<Class<?>, ArgumentType<?>> types = new ConcurrentHashMap<>();
+
+    /**
+     * Create a registry with the built in types
+     */
+    public ArgumentTypes() {
+        register(String.class, new SimpleArgumentType<>("text", (sender, input) -> input));
+        register(Integer.class, new SimpleArgumentType<>("integer", (sender, input) -> ArgumentParsers.parseInt(input)));
+        register(Long.class, new SimpleArgumentType<>("integer", (sender, input) -> ArgumentParsers.parseLong(input)));
+        register(Double.class,
+                 new SimpleArgumentType<>("number", (sender, input) -> ArgumentParsers.parseDouble(input)));
+        register(Float.class, new SimpleArgumentType<>("number", (sender, input) -> {
+            final Double value = ArgumentParsers.parseDouble(input);
+            return value == null || Math.abs(value) > Float.MAX_VALUE ? null : value.floatValue();
+        }));
+        register(Boolean.class, new SimpleArgumentType<>("true or false",
+                                                         (sender, input) -> ArgumentParsers.parseBoolean(input),
+                                                         "true", "false"));
+        register(Duration.class, new DurationArgumentType());
+        register(Player.class, new PlayerArgumentType());
+        register(World.class, new WorldArgumentType());
+        register(OfflinePlayer.class, new ArgumentType<OfflinePlayer>() {
+            @Override
+            public OfflinePlayer parse(final CommandSender sender, final String input) {
+                final Player online = Bukkit.getPlayerExact(input);
+                if (online != null) {
+                    return online;
+                }
+                //getOfflinePlayer(String) never returns null and may look the name up at Mojang on this thread
+                for (final OfflinePlayer player : Bukkit.getOfflinePlayers()) {
+                    if (player.hasPlayedBefore() && input.equalsIgnoreCase(player.getName())) {
+                        return player;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public String getName() {
+                return "player";
+            }
+
+            @Override
+            public List<String> complete(final CommandSender sender, final String prefix) {
+                return PlayerArgumentType.completeOnlinePlayers(prefix);
+            }
+
+            @Override
+            public boolean isCacheable() {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Register a type, replacing any type already registered for {@code type}
+     *
+     * @param type
+     *     The class of the parameters to use {@code argumentType} for
+     * @param argumentType
+     *     The parser and completer of {@code type}
+     */
+    public <T> void register(final Class<T> type, final ArgumentType<T> argumentType) {
+        this.types.put(type, argumentType);
+    }
+
+    /**
+     * @param type
+     *     The type of a handler parameter, primitives are looked up as their wrapper
+     *
+     * @return The argument type of {@code type} or {@code null} if it is not supported
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ArgumentType<?> get(final Class<?> type) {
+        final Class<?> wrapped = ArgumentParsers.wrap(type);
+        final ArgumentType<?> argumentType = this.types.get(wrapped);
+        if (argumentType == null && wrapped.isEnum()) {
+            return this.types.computeIfAbsent(wrapped, k -> new EnumArgumentType(k));
+        }
+        return argumentType;
+    }
+}
@@ -0,0 +1,93 @@
+package com.not2excel.api.command.arguments;
+
+import org.bukkit.command.CommandSender;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parses durations written as numbers followed by a unit, the parts are added together. {@code 1h30m}, {@code 90m}
+ * and {@code 5400s} are all the same duration. The units are {@code ms}, {@code s}, {@code m}, {@code h}, {@code d}
+ * and {@code w}; {@code t} is a server tick (50 ms).
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class DurationArgumentType implements ArgumentType<Duration> {
+
+    private static final String[] UNITS = {"ms", "t", "s", "m", "h", "d", "w"};
+
+    /**
+     * Milliseconds per unit, indexed by the lower case letter of the unit. Milliseconds use the index of 'n' ("ms" is
+     * read as 'm' followed by 's')
+     */
+    private static final long[] MILLIS = new long[128];
+    private static final int MILLIS_INDEX = 'n';
+
+    static {
+        MILLIS[MILLIS_INDEX] = 1;
+        MILLIS['t'] = 50;
+        MILLIS['s'] = 1000;
+        MILLIS['m'] = 60 * 1000;
+        MILLIS['h'] = 60 * 60 * 1000;
+        MILLIS['d'] = 24 * 60 * 60 * 1000;
+        MILLIS['w'] = 7 * 24 * 60 * 60 * 1000;
+    }
+
+    @Override
+    public Duration parse(final CommandSender sender, final String input) {
+        final int length = input.length();
+        if (length == 0) {
+            return null;
+        }
+        long total = 0;
+        int i = 0;
+        while (i < length) {
+            long amount = 0;
+            final int start = i;
+            char c;
+            while (i < length && (c = input.charAt(i)) >= '0' && c <= '9') {
+                amount = amount * 10 + (c - '0');
+                if (amount > Integer.MAX_VALUE) {
+                    return null;
+                }
+                i++;
+            }
+            if (i == start || i == length) {
+                return null;
+            }
+            int unit = Character.toLowerCase(input.charAt(i++));
+            if (unit == 'm' && i < length && Character.toLowerCase(input.charAt(i)) == 's') {
+                unit = MILLIS_INDEX;
+                i++;
+            }
+            if (unit >= MILLIS.length || MILLIS[unit] == 0) {
+                return null;
+            }
+            total += amount * MILLIS[unit];
+            if (total < 0) {
+                return null;
+            }
+        }
+        return Duration.ofMillis(total);
+    }
+
+    @Override
+    public String getName() {
+        return "duration";
+    }
+
+    @Override
+    public List<String> complete(final CommandSender sender, final String prefix) {
+        if (prefix.isEmpty() || !Character.isDigit(prefix.charAt(prefix.length() - 1))) {
+            return Collections.emptyList();
+        }
+        final List<String> completions = new ArrayList<>(UNITS.length);
+        for (final String unit : UNITS) {
+            completions.add(prefix + unit);
+        }
+        return completions;
+    }
+}
@@ -0,0 +1,63 @@
+package com.not2excel.api.command.arguments;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses the constants of an enum by name, ignoring case. Spaces and dashes are read as underscores and a leading
+ * {@code minecraft:} is ignored, so {@code minecraft:diamond-sword} is {@code Material.DIAMOND_SWORD}.
+ * <p>
+ * The names are put in a map when the type is created, parsing is a single lookup.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class EnumArgumentType<E extends Enum<E>> implements ArgumentType<E> {
+
+    private static final String NAMESPACE = "minecraft:";
+    private final String name;
+    private final Map<String, E> constants;
+    private final List<String> names;
+
+    public EnumArgumentType(final Class<E> type) {
+        this.name = type.getSimpleName().toLowerCase();
+        final E[] values = type.getEnumConstants();
+        this.constants = new HashMap<>(values.length * 2);
+        final List<String> names = new ArrayList<>(values.length);
+        for (final E value : values) {
+            final String lower = value.name().toLowerCase();
+            this.constants.put(lower, value);
+            names.add(lower);
+        }
+        Collections.sort(names);
+        this.names = Collections.unmodifiableList(names);
+    }
+
+    private static String normalize(final String input) {
+        String normalized = input.toLowerCase().replace(' ', '_').replace('-', '_');
+        if (normalized.startsWith(NAMESPACE)) {
+            normalized = normalized.substring(NAMESPACE.length());
+        }
+        return normalized;
+    }
+
+    @Override
+    public E parse(final CommandSender sender, final String input) {
+        return this.constants.get(normalize(input));
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public List<String> complete(final CommandSender sender, final String prefix) {
+        return SortedNames.startingWith(this.names, normalize(prefix));
+    }
+}
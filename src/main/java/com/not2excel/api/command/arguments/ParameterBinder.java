@@ -0,0 +1,177 @@
+package com.not2excel.api.command.arguments;
+
+import com.not2excel.api.command.Optional;
+import com.not2excel.api.command.objects.CommandInfo;
+import com.not2excel.api.command.parser.ParseResult;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * Binds the arguments of a command to the parameters of its handler method. A handler must take a {@link CommandInfo}
+ * as its first parameter, every following parameter is bound to the next argument that is not a flag, e.g.
+ * <pre>
+ * void give(CommandInfo info, Player target, int amount, &#64;Optional String reason)
+ * </pre>
+ * The {@link ArgumentType} of each parameter is looked up once, when the binder is created. The arguments are parsed
+ * by the {@link com.not2excel.api.command.parser.CommandGrammar} of the command, the binder only reads the result.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class ParameterBinder {
+
+    private final ArgumentType<?>[] types;
+    private final Object[] missing;
+    private final int required;
+
+    /**
+     * @param method
+     *     The handler method
+     * @param argumentTypes
+     *     The types to look the parameter types up in
+     *
+     * @throws IllegalArgumentException
+     *     If the first parameter is not a {@link CommandInfo}, a parameter has an unsupported type or a required
+     *     parameter comes after an optional one
+     */
+    public ParameterBinder(final Method method, final ArgumentTypes argumentTypes) {
+        final Class<?>[] types = method.getParameterTypes();
+        if (types.length == 0 || !types[0].equals(CommandInfo.class)) {
+            throw new IllegalArgumentException("The first parameter of " + method.getName() + " must be CommandInfo");
+        }
+        final Annotation[][] annotations = method.getParameterAnnotations();
+        final int count = types.length - 1;
+        this.types = new ArgumentType<?>[count];
+        this.missing = new Object[count];
+
+        int required = 0;
+        for (int i = 0; i < count; i++) {
+            final Class<?> type = types[i + 1];
+            this.types[i] = argumentTypes.get(type);
+            if (this.types[i] == null) {
+                throw new IllegalArgumentException(
+                    "Parameter " + (i + 1) + " of " + method.getName() + " has the unsupported type " + type.getName());
+            }
+            if (isOptional(annotations[i + 1])) {
+                this.missing[i] = defaultValue(type);
+            }
+            else if (required != i) {
+                throw new IllegalArgumentException(
+                    "Parameter " + (i + 1) + " of " + method.getName() + " is required but follows an optional one");
+            }
+            else {
+                required++;
+            }
+        }
+        this.required = required;
+    }
+
+    private static boolean isOptional(final Annotation[] annotations) {
+        for (final Annotation annotation : annotations) {
+            if (annotation instanceof Optional) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object defaultValue(final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return Boolean.FALSE;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0D;
+        }
+        if (type == float.class) {
+            return 0F;
+        }
+        //the value is unboxed by reflection, which only widens, so it must be of the exact wrapper type
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == char.class) {
+            return (char) 0;
+        }
+        return 0;
+    }
+
+    /**
+     * @return If the handler only takes a {@link CommandInfo}
+     */
+    public boolean isPlain() {
+        return this.types.length == 0;
+    }
+
+    /**
+     * Parse the arguments of {@code info} into the parameters of the handler. If an argument is invalid or missing the
+     * sender is told so, together with the usage of the command.
+     *
+     * @param info
+     *     The command to bind the arguments of
+     *
+     * @return The parameters to invoke the handler with, or {@code null} if the arguments are invalid
+     */
+    public Object[] bind(final CommandInfo info) {
+        final Object[] params = new Object[this.types.length + 1];
+        params[0] = info;
+        final ParseResult result = info.getParseResult();
+        final int invalid = result.getInvalidParameter();
+        if (invalid >= 0) {
+            sendError(info, info.getMessage("invalid-argument", info.translate(this.types[invalid].getName()),
+                                            result.getInvalidArgument()));
+            return null;
+        }
+        if (result.getMissingParameter() >= 0) {
+            sendError(info, info.getMessage("missing-argument",
+                                            info.translate(this.types[result.getMissingParameter()].getName())));
+            return null;
+        }
+        final Object[] bound = result.getBoundArguments();
+        int param = Math.min(result.getNonFlagCount(), this.types.length);
+        if (param != 0) {
+            System.arraycopy(bound, 0, params, 1, param);
+        }
+        for (; param < this.types.length; param++) {
+            params[param + 1] = this.missing[param];
+        }
+        return params;
+    }
+
+    /**
+     * @param index
+     *     The index of the argument (not counting flags)
+     *
+     * @return The type of the argument at {@code index} or {@code null} if the handler takes no argument there
+     */
+    public ArgumentType<?> getType(final int index) {
+        return index < this.types.length ? this.types[index] : null;
+    }
+
+    /**
+     * @return How many typed parameters the handler has
+     */
+    public int getTypeCount() {
+        return this.types.length;
+    }
+
+    /**
+     * @return How many of the typed parameters are not {@link Optional}
+     */
+    public int getRequiredCount() {
+        return this.required;
+    }
+
+    private static void sendError(final CommandInfo info, final String error) {
+        info.sendMessage(error, info.getMessage("usage", info.getExplainedUsage()));
+    }
+}
@@ -0,0 +1,48 @@
+package com.not2excel.api.command.arguments;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An online player, by (the start of) their name
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class PlayerArgumentType implements ArgumentType<Player> {
+
+    static List<String> completeOnlinePlayers(final String prefix) {
+        final List<String> completions = new ArrayList<>();
+        for (final Player player : Bukkit.getOnlinePlayers()) {
+            final String name = player.getName();
+            if (name.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                completions.add(name);
+            }
+        }
+        return completions;
+    }
+
+    @Override
+    public Player parse(final CommandSender sender, final String input) {
+        return Bukkit.getPlayer(input);
+    }
+
+    @Override
+    public String getName() {
+        return "online player";
+    }
+
+    @Override
+    public List<String> complete(final CommandSender sender, final String prefix) {
+        return completeOnlinePlayers(prefix);
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+}
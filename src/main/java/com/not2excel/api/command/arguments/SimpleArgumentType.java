@@ -0,0 +1,54 @@
+package com.not2excel.api.command.arguments;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An argument type with a fixed set of completions
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class SimpleArgumentType<T> implements ArgumentType<T> {
+
+    private final String name;
+    private final ArgumentParser<T> parser;
+    private final List<String> completions;
+
+    /**
+     * @param name
+     *     The human readable name of the type
+     * @param parser
+     *     The parser of the type
+     * @param completions
+     *     The completions of the type, case insensitive
+     */
+    public SimpleArgumentType(final String name, final ArgumentParser<T> parser, final String... completions) {
+        this.name = name;
+        this.parser = parser;
+        final List<String> list = new ArrayList<>(completions.length);
+        for (final String completion : completions) {
+            list.add(completion.toLowerCase());
+        }
+        Collections.sort(list);
+        this.completions = Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public T parse(final CommandSender sender, final String input) {
+        return this.parser.parse(sender, input);
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public List<String> complete(final CommandSender sender, final String prefix) {
+        return SortedNames.startingWith(this.completions, prefix);
+    }
+}
@@ -0,0 +1,39 @@
+package com.not2excel.api.command.arguments;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Prefix lookups in sorted lists of lower case names
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+final class SortedNames {
+
+    private SortedNames() { }
+
+    /**
+     * @param sorted
+     *     Lower case names in their natural order
+     * @param prefix
+     *     The prefix to look for, case insensitive
+     *
+     * @return A view of the names in {@code sorted} starting with {@code prefix}
+     */
+    static List<String> startingWith(final List<String> sorted, final String prefix) {
+        if (prefix.isEmpty()) {
+            return sorted;
+        }
+        final String lower = prefix.toLowerCase();
+        int from = Collections.binarySearch(sorted, lower);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        int to = from;
+        while (to < sorted.size() && sorted.get(to).startsWith(lower)) {
+            to++;
+        }
+        return from == to ? Collections.emptyList() : sorted.subList(from, to);
+    }
+}
@@ -0,0 +1,43 @@
+package com.not2excel.api.command.arguments;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A loaded world, by its name
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class WorldArgumentType implements ArgumentType<World> {
+
+    @Override
+    public World parse(final CommandSender sender, final String input) {
+        return Bukkit.getWorld(input);
+    }
+
+    @Override
+    public String getName() {
+        return "world";
+    }
+
+    @Override
+    public List<String> complete(final CommandSender sender, final String prefix) {
+        final List<String> completions = new ArrayList<>();
+        for (final World world : Bukkit.getWorlds()) {
+            if (world.getName().regionMatches(true, 0, prefix, 0, prefix.length())) {
+                completions.add(world.getName());
+            }
+        }
+        return completions;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+}
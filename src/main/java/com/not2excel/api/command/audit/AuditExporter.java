@@ -0,0 +1,104 @@
+package com.not2excel.api.command.audit;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Iterator;
+
+/**
+ * Exports audit records as text or CSV, one record per line. The records are written as they are read, so an export
+ * never holds more than one record in memory.
+ * <p>
+ * Can be run from the command line: {@code java -cp <plugin jar> com.not2excel.api.command.audit.AuditExporter
+ * <directory> [text|csv] [output file]}
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class AuditExporter {
+
+    private AuditExporter() { }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: AuditExporter <directory> [text|csv] [output file]");
+            System.exit(1);
+            return;
+        }
+        final boolean csv = args.length > 1 && "csv".equalsIgnoreCase(args[1]);
+        final Writer out = new BufferedWriter(new OutputStreamWriter(
+            args.length > 2 ? new FileOutputStream(args[2]) : System.out, StandardCharsets.UTF_8));
+        try (AuditReader reader = new AuditReader(new File(args[0]))) {
+            if (csv) {
+                toCsv(reader, out);
+            }
+            else {
+                toText(reader, out);
+            }
+        } finally {
+            out.flush();
+            if (args.length > 2) {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * Write each record as {@code <time> <outcome> <sender> /<command> <args>}
+     *
+     * @return How many records were written
+     */
+    public static long toText(final Iterator<AuditRecord> records, final Appendable out) throws IOException {
+        long count = 0;
+        while (records.hasNext()) {
+            final AuditRecord record = records.next();
+            out.append(Instant.ofEpochMilli(record.getTime()).toString()).append(' ')
+               .append(record.getOutcome().name()).append(' ').append(record.getSender()).append(" /")
+               .append(record.getCommand().replace('.', ' '));
+            for (final String arg : record.getArgs()) {
+                out.append(' ').append(arg);
+            }
+            out.append('\n');
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Write a header and each record as {@code time,sender,command,outcome,args}, the arguments are joined by spaces
+     *
+     * @return How many records were written
+     */
+    public static long toCsv(final Iterator<AuditRecord> records, final Appendable out) throws IOException {
+        out.append("time,sender,command,outcome,args\n");
+        long count = 0;
+        while (records.hasNext()) {
+            final AuditRecord record = records.next();
+            out.append(Instant.ofEpochMilli(record.getTime()).toString()).append(',');
+            appendCsv(out, record.getSender()).append(',');
+            appendCsv(out, record.getCommand()).append(',');
+            out.append(record.getOutcome().name()).append(',');
+            appendCsv(out, String.join(" ", record.getArgs())).append('\n');
+            count++;
+        }
+        return count;
+    }
+
+    private static Appendable appendCsv(final Appendable out, final String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            final char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return out.append(value);
+        }
+        return out.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
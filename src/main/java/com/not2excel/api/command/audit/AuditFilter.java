@@ -0,0 +1,66 @@
+package com.not2excel.api.command.audit;
+
+import org.bukkit.command.CommandSender;
+
+/**
+ * Decides which commands are audited
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@FunctionalInterface
+public interface AuditFilter {
+
+    /**
+     * @param sender
+     *     The sender of the command
+     * @param command
+     *     The command that was resolved, e.g. {@code home.set}
+     *
+     * @return If the command should be audited
+     */
+    boolean isAudited(CommandSender sender, String command);
+
+    /**
+     * @return A filter auditing only what both this filter and {@code other} audit
+     */
+    default AuditFilter and(final AuditFilter other) {
+        return (sender, command) -> isAudited(sender, command) && other.isAudited(sender, command);
+    }
+
+    /**
+     * @return A filter auditing every command
+     */
+    static AuditFilter all() {
+        return (sender, command) -> true;
+    }
+
+    /**
+     * @param commands
+     *     The commands to audit, a command includes its sub commands, e.g. {@code ban} audits {@code ban.ip} as well
+     *
+     * @return A filter auditing only {@code commands}
+     */
+    static AuditFilter commands(final String... commands) {
+        final String[] nodes = commands.clone();
+        return (sender, command) -> {
+            for (final String node : nodes) {
+                if (command.equals(node) || command.length() > node.length() && command.startsWith(node) &&
+                                            command.charAt(node.length()) == '.') {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * @param permission
+     *     The permission that makes a sender staff
+     *
+     * @return A filter auditing only the commands of senders with {@code permission}
+     */
+    static AuditFilter senders(final String permission) {
+        return (sender, command) -> sender.hasPermission(permission);
+    }
+}
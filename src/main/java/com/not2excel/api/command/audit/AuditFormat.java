@@ -0,0 +1,88 @@
+package com.not2excel.api.command.audit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The binary format of audit segments.
+ * <p>
+ * A segment starts with {@link #MAGIC}, {@link #VERSION} and the time it was created as a long. Then follow entries,
+ * each starting with its type: a {@link #STRING} defines the next id of the string table of the segment as a
+ * var-int length and UTF-8 bytes, a {@link #RECORD} is the time as a long, the ids of the sender and the command as
+ * var-ints, the outcome as a byte, the argument count as a var-int and each argument as a var-int length and UTF-8
+ * bytes. The rest of the segment is zeros, {@link #END}.
+ * <p>
+ * The type of an entry is written after the rest of it, so a reader never sees a partly written entry.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+final class AuditFormat {
+
+    static final int MAGIC = 0x43415544;
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = 4 + 1 + 8;
+
+    static final byte END = 0;
+    static final byte STRING = 1;
+    static final byte RECORD = 2;
+
+    /**
+     * Longer strings are cut, so a record always fits in an empty segment
+     */
+    static final int MAX_STRING_LENGTH = 256;
+    static final int MAX_ARGS = 64;
+
+    private AuditFormat() { }
+
+    static void putVarInt(final ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int getVarInt(final ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed var-int");
+    }
+
+    static void putString(final ByteBuffer buffer, final String string) {
+        final String cut = string.length() > MAX_STRING_LENGTH ? string.substring(0, MAX_STRING_LENGTH) : string;
+        final byte[] bytes = cut.getBytes(StandardCharsets.UTF_8);
+        putVarInt(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String getString(final ByteBuffer buffer) {
+        final int length = getVarInt(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalStateException("Malformed string");
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return The most bytes a string can take
+     */
+    static int maxStringSize() {
+        return 5 + MAX_STRING_LENGTH * 3;
+    }
+
+    /**
+     * @return The most bytes a record and the definitions of its strings can take
+     */
+    static int maxRecordSize() {
+        return 2 * (1 + 5 + maxStringSize()) + 1 + 8 + 5 + 5 + 1 + 5 + MAX_ARGS * maxStringSize();
+    }
+}
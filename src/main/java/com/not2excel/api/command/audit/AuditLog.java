@@ -0,0 +1,235 @@
+package com.not2excel.api.command.audit;
+
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import org.bukkit.command.CommandSender;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the commands selected by an {@link AuditFilter} to binary segments on the disk, see {@link AuditFormat}.
+ * Recording a command only puts it in a bounded queue, a background thread writes it to a memory-mapped segment. Read
+ * the segments with an {@link AuditReader}.
+ * <p>
+ * Call {@link #close()} when the plugin is disabled so the last records are written.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class AuditLog implements AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+    public static final int DEFAULT_QUEUE_SIZE = 4096;
+
+    private static final long FORCE_INTERVAL = TimeUnit.SECONDS.toNanos(5);
+    /**
+     * The least time between two warnings about dropped records, a full queue would otherwise warn for every command
+     */
+    private static final long WARNING_INTERVAL = TimeUnit.SECONDS.toNanos(30);
+
+    private final BlockingQueue<AuditRecord> queue;
+    private final AuditSegmentWriter writer;
+    private final Thread thread;
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicLong nextWarning = new AtomicLong(System.nanoTime());
+    private volatile long warnedRejected;
+    private volatile AuditFilter filter;
+    private volatile boolean closed;
+
+    /**
+     * @param directory
+     *     The directory to write the segments to
+     * @param filter
+     *     Which commands to audit
+     *
+     * @throws IOException
+     *     If the first segment cannot be created
+     */
+    public AuditLog(final File directory, final AuditFilter filter) throws IOException {
+        this(directory, filter, DEFAULT_SEGMENT_SIZE, 0, DEFAULT_QUEUE_SIZE);
+    }
+
+    /**
+     * @param directory
+     *     The directory to write the segments to
+     * @param filter
+     *     Which commands to audit
+     * @param segmentSize
+     *     The size of each segment in bytes
+     * @param maxSegments
+     *     How many segments to keep, the oldest segments are deleted. {@code 0} to keep all segments.
+     * @param queueSize
+     *     How many records can wait to be written, records are dropped when the queue is full
+     *
+     * @throws IOException
+     *     If the first segment cannot be created
+     */
+    public AuditLog(final File directory, final AuditFilter filter, final int segmentSize, final int maxSegments,
+                    final int queueSize) throws IOException {
+        this.filter = filter;
+        this.writer = new AuditSegmentWriter(directory, segmentSize, maxSegments);
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.thread = new Thread(this::run, "CommandAPI-Audit");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @param sender
+     *     The sender of the command
+     * @param command
+     *     The command that was resolved, e.g. {@code home.set}
+     *
+     * @return If the command should be recorded
+     */
+    public boolean isAudited(final CommandSender sender, final String command) {
+        return !this.closed && this.filter.isAudited(sender, command);
+    }
+
+    /**
+     * Record a command, it is not checked if it should be audited
+     *
+     * @param sender
+     *     The sender of the command
+     * @param command
+     *     The command that was resolved, e.g. {@code home.set}
+     * @param args
+     *     The arguments after the command
+     * @param outcome
+     *     What happened to the command
+     */
+    public void record(final CommandSender sender, final String command, final String[] args,
+                       final AuditOutcome outcome) {
+        record(new AuditRecord(System.currentTimeMillis(), sender.getName(), command, args, outcome));
+    }
+
+    /**
+     * @param record
+     *     The record to write
+     */
+    public void record(final AuditRecord record) {
+        if (this.closed) {
+            return;
+        }
+        if (this.queue.offer(record)) {
+            this.queued.increment();
+        }
+        else {
+            this.rejected.increment();
+            warnDropped(record);
+        }
+    }
+
+    private void warnDropped(final AuditRecord record) {
+        final long now = System.nanoTime();
+        final long next = this.nextWarning.get();
+        if (now - next < 0 || !this.nextWarning.compareAndSet(next, now + WARNING_INTERVAL)) {
+            return;
+        }
+        final long rejected = this.rejected.sum();
+        final long dropped = rejected - this.warnedRejected;
+        this.warnedRejected = rejected;
+        LevelLogger.getInstance()
+                   .log(LogType.WARNING, "The audit queue is full, dropped {} records since the last warning, the " +
+                                         "last of {}", dropped, record.getCommand());
+    }
+
+    private void run() {
+        long lastForce = System.nanoTime();
+        while (!this.closed || !this.queue.isEmpty()) {
+            final AuditRecord record;
+            try {
+                record = this.queue.poll(1, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                continue;
+            }
+            if (record != null) {
+                write(record);
+            }
+            if (System.nanoTime() - lastForce > FORCE_INTERVAL) {
+                this.writer.force();
+                lastForce = System.nanoTime();
+            }
+        }
+        this.writer.force();
+    }
+
+    private void write(final AuditRecord record) {
+        try {
+            this.writer.write(record);
+        } catch (final IOException | RuntimeException e) {
+            this.failed.increment();
+            LevelLogger.getInstance().log(LogType.ERROR, "Failed to write an audit record: {}", e);
+        }
+        this.processed.increment();
+    }
+
+    /**
+     * Wait until every record recorded so far has been written
+     *
+     * @param timeout
+     *     The maximum time to wait in milliseconds
+     *
+     * @return If every record was written before the timeout
+     */
+    public boolean flush(final long timeout) throws InterruptedException {
+        final long target = this.queued.sum();
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        while (this.processed.sum() < target) {
+            if (System.nanoTime() - deadline > 0 || !this.thread.isAlive()) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    /**
+     * Stop recording, write the records that are queued and wait for them to be on the disk
+     */
+    @Override
+    public void close() throws InterruptedException {
+        this.closed = true;
+        this.thread.interrupt();
+        this.thread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public AuditFilter getFilter() {
+        return this.filter;
+    }
+
+    public void setFilter(final AuditFilter filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * @return How many records wait to be written
+     */
+    public long getQueueDepth() {
+        return Math.max(0, this.queued.sum() - this.processed.sum());
+    }
+
+    /**
+     * @return How many records have been written
+     */
+    public long getWrittenCount() {
+        return this.processed.sum() - this.failed.sum();
+    }
+
+    /**
+     * @return How many records were dropped because the queue was full or they could not be written
+     */
+    public long getDroppedCount() {
+        return this.rejected.sum() + this.failed.sum();
+    }
+}
@@ -0,0 +1,58 @@
+package com.not2excel.api.command.audit;
+
+import com.not2excel.api.command.metrics.RejectReason;
+
+/**
+ * What happened to an audited command
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public enum AuditOutcome {
+
+    /**
+     * The command was handed to its handler
+     */
+    EXECUTED,
+    /**
+     * The sender was not allowed to use the command, e.g. it lacks a permission or is not a player
+     */
+    DENIED,
+    /**
+     * The command was rejected, e.g. its arguments were wrong, it is disabled or the handler threw a {@link
+     * com.not2excel.api.command.handler.CommandException}
+     */
+    FAILED,
+    /**
+     * The handler threw an unexpected exception
+     */
+    ERROR;
+
+    private static final AuditOutcome[] VALUES = values();
+
+    /**
+     * @param reason
+     *     Why the command was not handled, {@code null} if it was handled
+     *
+     * @return The outcome of a command rejected for {@code reason}
+     */
+    public static AuditOutcome of(final RejectReason reason) {
+        if (reason == null) {
+            return EXECUTED;
+        }
+        switch (reason) {
+            case NO_PERMISSION:
+            case FLAG_PERMISSION:
+            case PLAYERS_ONLY:
+                return DENIED;
+            case ERROR:
+                return ERROR;
+            default:
+                return FAILED;
+        }
+    }
+
+    static AuditOutcome byOrdinal(final int ordinal) {
+        return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : ERROR;
+    }
+}
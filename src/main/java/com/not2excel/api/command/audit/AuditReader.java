@@ -0,0 +1,135 @@
+package com.not2excel.api.command.audit;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the records of the segments written by an {@link AuditLog}, oldest first. Segments are mapped one at a time
+ * and read as the records are iterated, so a directory of any size can be read with little memory. Segments can be
+ * read while they are being written.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class AuditReader implements Iterator<AuditRecord>, AutoCloseable {
+
+    private static final String[] NO_ARGS = new String[0];
+
+    private final File[] segments;
+    private final List<String> strings = new ArrayList<>();
+    private int nextSegment;
+    private MappedByteBuffer segment;
+    private AuditRecord next;
+
+    /**
+     * @param directory
+     *     The directory the {@link AuditLog} writes to
+     */
+    public AuditReader(final File directory) {
+        this.segments = AuditSegmentWriter.listSegments(directory);
+    }
+
+    /**
+     * @return The segments that are read, oldest first
+     */
+    public File[] getSegments() {
+        return this.segments.clone();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.next != null) {
+            return true;
+        }
+        while (true) {
+            if (this.segment == null && !openNextSegment()) {
+                return false;
+            }
+            this.next = readRecord();
+            if (this.next != null) {
+                return true;
+            }
+            this.segment = null;
+        }
+    }
+
+    @Override
+    public AuditRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final AuditRecord record = this.next;
+        this.next = null;
+        return record;
+    }
+
+    private boolean openNextSegment() {
+        while (this.nextSegment < this.segments.length) {
+            final File file = this.segments[this.nextSegment++];
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+                final MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (segment.remaining() < AuditFormat.HEADER_SIZE || segment.getInt() != AuditFormat.MAGIC ||
+                    segment.get() != AuditFormat.VERSION) {
+                    continue;
+                }
+                segment.getLong();
+                this.segment = segment;
+                this.strings.clear();
+                return true;
+            } catch (final IOException ignored) {
+                //deleted by the writer, or not readable
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The next record of the current segment, {@code null} if it has no more records
+     */
+    private AuditRecord readRecord() {
+        final MappedByteBuffer segment = this.segment;
+        try {
+            while (segment.hasRemaining()) {
+                final byte type = segment.get();
+                if (type == AuditFormat.STRING) {
+                    this.strings.add(AuditFormat.getString(segment));
+                }
+                else if (type == AuditFormat.RECORD) {
+                    final long time = segment.getLong();
+                    final String sender = this.strings.get(AuditFormat.getVarInt(segment));
+                    final String command = this.strings.get(AuditFormat.getVarInt(segment));
+                    final AuditOutcome outcome = AuditOutcome.byOrdinal(segment.get());
+                    final int argc = AuditFormat.getVarInt(segment);
+                    final String[] args = argc == 0 ? NO_ARGS : new String[argc];
+                    for (int i = 0; i < argc; i++) {
+                        args[i] = AuditFormat.getString(segment);
+                    }
+                    return new AuditRecord(time, sender, command, args, outcome);
+                }
+                else {
+                    return null;
+                }
+            }
+        } catch (final BufferUnderflowException | IndexOutOfBoundsException | IllegalStateException |
+                           NegativeArraySizeException ignored) {
+            //a damaged segment, continue with the next one
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        this.segment = null;
+        this.nextSegment = this.segments.length;
+        this.next = null;
+    }
+}
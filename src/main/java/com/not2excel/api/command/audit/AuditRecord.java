@@ -0,0 +1,67 @@
+package com.not2excel.api.command.audit;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One audited command
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public final class AuditRecord {
+
+    private final long time;
+    private final String sender;
+    private final String command;
+    private final List<String> args;
+    private final AuditOutcome outcome;
+
+    /**
+     * @param time
+     *     When the command was sent, in milliseconds since the epoch
+     * @param sender
+     *     The name of the sender
+     * @param command
+     *     The command that was resolved, e.g. {@code home.set}
+     * @param args
+     *     The arguments after the command
+     * @param outcome
+     *     What happened to the command
+     */
+    public AuditRecord(final long time, final String sender, final String command, final String[] args,
+                       final AuditOutcome outcome) {
+        this.time = time;
+        this.sender = sender;
+        this.command = command;
+        this.args = Collections.unmodifiableList(Arrays.asList(args.clone()));
+        this.outcome = outcome;
+    }
+
+    public long getTime() {
+        return this.time;
+    }
+
+    public String getSender() {
+        return this.sender;
+    }
+
+    public String getCommand() {
+        return this.command;
+    }
+
+    public List<String> getArgs() {
+        return this.args;
+    }
+
+    public AuditOutcome getOutcome() {
+        return this.outcome;
+    }
+
+    @Override
+    public String toString() {
+        return "AuditRecord{" + "time=" + this.time + ", sender='" + this.sender + '\'' + ", command='" +
+               this.command + '\'' + ", args=" + this.args + ", outcome=" + this.outcome + '}';
+    }
+}
@@ -0,0 +1,160 @@
+package com.not2excel.api.command.audit;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes records to memory-mapped segments of a fixed size in a directory, starting a new segment when the current
+ * one is full. Segments are named {@code audit-<number>.seg} so they sort in the order they were written. Not thread
+ * safe, it is only used by the thread of the {@link AuditLog}.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+final class AuditSegmentWriter {
+
+    static final String PREFIX = "audit-";
+    static final String SUFFIX = ".seg";
+
+    private final File directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final ByteBuffer scratch;
+    private long number;
+    private MappedByteBuffer segment;
+
+    /**
+     * @param directory
+     *     The directory of the segments, it is created if it does not exist
+     * @param segmentSize
+     *     The size of each segment in bytes
+     * @param maxSegments
+     *     How many segments to keep, the oldest segments are deleted. {@code 0} to keep all segments.
+     */
+    AuditSegmentWriter(final File directory, final int segmentSize, final int maxSegments) throws IOException {
+        if (segmentSize < AuditFormat.HEADER_SIZE + AuditFormat.maxRecordSize()) {
+            throw new IllegalArgumentException(
+                "Segments must be at least " + (AuditFormat.HEADER_SIZE + AuditFormat.maxRecordSize()) + " bytes");
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create the audit directory " + directory);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.scratch = ByteBuffer.allocate(AuditFormat.maxRecordSize());
+        final File[] existing = listSegments(directory);
+        //never append to a segment of an earlier run, its string table is not known
+        this.number = existing.length == 0 ? 0 : parseNumber(existing[existing.length - 1]) + 1;
+        openSegment();
+    }
+
+    /**
+     * @return The segments in {@code directory}, oldest first
+     */
+    static File[] listSegments(final File directory) {
+        final File[] files = directory.listFiles(
+            (dir, name) -> name.startsWith(PREFIX) && name.endsWith(SUFFIX) && parseNumber(name) >= 0);
+        if (files == null) {
+            return new File[0];
+        }
+        Arrays.sort(files, (a, b) -> Long.compare(parseNumber(a), parseNumber(b)));
+        return files;
+    }
+
+    private static long parseNumber(final File file) {
+        return parseNumber(file.getName());
+    }
+
+    private static long parseNumber(final String name) {
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void openSegment() throws IOException {
+        final File file = new File(this.directory, String.format("%s%012d%s", PREFIX, this.number++, SUFFIX));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+            //the mapping stays valid after the channel is closed
+            this.segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.segmentSize);
+        }
+        this.segment.putInt(AuditFormat.MAGIC).put(AuditFormat.VERSION).putLong(System.currentTimeMillis());
+        this.strings.clear();
+        deleteOldSegments();
+    }
+
+    private void deleteOldSegments() {
+        if (this.maxSegments <= 0) {
+            return;
+        }
+        final File[] segments = listSegments(this.directory);
+        for (int i = 0; i < segments.length - this.maxSegments; i++) {
+            //noinspection ResultOfMethodCallIgnored
+            segments[i].delete();
+        }
+    }
+
+    void write(final AuditRecord record) throws IOException {
+        encode(record);
+        if (this.scratch.position() > this.segment.remaining()) {
+            this.segment.force();
+            openSegment();
+            encode(record);
+        }
+        this.scratch.flip();
+        //everything but the type of the first entry, then the type so the entries become visible at once
+        final int start = this.segment.position();
+        final byte type = this.scratch.get();
+        this.segment.position(start + 1);
+        this.segment.put(this.scratch);
+        this.segment.put(start, type);
+    }
+
+    private void encode(final AuditRecord record) {
+        this.scratch.clear();
+        final int sender = stringId(record.getSender());
+        final int command = stringId(record.getCommand());
+        this.scratch.put(AuditFormat.RECORD).putLong(record.getTime());
+        AuditFormat.putVarInt(this.scratch, sender);
+        AuditFormat.putVarInt(this.scratch, command);
+        this.scratch.put((byte) record.getOutcome().ordinal());
+        final int argc = Math.min(AuditFormat.MAX_ARGS, record.getArgs().size());
+        AuditFormat.putVarInt(this.scratch, argc);
+        for (int i = 0; i < argc; i++) {
+            AuditFormat.putString(this.scratch, record.getArgs().get(i));
+        }
+    }
+
+    /**
+     * @return The id of {@code string} in the string table of the segment, a definition is put in the scratch buffer
+     * if it is not in the table yet
+     */
+    private int stringId(final String string) {
+        final Integer id = this.strings.get(string);
+        if (id != null) {
+            return id;
+        }
+        final int next = this.strings.size();
+        this.strings.put(string, next);
+        this.scratch.put(AuditFormat.STRING);
+        AuditFormat.putString(this.scratch, string);
+        return next;
+    }
+
+    /**
+     * Write the current segment to the disk
+     */
+    void force() {
+        this.segment.force();
+    }
+}
@@ -0,0 +1,200 @@
+package com.not2excel.api.command.completion;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A bounded least recently used cache of tab completion results. A result is identified by the command node completed,
+ * the position of the argument, the (case insensitive) prefix typed and the {@link PermissionProfiles permission
+ * profile} of the sender, so senders with the same permissions share results.
+ * <p>
+ * The cache is split into segments, each guarded by its own lock, so concurrent lookups of different keys rarely
+ * contend.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public class CompletionCache {
+
+    private static final int SEGMENTS = 16;
+
+    /**
+     * Marks that the completer returned {@code null} (the server should complete player names)
+     */
+    private static final List<String> NULL_RESULT = Collections.unmodifiableList(Collections.emptyList());
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile boolean enabled = true;
+    private volatile int generation;
+
+    /**
+     * @param capacity
+     *     The maximum number of results to keep
+     */
+    public CompletionCache(final int capacity) {
+        final int perSegment = Math.max(1, capacity / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            this.segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * @param node
+     *     The command node being completed, compared by identity
+     * @param position
+     *     The index of the argument being completed
+     * @param prefix
+     *     The text typed so far for the argument being completed
+     * @param profileId
+     *     The permission profile of the sender
+     * @param completer
+     *     Calculates the result if it is not cached, may return {@code null}
+     *
+     * @return The cached or calculated completions, the list cannot be modified
+     */
+    public List<String> get(final Object node, final int position, final String prefix, final int profileId,
+                            final Supplier<List<String>> completer) {
+        if (!this.enabled) {
+            return completer.get();
+        }
+        final Key key = new Key(node, position, prefix.toLowerCase(), profileId);
+        final Segment segment = segmentFor(key);
+        List<String> result;
+        synchronized (segment) {
+            result = segment.get(key);
+        }
+        if (result != null) {
+            this.hits.increment();
+            return result == NULL_RESULT ? null : result;
+        }
+        this.misses.increment();
+        final int generation = this.generation;
+        final List<String> computed = completer.get();
+        result = computed == null ? NULL_RESULT : Collections.unmodifiableList(computed);
+        synchronized (segment) {
+            //do not cache a result calculated from a tree that has since changed
+            if (generation == this.generation) {
+                segment.put(key, result);
+            }
+        }
+        return computed == null ? null : result;
+    }
+
+    /**
+     * Remove every cached result, must be called when the command tree changes
+     */
+    public void invalidateAll() {
+        this.generation++;
+        for (final Segment segment : this.segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private Segment segmentFor(final Key key) {
+        final int h = key.hashCode();
+        return this.segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    public int size() {
+        int size = 0;
+        for (final Segment segment : this.segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return The ratio of lookups answered from the cache, between 0 and 1
+     */
+    public double getHitRate() {
+        final long hits = this.hits.sum();
+        final long total = hits + this.misses.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public void resetCounters() {
+        this.hits.reset();
+        this.misses.reset();
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            invalidateAll();
+        }
+    }
+
+    private static final class Segment extends LinkedHashMap<Key, List<String>> {
+
+        private static final long serialVersionUID = -2815377093208373516L;
+        private final int capacity;
+
+        private Segment(final int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, List<String>> eldest) {
+            return size() > this.capacity;
+        }
+    }
+
+    private static final class Key {
+
+        private final Object node;
+        private final int position;
+        private final String prefix;
+        private final int profileId;
+        private final int hash;
+
+        private Key(final Object node, final int position, final String prefix, final int profileId) {
+            this.node = node;
+            this.position = position;
+            this.prefix = prefix;
+            this.profileId = profileId;
+            this.hash = 31 * (31 * (31 * System.identityHashCode(node) + position) + prefix.hashCode()) + profileId;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return this.node == key.node && this.position == key.position && this.profileId == key.profileId &&
+                   this.prefix.equals(key.prefix);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.not2excel.api.command.completion;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Guards the tab completion of the registered commands against senders that request completions far more often than a
+ * human could type. Every sender has a token bucket of {@link #getBurst()} requests that refills with {@link
+ * #getRequestsPerSecond()} tokens each second, a request made without any tokens left is dropped. A request identical
+ * to the previous request of the same sender is answered with the previous result without using a token, if the
+ * result is younger than {@link #getCoalesceTime()} milliseconds and the sender still has the same {@link
+ * PermissionProfiles permission profile}.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public class CompletionGovernor {
+
+    /**
+     * The answer to a dropped request. An empty list rather than {@code null} so the server does not fall back to
+     * completing player names.
+     */
+    private static final List<String> DROPPED = Collections.emptyList();
+    private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final PermissionProfiles profiles;
+    private final Map<String, SenderState> senders = new ConcurrentHashMap<>();
+    private final LongAdder computed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean enabled = true;
+    private volatile double requestsPerSecond = 10;
+    private volatile int burst = 20;
+    private volatile int maxTrackedSenders = 1024;
+    private volatile long coalesceNanos = TimeUnit.MILLISECONDS.toNanos(250);
+
+    /**
+     * A governor that coalesces requests regardless of the permissions of the sender
+     */
+    public CompletionGovernor() {
+        this(null);
+    }
+
+    /**
+     * @param profiles
+     *     The profiles of the senders, a request is not coalesced with one made with another profile. {@code null} to
+     *     ignore permissions.
+     */
+    public CompletionGovernor(final PermissionProfiles profiles) {
+        this.profiles = profiles;
+    }
+
+    /**
+     * @param sender
+     *     The sender requesting completions
+     * @param alias
+     *     The alias used
+     * @param args
+     *     The arguments typed so far
+     * @param completer
+     *     Calculates the completions if the request is neither coalesced nor dropped
+     *
+     * @return The completions for the request
+     */
+    public List<String> complete(final CommandSender sender, final String alias, final String[] args,
+                                 final Completer completer) {
+        if (!this.enabled) {
+            this.computed.increment();
+            return completer.complete(sender, alias, args);
+        }
+        final long now = System.nanoTime();
+        final int profile = this.profiles == null ? -1 : this.profiles.getProfileId(sender);
+        final SenderState state = getState(sender.getName(), now);
+        synchronized (state) {
+            state.lastAccess = now;
+            if (state.hasResult && now - state.resultTime < this.coalesceNanos && profile == state.profile &&
+                alias.equals(state.alias) && Arrays.equals(args, state.args)) {
+                this.coalesced.increment();
+                return state.result;
+            }
+            state.refill(now, this.requestsPerSecond, this.burst);
+            if (state.tokens < 1) {
+                this.dropped.increment();
+                return DROPPED;
+            }
+            state.tokens--;
+        }
+
+        final List<String> completions = completer.complete(sender, alias, args);
+        this.computed.increment();
+        final List<String> result = completions == null ? null : Collections.unmodifiableList(completions);
+        synchronized (state) {
+            state.alias = alias;
+            state.args = args.clone();
+            state.result = result;
+            state.profile = profile;
+            state.resultTime = now;
+            state.hasResult = true;
+        }
+        return result;
+    }
+
+    private SenderState getState(final String name, final long now) {
+        SenderState state = this.senders.get(name);
+        if (state == null) {
+            if (this.senders.size() >= this.maxTrackedSenders) {
+                prune(now);
+            }
+            state = this.senders.computeIfAbsent(name, k -> new SenderState(this.burst, now));
+        }
+        return state;
+    }
+
+    private void prune(final long now) {
+        final Iterator<SenderState> iterator = this.senders.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().lastAccess > IDLE_NANOS) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Forget the state of a sender, typically when a player leaves the server
+     *
+     * @param sender
+     *     The sender to forget
+     */
+    public void forget(final CommandSender sender) {
+        this.senders.remove(sender.getName());
+    }
+
+    /**
+     * Forget the state of all senders, must be called when the command tree changes so no result of the old tree is
+     * given out
+     */
+    public void invalidateAll() {
+        this.senders.clear();
+    }
+
+    /**
+     * @return How many senders are tracked
+     */
+    public int getTrackedSenderCount() {
+        return this.senders.size();
+    }
+
+    /**
+     * Reset all counters and forget all senders
+     */
+    public void reset() {
+        this.senders.clear();
+        this.computed.reset();
+        this.coalesced.reset();
+        this.dropped.reset();
+    }
+
+    /**
+     * @return How many requests were passed on to the completer
+     */
+    public long getComputedCount() {
+        return this.computed.sum();
+    }
+
+    /**
+     * @return How many requests were answered with the previous result of the same sender
+     */
+    public long getCoalescedCount() {
+        return this.coalesced.sum();
+    }
+
+    /**
+     * @return How many requests were dropped because the sender was over the rate limit
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * @param enabled
+     *     If {@code false} every request is passed on to the completer
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getRequestsPerSecond() {
+        return this.requestsPerSecond;
+    }
+
+    /**
+     * @param requestsPerSecond
+     *     How many requests a sender can make each second in the long run
+     */
+    public void setRequestsPerSecond(final double requestsPerSecond) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("requestsPerSecond must be positive");
+        }
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public int getBurst() {
+        return this.burst;
+    }
+
+    /**
+     * @param burst
+     *     How many requests a sender can make in a row before being limited to {@link #getRequestsPerSecond()}
+     */
+    public void setBurst(final int burst) {
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be at least 1");
+        }
+        this.burst = burst;
+    }
+
+    public int getMaxTrackedSenders() {
+        return this.maxTrackedSenders;
+    }
+
+    /**
+     * @param maxTrackedSenders
+     *     How many senders to track before senders idle for five minutes are forgotten
+     */
+    public void setMaxTrackedSenders(final int maxTrackedSenders) {
+        this.maxTrackedSenders = maxTrackedSenders;
+    }
+
+    /**
+     * @return How long in milliseconds the result of a request is given out again for the same request
+     */
+    public long getCoalesceTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.coalesceNanos);
+    }
+
+    /**
+     * @param coalesceTime
+     *     How long in milliseconds the result of a request is given out again for the same request, {@code 0} to
+     *     never coalesce
+     */
+    public void setCoalesceTime(final long coalesceTime) {
+        if (coalesceTime < 0) {
+            throw new IllegalArgumentException("coalesceTime cannot be negative");
+        }
+        this.coalesceNanos = TimeUnit.MILLISECONDS.toNanos(coalesceTime);
+    }
+
+    /**
+     * Calculates the completions of a request
+     */
+    @FunctionalInterface
+    public interface Completer {
+
+        List<String> complete(CommandSender sender, String alias, String[] args);
+    }
+
+    private static final class SenderState {
+
+        private double tokens;
+        private long lastRefill;
+        private volatile long lastAccess;
+        private boolean hasResult;
+        private long resultTime;
+        private int profile;
+        private String alias;
+        private String[] args;
+        private List<String> result;
+
+        private SenderState(final int tokens, final long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+            this.lastAccess = now;
+        }
+
+        private void refill(final long now, final double perSecond, final int burst) {
+            final long elapsed = now - this.lastRefill;
+            if (elapsed > 0) {
+                this.tokens = Math.min(burst, this.tokens + elapsed * perSecond / TimeUnit.SECONDS.toNanos(1));
+                this.lastRefill = now;
+            }
+        }
+    }
+}
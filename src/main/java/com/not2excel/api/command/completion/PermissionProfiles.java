@@ -0,0 +1,232 @@
+package com.not2excel.api.command.completion;
+
+import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.Flag;
+import com.not2excel.api.command.objects.ChildCommand;
+import com.not2excel.api.command.objects.ParentCommand;
+import com.not2excel.api.command.objects.RegisteredCommand;
+import org.bukkit.command.CommandSender;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Groups senders by which of the permissions used in the command tree, by its commands and their flags, they have. Senders in the same group (profile)
+ * see the same commands, so anything derived only from the tree and the permissions, like tab completions, can be
+ * shared between them.
+ * <p>
+ * The profile of a sender is remembered for {@link #getProfileTtl()} milliseconds, call {@link
+ * #invalidate(CommandSender)} when the permissions of a sender are known to have changed. The {@link
+ * com.not2excel.api.command.CommandManager} does so when a player leaves, so players that left are not remembered.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public class PermissionProfiles {
+
+    private final Supplier<Collection<RegisteredCommand>> tree;
+    private final Map<String, CachedProfile> senders = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final AtomicInteger generation = new AtomicInteger();
+    private final Object snapshotLock = new Object();
+    private volatile Snapshot snapshot;
+    private volatile long profileTtl = TimeUnit.SECONDS.toMillis(10);
+
+    /**
+     * @param tree
+     *     The base commands of the tree to take the permissions from
+     */
+    public PermissionProfiles(final Supplier<Collection<RegisteredCommand>> tree) {
+        this.tree = tree;
+    }
+
+    private static void collectPermissions(final ParentCommand parent, final Set<String> permissions) {
+        for (final ChildCommand child : parent.getAllChildCommands().values()) {
+            collectPermissions(child.getCommandHandler(), permissions);
+            collectPermissions(child, permissions);
+        }
+    }
+
+    /**
+     * Collect the permission of the command and of its flags
+     */
+    private static void collectPermissions(final CommandHandler handler, final Set<String> permissions) {
+        if (handler == null) {
+            return;
+        }
+        if (!"".equals(handler.permission())) {
+            permissions.add(handler.permission());
+        }
+        for (final Flag flag : handler.flags()) {
+            if (!"".equals(flag.permission())) {
+                permissions.add(flag.permission());
+            }
+        }
+    }
+
+    /**
+     * @param sender
+     *     The sender to get the profile of
+     *
+     * @return An id that is equal for all senders with the same permissions of the tree
+     */
+    public int getProfileId(final CommandSender sender) {
+        final Snapshot snapshot = getSnapshot();
+        final String[] permissions = snapshot.permissions;
+        final long now = System.currentTimeMillis();
+        final CachedProfile cached = this.senders.get(sender.getName());
+        if (cached != null && cached.snapshot == snapshot && now < cached.expires) {
+            return cached.id;
+        }
+
+        final BitSet held = new BitSet(permissions.length);
+        for (int i = 0; i < permissions.length; i++) {
+            if (sender.hasPermission(permissions[i])) {
+                held.set(i);
+            }
+        }
+        //ids are never reused, so an id handed out for an old tree cannot mean other permissions in the new one
+        Integer id = snapshot.profileIds.get(held);
+        if (id == null) {
+            id = snapshot.profileIds.computeIfAbsent(held, k -> this.nextId.getAndIncrement());
+        }
+        this.senders.put(sender.getName(), new CachedProfile(snapshot, id, now + this.profileTtl));
+        return id;
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot snapshot = this.snapshot;
+        if (snapshot == null) {
+            //built under the lock of invalidateAll, so the permissions of the old tree cannot be published after it
+            synchronized (this.snapshotLock) {
+                snapshot = this.snapshot;
+                if (snapshot == null) {
+                    final Set<String> collected = new TreeSet<>();
+                    for (final RegisteredCommand registered : this.tree.get()) {
+                        if (registered.getQueuedCommand() != null) {
+                            collectPermissions(registered.getCommandHandler(), collected);
+                        }
+                        collectPermissions(registered, collected);
+                    }
+                    snapshot = new Snapshot(collected.toArray(new String[collected.size()]));
+                    this.snapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Recalculate the profile of {@code sender} the next time it is needed
+     *
+     * @param sender
+     *     The sender whose permissions changed
+     */
+    public void invalidate(final CommandSender sender) {
+        this.senders.remove(sender.getName());
+    }
+
+    /**
+     * Forget every profile, must be called when the command tree changes
+     */
+    public void invalidateAll() {
+        synchronized (this.snapshotLock) {
+            this.snapshot = null;
+            this.generation.incrementAndGet();
+        }
+        this.senders.clear();
+    }
+
+    /**
+     * @param profileId
+     *     The id of the profile, see {@link #getProfileId(CommandSender)}
+     *
+     * @return The permissions of the tree the senders of the profile have, {@code null} if there is no such profile
+     */
+    public String[] getProfilePermissions(final int profileId) {
+        final Snapshot snapshot = getSnapshot();
+        final String[] permissions = snapshot.permissions;
+        for (final Map.Entry<BitSet, Integer> entry : snapshot.profileIds.entrySet()) {
+            if (entry.getValue() == profileId) {
+                final BitSet held = entry.getKey();
+                final String[] granted = new String[held.cardinality()];
+                int next = 0;
+                for (int i = held.nextSetBit(0); i >= 0 && i < permissions.length; i = held.nextSetBit(i + 1)) {
+                    granted[next++] = permissions[i];
+                }
+                return next == granted.length ? granted : Arrays.copyOf(granted, next);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return A number that changes every time the profiles are forgotten, a profile id only means the same
+     * permissions while it does not change
+     */
+    public int getGeneration() {
+        return this.generation.get();
+    }
+
+    /**
+     * @return How many senders have their profile remembered
+     */
+    public int getCachedSenderCount() {
+        return this.senders.size();
+    }
+
+    /**
+     * @return How many different profiles has been seen since the tree last changed
+     */
+    public int getProfileCount() {
+        final Snapshot snapshot = this.snapshot;
+        return snapshot == null ? 0 : snapshot.profileIds.size();
+    }
+
+    public long getProfileTtl() {
+        return this.profileTtl;
+    }
+
+    /**
+     * @param profileTtl
+     *     How many milliseconds the profile of a sender is remembered
+     */
+    public void setProfileTtl(final long profileTtl) {
+        this.profileTtl = profileTtl;
+    }
+
+    /**
+     * The permissions of one version of the tree and the profiles seen for them
+     */
+    private static final class Snapshot {
+
+        private final String[] permissions;
+        private final Map<BitSet, Integer> profileIds = new ConcurrentHashMap<>();
+
+        private Snapshot(final String[] permissions) {
+            this.permissions = permissions;
+        }
+    }
+
+    private static final class CachedProfile {
+
+        private final Snapshot snapshot;
+        private final int id;
+        private final long expires;
+
+        private CachedProfile(final Snapshot snapshot, final int id, final long expires) {
+            this.snapshot = snapshot;
+            this.id = id;
+            this.expires = expires;
+        }
+    }
+}
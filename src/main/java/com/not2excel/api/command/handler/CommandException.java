@@ -1,8 +1,13 @@
 package com.not2excel.api.command.handler;
 
+import com.not2excel.api.command.messages.MessageCatalog;
 import org.bukkit.command.CommandSender;
 
 /**
+ * Thrown when a command cannot be handled, e.g. because of invalid input. The exception has no stack trace and does
+ * not send anything itself, the dispatcher sends {@link #render(String)} to the sender once when it catches it.
+ * Expected outcomes should be cheap so spamming a command with bad input costs no more than valid input.
+ *
  * @author Richmond Steele
  * @since 12/17/13 All rights Reserved Please read included LICENSE file
  */
@@ -12,17 +17,99 @@ public class CommandException extends Exception {
 
     private static final String PREFIX = "Internal CommandHandlerAPI error: ";
 
-    CommandException(final String s) {
-        super(s);
+    /**
+     * Thrown when a command has no handler
+     */
+    public static final CommandException FAILED = of("failed");
+    /**
+     * Thrown when an argument is requested that does not exist
+     */
+    public static final CommandException INVALID_INDEX = of("invalid-index");
+
+    private final boolean prefixed;
+    private final boolean keyed;
+    private final Object[] objects;
+
+    private CommandException(final String s, final boolean prefixed, final boolean keyed, final Object[] objects) {
+        super(s, null, false, false);
+        this.prefixed = prefixed;
+        this.keyed = keyed;
+        this.objects = objects;
+    }
+
+    /**
+     * @param s
+     *     The message to send to the sender, translated by the {@link MessageCatalog} if it has a translation
+     */
+    public CommandException(final String s) {
+        this(s, false, false, null);
+    }
+
+    /**
+     * @param s
+     *     The message to send to the sender, formatted with {@link String#format(String, Object...)} when it is sent
+     * @param objects
+     *     The arguments of the format
+     */
+    public CommandException(final String s, final Object... objects) {
+        this(s, false, false, objects);
     }
 
+    /**
+     * @deprecated The message is no longer sent when the exception is created but when the dispatcher catches it, use
+     * {@link #CommandException(String)}
+     */
+    @Deprecated
     public CommandException(final CommandSender sender, final String s) {
-        super(s);
-        sender.sendMessage(PREFIX + s);
+        this(s, true, false, null);
     }
 
+    /**
+     * @deprecated The message is no longer sent when the exception is created but when the dispatcher catches it, use
+     * {@link #CommandException(String, Object...)}
+     */
+    @Deprecated
     public CommandException(final CommandSender sender, final String s, final Object... objects) {
-        super(s);
-        sender.sendMessage(PREFIX + String.format(s, objects));
+        this(s, true, false, objects);
+    }
+
+    /**
+     * @param key
+     *     The key of a message in the {@link MessageCatalog}
+     * @param args
+     *     The arguments of the message
+     *
+     * @return An exception whose message is rendered in the language of the sender
+     */
+    public static CommandException of(final String key, final Object... args) {
+        return new CommandException(key, false, true, args);
+    }
+
+    /**
+     * @return The message in the default language
+     */
+    public String render() {
+        return render(null);
+    }
+
+    /**
+     * @param locale
+     *     The locale of the sender, {@code null} for the default locale
+     *
+     * @return The message to send to the sender
+     */
+    public String render(final String locale) {
+        final MessageCatalog catalog = MessageCatalog.getInstance();
+        if (this.keyed) {
+            return catalog.format(locale, getMessage(), this.objects);
+        }
+        final String message;
+        if (this.objects == null || this.objects.length == 0) {
+            message = catalog.translate(locale, getMessage());
+        }
+        else {
+            message = String.format(getMessage(), this.objects);
+        }
+        return this.prefixed ? PREFIX + message : message;
     }
 }
@@ -1,12 +1,17 @@
 package com.not2excel.api.command.handler;
 
 import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.CommandManager;
 import com.not2excel.api.command.Flag;
+import com.not2excel.api.command.metrics.CommandMetrics;
+import com.not2excel.api.command.metrics.CommandWatchdog;
+import com.not2excel.api.command.metrics.NodeMetrics;
+import com.not2excel.api.command.metrics.RejectReason;
 import com.not2excel.api.command.objects.*;
-import org.bukkit.ChatColor;
+import com.not2excel.api.command.parser.ParseResult;
+import com.not2excel.api.command.tracing.Span;
+import com.not2excel.api.command.tracing.Tracer;
 
-import java.lang.reflect.InvocationTargetException;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -21,129 +26,179 @@ public class DefaultHandler implements Handler {
         this.queue = queue;
     }
 
-    private static void sendHelpScreen(final CommandInfo info, final String errorMsg) {
-        info.getSender().sendMessage(ChatColor.RED + errorMsg);
+    /**
+     * @return The handler method of the command, {@code null} if this handles a generated command
+     */
+    public QueuedCommand getQueue() {
+        return this.queue;
+    }
+
+    private static void sendHelpScreen(final CommandInfo info, final String errorKey, final Object... args) {
+        info.sendMessage(info.getMessage(errorKey, args));
         RegisteredCommand.displayDefaultUsage(info);
     }
 
-    @Override
-    public void handleCommand(final CommandInfo info) {
-        final List<String> args = info.getArgs();
-        final ParentCommand parentCommand = info.getParentCommand();
-        if (args.size() == 0 || parentCommand.getAllChildCommands().size() == 0) {
-            if (this.queue != null) {
-                sendCommand(info);
-            }
-            else {
-                RegisteredCommand.displayDefaultUsage(info);
-            }
+    private static void sendNoPermission(final CommandInfo info, final String noPermission) {
+        info.sendMessage(info.getMessage("no-permission", info.translate(noPermission)));
+    }
+
+    /**
+     * Tell the sender that {@code arg} is not a sub command. If there are sub commands close to it they are suggested
+     * instead of showing the whole help screen.
+     */
+    private static void sendUnknownSubcommand(final CommandInfo info, final String arg) {
+        final List<String> suggestions = info.getParentCommand().getSuggestions(arg, info.getSender());
+        if (suggestions.isEmpty()) {
+            sendHelpScreen(info, "unknown-subcommand", arg);
+            return;
         }
-        else if (args.size() > 0) {
-            if (("help".equalsIgnoreCase(args.get(0)) && !parentCommand.getAllChildCommands().containsKey("help")) ||
-                ("?".equalsIgnoreCase(args.get(0)) && !parentCommand.getAllChildCommands().containsKey("?"))) {
-//                final CommandHandler ch = this.queue.getMethod().getAnnotation(CommandHandler.class);
-                RegisteredCommand.displayDefaultUsage(info);
-                return;
-            }
-            final ChildCommand child = parentCommand.getAllChildCommands().get(args.get(0));
-            if (child == null) {
-                //needed to send parent command instead of throwing errors so that parent command can process args
-                sendCommand(info);
-                return;
-            }
-            if (!child.checkPermission(info.getSender())) {
-                info.getSender().sendMessage(ChatColor.RED + child.getCommandHandler().noPermission());
-                return;
-            }
-            final CommandInfo cmdInfo =
-                new CommandInfo(info.getRegisteredCommand(), child, child.getCommandHandler(), info.getSender(),
-                                args.get(0), args.size() == 1 ? Collections.emptyList() : args.subList(1, args.size()),
-                                info.getUsage(), info.getPermission());
-            try {
-                child.getHandler().handleCommand(cmdInfo);
-            } catch (final CommandException e) {
-                info.getSender().sendMessage(ChatColor.RED + "Failed to handle command properly.");
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < suggestions.size(); i++) {
+            if (i != 0) {
+                builder.append(
+                    info.getMessage(i + 1 == suggestions.size() ? "suggestion-last-separator" : "suggestion-separator"));
             }
+            builder.append(info.getMessage("suggestion", suggestions.get(i)));
         }
+        info.sendMessage(info.getMessage("unknown-subcommand-suggestion", arg, builder));
     }
 
-    private void sendCommand(final CommandInfo info) {
+    /**
+     * The grammar already followed the sub commands, so {@code info} is the command reached and its parse result says
+     * if the arguments ask for help or name a sub command that does not exist
+     */
+    @Override
+    public void handleCommand(final CommandInfo info) throws CommandException {
+        final ParseResult result = info.getParseResult();
+        if (result.isHelpRequest()) {
+            RegisteredCommand.displayDefaultUsage(info, result.getHelpPage());
+            return;
+        }
+        final String unknownSubCommand = result.getUnknownSubCommand();
+        if (unknownSubCommand != null) {
+            //there is no parent command to process the args
+            sendUnknownSubcommand(info, unknownSubCommand);
+            info.setRejectReason(RejectReason.UNKNOWN_SUBCOMMAND);
+            return;
+        }
+        if (this.queue != null) {
+            sendCommand(info);
+        }
+        else {
+            RegisteredCommand.displayDefaultUsage(info);
+        }
+    }
+
+    private void sendCommand(final CommandInfo info) throws CommandException {
         final CommandHandler ch = this.queue.getMethod().getAnnotation(CommandHandler.class);
+        final CommandManager manager = CommandManager.getInstance();
+        final CommandMetrics metrics = manager == null ? null : manager.getMetrics();
+        final NodeMetrics nodeMetrics = metrics == null ? null : metrics.get(ch.command());
+        if (nodeMetrics == null) {
+            info.setRejectReason(checkAndInvoke(info, ch, null));
+            return;
+        }
+        final long start = metrics.startTimer();
+        RejectReason reason = RejectReason.ERROR;
+        try {
+            reason = checkAndInvoke(info, ch, nodeMetrics);
+            info.setRejectReason(reason);
+        } catch (final CommandException e) {
+            reason = RejectReason.FAILED;
+            throw e;
+        } finally {
+            nodeMetrics.recordInvocation(reason, start);
+        }
+    }
+
+    /**
+     * @param nodeMetrics
+     *     Where to count the CPU time of the handler, {@code null} if it is not counted
+     *
+     * @return Why the command was rejected, {@code null} if it was handled
+     */
+    private RejectReason checkAndInvoke(final CommandInfo info, final CommandHandler ch, final NodeMetrics nodeMetrics)
+        throws CommandException {
 
         if (ch.strictArgs() && info.getArgsLength() == 0 &&
             (info.getCommandHandler().flags().length != 0 || ch.max() == 0)) {
             RegisteredCommand.displayDefaultUsage(info);
-            return;
+            return RejectReason.USAGE;
         }
 
         if (info.getArgsLength() < info.getCommandHandler().min()) {
-            sendHelpScreen(info, "Too few arguments.");
-            return;
+            sendHelpScreen(info, "too-few-arguments");
+            return RejectReason.TOO_FEW_ARGUMENTS;
         }
         if (info.getCommandHandler().max() != -1 && info.getArgsLength() > info.getCommandHandler().max()) {
-            sendHelpScreen(info, "Too many arguments.");
-            return;
+            sendHelpScreen(info, "too-many-arguments");
+            return RejectReason.TOO_MANY_ARGUMENTS;
         }
         if (!"".equals(info.getCommandHandler().permission()) &&
             !info.getSender().hasPermission(info.getCommandHandler().permission())) {
-            info.getSender().sendMessage(ChatColor.RED + info.getCommandHandler().noPermission());
-            return;
+            sendNoPermission(info, info.getCommandHandler().noPermission());
+            return RejectReason.NO_PERMISSION;
         }
         if (info.playersOnly() && !info.isPlayer()) {
-            //maybe make this configurable some how
-            info.getSender().sendMessage(ChatColor.RED + "This command can only be executed in game.");
-            return;
+            info.sendMessage(info.getMessage("players-only"));
+            return RejectReason.PLAYERS_ONLY;
         }
 
-        for (final char flagChar : info.getFlags()) {
-            final ChildCommand cmd = info.getParentCommand().getParentAsChild();
-            final Flag flag;
-
-            //Let the flag * always be present, but if it is overridden then use that
-            if (flagChar == '*' && !cmd.hasFlag('*')) {
-                flag = info.getCommandHandler().asteriskFlag() ? defaultAsteriskFlag() : null;
+        final ParseResult result = info.getParseResult();
+        final char unknownFlag = result.getUnknownFlag();
+        if (unknownFlag != 0) {
+            final Flag suggestion = result.getState().getFlagSuggestion(unknownFlag);
+            if (suggestion != null) {
+                info.sendMessage(info.getMessage("unknown-flag-suggestion", unknownFlag, suggestion.flag()));
             }
             else {
-                flag = cmd.getFlagAnnotation(flagChar);
-            }
-
-            if (flag == null) {
-                sendHelpScreen(info, "Unknown flag: " + flagChar);
-                return;
-            }
-
-            //player does not have permission to execute the command with this flag
-            if (info.isPlayer() && !"".equals(flag.permission()) &&
-                !info.getPlayer().hasPermission(flag.permission())) {
-                info.getSender().sendMessage(ChatColor.RED + flag.noPermission());
-                return;
+                sendHelpScreen(info, "unknown-flag", unknownFlag);
             }
+            return RejectReason.UNKNOWN_FLAG;
         }
 
-
-        if (ch.strictArgs()) {
-            for (final String arg : info.getArgs()) {
-                if (!CommandInfo.isFlag(arg)) {
-                    sendHelpScreen(info, "Unknown subcommand: " + arg);
-                    return;
+        if (info.isPlayer()) {
+            for (final Flag flag : result.getFlags().values()) {
+                //player does not have permission to execute the command with this flag
+                if (flag != null && !"".equals(flag.permission()) &&
+                    !info.getPlayer().hasPermission(flag.permission())) {
+                    sendNoPermission(info, flag.noPermission());
+                    return RejectReason.FLAG_PERMISSION;
                 }
             }
         }
 
-        try {
-            this.queue.getMethod().invoke(this.queue.getObject(), info);
-        } catch (final IllegalAccessException | InvocationTargetException e) {
-            e.printStackTrace();
+        final String strictViolation = result.getStrictViolation();
+        if (strictViolation != null) {
+            sendUnknownSubcommand(info, strictViolation);
+            return RejectReason.UNKNOWN_SUBCOMMAND;
         }
-    }
 
-    @Flag(flag = '*', usage = "Select all options")
-    private Flag defaultAsteriskFlag() {
+        //the arguments are checked when the handler is invoked, the sender is told what is wrong with them
+        final boolean invalid = !this.queue.getBinder().isPlain() &&
+                                (result.getInvalidParameter() >= 0 || result.getMissingParameter() >= 0);
+        final Span span = Tracer.getInstance().start("handler");
+        final CommandWatchdog watchdog = CommandWatchdog.getInstance();
+        final CommandWatchdog.Watch watch = watchdog.arm(ch.command(), info.getSender().getName());
+        //the handler threw a CommandException if invoke does not return
+        RejectReason reason = RejectReason.FAILED;
         try {
-            return getClass().getDeclaredMethod("defaultAsteriskFlag").getAnnotation(Flag.class);
-        } catch (final NullPointerException | NoSuchMethodException e) {
-            e.printStackTrace();
+            reason = FailureTracker.getInstance().invoke(info, ch.command(), this.queue);
+        } finally {
+            final long cpuTime = watchdog.disarm(watch);
+            if (nodeMetrics != null && cpuTime >= 0 && reason != RejectReason.DISABLED) {
+                nodeMetrics.recordCpuTime(cpuTime);
+            }
+            if (span != null) {
+                if (reason != null) {
+                    span.setStatus(reason.name());
+                }
+                span.end();
+            }
+        }
+        if (reason != null) {
+            return reason;
         }
-        return null;
+        return invalid ? RejectReason.INVALID_ARGUMENTS : null;
     }
 }
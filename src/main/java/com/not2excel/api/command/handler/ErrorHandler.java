@@ -1,7 +1,6 @@
 package com.not2excel.api.command.handler;
 
 import com.not2excel.api.command.objects.CommandInfo;
-import org.bukkit.ChatColor;
 
 /**
  * @author Richmond Steele
@@ -9,8 +8,13 @@ import org.bukkit.ChatColor;
  */
 public class ErrorHandler implements Handler {
 
+    /**
+     * The handler is stateless, there is no need for more than one
+     */
+    public static final ErrorHandler INSTANCE = new ErrorHandler();
+
     @Override
     public void handleCommand(final CommandInfo info) throws CommandException {
-        throw new CommandException(ChatColor.RED + "Failed to handle command properly.");
+        throw CommandException.FAILED;
     }
 }
@@ -0,0 +1,306 @@
+package com.not2excel.api.command.handler;
+
+import com.not2excel.api.command.metrics.RejectReason;
+import com.not2excel.api.command.objects.CommandInfo;
+import com.not2excel.api.command.objects.QueuedCommand;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the unexpected exceptions thrown by handlers. The same exception (same type, thrown at the same line) of a
+ * command is logged with its stack trace at most once per {@link #getReportInterval()}, how often it was thrown in
+ * between is logged with the next report. A command that fails {@link #getThreshold()} times within {@link
+ * #getWindow()} is disabled for {@link #getCooldown()}, senders are told to try again later instead of running it.
+ * <p>
+ * Commands that never failed are not tracked, checking if such a command is disabled is a map lookup.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class FailureTracker {
+
+    private static final FailureTracker INSTANCE = new FailureTracker();
+    /**
+     * How many different exceptions of one command are aggregated, the least recent is forgotten
+     */
+    private static final int MAX_SIGNATURES = 16;
+
+    private final Map<String, NodeFailures> nodes = new ConcurrentHashMap<>();
+    private volatile int threshold = 5;
+    private volatile long window = TimeUnit.SECONDS.toMillis(10);
+    private volatile long cooldown = TimeUnit.SECONDS.toMillis(30);
+    private volatile long reportInterval = TimeUnit.SECONDS.toMillis(60);
+    private volatile LongSupplier clock = System::currentTimeMillis;
+
+    private FailureTracker() {
+    }
+
+    public static FailureTracker getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param command
+     *     The command, e.g. {@code home.set}
+     *
+     * @return How many milliseconds the command stays disabled, {@code 0} if it is enabled
+     */
+    public long getRemainingCooldown(final String command) {
+        final NodeFailures failures = this.nodes.get(command);
+        return failures == null ? 0 : Math.max(0, failures.disabledUntil - this.clock.getAsLong());
+    }
+
+    /**
+     * Invoke the handler method of a command unless the command is disabled. When the handler throws an unexpected
+     * exception the failure is recorded with {@link #recordFailure(String, String, Throwable)} and the sender is told
+     * that an internal error occurred.
+     *
+     * @param info
+     *     The command to handle
+     * @param command
+     *     The command, e.g. {@code home.set}
+     * @param queue
+     *     The handler method of the command
+     *
+     * @return {@link RejectReason#DISABLED} if the command is disabled, {@link RejectReason#ERROR} if the handler threw
+     * an unexpected exception or {@code null} if it was handled
+     *
+     * @throws CommandException
+     *     If the handler threw it
+     */
+    public RejectReason invoke(final CommandInfo info, final String command, final QueuedCommand queue)
+        throws CommandException {
+        final long cooldown = getRemainingCooldown(command);
+        if (cooldown > 0) {
+            info.sendMessage(info.getMessage("command-disabled", TimeUnit.MILLISECONDS.toSeconds(cooldown + 999)));
+            return RejectReason.DISABLED;
+        }
+        try {
+            queue.invoke(info);
+        } catch (final IllegalAccessException | InvocationTargetException e) {
+            recordFailure(command, info.getSender().getName(), e);
+            info.sendMessage(info.getMessage("command-error"));
+            return RejectReason.ERROR;
+        }
+        return null;
+    }
+
+    /**
+     * Count a failure of a command, log it unless the same failure was logged recently and disable the command if it
+     * failed too often
+     *
+     * @param command
+     *     The command whose handler threw, e.g. {@code home.set}
+     * @param sender
+     *     The name of the sender
+     * @param error
+     *     What the handler threw, an {@link InvocationTargetException} is unwrapped
+     */
+    public void recordFailure(final String command, final String sender, final Throwable error) {
+        final Throwable cause =
+            error instanceof InvocationTargetException && error.getCause() != null ? error.getCause() : error;
+        final String signature = signature(cause);
+        final long now = this.clock.getAsLong();
+        final NodeFailures failures = this.nodes.computeIfAbsent(command, key -> new NodeFailures());
+        final boolean disabled;
+        final boolean report;
+        final int suppressed;
+        synchronized (failures) {
+            failures.total++;
+            if (now - failures.windowStart >= this.window) {
+                failures.windowStart = now;
+                failures.windowCount = 0;
+            }
+            failures.windowCount++;
+            disabled = this.threshold > 0 && failures.windowCount >= this.threshold && now >= failures.disabledUntil;
+            if (disabled) {
+                failures.disabledUntil = now + this.cooldown;
+                failures.windowCount = 0;
+            }
+
+            Aggregate aggregate = failures.aggregates.get(signature);
+            if (aggregate == null) {
+                aggregate = new Aggregate(cause.toString());
+                failures.aggregates.put(signature, aggregate);
+            }
+            report = aggregate.lastReport == 0 || now - aggregate.lastReport >= this.reportInterval;
+            if (report) {
+                suppressed = aggregate.pending;
+                aggregate.pending = 0;
+                aggregate.lastReport = now;
+            }
+            else {
+                suppressed = 0;
+                aggregate.pending++;
+            }
+        }
+
+        final LevelLogger logger = LevelLogger.getInstance();
+        if (report) {
+            final StringWriter trace = new StringWriter();
+            cause.printStackTrace(new PrintWriter(trace));
+            logger.log(LogType.ERROR, "/{} of {} failed{}: {}", command.replace('.', ' '), sender,
+                       suppressed == 0 ? "" : " (" + suppressed + " more times like this since the last report)",
+                       trace.toString().trim());
+        }
+        if (disabled) {
+            logger.log(LogType.WARNING, "Disabled /{} for {} s after {} failures within {} s",
+                       command.replace('.', ' '), TimeUnit.MILLISECONDS.toSeconds(this.cooldown), this.threshold,
+                       TimeUnit.MILLISECONDS.toSeconds(this.window));
+        }
+    }
+
+    /**
+     * The type of the exception and the line it was thrown at
+     */
+    private static String signature(final Throwable cause) {
+        final StackTraceElement[] stack = cause.getStackTrace();
+        return stack.length == 0 ? cause.getClass().getName() : cause.getClass().getName() + '@' + stack[0];
+    }
+
+    /**
+     * Log how often each failure was thrown since it was last logged, e.g. before the plugin is disabled
+     */
+    public void flush() {
+        final List<String> lines = new ArrayList<>();
+        for (final Map.Entry<String, NodeFailures> node : this.nodes.entrySet()) {
+            synchronized (node.getValue()) {
+                for (final Aggregate aggregate : node.getValue().aggregates.values()) {
+                    if (aggregate.pending > 0) {
+                        lines.add("/" + node.getKey().replace('.', ' ') + " failed " + aggregate.pending +
+                                  " more times with " + aggregate.description);
+                        aggregate.pending = 0;
+                        aggregate.lastReport = this.clock.getAsLong();
+                    }
+                }
+            }
+        }
+        for (final String line : lines) {
+            LevelLogger.getInstance().log(LogType.ERROR, line);
+        }
+    }
+
+    /**
+     * @return How often the handler of the command failed since it was last reset
+     */
+    public long getFailureCount(final String command) {
+        final NodeFailures failures = this.nodes.get(command);
+        if (failures == null) {
+            return 0;
+        }
+        synchronized (failures) {
+            return failures.total;
+        }
+    }
+
+    /**
+     * Forget the failures of all commands and enable the disabled commands
+     */
+    public void reset() {
+        this.nodes.clear();
+    }
+
+    /**
+     * Forget the failures of a command and enable it if it is disabled
+     */
+    public void reset(final String command) {
+        this.nodes.remove(command);
+    }
+
+    /**
+     * @return How many failures within the window disable a command, {@code 0} if commands are never disabled
+     */
+    public int getThreshold() {
+        return this.threshold;
+    }
+
+    public void setThreshold(final int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("The threshold cannot be negative");
+        }
+        this.threshold = threshold;
+    }
+
+    /**
+     * @return The time in milliseconds in which {@link #getThreshold()} failures disable a command
+     */
+    public long getWindow() {
+        return this.window;
+    }
+
+    public void setWindow(final long window, final TimeUnit unit) {
+        this.window = unit.toMillis(window);
+    }
+
+    /**
+     * @return How many milliseconds a command stays disabled
+     */
+    public long getCooldown() {
+        return this.cooldown;
+    }
+
+    public void setCooldown(final long cooldown, final TimeUnit unit) {
+        this.cooldown = unit.toMillis(cooldown);
+    }
+
+    /**
+     * @return How many milliseconds have to pass before the same failure is logged again
+     */
+    public long getReportInterval() {
+        return this.reportInterval;
+    }
+
+    public void setReportInterval(final long reportInterval, final TimeUnit unit) {
+        this.reportInterval = unit.toMillis(reportInterval);
+    }
+
+    /**
+     * @param clock
+     *     The current time in milliseconds, so tests do not have to wait for the window or cooldown to pass
+     */
+    void setClock(final LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * The failures of one command, guarded by itself except {@link #disabledUntil}
+     */
+    private static final class NodeFailures {
+
+        private final Map<String, Aggregate> aggregates = new LinkedHashMap<String, Aggregate>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Aggregate> eldest) {
+                return size() > MAX_SIGNATURES;
+            }
+        };
+        private volatile long disabledUntil;
+        private long total;
+        private long windowStart;
+        private int windowCount;
+    }
+
+    private static final class Aggregate {
+
+        private final String description;
+        private long lastReport;
+        private int pending;
+
+        private Aggregate(final String description) {
+            this.description = description;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.not2excel.api.command.management;
+
+import java.util.Map;
+
+/**
+ * The command tree and the statistics of a {@link com.not2excel.api.command.CommandManager} over JMX. Every attribute
+ * is read from lock-free counters or by walking the concurrent maps of the tree, so polling never blocks the main
+ * thread. Maps are keyed by base command.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("unused")
+public interface CommandManagerMXBean {
+
+    /**
+     * @return The name of the plugin the commands are of
+     */
+    String getPlugin();
+
+    /**
+     * @return How many base commands are registered
+     */
+    int getBaseCommandCount();
+
+    /**
+     * @return How many commands are registered, base and sub commands without aliases
+     */
+    int getCommandCount();
+
+    /**
+     * @return How many levels of sub commands the deepest command has, {@code 0} if there are only base commands
+     */
+    int getTreeDepth();
+
+    /**
+     * @return How often each base command and its sub commands were sent
+     */
+    Map<String, Long> getInvocations();
+
+    /**
+     * @return How often each base command and its sub commands threw an unexpected exception
+     */
+    Map<String, Long> getErrors();
+
+    /**
+     * @return How often each base command and its sub commands were rejected, e.g. for bad input or permissions
+     */
+    Map<String, Long> getRejections();
+
+    /**
+     * @return How often commands were rejected for each reason
+     */
+    Map<String, Long> getRejectionReasons();
+
+    /**
+     * @return How many arguments were tab completed
+     */
+    long getCompletions();
+
+    /**
+     * @return How many tab completion requests were dropped because a sender sent too many
+     */
+    long getDroppedCompletions();
+
+    /**
+     * @return The ratio of tab completions answered from the cache, between 0 and 1
+     */
+    double getCompletionCacheHitRate();
+
+    /**
+     * @return How many log entries wait to be written
+     */
+    long getLogQueueDepth();
+
+    /**
+     * @return How many log entries were dropped because the log queue was full
+     */
+    long getDroppedLogEntries();
+
+    /**
+     * @return How many audit records wait to be written, {@code 0} if commands are not audited
+     */
+    long getAuditQueueDepth();
+
+    /**
+     * @return How many audit records were dropped, {@code 0} if commands are not audited
+     */
+    long getDroppedAuditRecords();
+
+    /**
+     * Reset the command statistics and the counters of the completion cache
+     */
+    void resetCounters();
+
+    /**
+     * @return The command tree, one command per line indented by its depth
+     */
+    String dumpTree();
+}
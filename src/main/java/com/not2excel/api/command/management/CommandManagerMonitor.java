@@ -0,0 +1,244 @@
+package com.not2excel.api.command.management;
+
+import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.command.audit.AuditLog;
+import com.not2excel.api.command.metrics.NodeMetrics;
+import com.not2excel.api.command.metrics.RejectReason;
+import com.not2excel.api.command.objects.ChildCommand;
+import com.not2excel.api.command.objects.ParentCommand;
+import com.not2excel.api.command.objects.RegisteredCommand;
+import com.not2excel.api.logging.LogWriter;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Exposes a {@link CommandManager} as the MXBean {@code com.not2excel.api:type=CommandManager,plugin=<plugin>}
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public final class CommandManagerMonitor implements CommandManagerMXBean {
+
+    private final CommandManager manager;
+
+    private CommandManagerMonitor(final CommandManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * @return The name {@code manager} is registered with
+     */
+    public static ObjectName getObjectName(final CommandManager manager) throws JMException {
+        return new ObjectName(
+            "com.not2excel.api:type=CommandManager,plugin=" + ObjectName.quote(manager.getPlugin().getName()));
+    }
+
+    /**
+     * Register {@code manager} with the platform MBean server, replacing a manager of an earlier load of the plugin
+     */
+    public static void register(final CommandManager manager) throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = getObjectName(manager);
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(new CommandManagerMonitor(manager), name);
+    }
+
+    /**
+     * Unregister {@code manager} from the platform MBean server if it is registered
+     */
+    public static void unregister(final CommandManager manager) throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = getObjectName(manager);
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+    }
+
+    private static String baseOf(final String command) {
+        final int dot = command.indexOf('.');
+        return dot < 0 ? command : command.substring(0, dot);
+    }
+
+    private Map<String, Long> sumByBase(final ToLongFunction<NodeMetrics> counter) {
+        final Map<String, Long> sums = new TreeMap<>();
+        for (final NodeMetrics metrics : this.manager.getMetrics().getAll()) {
+            sums.merge(baseOf(metrics.getCommand()), counter.applyAsLong(metrics), Long::sum);
+        }
+        return sums;
+    }
+
+    @Override
+    public String getPlugin() {
+        return this.manager.getPlugin().getName();
+    }
+
+    @Override
+    public int getBaseCommandCount() {
+        return this.manager.getRegisteredCommands().size();
+    }
+
+    @Override
+    public int getCommandCount() {
+        int count = 0;
+        for (final RegisteredCommand registered : this.manager.getRegisteredCommands().values()) {
+            count += 1 + countChildren(registered);
+        }
+        return count;
+    }
+
+    private static int countChildren(final ParentCommand parent) {
+        int count = 0;
+        for (final ChildCommand child : parent.getAllChildCommands().values()) {
+            if (!child.isAlias()) {
+                count += 1 + countChildren(child);
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int getTreeDepth() {
+        int depth = 0;
+        for (final RegisteredCommand registered : this.manager.getRegisteredCommands().values()) {
+            depth = Math.max(depth, depthOf(registered));
+        }
+        return depth;
+    }
+
+    private static int depthOf(final ParentCommand parent) {
+        int depth = 0;
+        for (final ChildCommand child : parent.getAllChildCommands().values()) {
+            if (!child.isAlias()) {
+                depth = Math.max(depth, 1 + depthOf(child));
+            }
+        }
+        return depth;
+    }
+
+    @Override
+    public Map<String, Long> getInvocations() {
+        return sumByBase(NodeMetrics::getInvocations);
+    }
+
+    @Override
+    public Map<String, Long> getErrors() {
+        return sumByBase(metrics -> metrics.getRejections(RejectReason.ERROR));
+    }
+
+    @Override
+    public Map<String, Long> getRejections() {
+        return sumByBase(metrics -> metrics.getRejections() - metrics.getRejections(RejectReason.ERROR));
+    }
+
+    @Override
+    public Map<String, Long> getRejectionReasons() {
+        final Map<String, Long> reasons = new TreeMap<>();
+        for (final RejectReason reason : RejectReason.values()) {
+            long sum = 0;
+            for (final NodeMetrics metrics : this.manager.getMetrics().getAll()) {
+                sum += metrics.getRejections(reason);
+            }
+            reasons.put(reason.name(), sum);
+        }
+        return reasons;
+    }
+
+    @Override
+    public long getCompletions() {
+        long completions = 0;
+        for (final NodeMetrics metrics : this.manager.getMetrics().getAll()) {
+            completions += metrics.getCompletions();
+        }
+        return completions;
+    }
+
+    @Override
+    public long getDroppedCompletions() {
+        return this.manager.getCompletionGovernor().getDroppedCount();
+    }
+
+    @Override
+    public double getCompletionCacheHitRate() {
+        return this.manager.getCompletionCache().getHitRate();
+    }
+
+    @Override
+    public long getLogQueueDepth() {
+        return LogWriter.getInstance().getQueueDepth();
+    }
+
+    @Override
+    public long getDroppedLogEntries() {
+        return LogWriter.getInstance().getDroppedCount();
+    }
+
+    @Override
+    public long getAuditQueueDepth() {
+        final AuditLog auditLog = this.manager.getAuditLog();
+        return auditLog == null ? 0 : auditLog.getQueueDepth();
+    }
+
+    @Override
+    public long getDroppedAuditRecords() {
+        final AuditLog auditLog = this.manager.getAuditLog();
+        return auditLog == null ? 0 : auditLog.getDroppedCount();
+    }
+
+    @Override
+    public void resetCounters() {
+        this.manager.getMetrics().reset();
+        this.manager.getCompletionCache().resetCounters();
+    }
+
+    @Override
+    public String dumpTree() {
+        final StringBuilder tree = new StringBuilder();
+        for (final Map.Entry<String, RegisteredCommand> entry :
+            new TreeMap<>(this.manager.getRegisteredCommands()).entrySet()) {
+            final RegisteredCommand registered = entry.getValue();
+            appendNode(tree, 0, entry.getKey(), registered.getQueuedCommand() == null ? null :
+                                                registered.getCommandHandler());
+            appendChildren(tree, 1, registered);
+        }
+        return tree.toString();
+    }
+
+    private static void appendChildren(final StringBuilder tree, final int depth, final ParentCommand parent) {
+        for (final Map.Entry<String, ChildCommand> entry : new TreeMap<>(parent.getAllChildCommands()).entrySet()) {
+            final ChildCommand child = entry.getValue();
+            if (!child.isAlias()) {
+                appendNode(tree, depth, entry.getKey(), child.getCommandHandler());
+                appendChildren(tree, depth + 1, child);
+            }
+        }
+    }
+
+    private static void appendNode(final StringBuilder tree, final int depth, final String name,
+                                   final CommandHandler commandHandler) {
+        for (int i = 0; i < depth; i++) {
+            tree.append("  ");
+        }
+        tree.append(name);
+        if (commandHandler == null) {
+            tree.append(" (generated)");
+        }
+        else {
+            if (commandHandler.aliases().length != 0) {
+                tree.append(" aliases=").append(String.join(",", commandHandler.aliases()));
+            }
+            if (!commandHandler.permission().isEmpty()) {
+                tree.append(" permission=").append(commandHandler.permission());
+            }
+        }
+        tree.append('\n');
+    }
+}
@@ -0,0 +1,107 @@
+package com.not2excel.api.command.messages;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Uses the language the client of a player is set to. Newer servers expose it as {@code Player#getLocale()}, older
+ * Spigot servers as {@code Player#spigot().getLocale()}. How to get it is looked up once per class of player, so a
+ * stand-in or NPC player class without it does not disable it for the other players. Players of a class that has
+ * neither get the default locale.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class ClientLocaleResolver implements LocaleResolver {
+
+    private final ClassValue<LocaleGetter> getters = new ClassValue<LocaleGetter>() {
+        @Override
+        protected LocaleGetter computeValue(final Class<?> type) {
+            return LocaleGetter.of(type);
+        }
+    };
+
+    @Override
+    public String getLocale(final CommandSender sender) {
+        if (!(sender instanceof Player)) {
+            return null;
+        }
+        return getClientLocale(sender);
+    }
+
+    /**
+     * @param player
+     *     The player to get the language of
+     *
+     * @return The language the client of {@code player} is set to, {@code null} if it is not known
+     */
+    String getClientLocale(final Object player) {
+        return this.getters.get(player.getClass()).get(player);
+    }
+
+    private static final class LocaleGetter {
+
+        private static final LocaleGetter NONE = new LocaleGetter(null, null);
+
+        /**
+         * {@code null} if the locale is got from the player itself
+         */
+        private final Method spigot;
+        private final Method getLocale;
+        private volatile boolean broken;
+
+        private LocaleGetter(final Method spigot, final Method getLocale) {
+            this.spigot = spigot;
+            this.getLocale = getLocale;
+        }
+
+        static LocaleGetter of(final Class<?> type) {
+            final Method getLocale = findMethod(type, "getLocale");
+            if (getLocale != null) {
+                return new LocaleGetter(null, getLocale);
+            }
+            final Method spigot = findMethod(type, "spigot");
+            final Method spigotGetLocale = spigot == null ? null : findMethod(spigot.getReturnType(), "getLocale");
+            //an old server, there is no way to know the language
+            return spigotGetLocale == null ? NONE : new LocaleGetter(spigot, spigotGetLocale);
+        }
+
+        private static Method findMethod(final Class<?> type, final String name) {
+            try {
+                final Method method = type.getMethod(name);
+                if (method.getReturnType() == void.class) {
+                    return null;
+                }
+                method.setAccessible(true);
+                return method;
+            } catch (final NoSuchMethodException | RuntimeException ignored) {
+                return null;
+            }
+        }
+
+        String get(final Object player) {
+            if (this.getLocale == null || this.broken) {
+                return null;
+            }
+            try {
+                final Object target = this.spigot == null ? player : this.spigot.invoke(player);
+                final Object locale = target == null ? null : this.getLocale.invoke(target);
+                return locale == null ? null : locale.toString();
+            } catch (final InvocationTargetException e) {
+                //e.g. a class compiled against an API without the method, it will never work
+                if (e.getCause() instanceof LinkageError || e.getCause() instanceof UnsupportedOperationException) {
+                    this.broken = true;
+                }
+                return null;
+            } catch (final IllegalAccessException | LinkageError e) {
+                this.broken = true;
+                return null;
+            } catch (final RuntimeException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.not2excel.api.command.messages;
+
+import org.bukkit.command.CommandSender;
+
+/**
+ * Finds the language of a sender. The result is cached by the {@link MessageCatalog} so a resolver may be slow, e.g.
+ * look the language up in a database.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public interface LocaleResolver {
+
+    /**
+     * @param sender
+     *     The sender to find the language of
+     *
+     * @return The locale of {@code sender}, e.g. {@code de_DE} or {@code de}, or {@code null} to use the default locale
+     */
+    String getLocale(CommandSender sender);
+}
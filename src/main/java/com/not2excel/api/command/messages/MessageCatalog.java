@@ -0,0 +1,286 @@
+package com.not2excel.api.command.messages;
+
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import org.bukkit.command.CommandSender;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The messages of the API and the text of the {@link com.not2excel.api.command.CommandHandler} and {@link
+ * com.not2excel.api.command.Flag} annotations in every language.
+ * <p>
+ * Messages are read from {@code .properties} files (UTF-8) named {@code <base>[_<language>[_<country>]].properties}.
+ * The messages of the API are in {@value #BUILT_IN}, a plugin can add translations of them and of its annotation text
+ * in its own files, see {@link #addSource(ClassLoader, String)}. The text of an annotation is its own key, if there
+ * is no translation the text is used as it is.
+ * <p>
+ * Each message is parsed to a {@link MessageTemplate} once per locale, the locale of a sender is cached for {@link
+ * #getLocaleTtl()} milliseconds or until the player leaves.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class MessageCatalog {
+
+    public static final String BUILT_IN = "cmdapi_messages";
+    private static final MessageCatalog INSTANCE = new MessageCatalog();
+
+    private final List<Source> sources = new ArrayList<>();
+    private final Map<String, Map<String, MessageTemplate>> locales = new ConcurrentHashMap<>();
+    private final Map<String, CachedLocale> senders = new ConcurrentHashMap<>();
+    private volatile LocaleResolver localeResolver = new ClientLocaleResolver();
+    private volatile String defaultLocale = "en";
+    private volatile long localeTtl = TimeUnit.SECONDS.toMillis(60);
+
+    private MessageCatalog() {
+        this.sources.add(new Source(MessageCatalog.class.getClassLoader(), BUILT_IN));
+    }
+
+    public static MessageCatalog getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Normalize a locale to lower case with underscores, {@code en-US} becomes {@code en_us}
+     */
+    static String normalize(final String locale) {
+        return locale.replace('-', '_').toLowerCase();
+    }
+
+    /**
+     * Read messages from {@code baseName} as well, they take precedence over the messages added before
+     *
+     * @param classLoader
+     *     The class loader to find the files with, e.g. the class loader of the plugin
+     * @param baseName
+     *     The name of the files without the locale and extension
+     */
+    public void addSource(final ClassLoader classLoader, final String baseName) {
+        synchronized (this.sources) {
+            for (final Source source : this.sources) {
+                if (source.classLoader == classLoader && source.baseName.equals(baseName)) {
+                    return;
+                }
+            }
+            this.sources.add(new Source(classLoader, baseName));
+        }
+        this.locales.clear();
+    }
+
+    /**
+     * @param locale
+     *     The locale, {@code null} for the default locale
+     * @param key
+     *     The key of the message
+     *
+     * @return The message or {@code null} if there is no message with that key
+     */
+    public MessageTemplate get(final String locale, final String key) {
+        return getMessages(locale == null ? this.defaultLocale : locale).get(key);
+    }
+
+    /**
+     * @param locale
+     *     The locale, {@code null} for the default locale
+     * @param key
+     *     The key of the message
+     * @param args
+     *     The arguments of the message
+     *
+     * @return The rendered message, or the key if there is no message with that key
+     */
+    public String format(final String locale, final String key, final Object... args) {
+        final MessageTemplate template = get(locale, key);
+        return template == null ? key : template.render(args);
+    }
+
+    /**
+     * Translate text that is its own key, like the text of annotations
+     *
+     * @param locale
+     *     The locale, {@code null} for the default locale
+     * @param text
+     *     The text to translate
+     *
+     * @return The translation or {@code text} if there is none
+     */
+    public String translate(final String locale, final String text) {
+        if (text.isEmpty()) {
+            return text;
+        }
+        final MessageTemplate template = get(locale, text);
+        return template == null ? text : template.render();
+    }
+
+    private Map<String, MessageTemplate> getMessages(final String locale) {
+        final Map<String, MessageTemplate> messages = this.locales.get(locale);
+        if (messages != null) {
+            return messages;
+        }
+        return this.locales.computeIfAbsent(locale, this::load);
+    }
+
+    /**
+     * Load the messages of a locale, falling back to the language and then to the files without a locale
+     */
+    private Map<String, MessageTemplate> load(final String locale) {
+        final List<String> suffixes = new ArrayList<>(3);
+        suffixes.add("");
+        final int country = locale.indexOf('_');
+        if (country > 0) {
+            suffixes.add('_' + locale.substring(0, country));
+        }
+        suffixes.add('_' + locale);
+
+        final List<Source> sources;
+        synchronized (this.sources) {
+            sources = new ArrayList<>(this.sources);
+        }
+        final Map<String, String> texts = new HashMap<>();
+        for (final String suffix : suffixes) {
+            for (final Source source : sources) {
+                source.read(suffix, texts);
+            }
+        }
+        final Map<String, MessageTemplate> messages = new HashMap<>(texts.size() * 2);
+        for (final Map.Entry<String, String> entry : texts.entrySet()) {
+            messages.put(entry.getKey(), MessageTemplate.parse(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(messages);
+    }
+
+    /**
+     * @param sender
+     *     The sender to find the locale of
+     *
+     * @return The normalized locale of {@code sender}
+     */
+    public String getLocale(final CommandSender sender) {
+        final long now = System.currentTimeMillis();
+        final String name = sender.getName();
+        final CachedLocale cached = name == null ? null : this.senders.get(name);
+        if (cached != null && now < cached.expires) {
+            return cached.locale;
+        }
+        String locale = null;
+        try {
+            locale = this.localeResolver.getLocale(sender);
+        } catch (final RuntimeException e) {
+            LevelLogger.getInstance().log(LogType.ERROR, "Failed to resolve the locale of " + name + ": " + e);
+        }
+        locale = locale == null || locale.isEmpty() ? this.defaultLocale : normalize(locale);
+        if (name != null) {
+            this.senders.put(name, new CachedLocale(locale, now + this.localeTtl));
+        }
+        return locale;
+    }
+
+    /**
+     * Resolve the locale of {@code sender} again the next time it is needed, e.g. when the player changed language
+     */
+    public void invalidate(final CommandSender sender) {
+        this.senders.remove(sender.getName());
+    }
+
+    /**
+     * @return How many senders have their locale remembered
+     */
+    public int getCachedSenderCount() {
+        return this.senders.size();
+    }
+
+    /**
+     * Read all files again and forget the locale of all senders
+     */
+    public void reload() {
+        this.locales.clear();
+        this.senders.clear();
+    }
+
+    public LocaleResolver getLocaleResolver() {
+        return this.localeResolver;
+    }
+
+    public void setLocaleResolver(final LocaleResolver localeResolver) {
+        this.localeResolver = localeResolver;
+        this.senders.clear();
+    }
+
+    public String getDefaultLocale() {
+        return this.defaultLocale;
+    }
+
+    /**
+     * @param defaultLocale
+     *     The locale of senders without one, e.g. the console
+     */
+    public void setDefaultLocale(final String defaultLocale) {
+        this.defaultLocale = normalize(defaultLocale);
+        this.senders.clear();
+    }
+
+    public long getLocaleTtl() {
+        return this.localeTtl;
+    }
+
+    /**
+     * @param localeTtl
+     *     How many milliseconds the locale of a sender is remembered
+     */
+    public void setLocaleTtl(final long localeTtl) {
+        this.localeTtl = localeTtl;
+    }
+
+    private static final class Source {
+
+        private final ClassLoader classLoader;
+        private final String baseName;
+
+        private Source(final ClassLoader classLoader, final String baseName) {
+            this.classLoader = classLoader;
+            this.baseName = baseName;
+        }
+
+        private void read(final String suffix, final Map<String, String> texts) {
+            final String name = this.baseName + suffix + ".properties";
+            final InputStream in = this.classLoader.getResourceAsStream(name);
+            if (in == null) {
+                return;
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                final Properties properties = new Properties();
+                properties.load(reader);
+                for (final String key : properties.stringPropertyNames()) {
+                    texts.put(key, properties.getProperty(key));
+                }
+            } catch (final IOException e) {
+                LevelLogger.getInstance().log(LogType.ERROR, "Failed to read the messages in " + name + ": " + e);
+            }
+        }
+    }
+
+    private static final class CachedLocale {
+
+        private final String locale;
+        private final long expires;
+
+        private CachedLocale(final String locale, final long expires) {
+            this.locale = locale;
+            this.expires = expires;
+        }
+    }
+}
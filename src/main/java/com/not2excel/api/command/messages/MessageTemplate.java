@@ -0,0 +1,158 @@
+package com.not2excel.api.command.messages;
+
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message parsed once into literal segments and argument slots. {@code &} followed by a color code is a color,
+ * {@code &&} is a literal {@code &} and {@code {0}}, {@code {1}}, ... are replaced by the arguments. A template without
+ * arguments renders to the same string every time without building anything.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class MessageTemplate {
+
+    private static final String COLOR_CODES = "0123456789abcdefklmnorABCDEFKLMNOR";
+
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+    private static final ThreadLocal<Boolean> BUILDER_IN_USE = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final String[] literals;
+    private final int[] arguments;
+    private final String constant;
+    private final int length;
+
+    private MessageTemplate(final String[] literals, final int[] arguments) {
+        this.literals = literals;
+        this.arguments = arguments;
+        this.constant = arguments.length == 0 ? literals[0] : null;
+        int length = 0;
+        for (final String literal : literals) {
+            length += literal.length();
+        }
+        this.length = length;
+    }
+
+    /**
+     * @param text
+     *     The text to parse
+     *
+     * @return The parsed template
+     */
+    public static MessageTemplate parse(final String text) {
+        final List<String> literals = new ArrayList<>();
+        final List<Integer> arguments = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder(text.length());
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c == '&' && i + 1 < length) {
+                final char next = text.charAt(i + 1);
+                if (next == '&') {
+                    literal.append('&');
+                    i++;
+                    continue;
+                }
+                if (COLOR_CODES.indexOf(next) >= 0) {
+                    literal.append(ChatColor.COLOR_CHAR).append(Character.toLowerCase(next));
+                    i++;
+                    continue;
+                }
+            }
+            else if (c == '{') {
+                final int close = text.indexOf('}', i);
+                final int index = close < 0 ? -1 : parseIndex(text, i + 1, close);
+                if (index >= 0) {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    arguments.add(index);
+                    i = close;
+                    continue;
+                }
+            }
+            literal.append(c);
+        }
+        literals.add(literal.toString());
+
+        final int[] args = new int[arguments.size()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = arguments.get(i);
+        }
+        return new MessageTemplate(literals.toArray(new String[literals.size()]), args);
+    }
+
+    private static int parseIndex(final String text, final int start, final int end) {
+        if (start == end || end - start > 2) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = start; i < end; i++) {
+            final char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+
+    /**
+     * @param args
+     *     The arguments of the template, a missing argument is rendered as its slot, e.g. {@code {2}}
+     *
+     * @return The rendered message
+     */
+    public String render(final Object... args) {
+        if (this.constant != null) {
+            return this.constant;
+        }
+        //the builder is reused unless an argument renders another template while converted to a string
+        final boolean pooled = !BUILDER_IN_USE.get();
+        final StringBuilder builder;
+        if (pooled) {
+            BUILDER_IN_USE.set(Boolean.TRUE);
+            builder = BUILDER.get();
+            builder.setLength(0);
+        }
+        else {
+            builder = new StringBuilder(this.length + 16 * this.arguments.length);
+        }
+        try {
+            builder.append(this.literals[0]);
+            for (int i = 0; i < this.arguments.length; i++) {
+                final int index = this.arguments[i];
+                if (args != null && index < args.length) {
+                    builder.append(args[index]);
+                }
+                else {
+                    builder.append('{').append(index).append('}');
+                }
+                builder.append(this.literals[i + 1]);
+            }
+            return builder.toString();
+        } finally {
+            if (pooled) {
+                if (builder.capacity() > 4096) {
+                    BUILDER.remove();
+                }
+                BUILDER_IN_USE.set(Boolean.FALSE);
+            }
+        }
+    }
+
+    /**
+     * @return How many argument slots the template has
+     */
+    public int getArgumentCount() {
+        return this.arguments.length;
+    }
+
+    @Override
+    public String toString() {
+        return render();
+    }
+}
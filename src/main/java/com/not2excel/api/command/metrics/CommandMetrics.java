@@ -0,0 +1,95 @@
+package com.not2excel.api.command.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How often each command is sent, completed and rejected, and how long it takes. Counts are always exact, the
+ * latency of only one in {@link #getSampleEvery()} commands is measured.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public class CommandMetrics {
+
+    /**
+     * Returned by {@link #startTimer()} when the latency is not measured
+     */
+    public static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private final Map<String, NodeMetrics> nodes = new ConcurrentHashMap<>();
+    private volatile boolean enabled = true;
+    private volatile int sampleEvery = 1;
+
+    /**
+     * @param command
+     *     The command, e.g. {@code home.set}
+     *
+     * @return The metrics of {@code command}, {@code null} if metrics are disabled
+     */
+    public NodeMetrics get(final String command) {
+        if (!this.enabled) {
+            return null;
+        }
+        final NodeMetrics metrics = this.nodes.get(command);
+        if (metrics != null) {
+            return metrics;
+        }
+        return this.nodes.computeIfAbsent(command, NodeMetrics::new);
+    }
+
+    /**
+     * @return The current time in nanoseconds if the next command should be measured, {@link #NOT_TIMED} otherwise
+     */
+    public long startTimer() {
+        final int sampleEvery = this.sampleEvery;
+        if (sampleEvery > 1 && ThreadLocalRandom.current().nextInt(sampleEvery) != 0) {
+            return NOT_TIMED;
+        }
+        final long now = System.nanoTime();
+        return now == NOT_TIMED ? now + 1 : now;
+    }
+
+    /**
+     * @return The metrics of every command that was used
+     */
+    public List<NodeMetrics> getAll() {
+        return new ArrayList<>(this.nodes.values());
+    }
+
+    /**
+     * Forget everything that was measured
+     */
+    public void reset() {
+        for (final NodeMetrics metrics : this.nodes.values()) {
+            metrics.reset();
+        }
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getSampleEvery() {
+        return this.sampleEvery;
+    }
+
+    /**
+     * @param sampleEvery
+     *     Measure the latency of one in {@code sampleEvery} commands, {@code 1} to measure every command
+     */
+    public void setSampleEvery(final int sampleEvery) {
+        if (sampleEvery < 1) {
+            throw new IllegalArgumentException("sampleEvery must be at least 1, not " + sampleEvery);
+        }
+        this.sampleEvery = sampleEvery;
+    }
+}
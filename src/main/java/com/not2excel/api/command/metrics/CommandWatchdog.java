@@ -0,0 +1,332 @@
+package com.not2excel.api.command.metrics;
+
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Warns about handlers that run longer than {@link #getBudget()}. Each thread that runs handlers has one {@link Watch}
+ * that is armed before and disarmed after the handler, which are a few field writes. One shared background thread
+ * checks the armed watches and takes up to {@link #getMaxSamples()} stack samples of a handler that is over budget.
+ * When such a handler returns, its command, sender, duration, CPU time and the frames seen most in the samples are
+ * logged.
+ * <p>
+ * The background thread is started when a handler is run and stops when no handler has run for a while.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class CommandWatchdog {
+
+    private static final CommandWatchdog INSTANCE = new CommandWatchdog();
+    private static final long IDLE_STOP_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final int FRAMES_PER_SAMPLE = 8;
+    private static final int REPORTED_FRAMES = 5;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final boolean cpuTimeSupported;
+    private final List<Watch> watches = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Watch> watch = ThreadLocal.withInitial(this::newWatch);
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean enabled = true;
+    private volatile boolean cpuTimeEnabled;
+    private volatile long budget = TimeUnit.MILLISECONDS.toNanos(5);
+    private volatile long sampleInterval = TimeUnit.MILLISECONDS.toNanos(1);
+    private volatile int maxSamples = 5;
+
+    private CommandWatchdog() {
+        boolean supported;
+        try {
+            supported = this.threads.isCurrentThreadCpuTimeSupported();
+            if (supported && !this.threads.isThreadCpuTimeEnabled()) {
+                this.threads.setThreadCpuTimeEnabled(true);
+            }
+        } catch (final UnsupportedOperationException | SecurityException e) {
+            supported = false;
+        }
+        this.cpuTimeSupported = supported;
+        this.cpuTimeEnabled = supported;
+    }
+
+    public static CommandWatchdog getInstance() {
+        return INSTANCE;
+    }
+
+    private Watch newWatch() {
+        final Watch watch = new Watch(Thread.currentThread(), this.maxSamples);
+        this.watches.add(watch);
+        return watch;
+    }
+
+    /**
+     * Start watching a handler on the current thread
+     *
+     * @param command
+     *     The command of the handler, e.g. {@code home.set}
+     * @param sender
+     *     The name of the sender
+     *
+     * @return The watch to {@link #disarm(Watch)} when the handler returned, {@code null} if the handler is not watched,
+     * e.g. because it is run by another handler
+     */
+    public Watch arm(final String command, final String sender) {
+        if (!this.enabled) {
+            return null;
+        }
+        final Watch watch = this.watch.get();
+        if (watch.armed != 0) {
+            return null;
+        }
+        watch.command = command;
+        watch.sender = sender;
+        watch.sampleCount = 0;
+        watch.cpuStart = this.cpuTimeEnabled ? this.threads.getCurrentThreadCpuTime() : -1;
+        watch.start = System.nanoTime();
+        //publishes the fields above to the watchdog thread
+        watch.armed = ++watch.generation;
+        if (!this.running.get()) {
+            start();
+        }
+        return watch;
+    }
+
+    /**
+     * Stop watching a handler, if it took longer than the budget it is logged
+     *
+     * @param watch
+     *     What {@link #arm(String, String)} returned
+     *
+     * @return The CPU time of the handler in nanoseconds, {@code -1} if it was not measured
+     */
+    public long disarm(final Watch watch) {
+        if (watch == null) {
+            return -1;
+        }
+        watch.armed = 0;
+        final long duration = System.nanoTime() - watch.start;
+        final long cpuTime = watch.cpuStart < 0 ? -1 : this.threads.getCurrentThreadCpuTime() - watch.cpuStart;
+        if (duration > this.budget) {
+            report(watch, duration, cpuTime);
+        }
+        return cpuTime;
+    }
+
+    private void report(final Watch watch, final long duration, final long cpuTime) {
+        final Map<StackTraceElement, Integer> counts = new HashMap<>();
+        final int samples;
+        synchronized (watch) {
+            samples = watch.sampleCount;
+            for (int i = 0; i < samples; i++) {
+                countFrames(watch.samples[i], counts);
+            }
+        }
+        final List<Map.Entry<StackTraceElement, Integer>> frames = new ArrayList<>(counts.entrySet());
+        frames.sort((a, b) -> b.getValue() - a.getValue());
+        final StringBuilder hot = new StringBuilder();
+        for (int i = 0; i < Math.min(REPORTED_FRAMES, frames.size()); i++) {
+            hot.append("\n    ").append(frames.get(i).getValue()).append('/').append(samples).append(' ')
+               .append(frames.get(i).getKey());
+        }
+        LevelLogger.getInstance().log(LogType.WARNING, "/{} of {} took {} ms (cpu {} ms), the budget is {} ms.{}{}",
+                                      watch.command.replace('.', ' '), watch.sender, millis(duration),
+                                      cpuTime < 0 ? "?" : millis(cpuTime), millis(this.budget),
+                                      samples == 0 ? "" : " Hot frames:", hot);
+    }
+
+    /**
+     * Count each frame above the reflective call of the handler once
+     */
+    private static void countFrames(final StackTraceElement[] sample, final Map<StackTraceElement, Integer> counts) {
+        for (int i = 0; i < Math.min(FRAMES_PER_SAMPLE, sample.length); i++) {
+            final StackTraceElement frame = sample[i];
+            final String className = frame.getClassName();
+            if (className.startsWith("java.lang.reflect.") || className.startsWith("sun.reflect.") ||
+                className.startsWith("jdk.internal.reflect.")) {
+                return;
+            }
+            counts.merge(frame, 1, Integer::sum);
+        }
+    }
+
+    private static String millis(final long nanos) {
+        return String.format("%.2f", nanos / 1e6);
+    }
+
+    private void start() {
+        if (this.running.compareAndSet(false, true)) {
+            final Thread thread = new Thread(this::run, "CommandAPI-Watchdog");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private void run() {
+        long idleSince = System.nanoTime();
+        while (true) {
+            final long budget = this.budget;
+            final long interval = this.sampleInterval;
+            LockSupport.parkNanos(Math.max(TimeUnit.MICROSECONDS.toNanos(500), Math.min(interval, budget / 2)));
+            final long now = System.nanoTime();
+            boolean armed = false;
+            for (int i = 0; i < this.watches.size(); i++) {
+                final Watch watch = this.watches.get(i);
+                final long generation = watch.armed;
+                if (generation == 0) {
+                    if (!watch.thread.isAlive()) {
+                        this.watches.remove(watch);
+                    }
+                    continue;
+                }
+                armed = true;
+                if (watch.watchedGeneration != generation) {
+                    watch.watchedGeneration = generation;
+                    watch.nextSample = 0;
+                }
+                if (now - watch.start > budget && now - watch.nextSample >= 0) {
+                    sample(watch, generation);
+                    watch.nextSample = now + interval;
+                }
+            }
+            if (armed) {
+                idleSince = now;
+            }
+            else if (now - idleSince > IDLE_STOP_NANOS) {
+                this.running.set(false);
+                //a handler may have been armed after the last check, but before running was cleared
+                if (!isAnyArmed() || !this.running.compareAndSet(false, true)) {
+                    return;
+                }
+                idleSince = now;
+            }
+        }
+    }
+
+    private boolean isAnyArmed() {
+        for (int i = 0; i < this.watches.size(); i++) {
+            if (this.watches.get(i).armed != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void sample(final Watch watch, final long generation) {
+        if (watch.sampleCount >= watch.samples.length) {
+            return;
+        }
+        final StackTraceElement[] stack = watch.thread.getStackTrace();
+        synchronized (watch) {
+            //the handler may have returned while the stack was taken
+            if (watch.armed == generation && watch.sampleCount < watch.samples.length) {
+                watch.samples[watch.sampleCount++] = stack;
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return How long a handler may run in nanoseconds before it is logged
+     */
+    public long getBudget() {
+        return this.budget;
+    }
+
+    /**
+     * @param budget
+     *     How long a handler may run before it is logged
+     * @param unit
+     *     The unit of {@code budget}
+     */
+    public void setBudget(final long budget, final TimeUnit unit) {
+        this.budget = unit.toNanos(budget);
+    }
+
+    /**
+     * @return The time between two stack samples of a handler in nanoseconds
+     */
+    public long getSampleInterval() {
+        return this.sampleInterval;
+    }
+
+    public void setSampleInterval(final long sampleInterval, final TimeUnit unit) {
+        this.sampleInterval = unit.toNanos(sampleInterval);
+    }
+
+    /**
+     * @return How many stack samples are taken of a handler that is over budget
+     */
+    public int getMaxSamples() {
+        return this.maxSamples;
+    }
+
+    /**
+     * @param maxSamples
+     *     How many stack samples to take of a handler that is over budget, used by threads that run their first
+     *     handler after this is set
+     */
+    public void setMaxSamples(final int maxSamples) {
+        this.maxSamples = maxSamples;
+    }
+
+    /**
+     * @return If the JVM can measure the CPU time of a thread
+     */
+    public boolean isCpuTimeSupported() {
+        return this.cpuTimeSupported;
+    }
+
+    public boolean isCpuTimeEnabled() {
+        return this.cpuTimeEnabled;
+    }
+
+    /**
+     * @param cpuTimeEnabled
+     *     If the CPU time of handlers should be measured, ignored if it is not supported
+     */
+    public void setCpuTimeEnabled(final boolean cpuTimeEnabled) {
+        this.cpuTimeEnabled = cpuTimeEnabled && this.cpuTimeSupported;
+    }
+
+    /**
+     * The state of the handler running on one thread, reused for every handler of that thread
+     */
+    public static final class Watch {
+
+        private final Thread thread;
+        private final StackTraceElement[][] samples;
+        //written by the thread of the handler
+        private volatile long armed;
+        private long generation;
+        private String command;
+        private String sender;
+        private long start;
+        private long cpuStart;
+        //written by the watchdog thread, guarded by this
+        private int sampleCount;
+        private long watchedGeneration;
+        private long nextSample;
+
+        private Watch(final Thread thread, final int maxSamples) {
+            this.thread = thread;
+            this.samples = new StackTraceElement[Math.max(0, maxSamples)][];
+        }
+    }
+}
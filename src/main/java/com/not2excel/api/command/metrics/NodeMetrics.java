@@ -0,0 +1,140 @@
+package com.not2excel.api.command.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters and latencies of one command
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class NodeMetrics {
+
+    private static final RejectReason[] REASONS = RejectReason.values();
+
+    private final String command;
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder completions = new LongAdder();
+    private final LongAdder cpuTime = new LongAdder();
+    private final LongAdder[] rejections = new LongAdder[REASONS.length];
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram completionLatency = new LatencyHistogram();
+
+    NodeMetrics(final String command) {
+        this.command = command;
+        for (int i = 0; i < this.rejections.length; i++) {
+            this.rejections[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param reason
+     *     Why the command was rejected, {@code null} if it was handled
+     * @param start
+     *     What {@link CommandMetrics#startTimer()} returned when the command was received
+     */
+    public void recordInvocation(final RejectReason reason, final long start) {
+        this.invocations.increment();
+        if (reason != null) {
+            this.rejections[reason.ordinal()].increment();
+        }
+        //rejections are cheap and would hide the latency of the handler
+        if (start != CommandMetrics.NOT_TIMED && (reason == null || reason.isHandled())) {
+            this.latency.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Count a command that was rejected before it reached the handler of this command
+     */
+    public void recordRejection(final RejectReason reason) {
+        this.invocations.increment();
+        this.rejections[reason.ordinal()].increment();
+    }
+
+    /**
+     * @param start
+     *     What {@link CommandMetrics#startTimer()} returned when the completion was requested
+     */
+    public void recordCompletion(final long start) {
+        this.completions.increment();
+        if (start != CommandMetrics.NOT_TIMED) {
+            this.completionLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @param cpuTime
+     *     The CPU time the handler of the command used in nanoseconds
+     */
+    public void recordCpuTime(final long cpuTime) {
+        this.cpuTime.add(cpuTime);
+    }
+
+    public String getCommand() {
+        return this.command;
+    }
+
+    /**
+     * @return How often the command was sent, including rejected commands
+     */
+    public long getInvocations() {
+        return this.invocations.sum();
+    }
+
+    /**
+     * @return How often the arguments of the command were tab completed
+     */
+    public long getCompletions() {
+        return this.completions.sum();
+    }
+
+    /**
+     * @return The CPU time all invocations of the handler used in nanoseconds, {@code 0} if the JVM cannot measure it
+     */
+    public long getCpuTime() {
+        return this.cpuTime.sum();
+    }
+
+    public long getRejections(final RejectReason reason) {
+        return this.rejections[reason.ordinal()].sum();
+    }
+
+    /**
+     * @return How often the command was rejected or failed for any reason
+     */
+    public long getRejections() {
+        long rejections = 0;
+        for (final LongAdder adder : this.rejections) {
+            rejections += adder.sum();
+        }
+        return rejections;
+    }
+
+    /**
+     * @return The time from receiving the command until its handler returned, of sampled commands that reached their
+     * handler
+     */
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * @return The time it took to tab complete the command, of sampled completions
+     */
+    public LatencyHistogram getCompletionLatency() {
+        return this.completionLatency;
+    }
+
+    void reset() {
+        this.invocations.reset();
+        this.completions.reset();
+        this.cpuTime.reset();
+        for (final LongAdder adder : this.rejections) {
+            adder.reset();
+        }
+        this.latency.reset();
+        this.completionLatency.reset();
+    }
+}
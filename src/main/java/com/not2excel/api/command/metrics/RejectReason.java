@@ -0,0 +1,40 @@
+package com.not2excel.api.command.metrics;
+
+/**
+ * Why a command was not handed to its handler, or why its handler did not complete
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public enum RejectReason {
+
+    USAGE,
+    TOO_FEW_ARGUMENTS,
+    TOO_MANY_ARGUMENTS,
+    NO_PERMISSION,
+    PLAYERS_ONLY,
+    UNKNOWN_FLAG,
+    FLAG_PERMISSION,
+    UNKNOWN_SUBCOMMAND,
+    INVALID_ARGUMENTS,
+    /**
+     * The command is disabled because its handler failed too often, see {@link
+     * com.not2excel.api.command.handler.FailureTracker}
+     */
+    DISABLED,
+    /**
+     * The handler threw a {@link com.not2excel.api.command.handler.CommandException}
+     */
+    FAILED,
+    /**
+     * The handler threw an unexpected exception
+     */
+    ERROR;
+
+    /**
+     * @return If the handler was called
+     */
+    public boolean isHandled() {
+        return this == FAILED || this == ERROR;
+    }
+}
@@ -1,6 +1,12 @@
 package com.not2excel.api.command.objects;
 
+import com.not2excel.api.command.CommandHandler;
 import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.command.arguments.ArgumentType;
+import com.not2excel.api.command.metrics.NodeMetrics;
+import com.not2excel.api.jfr.FlightEvents;
+import com.not2excel.api.command.parser.ParseResult;
+import com.not2excel.api.command.replay.TrafficRecorder;
 import com.not2excel.api.util.StringUtil;
 import org.apache.commons.lang.StringUtils;
 import org.bukkit.command.Command;
@@ -8,6 +14,7 @@ import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * @author Richmond Steele, kh498
@@ -23,6 +30,11 @@ public class AbstractCommand extends Command {
 
     @Override
     public boolean execute(final CommandSender commandSender, final String s, final String[] strings) {
+        final CommandManager cmdManager = CommandManager.getInstance();
+        final TrafficRecorder recorder = cmdManager == null ? null : cmdManager.getTrafficRecorder();
+        if (recorder != null) {
+            recorder.recordCommand(commandSender, getRegisteredCommand(), s, strings);
+        }
         return this.executor != null && this.executor.onCommand(commandSender, this, s, strings);
     }
 
@@ -30,37 +42,109 @@ public class AbstractCommand extends Command {
     public List<String> tabComplete(final CommandSender sender, final String alias, final String[] args)
     throws IllegalArgumentException {
         final CommandManager cmdManager = CommandManager.getInstance();
-        final Map<String, RegisteredCommand> registeredCmds = cmdManager.getRegisteredCommands();
-        final RegisteredCommand regCmd = registeredCmds.get(this.getName());
+        final TrafficRecorder recorder = cmdManager.getTrafficRecorder();
+        if (recorder != null) {
+            recorder.recordCompletion(sender, getRegisteredCommand(), alias, args);
+        }
+        return cmdManager.getCompletionGovernor().complete(sender, alias, args, this::completeArguments);
+    }
 
-        if (regCmd != null) {
-            final Set<String> subCmdsSet = new TreeSet<>(regCmd.getNoAliasesChildCommands().keySet());
+    private RegisteredCommand getRegisteredCommand() {
+        return this.executor instanceof RegisteredCommand ? (RegisteredCommand) this.executor : null;
+    }
+
+    private List<String> completeArguments(final CommandSender sender, final String alias, final String[] args) {
+        final CommandManager cmdManager = CommandManager.getInstance();
+        final RegisteredCommand regCmd = cmdManager.getRegisteredCommands().get(this.getName());
 
-            if (!subCmdsSet.contains("help")) {
-                subCmdsSet.add("help");
+        if (regCmd == null || args.length == 0) {
+            return null;
+        }
+        final long start = cmdManager.getMetrics().startTimer();
+        final Object event = FlightEvents.beginCompletion();
+        //the arguments before the one being completed decide which command and which of its arguments it is
+        final ParseResult result = regCmd.getGrammar().resolve(sender, args, args.length - 1);
+        final ChildCommand denied = result.getDeniedChild();
+        final CommandHandler target = result.getState().getCommandHandler();
+        final String path =
+            denied != null ? denied.getCommandHandler().command() : target == null ? getName() : target.command();
+        final NodeMetrics metrics = cmdManager.getMetrics().get(path);
+        List<String> completions = null;
+        try {
+            if (denied != null) {
+                completions = Collections.emptyList();
+            }
+            else {
+                completions = completeArguments(cmdManager, result, sender, args);
             }
-            else if (!subCmdsSet.contains("?")) {
-                subCmdsSet.add("?");
+            return completions;
+        } finally {
+            if (metrics != null) {
+                metrics.recordCompletion(start);
             }
+            FlightEvents.endCompletion(event, path, result.getNonFlagCount(),
+                                       completions == null ? 0 : completions.size());
+        }
+    }
+
+    private List<String> completeArguments(final CommandManager cmdManager, final ParseResult result,
+                                           final CommandSender sender, final String[] args) {
+        final ParentCommand node = result.getNode();
+        final int position = result.getNonFlagCount();
+        final String prefix = args[args.length - 1];
+        final ArgumentType<?> type = result.getState().getType(position);
+        if (position > 0 && type == null) {
+            return null;
+        }
 
-            if (args.length == 1 && args[0].length() == 0) {
-                return new ArrayList<>(subCmdsSet);
+        final ParentCommand completedNode = node;
+        final int completedPosition = position;
+        final Supplier<List<String>> completer =
+            () -> complete(completedNode, completedPosition, type, sender, prefix);
+        if (type != null && !type.isCacheable()) {
+            return completer.get();
+        }
+        final int profileId = cmdManager.getPermissionProfiles().getProfileId(sender);
+        return cmdManager.getCompletionCache().get(node, position, prefix, profileId, completer);
+    }
+
+    private static List<String> complete(final ParentCommand node, final int position, final ArgumentType<?> type,
+                                         final CommandSender sender, final String prefix) {
+        final List<String> completions =
+            position == 0 ? completeSubCommands(node, sender, prefix) : new ArrayList<>();
+        if (type != null) {
+            completions.addAll(type.complete(sender, prefix));
+        }
+        return completions;
+    }
+
+    private static List<String> completeSubCommands(final ParentCommand node, final CommandSender sender,
+                                                    final String arg) {
+        final Set<String> subCmdsSet = new TreeSet<>();
+        for (final Map.Entry<String, ChildCommand> entry : node.getNoAliasesChildCommands().entrySet()) {
+            if (entry.getValue().checkPermission(sender)) {
+                subCmdsSet.add(entry.getKey());
             }
-            else if (args.length == 1) {
-                return new ArrayList<String>() {{
-                    for (final String subCmd : subCmdsSet) {
-                        //The first character of both is equal and the subCmd contains args[0]
-                        if (StringUtils.containsIgnoreCase(subCmd, args[0])) {
-                            if (args[0].toCharArray().length > 0 &&
-                                !StringUtil.equalsIgnoreCase(args[0].charAt(0), subCmd.charAt(0))) {
-                                continue;
-                            }
-                            add(subCmd);
-                        }
-                    }
-                }};
+        }
+
+        if (!subCmdsSet.contains("help")) {
+            subCmdsSet.add("help");
+        }
+        else if (!subCmdsSet.contains("?")) {
+            subCmdsSet.add("?");
+        }
+
+        if (arg.length() == 0) {
+            return new ArrayList<>(subCmdsSet);
+        }
+        final List<String> completions = new ArrayList<>();
+        for (final String subCmd : subCmdsSet) {
+            //The first character of both is equal and the subCmd contains arg
+            if (StringUtils.containsIgnoreCase(subCmd, arg) &&
+                StringUtil.equalsIgnoreCase(arg.charAt(0), subCmd.charAt(0))) {
+                completions.add(subCmd);
             }
         }
-        return null;
+        return completions;
     }
 }
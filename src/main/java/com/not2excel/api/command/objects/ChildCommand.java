@@ -2,9 +2,9 @@ package com.not2excel.api.command.objects;
 
 import com.not2excel.api.command.CommandHandler;
 import com.not2excel.api.command.Flag;
+import com.not2excel.api.command.handler.DefaultHandler;
 import com.not2excel.api.command.handler.ErrorHandler;
 import com.not2excel.api.command.handler.Handler;
-import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 
 import java.util.HashSet;
@@ -23,10 +23,7 @@ public class ChildCommand extends ParentCommand {
     protected String usage = "";
     protected String description = "";
     protected String permission = "";
-    private Handler handler;
-    private String displayFlag = "";
-    private String displayFlagDesc = "";
-    private String fullUsage;
+    private volatile Handler handler;
 
     public ChildCommand(final CommandHandler commandHandler, final boolean isAlias) {
         setParentAsChild(this);
@@ -46,16 +43,23 @@ public class ChildCommand extends ParentCommand {
     }
 
     public Handler getHandler() {
-        if (this.handler == null) {
-            return new ErrorHandler();
+        final Handler handler = this.handler;
+        if (handler == null) {
+            return ErrorHandler.INSTANCE;
         }
-        return this.handler;
+        return handler;
     }
 
     public void setHandler(final Handler handler) {
         this.handler = handler;
     }
 
+    @Override
+    public QueuedCommand getQueuedCommand() {
+        final Handler handler = this.handler;
+        return handler instanceof DefaultHandler ? ((DefaultHandler) handler).getQueue() : null;
+    }
+
     public boolean checkPermission(final CommandSender sender) {
         return this.commandHandler == null || "".equals(this.commandHandler.permission()) ||
                sender.hasPermission(this.commandHandler.permission());
@@ -134,52 +138,6 @@ public class ChildCommand extends ParentCommand {
         return this.flags.contains(c);
     }
 
-    String getDisplayFlags() {
-        if (this.displayFlag.isEmpty() && !this.flags.isEmpty()) {
-            final StringBuilder flagsBuilder = new StringBuilder().append(ChatColor.GOLD);
-            for (final char c : this.flags) {
-                flagsBuilder.append('-').append(c).append(' ');
-            }
-            this.displayFlag = flagsBuilder.toString();
-        }
-        return this.displayFlag;
-    }
-
-    String getDisplayFlagDesc() {
-        if (!this.flags.isEmpty()) {
-            final StringBuilder flagsDescBuilder = new StringBuilder("\n");
-
-            final Flag[] flags1 = this.commandHandler.flags();
-            for (int i = 0; i < flags1.length; i++) {
-                flagsDescBuilder.append("     ").append(ChatColor.DARK_AQUA).append('-').append(flags1[i].flag())
-                                .append(' ').append(ChatColor.GRAY).append(flags1[i].usage());
-                if (i + 1 < flags1.length) {
-                    flagsDescBuilder.append("\n");
-                }
-            }
-            this.displayFlagDesc = flagsDescBuilder.toString();
-        }
-        return this.displayFlagDesc;
-    }
-
-    String getLightExplainedUsage() {
-        if (this.commandHandler == null) {
-            return getUsage();
-        }
-        if (this.fullUsage == null) {
-            final String baseCmd = this.commandHandler.command().replaceAll("\\.", " ");
-
-            final StringBuilder usage = new StringBuilder('/' + baseCmd);
-            if (!"".equals(this.commandHandler.usage())) {
-                usage.append(' ').append(this.commandHandler.usage());
-            }
-            usage.append(' ').append(getDisplayFlags());
-
-            this.fullUsage = usage.toString();
-        }
-        return this.fullUsage;
-    }
-
     public boolean isAlias() {
         return this.isAlias;
     }
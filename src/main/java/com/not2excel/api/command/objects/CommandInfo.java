@@ -1,19 +1,29 @@
 package com.not2excel.api.command.objects;
 
 import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.CommandManager;
 import com.not2excel.api.command.Flag;
+import com.not2excel.api.command.arguments.ArgumentParsers;
 import com.not2excel.api.command.handler.CommandException;
+import com.not2excel.api.command.messages.MessageCatalog;
+import com.not2excel.api.command.metrics.RejectReason;
+import com.not2excel.api.command.parser.CommandGrammar;
+import com.not2excel.api.command.parser.NodeState;
+import com.not2excel.api.command.parser.ParseResult;
+import com.not2excel.api.command.tracing.Span;
+import com.not2excel.api.command.tracing.Tracer;
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
 
 /**
  * @author Richmond Steele, kh498
@@ -22,7 +32,6 @@ import java.util.regex.Pattern;
 @SuppressWarnings({"unused", "SameParameterValue", "WeakerAccess"})
 public class CommandInfo {
 
-    private static final Pattern FLAG_PATTERN = Pattern.compile("^-[a-zA-Z*]$");
     private final RegisteredCommand registeredCommand;
     private final ParentCommand parentCommand;
     private final CommandHandler commandHandler;
@@ -31,14 +40,30 @@ public class CommandInfo {
     private final String usage;
     private final String permission;
     private final boolean playersOnly;
-    private final Map<Character, Flag> flags;
     private List<String> args;
-    private boolean hasAsteriskFlag;
-    private String fullUsage;
+    private ParseResult parseResult;
+    private NodeState state;
+    //guarded by outputLock, a task started with runAsync may send messages while the dispatch ends
+    private final Object outputLock = new Object();
+    private List<String> output;
+    private boolean buffered = true;
+    private String locale;
+    private RejectReason rejectReason;
 
     public CommandInfo(final RegisteredCommand registeredCommand, final ParentCommand parentCommand,
                        final CommandHandler commandHandler, final CommandSender sender, final String command,
                        final List<String> cmdArgs, final String usage, final String permission) {
+        this(registeredCommand, parentCommand, commandHandler, sender, command, cmdArgs, usage, permission, null);
+    }
+
+    /**
+     * @param parseResult
+     *     The already parsed arguments of the command, if {@code null} the arguments are parsed when first needed
+     */
+    public CommandInfo(final RegisteredCommand registeredCommand, final ParentCommand parentCommand,
+                       final CommandHandler commandHandler, final CommandSender sender, final String command,
+                       final List<String> cmdArgs, final String usage, final String permission,
+                       final ParseResult parseResult) {
         this.registeredCommand = registeredCommand;
         this.parentCommand = parentCommand;
         this.commandHandler = commandHandler;
@@ -47,6 +72,7 @@ public class CommandInfo {
         this.args = cmdArgs;
         this.usage = usage;
         this.permission = permission;
+        this.parseResult = parseResult;
 
         if (commandHandler == null) {
             Bukkit.getLogger().warning("CommandHandler is null, playersOnly is set to the default value false");
@@ -59,21 +85,6 @@ public class CommandInfo {
         if (isFlag(command)) {
             throw new IllegalArgumentException("A sub command cannot be a valid flag!");
         }
-
-        this.flags = new HashMap<>();
-
-        //Iterate through tempArgs and look for flags. (eks -f or -R)
-        for (final String arg : cmdArgs) {
-            if (arg.length() == 0) {
-                continue;
-            }
-            if (isFlag(arg)) {
-                if (!this.hasAsteriskFlag && arg.charAt(1) == '*') {
-                    this.hasAsteriskFlag = true;
-                }
-                this.flags.put(arg.charAt(1), getFlag(arg.charAt(1)));
-            }
-        }
     }
 
     /**
@@ -83,7 +94,7 @@ public class CommandInfo {
      * @return If str is formatted as a flag
      */
     public static boolean isFlag(final String str) {
-        return FLAG_PATTERN.matcher(str).matches();
+        return NodeState.isFlag(str);
     }
 
     public RegisteredCommand getRegisteredCommand() {
@@ -126,6 +137,59 @@ public class CommandInfo {
 
     public void setArgs(final List<String> args) {
         this.args = args;
+        this.parseResult = null;
+    }
+
+    /**
+     * @return The flags, arguments and errors of this command as found by the {@link CommandGrammar}
+     */
+    public ParseResult getParseResult() {
+        if (this.parseResult == null) {
+            this.parseResult = CommandGrammar.parseArguments(this.sender, getState(), this.args);
+        }
+        return this.parseResult;
+    }
+
+    /**
+     * @return Why the command was not handled, {@code null} if it was handled or no handler reported otherwise
+     */
+    public RejectReason getRejectReason() {
+        return this.rejectReason;
+    }
+
+    /**
+     * Called by the handler when it rejects the command, so the dispatcher audits and traces the right outcome
+     *
+     * @param rejectReason
+     *     Why the command was not handled, {@code null} if it was handled
+     */
+    public void setRejectReason(final RejectReason rejectReason) {
+        this.rejectReason = rejectReason;
+    }
+
+    /**
+     * @return The compiled state of the command
+     */
+    public NodeState getState() {
+        if (this.state == null) {
+            if (this.parseResult != null) {
+                this.state = this.parseResult.getState();
+            }
+            else if (this.registeredCommand != null) {
+                this.state = this.registeredCommand.getGrammar().stateOf(this.parentCommand);
+            }
+            else {
+                this.state = CommandGrammar.compileState(this.parentCommand);
+            }
+        }
+        return this.state;
+    }
+
+    /**
+     * @return The help of the command in the locale of the sender, rendered the first time it is needed
+     */
+    public HelpScreen getHelpScreen() {
+        return getState().getHelp(getLocale());
     }
 
     public int getArgsLength() {
@@ -157,21 +221,8 @@ public class CommandInfo {
         if (this.commandHandler == null) {
             return this.getUsage();
         }
-        if (this.fullUsage == null) {
-            final String baseCmd = this.commandHandler.command().replaceAll("\\.", " ");
-
-            final StringBuilder usage = new StringBuilder('/' + baseCmd);
-            final ChildCommand parentAsChild = this.parentCommand.getParentAsChild();
-            if (!"".equals(this.commandHandler.usage())) {
-                usage.append(' ').append(this.commandHandler.usage());
-            }
-            if (parentAsChild != null) {
-                usage.append(' ').append(parentAsChild.getDisplayFlags());
-                usage.append(parentAsChild.getDisplayFlagDesc());
-            }
-            this.fullUsage = usage.toString();
-        }
-        return this.fullUsage;
+        final String usage = getHelpScreen().getUsage();
+        return usage == null ? getUsage() : usage;
     }
 
     /**
@@ -195,7 +246,7 @@ public class CommandInfo {
      */
     public String getIndex(final int index) throws CommandException {
         if (index >= this.args.size() || index < 0) {
-            throw new CommandException(this.sender, ChatColor.RED + "Invalid index number");
+            throw CommandException.INVALID_INDEX;
         }
         return this.args.get(index);
     }
@@ -257,14 +308,11 @@ public class CommandInfo {
      */
     public int getInt(final int index) throws CommandException {
         if (index >= this.args.size() || index < 0) {
-            throw new CommandException(this.sender, ChatColor.RED + "Invalid index number");
+            throw CommandException.INVALID_INDEX;
         }
-        final int returnValue;
-        try {
-            returnValue = Integer.parseInt(this.args.get(index));
-        } catch (final NumberFormatException e) {
-            throw new CommandException(this.sender, ChatColor.RED + "Index " + ChatColor.GOLD + "%d" + ChatColor.RED +
-                                                    " is not an Integer", index);
+        final Integer returnValue = ArgumentParsers.parseInt(this.args.get(index));
+        if (returnValue == null) {
+            throw CommandException.of("not-an-integer", index);
         }
         return returnValue;
     }
@@ -284,11 +332,8 @@ public class CommandInfo {
         if (index >= this.args.size() || index < 0) {
             return defaultValue;
         }
-        try {
-            return Integer.parseInt(this.args.get(index));
-        } catch (final NumberFormatException e) {
-            return defaultValue;
-        }
+        final Integer value = ArgumentParsers.parseInt(this.args.get(index));
+        return value == null ? defaultValue : value;
     }
 
     /**
@@ -304,14 +349,11 @@ public class CommandInfo {
      */
     public double getDouble(final int index) throws CommandException {
         if (index >= this.args.size() || index < 0) {
-            throw new CommandException(this.sender, ChatColor.RED + "Invalid index number");
+            throw CommandException.INVALID_INDEX;
         }
-        final double returnValue;
-        try {
-            returnValue = Double.parseDouble(this.args.get(index));
-        } catch (final NumberFormatException e) {
-            throw new CommandException(this.sender, ChatColor.RED + "Index " + ChatColor.GOLD + "%d" + ChatColor.RED +
-                                                    " is not an Double", index);
+        final Double returnValue = ArgumentParsers.parseDouble(this.args.get(index));
+        if (returnValue == null) {
+            throw CommandException.of("not-a-double", index);
         }
         return returnValue;
     }
@@ -331,11 +373,8 @@ public class CommandInfo {
         if (index >= this.args.size() || index < 0) {
             return defaultValue;
         }
-        try {
-            return Double.parseDouble(this.args.get(index));
-        } catch (final NumberFormatException e) {
-            return defaultValue;
-        }
+        final Double value = ArgumentParsers.parseDouble(this.args.get(index));
+        return value == null ? defaultValue : value;
     }
 
     /**
@@ -370,7 +409,7 @@ public class CommandInfo {
 
     public String joinArgs(final int index) throws CommandException {
         if (index >= this.args.size() || index < 0) {
-            throw new CommandException(this.sender, ChatColor.RED + "Invalid index number");
+            throw CommandException.INVALID_INDEX;
         }
         final StringBuilder builder = new StringBuilder();
         for (int i = index; i < this.args.size(); ++i) {
@@ -383,6 +422,176 @@ public class CommandInfo {
         return builder.toString();
     }
 
+    /**
+     * @return The normalized locale of the sender, see {@link MessageCatalog#getLocale(CommandSender)}
+     */
+    public String getLocale() {
+        if (this.locale == null) {
+            this.locale = MessageCatalog.getInstance().getLocale(this.sender);
+        }
+        return this.locale;
+    }
+
+    /**
+     * @param key
+     *     The key of the message
+     * @param args
+     *     The arguments of the message
+     *
+     * @return The message in the language of the sender
+     */
+    public String getMessage(final String key, final Object... args) {
+        return MessageCatalog.getInstance().format(getLocale(), key, args);
+    }
+
+    /**
+     * @param text
+     *     Text that is its own key, e.g. the text of an annotation
+     *
+     * @return The text in the language of the sender
+     */
+    public String translate(final String text) {
+        return MessageCatalog.getInstance().translate(getLocale(), text);
+    }
+
+    /**
+     * Send a message to the sender. While the command is dispatched the message is buffered, all buffered messages
+     * are sent in one call when the dispatch ends or {@link #flush()} is called. This keeps the messages of a handler
+     * together, but the server still sends every line on its own.
+     * <p>
+     * Messages sent directly with {@code getSender().sendMessage} are not buffered, so they are shown before the
+     * buffered ones. Flush first when the order matters. This method can be called from any thread.
+     *
+     * @param message
+     *     The message to send
+     */
+    public void sendMessage(final String message) {
+        synchronized (this.outputLock) {
+            if (this.buffered) {
+                if (this.output == null) {
+                    this.output = new ArrayList<>();
+                }
+                this.output.add(message);
+                return;
+            }
+        }
+        this.sender.sendMessage(message);
+    }
+
+    /**
+     * Send several messages to the sender, see {@link #sendMessage(String)}
+     *
+     * @param messages
+     *     The messages to send
+     */
+    public void sendMessage(final String... messages) {
+        synchronized (this.outputLock) {
+            if (this.buffered) {
+                if (this.output == null) {
+                    this.output = new ArrayList<>(messages.length);
+                }
+                Collections.addAll(this.output, messages);
+                return;
+            }
+        }
+        this.sender.sendMessage(messages);
+    }
+
+    /**
+     * Send all buffered messages now
+     */
+    public void flush() {
+        synchronized (this.outputLock) {
+            final List<String> output = this.output;
+            if (output == null || output.isEmpty()) {
+                return;
+            }
+            final Span span = Tracer.getInstance().start("flush");
+            try {
+                if (output.size() == 1) {
+                    this.sender.sendMessage(output.get(0));
+                }
+                else {
+                    this.sender.sendMessage(output.toArray(new String[0]));
+                }
+            } finally {
+                if (span != null) {
+                    span.end();
+                }
+            }
+            output.clear();
+        }
+    }
+
+    /**
+     * Flush the buffered messages and send any later messages, e.g. from a task started by the handler, directly. Called
+     * when the dispatch of the command ends.
+     */
+    public void close() {
+        synchronized (this.outputLock) {
+            flush();
+            this.buffered = false;
+        }
+    }
+
+    /**
+     * Send a large result a few lines per tick instead of all at once, see {@link MessageStream}. Buffered messages
+     * are flushed first so they are shown before the result.
+     *
+     * @param lines
+     *     The lines to send, they are pulled from the iterator as they are sent
+     *
+     * @return The started stream, it can be cancelled
+     */
+    public MessageStream stream(final Iterator<String> lines) {
+        return stream(lines, MessageStream.DEFAULT_LINES_PER_TICK);
+    }
+
+    /**
+     * @param lines
+     *     The lines to send, they are pulled from the iterator as they are sent
+     * @param linesPerTick
+     *     How many lines a player gets each tick
+     *
+     * @return The started stream, it can be cancelled
+     *
+     * @see #stream(Iterator)
+     */
+    public MessageStream stream(final Iterator<String> lines, final int linesPerTick) {
+        flush();
+        return new MessageStream(this.sender, getLocale(), lines, linesPerTick,
+                                 MessageStream.DEFAULT_CONSOLE_PAGE_SIZE).start(
+            CommandManager.getInstance().getPlugin());
+    }
+
+    /**
+     * Run a task off the main thread, e.g. a database query. Messages it sends are sent directly. The task is a span of
+     * this command when the command is traced, see {@link Tracer}.
+     *
+     * @param task
+     *     The task to run
+     *
+     * @return The scheduled task
+     */
+    public BukkitTask runAsync(final Runnable task) {
+        return Bukkit.getScheduler().runTaskAsynchronously(CommandManager.getInstance().getPlugin(),
+                                                           Tracer.getInstance().wrap(task, "async"));
+    }
+
+    /**
+     * Run a task on the main thread on the next tick, e.g. to use the result of {@link #runAsync(Runnable)}. The task
+     * is a span of this command when the command is traced, see {@link Tracer}.
+     *
+     * @param task
+     *     The task to run
+     *
+     * @return The scheduled task
+     */
+    public BukkitTask runSync(final Runnable task) {
+        return Bukkit.getScheduler().runTask(CommandManager.getInstance().getPlugin(),
+                                             Tracer.getInstance().wrap(task, "sync"));
+    }
+
     public boolean playersOnly() {
         return this.playersOnly;
     }
@@ -391,7 +600,7 @@ public class CommandInfo {
      * @return All flags found in the arguments of the command
      */
     public Collection<Character> getFlags() {
-        return this.flags.keySet();
+        return getParseResult().getFlags().keySet();
     }
 
     /**
@@ -420,7 +629,7 @@ public class CommandInfo {
      * @return A Flag that is present in the executed command, otherwise null
      */
     public Flag getPresentFlag(final char flag) {
-        return this.flags.get(flag);
+        return getParseResult().getFlags().get(flag);
     }
 
     /**
@@ -431,7 +640,7 @@ public class CommandInfo {
      * otherwise.
      */
     public boolean hasFlag(final char flag) {
-        return this.hasAsteriskFlag || this.flags.keySet().contains(flag);
+        return hasAsteriskFlag() || getParseResult().getFlags().containsKey(flag);
     }
 
     /**
@@ -441,11 +650,12 @@ public class CommandInfo {
      * @return true if one of the chars in the string matches the flag in the present command
      */
     public boolean hasOneOfFlags(final String s) {
-        if (this.hasAsteriskFlag) {
+        if (hasAsteriskFlag()) {
             return true;
         }
+        final Map<Character, Flag> flags = getParseResult().getFlags();
         for (final char c : s.toCharArray()) {
-            if (this.flags.keySet().contains(c)) {
+            if (flags.containsKey(c)) {
                 return true;
             }
         }
@@ -468,6 +678,6 @@ public class CommandInfo {
      * @return if true then all flags should be seen as present
      */
     public boolean hasAsteriskFlag() {
-        return this.hasAsteriskFlag;
+        return getParseResult().hasAsteriskFlag();
     }
 }
@@ -0,0 +1,171 @@
+package com.not2excel.api.command.objects;
+
+import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.Flag;
+import com.not2excel.api.command.messages.MessageCatalog;
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The help of a command in one locale, rendered the first time it is shown in that locale and kept by the
+ * {@link com.not2excel.api.command.parser.NodeState} of the command until the command tree is compiled again. The usage
+ * of the command is followed by the usage of its sub commands, split into pages of {@link #PAGE_SIZE} sub commands.
+ * Showing a page that was rendered is an array lookup.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class HelpScreen {
+
+    /**
+     * How many sub commands are listed on each page, a chat window shows ten lines
+     */
+    public static final int PAGE_SIZE = 8;
+
+    private final String usage;
+    private final String[][] pages;
+
+    private HelpScreen(final String usage, final String[][] pages) {
+        this.usage = usage;
+        this.pages = pages;
+    }
+
+    /**
+     * @param node
+     *     The command to render the help of
+     * @param commandHandler
+     *     The annotation of {@code node}, {@code null} for generated commands
+     * @param locale
+     *     The locale to render the help in, {@code null} for the default locale
+     *
+     * @return The help of {@code node}
+     */
+    public static HelpScreen render(final ParentCommand node, final CommandHandler commandHandler,
+                                    final String locale) {
+        final MessageCatalog catalog = MessageCatalog.getInstance();
+        final String usage = commandHandler == null ? null : renderUsage(commandHandler, catalog, locale);
+
+        //sorted so the pages are the same every time
+        final Map<String, ChildCommand> children = new TreeMap<>(node.getAllChildCommands());
+        final List<String> lines = new ArrayList<>(children.size());
+        String command = commandHandler == null ? null : commandHandler.command();
+        for (final ChildCommand child : children.values()) {
+            final CommandHandler childHandler = child.getCommandHandler();
+            if (!child.isAlias() && childHandler != null) {
+                lines.add(ChatColor.YELLOW + renderLightUsage(childHandler, catalog, locale) + ChatColor.GRAY +
+                          catalog.translate(locale, childHandler.description()));
+                if (command == null) {
+                    //a generated command has no annotation, its path is that of a sub command without the last part
+                    command = childHandler.command().substring(0, childHandler.command().lastIndexOf('.'));
+                }
+            }
+        }
+
+        final int pageCount = Math.max(1, (lines.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        final String[][] pages = new String[pageCount][];
+        final String header = usage == null ? null : catalog.format(locale, "usage", usage);
+        //there is only a next page if there are sub commands, so the command is known
+        final String helpCommand = command == null ? null : renderCommand(command) + " help";
+        for (int page = 0; page < pageCount; page++) {
+            final List<String> pageLines = new ArrayList<>(PAGE_SIZE + 2);
+            if (header != null) {
+                pageLines.add(header);
+            }
+            pageLines.addAll(lines.subList(page * PAGE_SIZE, Math.min(lines.size(), (page + 1) * PAGE_SIZE)));
+            if (page + 1 < pageCount) {
+                pageLines.add(
+                    catalog.format(locale, "help-page-next", page + 1, pageCount, helpCommand + ' ' + (page + 2)));
+            }
+            else if (pageCount > 1) {
+                pageLines.add(catalog.format(locale, "help-page", page + 1, pageCount));
+            }
+            pages[page] = pageLines.toArray(new String[pageLines.size()]);
+        }
+        return new HelpScreen(usage, pages);
+    }
+
+    /**
+     * @return The command as typed by a player, e.g. {@code /home set} for the command {@code home.set}
+     */
+    static String renderCommand(final CommandHandler commandHandler) {
+        return renderCommand(commandHandler.command());
+    }
+
+    private static String renderCommand(final String command) {
+        return '/' + command.replace('.', ' ');
+    }
+
+    /**
+     * @return The command, its usage, its flags and their descriptions
+     */
+    static String renderUsage(final CommandHandler commandHandler, final MessageCatalog catalog, final String locale) {
+        final StringBuilder usage = new StringBuilder(renderCommand(commandHandler));
+        if (!"".equals(commandHandler.usage())) {
+            usage.append(' ').append(catalog.translate(locale, commandHandler.usage()));
+        }
+        final Flag[] flags = commandHandler.flags();
+        if (flags.length != 0) {
+            usage.append(' ').append(renderFlags(flags)).append('\n');
+            for (int i = 0; i < flags.length; i++) {
+                usage.append("     ").append(ChatColor.DARK_AQUA).append('-').append(flags[i].flag()).append(' ')
+                     .append(ChatColor.GRAY).append(catalog.translate(locale, flags[i].usage()));
+                if (i + 1 < flags.length) {
+                    usage.append('\n');
+                }
+            }
+        }
+        return usage.toString();
+    }
+
+    /**
+     * @return The command, its usage and its flags without their descriptions
+     */
+    static String renderLightUsage(final CommandHandler commandHandler, final MessageCatalog catalog,
+                                   final String locale) {
+        final StringBuilder usage = new StringBuilder(renderCommand(commandHandler));
+        if (!"".equals(commandHandler.usage())) {
+            usage.append(' ').append(catalog.translate(locale, commandHandler.usage()));
+        }
+        return usage.append(' ').append(renderFlags(commandHandler.flags())).toString();
+    }
+
+    /**
+     * @return The flags as {@code -a -b }, an empty string if there are no flags
+     */
+    static String renderFlags(final Flag[] flags) {
+        if (flags.length == 0) {
+            return "";
+        }
+        final StringBuilder flagsBuilder = new StringBuilder().append(ChatColor.GOLD);
+        for (final Flag flag : flags) {
+            flagsBuilder.append('-').append(flag.flag()).append(' ');
+        }
+        return flagsBuilder.toString();
+    }
+
+    /**
+     * @return The explained usage of the command or {@code null} if it is a generated command without a usage
+     */
+    public String getUsage() {
+        return this.usage;
+    }
+
+    public int getPageCount() {
+        return this.pages.length;
+    }
+
+    /**
+     * @param page
+     *     The page to get, starting at 1. Out of range pages are clamped to the first or last page.
+     *
+     * @return The lines of the page, the array must not be modified
+     */
+    public String[] getPage(final int page) {
+        return this.pages[Math.max(0, Math.min(this.pages.length, page) - 1)];
+    }
+}
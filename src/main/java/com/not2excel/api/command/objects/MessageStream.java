@@ -0,0 +1,153 @@
+package com.not2excel.api.command.objects;
+
+import com.not2excel.api.command.messages.MessageCatalog;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.Iterator;
+
+/**
+ * Sends a large result to a sender a few lines per tick. The lines are pulled from an iterator as they are sent so the
+ * result never has to be held in memory, e.g. a cursor over a database query.
+ * <p>
+ * A player gets {@code linesPerTick} lines every tick as one message. The console is not limited by a chat window, it
+ * gets a page of {@code consolePageSize} lines every tick, each page starting with its number. The stream stops when
+ * the lines run out, the player leaves or it is {@link #cancel() cancelled}. If the iterator is {@link AutoCloseable}
+ * it is closed when the stream stops.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public class MessageStream extends BukkitRunnable {
+
+    public static final int DEFAULT_LINES_PER_TICK = 10;
+    public static final int DEFAULT_CONSOLE_PAGE_SIZE = 200;
+
+    private final CommandSender sender;
+    private final String locale;
+    private final Iterator<String> lines;
+    private final int chunkSize;
+    private final boolean paginated;
+    private final StringBuilder chunk = new StringBuilder();
+    private volatile boolean done;
+    private long linesSent;
+    private int page;
+
+    /**
+     * @param sender
+     *     The sender to send the lines to
+     * @param locale
+     *     The locale of the sender, {@code null} for the default locale
+     * @param lines
+     *     The lines to send, {@code next()} is only called on the main thread
+     * @param linesPerTick
+     *     How many lines a player gets each tick
+     * @param consolePageSize
+     *     How many lines other senders gets each tick
+     */
+    public MessageStream(final CommandSender sender, final String locale, final Iterator<String> lines,
+                         final int linesPerTick, final int consolePageSize) {
+        if (linesPerTick <= 0 || consolePageSize <= 0) {
+            throw new IllegalArgumentException("At least one line must be sent each tick");
+        }
+        this.sender = sender;
+        this.locale = locale;
+        this.lines = lines;
+        this.paginated = !(sender instanceof Player);
+        this.chunkSize = this.paginated ? consolePageSize : linesPerTick;
+    }
+
+    /**
+     * Start sending the lines, starting next tick
+     *
+     * @param plugin
+     *     The plugin to schedule the stream with
+     *
+     * @return This stream
+     */
+    public MessageStream start(final Plugin plugin) {
+        runTaskTimer(plugin, 0L, 1L);
+        return this;
+    }
+
+    @Override
+    public void run() {
+        if (this.done) {
+            return;
+        }
+        if (this.sender instanceof Player && !((Player) this.sender).isOnline()) {
+            cancel();
+            return;
+        }
+        this.chunk.setLength(0);
+        int count = 0;
+        try {
+            while (count < this.chunkSize && this.lines.hasNext()) {
+                if (count == 0 && this.paginated) {
+                    this.chunk.append(MessageCatalog.getInstance().format(this.locale, "stream-page", ++this.page));
+                }
+                if (this.chunk.length() != 0) {
+                    this.chunk.append('\n');
+                }
+                this.chunk.append(this.lines.next());
+                count++;
+            }
+        } catch (final RuntimeException e) {
+            LevelLogger.getInstance().log(LogType.ERROR, "Failed to get the next line to stream: " + e);
+            this.chunk.append(this.chunk.length() == 0 ? "" : "\n")
+                      .append(MessageCatalog.getInstance().format(this.locale, "stream-failed"));
+            this.sender.sendMessage(this.chunk.toString());
+            cancel();
+            return;
+        }
+        if (this.chunk.length() != 0) {
+            this.sender.sendMessage(this.chunk.toString());
+            this.linesSent += count;
+        }
+        if (!this.lines.hasNext()) {
+            cancel();
+        }
+    }
+
+    /**
+     * Stop sending lines, lines not yet sent are never pulled from the iterator
+     */
+    @Override
+    public synchronized void cancel() {
+        if (this.done) {
+            return;
+        }
+        this.done = true;
+        try {
+            super.cancel();
+        } catch (final IllegalStateException ignored) {
+            //not scheduled yet
+        }
+        if (this.lines instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) this.lines).close();
+            } catch (final Exception e) {
+                LevelLogger.getInstance().log(LogType.ERROR, "Failed to close a streamed result: " + e);
+            }
+        }
+    }
+
+    /**
+     * @return If the stream has stopped, either because all lines were sent or because it was cancelled
+     */
+    public boolean isDone() {
+        return this.done;
+    }
+
+    /**
+     * @return How many lines have been sent so far, not counting page headers
+     */
+    public long getLinesSent() {
+        return this.linesSent;
+    }
+}
@@ -1,5 +1,11 @@
 package com.not2excel.api.command.objects;
 
+import com.not2excel.api.util.BKTree;
+import org.bukkit.command.CommandSender;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -11,7 +17,8 @@ import java.util.concurrent.ConcurrentHashMap;
 public class ParentCommand {
 
     private final Map<String, ChildCommand> childCommands = new ConcurrentHashMap<>();
-    private final Map<String, ChildCommand> childBaseCommands = new ConcurrentHashMap<>();
+    private final BKTree childNames = new BKTree();
+    private volatile Map<String, ChildCommand> childBaseCommands;
     private ChildCommand parentAsChild;
 
     /**
@@ -23,7 +30,9 @@ public class ParentCommand {
     public void addChild(final String subCommand, final ChildCommand child) {
         synchronized (this.childCommands) {
             this.childCommands.put(subCommand.toLowerCase(), child);
+            this.childBaseCommands = null;
         }
+        this.childNames.add(subCommand);
     }
 
     /**
@@ -60,19 +69,56 @@ public class ParentCommand {
     }
 
     /**
-     * Only return the basecommands of this parents child command
+     * Only return the basecommands of this parents child command. The map is built once and rebuilt after a child is
+     * added, it cannot be modified.
      *
      * @return This base parents child commands, the key is the subCommand and the value is the ChildCommand object
      */
     public Map<String, ChildCommand> getNoAliasesChildCommands() {
-        if (this.childBaseCommands.isEmpty() && !this.childCommands.isEmpty()) {
-            for (final Map.Entry<String, ChildCommand> entry : this.childCommands.entrySet()) {
-                if (!entry.getValue().isAlias()) {
-                    this.childBaseCommands.put(entry.getKey(), entry.getValue());
+        Map<String, ChildCommand> childBaseCommands = this.childBaseCommands;
+        if (childBaseCommands == null) {
+            //built under the lock of addChild, so a child added meanwhile cannot be left out of the published map
+            synchronized (this.childCommands) {
+                childBaseCommands = this.childBaseCommands;
+                if (childBaseCommands == null) {
+                    final Map<String, ChildCommand> built = new HashMap<>();
+                    for (final Map.Entry<String, ChildCommand> entry : this.childCommands.entrySet()) {
+                        if (!entry.getValue().isAlias()) {
+                            built.put(entry.getKey(), entry.getValue());
+                        }
+                    }
+                    childBaseCommands = Collections.unmodifiableMap(built);
+                    this.childBaseCommands = childBaseCommands;
                 }
             }
         }
-        return this.childBaseCommands;
+        return childBaseCommands;
+    }
+
+    /**
+     * Find the sub commands (including aliases) that are the closest to a mistyped sub command
+     *
+     * @param childStr
+     *     The unknown sub command, case insensitive
+     * @param sender
+     *     Only sub commands this sender has permission for are suggested
+     *
+     * @return The sub commands with the smallest edit distance (at most two) to {@code childStr}, or an empty list if
+     * none are close enough
+     */
+    public List<String> getSuggestions(final String childStr, final CommandSender sender) {
+        //one or two letter words are within distance two of almost everything
+        return this.childNames.closest(childStr, childStr.length() <= 2 ? 1 : 2, word -> {
+            final ChildCommand child = getChild(word);
+            return child != null && child.checkPermission(sender);
+        });
+    }
+
+    /**
+     * @return The handler method of this command, or {@code null} if it has none
+     */
+    public QueuedCommand getQueuedCommand() {
+        return null;
     }
 
     public ChildCommand getParentAsChild() {
@@ -1,5 +1,10 @@
 package com.not2excel.api.command.objects;
 
+import com.not2excel.api.command.arguments.ArgumentTypes;
+import com.not2excel.api.command.arguments.ParameterBinder;
+import com.not2excel.api.command.handler.CommandException;
+
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 /**
@@ -10,10 +15,56 @@ public class QueuedCommand {
 
     private final Object object;
     private final Method method;
+    private final ParameterBinder binder;
 
+    /**
+     * @throws IllegalArgumentException
+     *     If the parameters of {@code method} cannot be bound to command arguments
+     */
     public QueuedCommand(final Object object, final Method method) {
+        this(object, method, new ArgumentTypes());
+    }
+
+    /**
+     * @param argumentTypes
+     *     The types to resolve the parameters of {@code method} with
+     *
+     * @throws IllegalArgumentException
+     *     If the parameters of {@code method} cannot be bound to command arguments
+     */
+    public QueuedCommand(final Object object, final Method method, final ArgumentTypes argumentTypes) {
         this.object = object;
         this.method = method;
+        this.binder = new ParameterBinder(method, argumentTypes);
+    }
+
+    /**
+     * Invoke the handler method with the arguments of {@code info} bound to its parameters. If the arguments cannot be
+     * bound the sender has been told why and the method is not invoked.
+     *
+     * @param info
+     *     The command to handle
+     *
+     * @throws CommandException
+     *     If the handler method threw it, it is unwrapped so the dispatcher can send its message
+     */
+    public void invoke(final CommandInfo info)
+    throws CommandException, IllegalAccessException, InvocationTargetException {
+        try {
+            if (this.binder.isPlain()) {
+                this.method.invoke(this.object, info);
+                return;
+            }
+            final Object[] params = this.binder.bind(info);
+            if (params != null) {
+                this.method.invoke(this.object, params);
+            }
+        } catch (final InvocationTargetException e) {
+            if (e.getCause() instanceof CommandException) {
+                throw (CommandException) e.getCause();
+            }
+            throw e;
+        }
     }
 
     public Object getObject() {
@@ -23,4 +74,8 @@ public class QueuedCommand {
     public Method getMethod() {
         return this.method;
     }
+
+    public ParameterBinder getBinder() {
+        return this.binder;
+    }
 }
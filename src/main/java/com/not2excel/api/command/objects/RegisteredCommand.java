@@ -1,20 +1,28 @@
 package com.not2excel.api.command.objects;
 
 import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.command.audit.AuditLog;
+import com.not2excel.api.command.audit.AuditOutcome;
 import com.not2excel.api.command.handler.CommandException;
 import com.not2excel.api.command.handler.DefaultHandler;
+import com.not2excel.api.command.handler.FailureTracker;
 import com.not2excel.api.command.handler.Handler;
-import org.bukkit.ChatColor;
+import com.not2excel.api.command.messages.MessageCatalog;
+import com.not2excel.api.command.metrics.NodeMetrics;
+import com.not2excel.api.command.metrics.RejectReason;
+import com.not2excel.api.command.parser.CommandGrammar;
+import com.not2excel.api.command.parser.ParseResult;
+import com.not2excel.api.command.tracing.Span;
+import com.not2excel.api.command.tracing.Tracer;
+import com.not2excel.api.jfr.FlightEvents;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Map.Entry;
 
 /**
  * @author Richmond Steele, kh498
@@ -25,82 +33,161 @@ public class RegisteredCommand extends ParentCommand implements CommandExecutor,
     private final QueuedCommand queuedCommand;
     private String command = "";
     private Handler handler = this;
+    private boolean customHandler;
+    private final Object grammarLock = new Object();
+    private volatile CommandGrammar grammar;
 
     public RegisteredCommand(final QueuedCommand queuedCommand) {
         this.queuedCommand = queuedCommand;
         this.handler = new DefaultHandler(queuedCommand);
     }
 
-    private static void displayChildUsage(final CommandInfo info) {
-        //TODO Display aliases
-        for (final Entry<String, ChildCommand> entry : info.getParentCommand().getAllChildCommands().entrySet()) {
-            final ChildCommand childCommand = entry.getValue();
-            if (!childCommand.isAlias()) {
-                final String description = childCommand.getDescription();
-                final String Usage = childCommand.getLightExplainedUsage();
-                if (!Usage.isEmpty()) {
-                    info.getSender().sendMessage(ChatColor.YELLOW + Usage + ChatColor.GRAY + description);
-                }
-            }
-        }
+    public static void displayDefaultUsage(final CommandInfo info) {
+        displayDefaultUsage(info, 1);
     }
 
-    private static List<String> sortQuotedArgs(final List<String> args) {
-        final List<String> strings = new ArrayList<>(args.size());
-        for (int i = 0; i < args.size(); ++i) {
-            String arg = args.get(i);
-            if (arg.length() == 0) {
-                continue;
-            }
-            if (arg.charAt(0) == '"') {
-                int j;
-                final StringBuilder builder = new StringBuilder();
-                for (j = i; j < args.size(); ++j) {
-                    final String arg2 = args.get(j);
-                    if (arg2.charAt(arg2.length() - 1) == '"' && arg2.length() >= 1) {
-                        builder.append(j != i ? " " : "").append(arg2.substring(j == i ? 1 : 0, arg2.length() - 1));
-                        break;
-                    }
-                    else {
-                        builder.append(j == i ? arg2.substring(1) : " " + arg2);
-                    }
-                }
-                if (j < args.size()) {
-                    arg = builder.toString();
-                    i = j;
-                }
-            }
-            strings.add(arg);
+    /**
+     * Show the usage of the command and a page of its sub commands, the pages are rendered the first time the help is
+     * shown in the locale of the sender
+     *
+     * @param info
+     *     The command to show the help of
+     * @param page
+     *     The page of sub commands to show, starting at 1
+     */
+    public static void displayDefaultUsage(final CommandInfo info, final int page) {
+        final HelpScreen help = info.getHelpScreen();
+        if (help.getUsage() == null) {
+            info.sendMessage(info.getMessage("usage", info.getExplainedUsage()));
         }
-        return strings;
-    }
-
-    public static void displayDefaultUsage(final CommandInfo info) {
-        final CommandSender sender = info.getSender();
-        sender.sendMessage(ChatColor.RED + "Usage: " + info.getExplainedUsage());
-        displayChildUsage(info);
+        info.sendMessage(help.getPage(page));
     }
 
+    /**
+     * The whole command line is parsed once by the grammar of this command. The handler of the deepest sub command
+     * reached is called directly with the result, unless a handler was set with {@link #setHandler(Handler)}.
+     */
     @Override
     public boolean onCommand(final CommandSender sender, final Command command, final String s, final String[] args) {
+        final Object event = FlightEvents.beginDispatch();
+        final ParseResult result = getGrammar().match(sender, args);
+        final CommandHandler target = result.getState().getCommandHandler();
+        final LevelLogger logger = LevelLogger.getInstance();
+        if (logger.isEnabled(LogType.DEBUG)) {
+            logger.log(LogType.DEBUG, "{} dispatched /{} {} to {}", sender.getName(), s, String.join(" ", args),
+                       target == null ? "a generated command" : target.command());
+        }
+        final CommandManager manager = CommandManager.getInstance();
+        final AuditLog auditLog = manager == null ? null : manager.getAuditLog();
+        final ChildCommand denied = result.getDeniedChild();
+        final String path =
+            denied != null ? denied.getCommandHandler().command() : target == null ? s : target.command();
+        final Span span = Tracer.getInstance().startDispatch(path);
+        if (denied != null) {
+            final NodeMetrics metrics = manager == null ? null : manager.getMetrics().get(path);
+            if (metrics != null) {
+                metrics.recordRejection(RejectReason.NO_PERMISSION);
+            }
+            if (auditLog != null && auditLog.isAudited(sender, path)) {
+                auditLog.record(sender, path, args, AuditOutcome.DENIED);
+            }
+            FlightEvents.endDispatch(event, path, sender, AuditOutcome.DENIED);
+            final MessageCatalog catalog = MessageCatalog.getInstance();
+            final String locale = catalog.getLocale(sender);
+            final String noPermission = catalog.translate(locale, denied.getCommandHandler().noPermission());
+            sender.sendMessage(catalog.format(locale, "no-permission", noPermission));
+            if (span != null) {
+                span.setStatus(AuditOutcome.DENIED.name());
+                span.end();
+            }
+            return true;
+        }
+        final ParentCommand node = result.getNode();
+        final CommandHandler rootHandler = this.queuedCommand == null ? null : getCommandHandler();
+        final String usage = rootHandler == null ? "" : rootHandler.usage();
+        final CommandInfo info;
+        if (this.customHandler) {
+            //a handler set with setHandler is given the whole command line, its sub commands are its own business
+            info = new CommandInfo(this, this, rootHandler, sender, s, result.getTokens(), usage, getPermission());
+        }
+        else {
+            info = new CommandInfo(this, node, target, sender, result.getLabel() == null ? s : result.getLabel(),
+                                   result.getArgs(), usage, getPermission(), result);
+        }
+        final boolean audited = auditLog != null && auditLog.isAudited(sender, path);
+        AuditOutcome outcome = AuditOutcome.ERROR;
         try {
-            final CommandHandler commandHandler = getMethod().getAnnotation(CommandHandler.class);
-            final List<String> strings = Arrays.asList(args);
-            this.handler.handleCommand(
-                new CommandInfo(this, this, commandHandler, sender, s, sortQuotedArgs(strings), commandHandler.usage(),
-                                commandHandler.permission()));
+            if (node == this || this.customHandler) {
+                this.handler.handleCommand(info);
+            }
+            else {
+                ((ChildCommand) node).getHandler().handleCommand(info);
+            }
+            //a handler that rejects the command reports why, e.g. ERROR when the handler method threw
+            outcome = AuditOutcome.of(info.getRejectReason());
         } catch (final CommandException e) {
-            sender.sendMessage(ChatColor.RED + "Failed to handle command properly.");
+            outcome = AuditOutcome.FAILED;
+            //rendered here, once, instead of where it was thrown
+            info.sendMessage(e.render(info.getLocale()));
+        } finally {
+            //everything the command said is sent as one message
+            info.close();
+            if (audited) {
+                auditLog.record(sender, path, args, outcome);
+            }
+            FlightEvents.endDispatch(event, path, sender, outcome);
+            if (span != null) {
+                span.setStatus(outcome.name());
+                span.end();
+            }
         }
         return true;
     }
 
     @Override
-    public void handleCommand(final CommandInfo info) {
-        try {
-            this.getMethod().invoke(this.queuedCommand.getObject(), info);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            e.printStackTrace();
+    public void handleCommand(final CommandInfo info) throws CommandException {
+        info.setRejectReason(
+            FailureTracker.getInstance().invoke(info, getCommandHandler().command(), this.queuedCommand));
+    }
+
+    /**
+     * @return The grammar of this command and its sub commands, compiled when first needed
+     */
+    public CommandGrammar getGrammar() {
+        CommandGrammar grammar = this.grammar;
+        if (grammar == null) {
+            //compiled under the lock of invalidateGrammar, so a grammar of the old tree cannot be published after it
+            synchronized (this.grammarLock) {
+                grammar = this.grammar;
+                if (grammar == null) {
+                    grammar = CommandGrammar.compile(this);
+                    this.grammar = grammar;
+                }
+            }
+        }
+        return grammar;
+    }
+
+    /**
+     * Invalidates the grammar together with adding the child, so once the child can be found no grammar without it
+     * is used
+     */
+    @Override
+    public void addChild(final String subCommand, final ChildCommand child) {
+        synchronized (this.grammarLock) {
+            //before the child is added, the grammar is read without the lock and no new one is compiled meanwhile
+            this.grammar = null;
+            super.addChild(subCommand, child);
+        }
+    }
+
+    /**
+     * Recompile the grammar next time it is needed, must be called when a sub command is added deeper than directly
+     * to this command
+     */
+    public void invalidateGrammar() {
+        synchronized (this.grammarLock) {
+            this.grammar = null;
         }
     }
 
@@ -108,6 +195,11 @@ public class RegisteredCommand extends ParentCommand implements CommandExecutor,
         return this.queuedCommand.getMethod();
     }
 
+    @Override
+    public QueuedCommand getQueuedCommand() {
+        return this.queuedCommand;
+    }
+
     public CommandHandler getCommandHandler() {
         return getMethod().getAnnotation(CommandHandler.class);
     }
@@ -116,8 +208,14 @@ public class RegisteredCommand extends ParentCommand implements CommandExecutor,
         return this.handler;
     }
 
+    /**
+     * @param handler
+     *     The handler of this command. It is called for every dispatch of this command and its sub commands, with the
+     *     whole command line, instead of the handler of the sub command that was reached.
+     */
     public void setHandler(final Handler handler) {
         this.handler = handler;
+        this.customHandler = true;
     }
 
     public String getPermission() {
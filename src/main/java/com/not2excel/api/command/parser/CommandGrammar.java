@@ -0,0 +1,230 @@
+package com.not2excel.api.command.parser;
+
+import com.not2excel.api.command.objects.ChildCommand;
+import com.not2excel.api.command.objects.ParentCommand;
+import com.not2excel.api.command.objects.RegisteredCommand;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A registered command and all its sub commands compiled into a deterministic state machine. A command line is run
+ * through it once, left to right: quoted arguments are joined, sub commands are followed as long as the tokens name
+ * them and the remaining tokens are parsed as the flags and arguments of the command reached.
+ * <p>
+ * Dispatching, validating and tab completing a command all use the result of the same run. A grammar is immutable, it
+ * is compiled again when the command tree changes.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public final class CommandGrammar {
+
+    private final NodeState root;
+    private final Map<ParentCommand, NodeState> states;
+
+    private CommandGrammar(final RegisteredCommand registered) {
+        final Map<ParentCommand, NodeState> states = new IdentityHashMap<>();
+        this.root = new NodeState(registered, states);
+        this.states = states;
+    }
+
+    /**
+     * @param registered
+     *     The command to compile
+     *
+     * @return The grammar of {@code registered} and its sub commands
+     */
+    public static CommandGrammar compile(final RegisteredCommand registered) {
+        return new CommandGrammar(registered);
+    }
+
+    /**
+     * @param node
+     *     A command of this grammar
+     *
+     * @return The state of {@code node}. If the command is not part of this grammar (it was added after the grammar was
+     * compiled) a state is compiled for it.
+     */
+    public NodeState stateOf(final ParentCommand node) {
+        final NodeState state = this.states.get(node);
+        return state != null ? state : compileState(node);
+    }
+
+    /**
+     * @param node
+     *     Any command
+     *
+     * @return A state of {@code node} that is not part of any grammar
+     */
+    public static NodeState compileState(final ParentCommand node) {
+        return new NodeState(node, new HashMap<>());
+    }
+
+    /**
+     * Run a whole command line through the grammar, parsing the arguments to the types of the handler reached
+     *
+     * @param sender
+     *     The sender of the command
+     * @param rawArgs
+     *     The arguments of the command line, as split by the server
+     *
+     * @return The outcome of the parse
+     */
+    public ParseResult match(final CommandSender sender, final String[] rawArgs) {
+        return run(sender, rawArgs, rawArgs.length, true);
+    }
+
+    /**
+     * Only follow the sub commands and count the arguments of the first {@code count} raw arguments, without parsing
+     * their types. Used to find what to tab complete.
+     *
+     * @param sender
+     *     The sender of the command
+     * @param rawArgs
+     *     The arguments of the command line, as split by the server
+     * @param count
+     *     How many of the raw arguments to use
+     *
+     * @return The outcome of the parse
+     */
+    public ParseResult resolve(final CommandSender sender, final String[] rawArgs, final int count) {
+        return run(sender, rawArgs, count, false);
+    }
+
+    /**
+     * Parse the arguments of a command whose state is already known, e.g. when a handler creates a {@link
+     * com.not2excel.api.command.objects.CommandInfo} itself
+     *
+     * @param sender
+     *     The sender of the command
+     * @param node
+     *     The command the arguments belongs to
+     * @param args
+     *     The arguments, quotes already joined
+     *
+     * @return The outcome of the parse
+     */
+    public ParseResult parseArguments(final CommandSender sender, final ParentCommand node, final List<String> args) {
+        return parseArguments(sender, stateOf(node), args);
+    }
+
+    /**
+     * Parse the arguments of a command
+     *
+     * @param sender
+     *     The sender of the command
+     * @param state
+     *     The state of the command the arguments belongs to
+     * @param args
+     *     The arguments, quotes already joined
+     *
+     * @return The outcome of the parse
+     */
+    public static ParseResult parseArguments(final CommandSender sender, final NodeState state,
+                                             final List<String> args) {
+        final int[] offsets = new int[args.size()];
+        int offset = 0;
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = offset;
+            offset += args.get(i).length() + 1;
+        }
+        final ParseResult result = new ParseResult(state, args, offsets, 0, null, null);
+        state.parseArguments(sender, args, 0, true, result);
+        return result;
+    }
+
+    private ParseResult run(final CommandSender sender, final String[] rawArgs, final int count, final boolean bind) {
+        final int[] offsets = new int[count];
+        final List<String> tokens = tokenize(rawArgs, count, offsets);
+
+        NodeState state = this.root;
+        String label = null;
+        ChildCommand denied = null;
+        int i = 0;
+        while (i < tokens.size()) {
+            final NodeState next = state.next(tokens.get(i));
+            if (next == null) {
+                break;
+            }
+            final ChildCommand child = (ChildCommand) next.getNode();
+            if (!child.checkPermission(sender)) {
+                denied = child;
+                break;
+            }
+            label = tokens.get(i);
+            state = next;
+            i++;
+        }
+
+        final ParseResult result = new ParseResult(state, tokens, offsets, i, label, denied);
+        if (denied == null) {
+            state.parseArguments(sender, tokens, i, bind, result);
+        }
+        return result;
+    }
+
+    /**
+     * Split the raw arguments into tokens. An argument starting with a {@code "} is joined with the following arguments
+     * up to and including the one ending with a {@code "}, the quotes are removed. If there is no closing quote the
+     * arguments are left as they are. Empty arguments outside of quotes are skipped.
+     *
+     * @param rawArgs
+     *     The arguments, as split by the server
+     * @param count
+     *     How many of the arguments to tokenize
+     * @param offsets
+     *     Receives the character offset of each token in the arguments joined by spaces
+     *
+     * @return The tokens
+     */
+    static List<String> tokenize(final String[] rawArgs, final int count, final int[] offsets) {
+        final List<String> tokens = new ArrayList<>(count);
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            final String arg = rawArgs[i];
+            final int start = offset;
+            offset += arg.length() + 1;
+            if (arg.isEmpty()) {
+                continue;
+            }
+            if (arg.charAt(0) == '"') {
+                final int end = findClosingQuote(rawArgs, i, count);
+                if (end >= 0) {
+                    final StringBuilder builder = new StringBuilder();
+                    for (int j = i; j <= end; j++) {
+                        final String part = rawArgs[j];
+                        if (j != i) {
+                            builder.append(' ');
+                            offset += part.length() + 1;
+                        }
+                        builder.append(part, j == i ? 1 : 0, j == end ? part.length() - 1 : part.length());
+                    }
+                    offsets[tokens.size()] = start;
+                    tokens.add(builder.toString());
+                    i = end;
+                    continue;
+                }
+            }
+            offsets[tokens.size()] = start;
+            tokens.add(arg);
+        }
+        return tokens;
+    }
+
+    private static int findClosingQuote(final String[] rawArgs, final int start, final int count) {
+        for (int j = start; j < count; j++) {
+            final String part = rawArgs[j];
+            //the opening quote cannot also be the closing quote
+            final int min = j == start ? 2 : 1;
+            if (part.length() >= min && part.charAt(part.length() - 1) == '"') {
+                return j;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,252 @@
+package com.not2excel.api.command.parser;
+
+import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.Flag;
+import com.not2excel.api.command.arguments.ArgumentParsers;
+import com.not2excel.api.command.arguments.ArgumentType;
+import com.not2excel.api.command.arguments.ParameterBinder;
+import com.not2excel.api.command.objects.ChildCommand;
+import com.not2excel.api.command.objects.HelpScreen;
+import com.not2excel.api.command.objects.ParentCommand;
+import com.not2excel.api.command.objects.QueuedCommand;
+import com.not2excel.api.command.objects.RegisteredCommand;
+import org.bukkit.command.CommandSender;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A command compiled into a state of a {@link CommandGrammar}. The state holds everything needed to parse a command
+ * line: the sub commands it transitions to, a table of its flags and the types of its arguments.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class NodeState {
+
+    private final ParentCommand node;
+    private final CommandHandler commandHandler;
+    private final Map<String, NodeState> transitions;
+    private final Flag[] flags = new Flag[128];
+    private final boolean asteriskFlag;
+    private final boolean strictArgs;
+    private final ArgumentType<?>[] types;
+    private final int required;
+    private final Map<String, HelpScreen> help = new ConcurrentHashMap<>();
+
+    NodeState(final ParentCommand node, final Map<ParentCommand, NodeState> compiled) {
+        compiled.put(node, this);
+        this.node = node;
+        this.commandHandler = getCommandHandler(node);
+
+        if (this.commandHandler != null) {
+            for (final Flag flag : this.commandHandler.flags()) {
+                if (flag.flag() < this.flags.length) {
+                    this.flags[flag.flag()] = flag;
+                }
+            }
+            //Let the flag * always be present, but if it is overridden then use that
+            this.asteriskFlag = this.commandHandler.asteriskFlag() || this.flags['*'] != null;
+            this.strictArgs = this.commandHandler.strictArgs();
+        }
+        else {
+            this.asteriskFlag = false;
+            this.strictArgs = false;
+        }
+
+        final QueuedCommand queue = node.getQueuedCommand();
+        final ParameterBinder binder = queue == null ? null : queue.getBinder();
+        if (binder == null) {
+            this.types = new ArgumentType<?>[0];
+            this.required = 0;
+        }
+        else {
+            this.types = new ArgumentType<?>[binder.getTypeCount()];
+            for (int i = 0; i < this.types.length; i++) {
+                this.types[i] = binder.getType(i);
+            }
+            this.required = binder.getRequiredCount();
+        }
+
+        final Map<String, ChildCommand> children = node.getAllChildCommands();
+        if (children.isEmpty()) {
+            this.transitions = Collections.emptyMap();
+        }
+        else {
+            this.transitions = new HashMap<>(children.size() * 2);
+            for (final Map.Entry<String, ChildCommand> entry : children.entrySet()) {
+                NodeState child = compiled.get(entry.getValue());
+                if (child == null) {
+                    child = new NodeState(entry.getValue(), compiled);
+                }
+                this.transitions.put(entry.getKey().toLowerCase(), child);
+            }
+        }
+    }
+
+    private static CommandHandler getCommandHandler(final ParentCommand node) {
+        if (node instanceof ChildCommand) {
+            return ((ChildCommand) node).getCommandHandler();
+        }
+        if (node instanceof RegisteredCommand && node.getQueuedCommand() != null) {
+            return ((RegisteredCommand) node).getCommandHandler();
+        }
+        return null;
+    }
+
+    /**
+     * @param str
+     *     The string to check
+     *
+     * @return If {@code str} is formatted as a flag, a dash followed by an english letter or an asterisk
+     */
+    public static boolean isFlag(final String str) {
+        if (str.length() != 2 || str.charAt(0) != '-') {
+            return false;
+        }
+        final char c = str.charAt(1);
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '*';
+    }
+
+    /**
+     * @param token
+     *     A token of the command line, case insensitive
+     *
+     * @return The state of the sub command {@code token} names, {@code null} if it is not a sub command
+     */
+    public NodeState next(final String token) {
+        if (this.transitions.isEmpty()) {
+            return null;
+        }
+        return this.transitions.get(token.toLowerCase());
+    }
+
+    /**
+     * Parse the tokens following this command
+     *
+     * @param sender
+     *     The sender of the command, needed to parse some argument types
+     * @param tokens
+     *     The tokens of the command line
+     * @param from
+     *     The index of the first token following this command
+     * @param bind
+     *     If the arguments should be parsed to the types of the handler parameters
+     * @param result
+     *     Where to record the outcome
+     */
+    void parseArguments(final CommandSender sender, final List<String> tokens, final int from, final boolean bind,
+                        final ParseResult result) {
+        if (from < tokens.size() && !this.transitions.isEmpty() && next(tokens.get(from)) == null) {
+            final String token = tokens.get(from);
+            if ("help".equalsIgnoreCase(token) || "?".equals(token)) {
+                final Integer page = from + 1 < tokens.size() ? ArgumentParsers.parseInt(tokens.get(from + 1)) : null;
+                result.helpPage = page == null || page < 1 ? 1 : page;
+            }
+            else if (this.commandHandler == null) {
+                result.unknownSubCommandIndex = from;
+            }
+        }
+        if (bind && this.types.length != 0) {
+            result.bound = new Object[this.types.length];
+        }
+        int count = 0;
+        for (int i = from; i < tokens.size(); i++) {
+            final String token = tokens.get(i);
+            if (isFlag(token)) {
+                final char c = token.charAt(1);
+                final Flag flag = this.flags[c];
+                result.putFlag(c, flag);
+                if (c == '*') {
+                    result.asteriskFlag = true;
+                }
+                if (flag == null && !(c == '*' && this.asteriskFlag) && result.unknownFlagIndex < 0) {
+                    result.unknownFlag = c;
+                    result.unknownFlagIndex = i;
+                }
+                continue;
+            }
+            if (this.strictArgs && result.strictViolationIndex < 0) {
+                result.strictViolationIndex = i;
+            }
+            if (bind && count < this.types.length && result.invalidArgumentIndex < 0) {
+                final Object value = this.types[count].parse(sender, token);
+                if (value == null) {
+                    result.invalidArgumentIndex = i;
+                    result.invalidParameter = count;
+                }
+                else {
+                    result.bound[count] = value;
+                }
+            }
+            count++;
+        }
+        result.nonFlagCount = count;
+        if (bind && result.invalidArgumentIndex < 0 && count < this.required) {
+            result.missingParameter = count;
+        }
+    }
+
+    /**
+     * Flags are single characters so the only likely typo is the wrong case, e.g. {@code -K} instead of {@code -k}
+     *
+     * @param unknownFlag
+     *     A flag this command does not have
+     *
+     * @return The flag with the other case of {@code unknownFlag} or {@code null} if there is no such flag
+     */
+    public Flag getFlagSuggestion(final char unknownFlag) {
+        final char swapped =
+            Character.isUpperCase(unknownFlag) ? Character.toLowerCase(unknownFlag) : Character.toUpperCase(unknownFlag);
+        return swapped == unknownFlag || swapped >= this.flags.length ? null : this.flags[swapped];
+    }
+
+    /**
+     * @return The command of this state
+     */
+    public ParentCommand getNode() {
+        return this.node;
+    }
+
+    /**
+     * @return The annotation of the command, {@code null} for generated commands
+     */
+    public CommandHandler getCommandHandler() {
+        return this.commandHandler;
+    }
+
+    /**
+     * @param locale
+     *     The locale of the sender
+     *
+     * @return The help of the command in the language of {@code locale}, rendered the first time it is needed
+     */
+    public HelpScreen getHelp(final String locale) {
+        final HelpScreen help = this.help.get(locale);
+        if (help != null) {
+            return help;
+        }
+        return this.help.computeIfAbsent(locale, l -> HelpScreen.render(this.node, this.commandHandler, l));
+    }
+
+    /**
+     * @param index
+     *     The index of the argument (not counting flags)
+     *
+     * @return The type of the argument at {@code index} or {@code null} if the handler takes no argument there
+     */
+    public ArgumentType<?> getType(final int index) {
+        return index < this.types.length ? this.types[index] : null;
+    }
+
+    /**
+     * @return The name of the type of the handler parameter at {@code index}
+     */
+    public String getTypeName(final int index) {
+        return this.types[index].getName();
+    }
+}
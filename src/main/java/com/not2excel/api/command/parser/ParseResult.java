@@ -0,0 +1,220 @@
+package com.not2excel.api.command.parser;
+
+import com.not2excel.api.command.Flag;
+import com.not2excel.api.command.objects.ChildCommand;
+import com.not2excel.api.command.objects.ParentCommand;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of running a {@link CommandGrammar} over a command line: the deepest command reached, its arguments and
+ * everything wrong with them. Each problem is recorded with the index of the token that caused it.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class ParseResult {
+
+    private final NodeState state;
+    private final List<String> tokens;
+    private final int[] offsets;
+    private final int argsStart;
+    private final String label;
+    private final ChildCommand deniedChild;
+
+    Map<Character, Flag> flags = Collections.emptyMap();
+    boolean asteriskFlag;
+    int nonFlagCount;
+    char unknownFlag;
+    int unknownFlagIndex = -1;
+    int strictViolationIndex = -1;
+    int unknownSubCommandIndex = -1;
+    int helpPage;
+    Object[] bound;
+    int invalidArgumentIndex = -1;
+    int invalidParameter = -1;
+    int missingParameter = -1;
+
+    ParseResult(final NodeState state, final List<String> tokens, final int[] offsets, final int argsStart,
+                final String label, final ChildCommand deniedChild) {
+        this.state = state;
+        this.tokens = tokens;
+        this.offsets = offsets;
+        this.argsStart = argsStart;
+        this.label = label;
+        this.deniedChild = deniedChild;
+    }
+
+    void putFlag(final char c, final Flag flag) {
+        if (this.flags.isEmpty()) {
+            this.flags = new HashMap<>(4);
+        }
+        this.flags.put(c, flag);
+    }
+
+    /**
+     * @return The compiled state of the command reached
+     */
+    public NodeState getState() {
+        return this.state;
+    }
+
+    /**
+     * @return The command reached
+     */
+    public ParentCommand getNode() {
+        return this.state.getNode();
+    }
+
+    /**
+     * @return The sub command typed to reach the command, {@code null} if no sub command was typed
+     */
+    public String getLabel() {
+        return this.label;
+    }
+
+    /**
+     * @return The arguments following the command reached, quoted arguments are joined
+     */
+    public List<String> getArgs() {
+        return this.tokens.subList(this.argsStart, this.tokens.size());
+    }
+
+    /**
+     * @return All arguments of the command line including the sub commands, quoted arguments are joined
+     */
+    public List<String> getTokens() {
+        return this.tokens;
+    }
+
+    /**
+     * @return How many arguments, not counting flags, follow the command reached
+     */
+    public int getNonFlagCount() {
+        return this.nonFlagCount;
+    }
+
+    /**
+     * @return The flags given, mapped to their {@link Flag} or {@code null} if it is not declared by the command
+     */
+    public Map<Character, Flag> getFlags() {
+        return this.flags;
+    }
+
+    public boolean hasAsteriskFlag() {
+        return this.asteriskFlag;
+    }
+
+    /**
+     * @return The first flag given that the command does not have, or {@code 0} if all flags are known
+     */
+    public char getUnknownFlag() {
+        return this.unknownFlag;
+    }
+
+    /**
+     * @return The sub command the sender does not have permission to use, {@code null} if there is none
+     */
+    public ChildCommand getDeniedChild() {
+        return this.deniedChild;
+    }
+
+    /**
+     * @return The first argument that is not a flag of a command with strict arguments, {@code null} if there is none
+     */
+    public String getStrictViolation() {
+        return this.strictViolationIndex < 0 ? null : this.tokens.get(this.strictViolationIndex);
+    }
+
+    /**
+     * @return The argument following a generated command that is not one of its sub commands, {@code null} if there is
+     * none. A command with a handler takes such an argument as its own.
+     */
+    public String getUnknownSubCommand() {
+        return this.unknownSubCommandIndex < 0 ? null : this.tokens.get(this.unknownSubCommandIndex);
+    }
+
+    /**
+     * @return If the arguments ask for the help of a command with sub commands, {@code help} or {@code ?} optionally
+     * followed by a page, unless the command has a sub command with that name
+     */
+    public boolean isHelpRequest() {
+        return this.helpPage > 0;
+    }
+
+    /**
+     * @return The page of sub commands asked for by the {@link #isHelpRequest() help request}, starting at 1. {@code 1}
+     * if no valid page was given, {@code 0} if this is not a help request.
+     */
+    public int getHelpPage() {
+        return this.helpPage;
+    }
+
+    /**
+     * @return The first argument that could not be parsed to the type of its handler parameter, {@code null} if all
+     * arguments were valid or not parsed
+     */
+    public String getInvalidArgument() {
+        return this.invalidArgumentIndex < 0 ? null : this.tokens.get(this.invalidArgumentIndex);
+    }
+
+    /**
+     * @return The index of the handler parameter {@link #getInvalidArgument()} is for, {@code -1} if all arguments
+     * were valid
+     */
+    public int getInvalidParameter() {
+        return this.invalidParameter;
+    }
+
+    /**
+     * @return The index of the first required handler parameter without an argument, {@code -1} if there is none
+     */
+    public int getMissingParameter() {
+        return this.missingParameter;
+    }
+
+    /**
+     * @return The arguments parsed to the types of the handler parameters, {@code null} if they were not parsed
+     */
+    public Object[] getBoundArguments() {
+        return this.bound;
+    }
+
+    /**
+     * @return If there is something wrong with the sub commands, flags or arguments
+     */
+    public boolean hasError() {
+        return getErrorIndex() >= 0 || this.missingParameter >= 0;
+    }
+
+    /**
+     * @return The index of the first token with an error, {@code -1} if there is none
+     */
+    public int getErrorIndex() {
+        if (this.deniedChild != null) {
+            return this.argsStart;
+        }
+        return earliest(earliest(earliest(this.unknownFlagIndex, this.strictViolationIndex), this.invalidArgumentIndex),
+                        this.unknownSubCommandIndex);
+    }
+
+    private static int earliest(final int i1, final int i2) {
+        if (i1 < 0) {
+            return i2;
+        }
+        return i2 < 0 ? i1 : Math.min(i1, i2);
+    }
+
+    /**
+     * @return The character offset, in the arguments of the command line, of the first token with an error, {@code
+     * -1} if there is none
+     */
+    public int getErrorOffset() {
+        final int index = getErrorIndex();
+        return index < 0 ? -1 : this.offsets[index];
+    }
+}
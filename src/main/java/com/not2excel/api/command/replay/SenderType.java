@@ -0,0 +1,53 @@
+package com.not2excel.api.command.replay;
+
+import org.bukkit.command.BlockCommandSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.command.RemoteConsoleCommandSender;
+import org.bukkit.entity.Player;
+
+/**
+ * What kind of sender issued a recorded command
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public enum SenderType {
+
+    PLAYER,
+    CONSOLE,
+    REMOTE_CONSOLE,
+    COMMAND_BLOCK,
+    /**
+     * Any other sender, e.g. a sender of another plugin
+     */
+    OTHER;
+
+    private static final SenderType[] VALUES = values();
+
+    /**
+     * @param sender
+     *     The sender of a command
+     *
+     * @return What kind of sender it is
+     */
+    public static SenderType of(final CommandSender sender) {
+        if (sender instanceof Player) {
+            return PLAYER;
+        }
+        if (sender instanceof ConsoleCommandSender) {
+            return CONSOLE;
+        }
+        if (sender instanceof RemoteConsoleCommandSender) {
+            return REMOTE_CONSOLE;
+        }
+        if (sender instanceof BlockCommandSender) {
+            return COMMAND_BLOCK;
+        }
+        return OTHER;
+    }
+
+    static SenderType byOrdinal(final int ordinal) {
+        return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : OTHER;
+    }
+}
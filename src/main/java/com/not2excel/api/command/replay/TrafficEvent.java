@@ -0,0 +1,140 @@
+package com.not2excel.api.command.replay;
+
+import java.util.function.IntFunction;
+
+/**
+ * A command or completion request of a traffic trace. The sender is only known by its number, arguments that were the
+ * name of a sender are replaced by that number as well, see {@link #getArgs(IntFunction)}.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class TrafficEvent {
+
+    private final long time;
+    private final boolean completion;
+    private final SenderType senderType;
+    private final int senderId;
+    private final int profileId;
+    private final String[] permissions;
+    private final String label;
+    private final String[] args;
+    private final int[] senderArgs;
+
+    TrafficEvent(final long time, final boolean completion, final SenderType senderType, final int senderId,
+                 final int profileId, final String[] permissions, final String label, final String[] args,
+                 final int[] senderArgs) {
+        this.time = time;
+        this.completion = completion;
+        this.senderType = senderType;
+        this.senderId = senderId;
+        this.profileId = profileId;
+        this.permissions = permissions;
+        this.label = label;
+        this.args = args;
+        this.senderArgs = senderArgs;
+    }
+
+    /**
+     * @return The microseconds between the start of the recording and this event
+     */
+    public long getTime() {
+        return this.time;
+    }
+
+    /**
+     * @return If this is a completion request, otherwise it is a command
+     */
+    public boolean isCompletion() {
+        return this.completion;
+    }
+
+    public SenderType getSenderType() {
+        return this.senderType;
+    }
+
+    /**
+     * @return The number of the sender, senders are numbered in the order they were first seen
+     */
+    public int getSenderId() {
+        return this.senderId;
+    }
+
+    /**
+     * @return The number of the permissions the sender had, equal for all senders with the same permissions
+     */
+    public int getProfileId() {
+        return this.profileId;
+    }
+
+    /**
+     * @return The permissions of the command tree the sender had
+     */
+    public String[] getPermissions() {
+        return this.permissions.clone();
+    }
+
+    /**
+     * @return The label the command was issued with, e.g. {@code warp} or an alias of it
+     */
+    public String getLabel() {
+        return this.label;
+    }
+
+    public int getArgCount() {
+        return this.args.length;
+    }
+
+    /**
+     * @param names
+     *     The name to use for each sender number
+     *
+     * @return The arguments with the names of senders put back
+     */
+    public String[] getArgs(final IntFunction<String> names) {
+        final String[] args = this.args.clone();
+        for (int i = 0; i < args.length; i++) {
+            if (this.senderArgs[i] >= 0) {
+                args[i] = names.apply(this.senderArgs[i]);
+            }
+        }
+        return args;
+    }
+
+    /**
+     * @param names
+     *     The name to use for each sender number
+     *
+     * @return The command line without a slash, e.g. {@code warp spawn}
+     */
+    public String getLine(final IntFunction<String> names) {
+        final StringBuilder line = new StringBuilder(this.label);
+        for (final String arg : getArgs(names)) {
+            line.append(' ').append(arg);
+        }
+        return line.toString();
+    }
+
+    String[] getRawArgs() {
+        return this.args;
+    }
+
+    /**
+     * @return For each argument the number of the sender whose name it is, {@code -1} if it is not a name
+     */
+    int[] getSenderArgs() {
+        return this.senderArgs;
+    }
+
+    String[] getRawPermissions() {
+        return this.permissions;
+    }
+
+    @Override
+    public String toString() {
+        return "TrafficEvent{time=" + this.time + ", " + (this.completion ? "completion" : "command") + ", sender=" +
+               this.senderType + '#' + this.senderId + ", profile=" + this.profileId + ", line=" +
+               getLine(id -> "#" + id) + '}';
+    }
+}
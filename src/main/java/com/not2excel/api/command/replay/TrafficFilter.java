@@ -0,0 +1,57 @@
+package com.not2excel.api.command.replay;
+
+import org.bukkit.command.CommandSender;
+
+/**
+ * Decides which commands are recorded by a {@link TrafficRecorder}
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@FunctionalInterface
+public interface TrafficFilter {
+
+    /**
+     * @param sender
+     *     The sender of the command
+     * @param command
+     *     The command that was resolved, e.g. {@code home.set}
+     *
+     * @return If the command should be recorded
+     */
+    boolean isRecorded(CommandSender sender, String command);
+
+    /**
+     * @return A filter recording only what both this filter and {@code other} record
+     */
+    default TrafficFilter and(final TrafficFilter other) {
+        return (sender, command) -> isRecorded(sender, command) && other.isRecorded(sender, command);
+    }
+
+    /**
+     * @return A filter recording every command
+     */
+    static TrafficFilter all() {
+        return (sender, command) -> true;
+    }
+
+    /**
+     * @param commands
+     *     The commands never to record, e.g. ones whose arguments are passwords. A command includes its sub commands,
+     *     e.g. {@code login} excludes {@code login.reset} as well.
+     *
+     * @return A filter recording every command but {@code commands}
+     */
+    static TrafficFilter except(final String... commands) {
+        final String[] nodes = commands.clone();
+        return (sender, command) -> {
+            for (final String node : nodes) {
+                if (command.equals(node) || command.length() > node.length() && command.startsWith(node) &&
+                                            command.charAt(node.length()) == '.') {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+}
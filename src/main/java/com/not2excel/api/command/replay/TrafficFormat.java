@@ -0,0 +1,87 @@
+package com.not2excel.api.command.replay;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The binary format of traffic traces, the whole file is compressed with gzip.
+ * <p>
+ * A trace starts with {@link #MAGIC}, {@link #VERSION} and the time the recording started as a long. Then follow
+ * entries, each starting with its type: a {@link #STRING} defines the next id of the string table as a var-int length
+ * and UTF-8 bytes, a {@link #PROFILE} is the id of a profile as a var-int followed by the count and the permissions of
+ * the profile as strings. A {@link #COMMAND} or {@link #COMPLETION} is the microseconds since the previous event as a
+ * var-long, the sender type as a byte, the ids of the sender and of its profile and the string id of the label as
+ * var-ints, the argument count as a var-int and each argument. An argument is a var-int, {@code 0} followed by a string
+ * or the id of the sender whose name it is plus one. The trace ends with {@link #END}.
+ * <p>
+ * The senders are numbered in the order they are seen, their names are not written.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+final class TrafficFormat {
+
+    static final int MAGIC = 0x43415452;
+    static final byte VERSION = 1;
+
+    static final byte END = 0;
+    static final byte STRING = 1;
+    static final byte PROFILE = 2;
+    static final byte COMMAND = 3;
+    static final byte COMPLETION = 4;
+
+    /**
+     * Longer strings and argument lists are cut
+     */
+    static final int MAX_STRING_LENGTH = 256;
+    static final int MAX_ARGS = 64;
+
+    private TrafficFormat() { }
+
+    static void writeVarLong(final DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(final DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            final byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed var-long");
+    }
+
+    static void writeVarInt(final DataOutput out, final int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    static int readVarInt(final DataInput in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    static void writeString(final DataOutput out, final String string) throws IOException {
+        final String cut = string.length() > MAX_STRING_LENGTH ? string.substring(0, MAX_STRING_LENGTH) : string;
+        final byte[] bytes = cut.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(final DataInput in) throws IOException {
+        final int length = readVarInt(in);
+        if (length < 0 || length > MAX_STRING_LENGTH * 3) {
+            throw new IOException("Malformed string");
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
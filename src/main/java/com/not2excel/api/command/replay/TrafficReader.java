@@ -0,0 +1,150 @@
+package com.not2excel.api.command.replay;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the events of a trace written by a {@link TrafficRecorder} in the order they were recorded. The trace is read
+ * as the events are iterated. A trace that was not finished, e.g. because the server crashed, ends at the last complete
+ * event.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class TrafficReader implements Iterator<TrafficEvent>, AutoCloseable {
+
+    private static final String[] NO_STRINGS = new String[0];
+    private static final int[] NO_SENDER_ARGS = new int[0];
+
+    private final DataInputStream in;
+    private final long startTime;
+    private final List<String> strings = new ArrayList<>();
+    private final Map<Integer, String[]> profiles = new HashMap<>();
+    private long time;
+    private TrafficEvent next;
+    private boolean done;
+
+    /**
+     * @param file
+     *     The trace to read
+     *
+     * @throws IOException
+     *     If the file cannot be read or is not a trace
+     */
+    public TrafficReader(final File file) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))));
+        try {
+            if (this.in.readInt() != TrafficFormat.MAGIC || this.in.readByte() != TrafficFormat.VERSION) {
+                throw new IOException(file + " is not a traffic trace");
+            }
+            this.startTime = this.in.readLong();
+        } catch (final IOException e) {
+            this.in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return When the recording started in milliseconds since the epoch
+     */
+    public long getStartTime() {
+        return this.startTime;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.next == null && !this.done) {
+            try {
+                this.next = readEvent();
+            } catch (final EOFException ignored) {
+                //the trace was not finished
+            } catch (final IOException | RuntimeException ignored) {
+                //a damaged trace, stop at the last event that could be read
+            }
+            if (this.next == null) {
+                close();
+            }
+        }
+        return this.next != null;
+    }
+
+    @Override
+    public TrafficEvent next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final TrafficEvent event = this.next;
+        this.next = null;
+        return event;
+    }
+
+    /**
+     * @return The next event, {@code null} if the trace ended
+     */
+    private TrafficEvent readEvent() throws IOException {
+        while (true) {
+            final byte type = this.in.readByte();
+            switch (type) {
+                case TrafficFormat.STRING:
+                    this.strings.add(TrafficFormat.readString(this.in));
+                    break;
+                case TrafficFormat.PROFILE:
+                    final int id = TrafficFormat.readVarInt(this.in);
+                    final String[] permissions = new String[Math.min(TrafficFormat.readVarInt(this.in), 1 << 16)];
+                    for (int i = 0; i < permissions.length; i++) {
+                        permissions[i] = TrafficFormat.readString(this.in);
+                    }
+                    this.profiles.put(id, permissions);
+                    break;
+                case TrafficFormat.COMMAND:
+                case TrafficFormat.COMPLETION:
+                    return readEvent(type == TrafficFormat.COMPLETION);
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private TrafficEvent readEvent(final boolean completion) throws IOException {
+        this.time += TrafficFormat.readVarLong(this.in);
+        final SenderType senderType = SenderType.byOrdinal(this.in.readByte());
+        final int senderId = TrafficFormat.readVarInt(this.in);
+        final int profileId = TrafficFormat.readVarInt(this.in);
+        final String label = this.strings.get(TrafficFormat.readVarInt(this.in));
+        final int argc = TrafficFormat.readVarInt(this.in);
+        if (argc < 0 || argc > TrafficFormat.MAX_ARGS) {
+            throw new IOException("Malformed argument count");
+        }
+        final String[] args = argc == 0 ? NO_STRINGS : new String[argc];
+        final int[] senderArgs = argc == 0 ? NO_SENDER_ARGS : new int[argc];
+        for (int i = 0; i < argc; i++) {
+            senderArgs[i] = TrafficFormat.readVarInt(this.in) - 1;
+            args[i] = senderArgs[i] < 0 ? TrafficFormat.readString(this.in) : "";
+        }
+        final String[] permissions = this.profiles.get(profileId);
+        return new TrafficEvent(this.time, completion, senderType, senderId, profileId,
+                                permissions == null ? NO_STRINGS : permissions, label, args, senderArgs);
+    }
+
+    @Override
+    public void close() {
+        this.done = true;
+        try {
+            this.in.close();
+        } catch (final IOException ignored) {
+            //only read from
+        }
+    }
+}
@@ -0,0 +1,484 @@
+package com.not2excel.api.command.replay;
+
+import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.arguments.ArgumentType;
+import com.not2excel.api.command.completion.PermissionProfiles;
+import com.not2excel.api.command.objects.ChildCommand;
+import com.not2excel.api.command.objects.ParentCommand;
+import com.not2excel.api.command.objects.RegisteredCommand;
+import com.not2excel.api.command.parser.NodeState;
+import com.not2excel.api.command.parser.ParseResult;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records the commands and completion requests senders issue to a trace file, so the real mix of commands can be
+ * replayed later, see {@link TrafficReader}. Names are not recorded: senders are numbered in the order they are seen
+ * and arguments that are the whole name of a sender or an online player are replaced by its number. Only arguments
+ * that can be enumerated, sub commands, flags and the values a cacheable {@link ArgumentType} completes, are recorded
+ * as typed. Of any other argument, including a prefix being completed that no such value starts with, only the length
+ * and which characters are digits are kept. Commands can be left out of the trace entirely with a {@link
+ * TrafficFilter}. What a sender may do is recorded as the permissions of the command tree it has.
+ * <p>
+ * Recording an event only puts it in a bounded queue, a background thread compresses and writes it. Call {@link
+ * #close()} to finish the trace.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class TrafficRecorder implements AutoCloseable {
+
+    public static final int DEFAULT_QUEUE_SIZE = 4096;
+
+    private static final long FLUSH_INTERVAL = TimeUnit.SECONDS.toNanos(5);
+    private static final String[] NO_ARGS = new String[0];
+    private static final int[] NO_SENDER_ARGS = new int[0];
+
+    private final File file;
+    private final PermissionProfiles profiles;
+    private final DataOutputStream out;
+    private final BlockingQueue<TrafficEvent> queue;
+    private final Thread thread;
+    private final long start = System.nanoTime();
+    private final Map<String, Integer> senderIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSenderId = new AtomicInteger();
+    private final Map<List<String>, Integer> profileIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextProfileId = new AtomicInteger();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile ProfileCache profileCache = new ProfileCache(-1);
+    private volatile TrafficFilter filter = TrafficFilter.all();
+    private volatile boolean closed;
+
+    //only used by the writer thread
+    private final Map<String, Integer> labels = new HashMap<>();
+    private final Set<Integer> writtenProfiles = new HashSet<>();
+    private long lastTime;
+
+    /**
+     * @param file
+     *     The file to write the trace to, it is replaced
+     * @param profiles
+     *     The profiles of the senders
+     *
+     * @throws IOException
+     *     If the file cannot be written to
+     */
+    public TrafficRecorder(final File file, final PermissionProfiles profiles) throws IOException {
+        this(file, profiles, DEFAULT_QUEUE_SIZE);
+    }
+
+    /**
+     * @param file
+     *     The file to write the trace to, it is replaced
+     * @param profiles
+     *     The profiles of the senders
+     * @param queueSize
+     *     How many events can wait to be written, events are dropped when the queue is full
+     *
+     * @throws IOException
+     *     If the file cannot be written to
+     */
+    public TrafficRecorder(final File file, final PermissionProfiles profiles, final int queueSize)
+        throws IOException {
+        this.file = file;
+        this.profiles = profiles;
+        final File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        this.out = new DataOutputStream(
+            new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file), 8192, true), 64 * 1024));
+        this.out.writeInt(TrafficFormat.MAGIC);
+        this.out.writeByte(TrafficFormat.VERSION);
+        this.out.writeLong(System.currentTimeMillis());
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.thread = new Thread(this::run, "CommandAPI-Recorder");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @param sender
+     *     The sender of the command
+     * @param label
+     *     The label the command was issued with
+     * @param args
+     *     The arguments of the command
+     */
+    public void recordCommand(final CommandSender sender, final String label, final String[] args) {
+        record(sender, null, label, args, false);
+    }
+
+    /**
+     * @param sender
+     *     The sender of the command
+     * @param registered
+     *     The command issued, its grammar tells which arguments can be recorded as typed
+     * @param label
+     *     The label the command was issued with
+     * @param args
+     *     The arguments of the command
+     */
+    public void recordCommand(final CommandSender sender, final RegisteredCommand registered, final String label,
+                              final String[] args) {
+        record(sender, registered, label, args, false);
+    }
+
+    /**
+     * @param sender
+     *     The sender that asked for completions
+     * @param label
+     *     The label of the command being completed
+     * @param args
+     *     The arguments typed so far, the last one is being completed
+     */
+    public void recordCompletion(final CommandSender sender, final String label, final String[] args) {
+        record(sender, null, label, args, true);
+    }
+
+    /**
+     * @param sender
+     *     The sender that asked for completions
+     * @param registered
+     *     The command being completed, its grammar tells which arguments can be recorded as typed
+     * @param label
+     *     The label of the command being completed
+     * @param args
+     *     The arguments typed so far, the last one is being completed
+     */
+    public void recordCompletion(final CommandSender sender, final RegisteredCommand registered, final String label,
+                                 final String[] args) {
+        record(sender, registered, label, args, true);
+    }
+
+    private void record(final CommandSender sender, final RegisteredCommand registered, final String label,
+                        final String[] args, final boolean completion) {
+        if (this.closed) {
+            return;
+        }
+        //the argument being completed is not a sub command yet
+        final ParseResult result = registered == null ? null : registered.getGrammar().resolve(
+            sender, args, completion ? Math.max(0, args.length - 1) : args.length);
+        if (!this.filter.isRecorded(sender, getPath(registered, label, result))) {
+            return;
+        }
+        final long time = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - this.start);
+        final Profile profile = getProfile(sender);
+        final int argc = Math.min(args.length, TrafficFormat.MAX_ARGS);
+        final String[] anonymized = argc == 0 ? NO_ARGS : new String[argc];
+        final int[] senderArgs = argc == 0 ? NO_SENDER_ARGS : new int[argc];
+        final int labels = result == null ? 0 : result.getTokens().size() - result.getArgs().size();
+        int seenLabels = 0;
+        int position = 0;
+        boolean quoted = false;
+        for (int i = 0; i < argc; i++) {
+            final String arg = args[i];
+            senderArgs[i] = -1;
+            if (arg.isEmpty()) {
+                anonymized[i] = arg;
+                continue;
+            }
+            if (seenLabels < labels) {
+                seenLabels++;
+                anonymized[i] = arg;
+                continue;
+            }
+            if (NodeState.isFlag(arg)) {
+                anonymized[i] = arg;
+                continue;
+            }
+            quoted |= arg.charAt(0) == '"';
+            final int id = getNameId(arg);
+            if (id >= 0) {
+                anonymized[i] = "";
+                senderArgs[i] = id;
+            }
+            else if (!quoted && isEnumerable(sender, result, position, arg, completion && i == args.length - 1)) {
+                anonymized[i] = arg;
+            }
+            else {
+                anonymized[i] = redact(arg);
+            }
+            position++;
+        }
+        final TrafficEvent event =
+            new TrafficEvent(time, completion, SenderType.of(sender), getSenderId(sender.getName()), profile.id,
+                             profile.permissions, label, anonymized, senderArgs);
+        if (!this.queue.offer(event)) {
+            this.dropped.increment();
+        }
+    }
+
+    private static String getPath(final RegisteredCommand registered, final String label, final ParseResult result) {
+        if (result == null) {
+            return label;
+        }
+        final ChildCommand denied = result.getDeniedChild();
+        final CommandHandler target =
+            denied != null ? denied.getCommandHandler() : result.getState().getCommandHandler();
+        return target == null ? registered.getCommand() : target.command();
+    }
+
+    /**
+     * @param partial
+     *     If {@code arg} is being completed, it is then enumerable when an enumerable value starts with it
+     *
+     * @return If {@code arg} is a sub command or a value its cacheable type completes, so it names nothing personal
+     */
+    private static boolean isEnumerable(final CommandSender sender, final ParseResult result, final int position,
+                                        final String arg, final boolean partial) {
+        if (result == null) {
+            return false;
+        }
+        final ParentCommand node = result.getNode();
+        if (position == 0) {
+            if (!partial && node.getChild(arg) != null) {
+                return true;
+            }
+            if (partial) {
+                final String prefix = arg.toLowerCase(Locale.ROOT);
+                for (final String child : node.getAllChildCommands().keySet()) {
+                    if (child.startsWith(prefix)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        final ArgumentType<?> type = result.getDeniedChild() == null ? result.getState().getType(position) : null;
+        //types that are not cacheable complete things that come and go, like the names of players
+        if (type == null || !type.isCacheable()) {
+            return false;
+        }
+        final List<String> values = type.complete(sender, arg);
+        if (partial) {
+            return !values.isEmpty();
+        }
+        for (final String value : values) {
+            if (value.equalsIgnoreCase(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code arg} with every digit replaced by {@code 0} and every other character but {@code -} and {@code
+     * .} by {@code x}, so it still parses as the same kind of number
+     */
+    private static String redact(final String arg) {
+        final char[] chars = new char[arg.length()];
+        for (int i = 0; i < chars.length; i++) {
+            final char c = arg.charAt(i);
+            chars[i] = c >= '0' && c <= '9' ? '0' : c == '-' || c == '.' ? c : 'x';
+        }
+        return new String(chars);
+    }
+
+    private int getSenderId(final String name) {
+        return this.senderIds.computeIfAbsent(name.toLowerCase(Locale.ROOT),
+                                              k -> this.nextSenderId.getAndIncrement());
+    }
+
+    /**
+     * @return The number of the sender or online player named {@code arg}, {@code -1} if there is none
+     */
+    private int getNameId(final String arg) {
+        if (arg.isEmpty()) {
+            return -1;
+        }
+        final Integer id = this.senderIds.get(arg.toLowerCase(Locale.ROOT));
+        if (id != null) {
+            return id;
+        }
+        if (Bukkit.getServer() != null && Bukkit.getPlayerExact(arg) != null) {
+            return getSenderId(arg);
+        }
+        return -1;
+    }
+
+    /**
+     * {@link PermissionProfiles} hands out new ids for the same permissions every time the tree changes, so the trace
+     * numbers the permission sets itself
+     */
+    private Profile getProfile(final CommandSender sender) {
+        final int generation = this.profiles.getGeneration();
+        ProfileCache cache = this.profileCache;
+        if (cache.generation != generation) {
+            cache = new ProfileCache(generation);
+            this.profileCache = cache;
+        }
+        final int id = this.profiles.getProfileId(sender);
+        Profile profile = cache.profiles.get(id);
+        if (profile == null) {
+            final String[] permissions = this.profiles.getProfilePermissions(id);
+            final String[] held = permissions == null ? NO_ARGS : permissions;
+            profile = new Profile(this.profileIds.computeIfAbsent(Arrays.asList(held),
+                                                                  k -> this.nextProfileId.getAndIncrement()), held);
+            //the tree may have changed since the id was looked up
+            if (permissions != null && this.profiles.getGeneration() == generation) {
+                cache.profiles.put(id, profile);
+            }
+        }
+        return profile;
+    }
+
+    private void run() {
+        long lastFlush = System.nanoTime();
+        try {
+            while (!this.closed || !this.queue.isEmpty()) {
+                final TrafficEvent event;
+                try {
+                    event = this.queue.poll(1, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    continue;
+                }
+                if (event != null) {
+                    write(event);
+                    this.written.increment();
+                }
+                if (System.nanoTime() - lastFlush > FLUSH_INTERVAL) {
+                    this.out.flush();
+                    lastFlush = System.nanoTime();
+                }
+            }
+            this.out.writeByte(TrafficFormat.END);
+        } catch (final IOException e) {
+            this.closed = true;
+            LevelLogger.getInstance().log(LogType.ERROR, "Failed to write the traffic trace {}: {}", this.file, e);
+        } finally {
+            try {
+                this.out.close();
+            } catch (final IOException ignored) {
+                //nothing more can be written
+            }
+        }
+    }
+
+    private void write(final TrafficEvent event) throws IOException {
+        Integer label = this.labels.get(event.getLabel());
+        if (label == null) {
+            this.out.writeByte(TrafficFormat.STRING);
+            TrafficFormat.writeString(this.out, event.getLabel());
+            label = this.labels.size();
+            this.labels.put(event.getLabel(), label);
+        }
+        if (this.writtenProfiles.add(event.getProfileId())) {
+            final String[] permissions = event.getRawPermissions();
+            this.out.writeByte(TrafficFormat.PROFILE);
+            TrafficFormat.writeVarInt(this.out, event.getProfileId());
+            TrafficFormat.writeVarInt(this.out, permissions.length);
+            for (final String permission : permissions) {
+                TrafficFormat.writeString(this.out, permission);
+            }
+        }
+        this.out.writeByte(event.isCompletion() ? TrafficFormat.COMPLETION : TrafficFormat.COMMAND);
+        //events of other threads may be queued slightly out of order
+        TrafficFormat.writeVarLong(this.out, Math.max(0, event.getTime() - this.lastTime));
+        this.lastTime = Math.max(this.lastTime, event.getTime());
+        this.out.writeByte(event.getSenderType().ordinal());
+        TrafficFormat.writeVarInt(this.out, event.getSenderId());
+        TrafficFormat.writeVarInt(this.out, event.getProfileId());
+        TrafficFormat.writeVarInt(this.out, label);
+        final String[] args = event.getRawArgs();
+        final int[] senderArgs = event.getSenderArgs();
+        TrafficFormat.writeVarInt(this.out, args.length);
+        for (int i = 0; i < args.length; i++) {
+            TrafficFormat.writeVarInt(this.out, senderArgs[i] + 1);
+            if (senderArgs[i] < 0) {
+                TrafficFormat.writeString(this.out, args[i]);
+            }
+        }
+    }
+
+    /**
+     * Stop recording, write the events that are queued and finish the trace
+     */
+    @Override
+    public void close() throws InterruptedException {
+        this.closed = true;
+        this.thread.interrupt();
+        this.thread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * @return Which commands are recorded
+     */
+    public TrafficFilter getFilter() {
+        return this.filter;
+    }
+
+    /**
+     * @param filter
+     *     Which commands to record, e.g. {@link TrafficFilter#except(String...)} to leave out commands whose
+     *     arguments are passwords
+     */
+    public void setFilter(final TrafficFilter filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * @return The file the trace is written to
+     */
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * @return How many events have been written
+     */
+    public long getWrittenCount() {
+        return this.written.sum();
+    }
+
+    /**
+     * @return How many events were dropped because the queue was full
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    private static final class Profile {
+
+        private final int id;
+        private final String[] permissions;
+
+        private Profile(final int id, final String[] permissions) {
+            this.id = id;
+            this.permissions = permissions;
+        }
+    }
+
+    private static final class ProfileCache {
+
+        private final int generation;
+        private final Map<Integer, Profile> profiles = new ConcurrentHashMap<>();
+
+        private ProfileCache(final int generation) {
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.not2excel.api.command.tracing;
+
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Appends the spans to a file, one JSON object per line:
+ * <pre>
+ * {"traceId":"5f0c...","spanId":"9a41...","parentId":"0000...","name":"handler","command":"home.set",
+ *  "thread":"Server thread","start":1792396800123,"duration":183400,"status":"EXECUTED"}
+ * </pre>
+ * {@code start} is in milliseconds since the epoch, {@code duration} in nanoseconds. Spans are put in a bounded queue
+ * and written by a background thread, they are dropped when the queue is full.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class JsonLinesSpanExporter implements SpanExporter {
+
+    public static final int DEFAULT_QUEUE_SIZE = 8192;
+
+    private final BlockingQueue<Span> queue;
+    private final Writer writer;
+    private final Thread thread;
+    private final StringBuilder line = new StringBuilder(256);
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * @param file
+     *     The file to append the spans to
+     *
+     * @throws IOException
+     *     If the file cannot be opened
+     */
+    public JsonLinesSpanExporter(final File file) throws IOException {
+        this(file, DEFAULT_QUEUE_SIZE);
+    }
+
+    /**
+     * @param file
+     *     The file to append the spans to
+     * @param queueSize
+     *     How many spans can wait to be written
+     *
+     * @throws IOException
+     *     If the file cannot be opened
+     */
+    public JsonLinesSpanExporter(final File file, final int queueSize) throws IOException {
+        final File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Failed to create " + parent);
+        }
+        this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true),
+                                                                StandardCharsets.UTF_8));
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.thread = new Thread(this::run, "CommandAPI-Spans");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public void export(final Span span) {
+        if (this.closed || !this.queue.offer(span)) {
+            this.dropped.increment();
+        }
+    }
+
+    private void run() {
+        while (!this.closed || !this.queue.isEmpty()) {
+            final Span span;
+            try {
+                span = this.queue.poll(1, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                continue;
+            }
+            try {
+                if (span != null) {
+                    this.writer.write(toJson(span));
+                }
+                //written in batches, flushed when the queue runs empty
+                if (this.queue.isEmpty()) {
+                    this.writer.flush();
+                }
+            } catch (final IOException e) {
+                this.dropped.increment();
+                LevelLogger.getInstance().log(LogType.ERROR, "Failed to write a span: {}", e);
+            }
+        }
+        try {
+            this.writer.close();
+        } catch (final IOException e) {
+            LevelLogger.getInstance().log(LogType.ERROR, "Failed to close the span file: {}", e);
+        }
+    }
+
+    private String toJson(final Span span) {
+        final StringBuilder line = this.line;
+        line.setLength(0);
+        line.append("{\"traceId\":\"").append(hex(span.getTraceId()))
+            .append("\",\"spanId\":\"").append(hex(span.getSpanId()))
+            .append("\",\"parentId\":\"").append(hex(span.getParentId()))
+            .append("\",\"name\":");
+        appendString(line, span.getName());
+        line.append(",\"command\":");
+        appendString(line, span.getCommand());
+        line.append(",\"thread\":");
+        appendString(line, span.getThread());
+        line.append(",\"start\":").append(span.getStartTime()).append(",\"duration\":").append(span.getDuration());
+        if (span.getStatus() != null) {
+            line.append(",\"status\":");
+            appendString(line, span.getStatus());
+        }
+        return line.append("}\n").toString();
+    }
+
+    private static String hex(final long id) {
+        final String hex = Long.toHexString(id);
+        return hex.length() == 16 ? hex : "0000000000000000".substring(hex.length()) + hex;
+    }
+
+    private static void appendString(final StringBuilder line, final String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    }
+                    else {
+                        line.append(c);
+                    }
+            }
+        }
+        line.append('"');
+    }
+
+    /**
+     * Stop exporting, write the spans that are queued and close the file
+     */
+    @Override
+    public void close() throws InterruptedException {
+        this.closed = true;
+        this.thread.interrupt();
+        this.thread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * @return How many spans were dropped because the queue was full or they could not be written
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+}
@@ -0,0 +1,76 @@
+package com.not2excel.api.command.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the most recent spans in memory, e.g. to look at them with a debugger or a command
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class RingSpanExporter implements SpanExporter {
+
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    private final Span[] spans;
+    private int next;
+    private int size;
+
+    public RingSpanExporter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity
+     *     How many spans to keep, the oldest span is forgotten when a span ends
+     */
+    public RingSpanExporter(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive");
+        }
+        this.spans = new Span[capacity];
+    }
+
+    @Override
+    public synchronized void export(final Span span) {
+        this.spans[this.next] = span;
+        this.next = (this.next + 1) % this.spans.length;
+        if (this.size < this.spans.length) {
+            this.size++;
+        }
+    }
+
+    /**
+     * @return The kept spans, in the order they ended
+     */
+    public synchronized List<Span> getSpans() {
+        final List<Span> spans = new ArrayList<>(this.size);
+        final int start = (this.next - this.size + this.spans.length) % this.spans.length;
+        for (int i = 0; i < this.size; i++) {
+            spans.add(this.spans[(start + i) % this.spans.length]);
+        }
+        return spans;
+    }
+
+    /**
+     * @param traceId
+     *     The id of the trace
+     *
+     * @return The kept spans of the trace, in the order they ended
+     */
+    public List<Span> getTrace(final long traceId) {
+        final List<Span> spans = getSpans();
+        spans.removeIf(span -> span.getTraceId() != traceId);
+        return spans;
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < this.spans.length; i++) {
+            this.spans[i] = null;
+        }
+        this.next = 0;
+        this.size = 0;
+    }
+}
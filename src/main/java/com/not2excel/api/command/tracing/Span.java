@@ -0,0 +1,130 @@
+package com.not2excel.api.command.tracing;
+
+/**
+ * A timed step of a command, e.g. its dispatch, its handler or a task it started on another thread. Spans of the same
+ * command share a trace id and point to the span that started them. A span is started by the {@link Tracer} and must
+ * be {@link #end() ended} on the thread that started it.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class Span {
+
+    private final Tracer tracer;
+    private final long traceId;
+    private final long spanId;
+    private final long parentId;
+    private final String name;
+    private final String command;
+    private final String thread;
+    private final long startTime;
+    private final long start;
+    private final Span previous;
+    private long duration = -1;
+    private String status;
+
+    Span(final Tracer tracer, final long traceId, final long spanId, final long parentId, final String name,
+         final String command, final Span previous) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentId = parentId;
+        this.name = name;
+        this.command = command;
+        this.thread = Thread.currentThread().getName();
+        this.previous = previous;
+        this.startTime = System.currentTimeMillis();
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * End the span and export it, ending it again does nothing
+     */
+    public void end() {
+        if (this.duration >= 0) {
+            return;
+        }
+        this.duration = System.nanoTime() - this.start;
+        this.tracer.ended(this);
+    }
+
+    /**
+     * @param status
+     *     What happened, e.g. {@code EXECUTED} or the exception that was thrown
+     */
+    public void setStatus(final String status) {
+        this.status = status;
+    }
+
+    public long getTraceId() {
+        return this.traceId;
+    }
+
+    public long getSpanId() {
+        return this.spanId;
+    }
+
+    /**
+     * @return The id of the span that started this span, {@code 0} if this is the dispatch of the command
+     */
+    public long getParentId() {
+        return this.parentId;
+    }
+
+    /**
+     * @return What the span measures, e.g. {@code dispatch}, {@code handler}, {@code async} or {@code flush}
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return The command the span belongs to, e.g. {@code home.set}
+     */
+    public String getCommand() {
+        return this.command;
+    }
+
+    /**
+     * @return The name of the thread the span ran on
+     */
+    public String getThread() {
+        return this.thread;
+    }
+
+    /**
+     * @return When the span started in milliseconds since the epoch
+     */
+    public long getStartTime() {
+        return this.startTime;
+    }
+
+    /**
+     * @return How long the span took in nanoseconds, {@code -1} if it did not end yet
+     */
+    public long getDuration() {
+        return this.duration;
+    }
+
+    /**
+     * @return What happened, {@code null} if it was not set
+     */
+    public String getStatus() {
+        return this.status;
+    }
+
+    /**
+     * @return The span that was the current span of the thread before this span started
+     */
+    Span getPrevious() {
+        return this.previous;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x/%016x %s %s on %s took %.3f ms%s", this.traceId, this.spanId, this.name,
+                             this.command, this.thread, this.duration / 1e6,
+                             this.status == null ? "" : " (" + this.status + ')');
+    }
+}
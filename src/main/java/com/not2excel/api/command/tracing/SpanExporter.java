@@ -0,0 +1,26 @@
+package com.not2excel.api.command.tracing;
+
+/**
+ * Receives the spans that ended, see {@link Tracer#setExporter(SpanExporter)}
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public interface SpanExporter extends AutoCloseable {
+
+    /**
+     * Called on the thread that ended the span, often the main thread of the server, so it should only hand the span
+     * off
+     *
+     * @param span
+     *     The span that ended, it is not changed anymore
+     */
+    void export(Span span);
+
+    /**
+     * Export the spans that are still queued and release the resources of the exporter
+     */
+    @Override
+    default void close() throws InterruptedException {
+    }
+}
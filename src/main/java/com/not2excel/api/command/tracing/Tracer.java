@@ -0,0 +1,209 @@
+package com.not2excel.api.command.tracing;
+
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Creates the {@link Span spans} of commands and hands the ended spans to a {@link SpanExporter}. The dispatch of a
+ * sampled command starts a trace, the handler, messages sent to the sender and tasks started with {@link
+ * #wrap(Runnable, String)} (or {@link com.not2excel.api.command.objects.CommandInfo#runAsync(Runnable)}) are spans of
+ * that trace, even when they run on another thread.
+ * <p>
+ * Tracing is off until an exporter is set. Commands that are not sampled, see {@link #setSampleEvery(int)}, create no
+ * spans at all.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class Tracer {
+
+    private static final Tracer INSTANCE = new Tracer();
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+    private final Map<String, Integer> nodeSampleEvery = new ConcurrentHashMap<>();
+    private volatile SpanExporter exporter;
+    private volatile int sampleEvery = 1;
+
+    private Tracer() {
+    }
+
+    public static Tracer getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return If spans are exported
+     */
+    public boolean isEnabled() {
+        return this.exporter != null;
+    }
+
+    /**
+     * Start the trace of a command, if it is sampled
+     *
+     * @param command
+     *     The command that is dispatched, e.g. {@code home.set}
+     *
+     * @return The span of the dispatch, it is the current span of this thread until it ends. {@code null} if tracing
+     * is off or the command is not sampled.
+     */
+    public Span startDispatch(final String command) {
+        if (this.exporter == null) {
+            return null;
+        }
+        final Integer nodeEvery = this.nodeSampleEvery.isEmpty() ? null : this.nodeSampleEvery.get(command);
+        final int every = nodeEvery == null ? this.sampleEvery : nodeEvery;
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (every <= 0 || every > 1 && random.nextInt(every) != 0) {
+            return null;
+        }
+        return begin(random.nextLong(), 0, "dispatch", command);
+    }
+
+    /**
+     * Start a span inside the current span of this thread
+     *
+     * @param name
+     *     What the span measures
+     *
+     * @return The span, it is the current span of this thread until it ends. {@code null} if no span is current, e.g.
+     * because the command is not sampled.
+     */
+    public Span start(final String name) {
+        if (this.exporter == null) {
+            return null;
+        }
+        final Span parent = this.current.get();
+        return parent == null ? null : begin(parent.getTraceId(), parent.getSpanId(), name, parent.getCommand());
+    }
+
+    private Span begin(final long traceId, final long parentId, final String name, final String command) {
+        final Span span = new Span(this, traceId, ThreadLocalRandom.current().nextLong(), parentId, name, command,
+                                   this.current.get());
+        this.current.set(span);
+        return span;
+    }
+
+    void ended(final Span span) {
+        if (this.current.get() == span) {
+            //a span that started this span may have ended first, it must not become current again
+            Span previous = span.getPrevious();
+            while (previous != null && previous.getDuration() >= 0) {
+                previous = previous.getPrevious();
+            }
+            this.current.set(previous);
+        }
+        final SpanExporter exporter = this.exporter;
+        if (exporter == null) {
+            return;
+        }
+        try {
+            exporter.export(span);
+        } catch (final RuntimeException e) {
+            LevelLogger.getInstance().log(LogType.WARNING, "Failed to export the span {}: {}", span, e);
+        }
+    }
+
+    /**
+     * @return The span of this thread that was started last and did not end yet, {@code null} if there is none
+     */
+    public Span current() {
+        return this.current.get();
+    }
+
+    /**
+     * Carry the current span to a task that runs later or on another thread
+     *
+     * @param task
+     *     The task to run
+     * @param name
+     *     The name of the span of the task, e.g. {@code async}
+     *
+     * @return A task that runs {@code task} in a span of the current trace, {@code task} itself if no span is current
+     */
+    public Runnable wrap(final Runnable task, final String name) {
+        final Span parent = this.exporter == null ? null : this.current.get();
+        if (parent == null) {
+            return task;
+        }
+        return () -> {
+            final Span span = begin(parent.getTraceId(), parent.getSpanId(), name, parent.getCommand());
+            try {
+                task.run();
+                span.setStatus("OK");
+            } catch (final RuntimeException | Error e) {
+                span.setStatus(e.toString());
+                throw e;
+            } finally {
+                span.end();
+            }
+        };
+    }
+
+    /**
+     * @param executor
+     *     The executor to run tasks with, e.g. the pool of a database
+     *
+     * @return An executor that carries the current span of the caller to each task it runs
+     */
+    public Executor wrap(final Executor executor) {
+        return task -> executor.execute(wrap(task, "async"));
+    }
+
+    public SpanExporter getExporter() {
+        return this.exporter;
+    }
+
+    /**
+     * @param exporter
+     *     Where to export the spans to, {@code null} to stop tracing
+     *
+     * @return The previous exporter, it is not closed
+     */
+    public SpanExporter setExporter(final SpanExporter exporter) {
+        final SpanExporter previous = this.exporter;
+        this.exporter = exporter;
+        return previous;
+    }
+
+    /**
+     * @return Every how many commands a command is traced, unless set for the command itself
+     */
+    public int getSampleEvery() {
+        return this.sampleEvery;
+    }
+
+    /**
+     * @param sampleEvery
+     *     Trace every {@code sampleEvery}th command on average, {@code 1} to trace every command, {@code 0} to trace
+     *     only commands with their own sample rate
+     */
+    public void setSampleEvery(final int sampleEvery) {
+        if (sampleEvery < 0) {
+            throw new IllegalArgumentException("The sample rate cannot be negative");
+        }
+        this.sampleEvery = sampleEvery;
+    }
+
+    /**
+     * @param command
+     *     The command, e.g. {@code home.set}
+     * @param sampleEvery
+     *     Trace every {@code sampleEvery}th use of the command on average, {@code 0} to never trace it, {@code -1} to
+     *     use the default rate again
+     */
+    public void setSampleEvery(final String command, final int sampleEvery) {
+        if (sampleEvery < 0) {
+            this.nodeSampleEvery.remove(command);
+        }
+        else {
+            this.nodeSampleEvery.put(command, sampleEvery);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.not2excel.api.jfr;
+
+/**
+ * Emits the Flight Recorder events of the API. The implementation is compiled only by JDK 11 and newer, see {@link
+ * FlightEvents}. Each {@code begin} method returns {@code null} if the event is disabled, the matching {@code end}
+ * method ignores {@code null}.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+interface EventSink {
+
+    Object beginScan();
+
+    void endScan(Object event, String location, int classes);
+
+    Object beginTreeBuild();
+
+    void endTreeBuild(Object event, String plugin, int commands);
+
+    Object beginDispatch();
+
+    void endDispatch(Object event, String command, String senderType, String outcome);
+
+    Object beginCompletion();
+
+    void endCompletion(Object event, String command, int argument, int results);
+}
@@ -0,0 +1,142 @@
+package com.not2excel.api.jfr;
+
+import org.bukkit.command.BlockCommandSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.command.RemoteConsoleCommandSender;
+import org.bukkit.entity.Player;
+
+/**
+ * Flight Recorder events for scanning classes, building the command tree, dispatching commands and tab completing
+ * them. The events are enabled and configured like any other event, e.g. with {@code
+ * -XX:StartFlightRecording:settings=profile}, their names start with {@code com.not2excel.api.}.
+ * <p>
+ * The events are only available when the API was built by JDK 11 or newer and runs on a JVM with Flight Recorder,
+ * otherwise every method does nothing. When they are available but not recorded, a {@code begin} method is one check
+ * and returns {@code null}.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class FlightEvents {
+
+    private static final EventSink SINK = load();
+
+    private FlightEvents() { }
+
+    private static EventSink load() {
+        try {
+            Class.forName("jdk.jfr.Event", false, FlightEvents.class.getClassLoader());
+            return (EventSink) Class.forName("com.not2excel.api.jfr.JfrEventSink").getDeclaredConstructor()
+                                    .newInstance();
+        } catch (final ReflectiveOperationException | LinkageError | ClassCastException e) {
+            //built or running without Flight Recorder
+            return null;
+        }
+    }
+
+    /**
+     * @return If the events can be recorded
+     */
+    public static boolean isAvailable() {
+        return SINK != null;
+    }
+
+    public static Object beginScan() {
+        return SINK == null ? null : SINK.beginScan();
+    }
+
+    /**
+     * @param event
+     *     What {@link #beginScan()} returned
+     * @param location
+     *     The jar or directory that was scanned
+     * @param classes
+     *     How many classes were found
+     */
+    public static void endScan(final Object event, final String location, final int classes) {
+        if (event != null) {
+            SINK.endScan(event, location, classes);
+        }
+    }
+
+    public static Object beginTreeBuild() {
+        return SINK == null ? null : SINK.beginTreeBuild();
+    }
+
+    /**
+     * @param event
+     *     What {@link #beginTreeBuild()} returned
+     * @param plugin
+     *     The plugin the commands are of
+     * @param commands
+     *     How many sub commands were added to the tree
+     */
+    public static void endTreeBuild(final Object event, final String plugin, final int commands) {
+        if (event != null) {
+            SINK.endTreeBuild(event, plugin, commands);
+        }
+    }
+
+    public static Object beginDispatch() {
+        return SINK == null ? null : SINK.beginDispatch();
+    }
+
+    /**
+     * @param event
+     *     What {@link #beginDispatch()} returned
+     * @param command
+     *     The command that was resolved, e.g. {@code home.set}
+     * @param sender
+     *     The sender of the command
+     * @param outcome
+     *     What happened to the command
+     */
+    public static void endDispatch(final Object event, final String command, final CommandSender sender,
+                                   final Object outcome) {
+        if (event != null) {
+            SINK.endDispatch(event, command, getSenderType(sender), String.valueOf(outcome));
+        }
+    }
+
+    public static Object beginCompletion() {
+        return SINK == null ? null : SINK.beginCompletion();
+    }
+
+    /**
+     * @param event
+     *     What {@link #beginCompletion()} returned
+     * @param command
+     *     The command whose argument was completed
+     * @param argument
+     *     The index of the completed argument
+     * @param results
+     *     How many completions there were
+     */
+    public static void endCompletion(final Object event, final String command, final int argument,
+                                     final int results) {
+        if (event != null) {
+            SINK.endCompletion(event, command, argument, results);
+        }
+    }
+
+    /**
+     * @return The Bukkit type of {@code sender} rather than the class of the server implementation
+     */
+    static String getSenderType(final CommandSender sender) {
+        if (sender instanceof Player) {
+            return "Player";
+        }
+        if (sender instanceof ConsoleCommandSender) {
+            return "Console";
+        }
+        if (sender instanceof RemoteConsoleCommandSender) {
+            return "RemoteConsole";
+        }
+        if (sender instanceof BlockCommandSender) {
+            return "CommandBlock";
+        }
+        return sender == null ? "Unknown" : sender.getClass().getSimpleName();
+    }
+}
@@ -1,6 +1,12 @@
 package com.not2excel.api.logging;
 
+import java.util.function.Supplier;
+
 /**
+ * Logs entries whose {@link LogType} is at least as severe as the level of the logger, {@link LogType#INFO} by
+ * default. Checking the level is a single volatile read, use {@link #isEnabled(LogType)} or the {@link Supplier} and
+ * {@code {}} overloads so a disabled entry costs nothing to build.
+ *
  * @author Richmond Steele
  * @since 12/18/13 All rights Reserved Please read included LICENSE file
  */
@@ -12,6 +18,7 @@ public class LevelLogger extends Logger<Object> {
     private static volatile LevelLogger instance;
     private String logType = LogType.INFO.getLevel();
     private boolean timeStamped = true;
+    private volatile LogType level = LogType.INFO;
 
     /**
      * Returns the singleton instance
@@ -34,7 +41,20 @@ public class LevelLogger extends Logger<Object> {
         return new LevelLogger();
     }
 
+    /**
+     * @param logType
+     *     The type of the entry
+     *
+     * @return If entries of {@code logType} are logged
+     */
+    public boolean isEnabled(final LogType logType) {
+        return logType.getSeverity() >= this.level.getSeverity();
+    }
+
     public void log(final Object data) {
+        if (!isEnabled(LogType.INFO)) {
+            return;
+        }
         if (this.timeStamped) {
             this.log(this.logType, data);
         }
@@ -44,6 +64,9 @@ public class LevelLogger extends Logger<Object> {
     }
 
     public void log(final LogType logType, final Object data) {
+        if (!isEnabled(logType)) {
+            return;
+        }
         if (this.timeStamped) {
             this.log(logType.getLevel(), data);
         }
@@ -52,6 +75,47 @@ public class LevelLogger extends Logger<Object> {
         }
     }
 
+    /**
+     * @param logType
+     *     The type of the entry
+     * @param message
+     *     Builds the message, only called if entries of {@code logType} are logged
+     */
+    public void log(final LogType logType, final Supplier<String> message) {
+        if (isEnabled(logType)) {
+            log(logType, (Object) message.get());
+        }
+    }
+
+    /**
+     * @param logType
+     *     The type of the entry
+     * @param format
+     *     The message, each {@code {}} is replaced by the next argument when the entry is written
+     * @param args
+     *     The arguments of the message, they are converted to strings on the logging thread
+     */
+    public void log(final LogType logType, final String format, final Object... args) {
+        if (isEnabled(logType)) {
+            log(logType, (Object) new ParameterizedMessage(format, args));
+        }
+    }
+
+    public LogType getLevel() {
+        return this.level;
+    }
+
+    /**
+     * @param level
+     *     The least severe type of entries to log, e.g. {@link LogType#DEBUG} to log debug entries as well
+     */
+    public void setLevel(final LogType level) {
+        if (level == null) {
+            throw new IllegalArgumentException("The level cannot be null");
+        }
+        this.level = level;
+    }
+
     public String getLogType() {
         return this.logType;
     }
@@ -0,0 +1,127 @@
+package com.not2excel.api.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded lock-free queue of log entries for many producers and one consumer. The entries are allocated once and
+ * reused, a producer claims a slot, fills it in and publishes it by advancing the sequence of the slot.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+final class LogRingBuffer {
+
+    private final Entry[] entries;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    //only written by the single consumer
+    private volatile long head;
+
+    /**
+     * @param capacity
+     *     The capacity, rounded up to a power of two
+     */
+    LogRingBuffer(final int capacity) {
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.entries = new Entry[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.entries[i] = new Entry();
+            this.sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return If the entry was added, {@code false} if the buffer is full
+     */
+    boolean offer(final long time, final Object type, final Object data, final boolean timestamped) {
+        long pos = this.tail.get();
+        while (true) {
+            final int index = (int) (pos & this.mask);
+            final long difference = this.sequences.get(index) - pos;
+            if (difference == 0) {
+                if (this.tail.compareAndSet(pos, pos + 1)) {
+                    final Entry entry = this.entries[index];
+                    entry.time = time;
+                    entry.type = type;
+                    entry.data = data;
+                    entry.timestamped = timestamped;
+                    this.sequences.lazySet(index, pos + 1);
+                    return true;
+                }
+                pos = this.tail.get();
+            }
+            else if (difference < 0) {
+                return false;
+            }
+            else {
+                pos = this.tail.get();
+            }
+        }
+    }
+
+    /**
+     * Must only be called by the consumer
+     *
+     * @return The next entry or {@code null} if the buffer is empty. The entry is only valid until {@link
+     * #release(Entry)} is called.
+     */
+    Entry peek() {
+        final int index = (int) (this.head & this.mask);
+        if (this.sequences.get(index) != this.head + 1) {
+            return null;
+        }
+        return this.entries[index];
+    }
+
+    /**
+     * Give the slot of {@code entry}, returned by {@link #peek()}, back to the producers
+     */
+    void release(final Entry entry) {
+        entry.type = null;
+        entry.data = null;
+        final int index = (int) (this.head & this.mask);
+        this.sequences.lazySet(index, this.head + this.entries.length);
+        this.head++;
+    }
+
+    /**
+     * @return If there is nothing to consume, may be stale when called by a producer
+     */
+    boolean isEmpty() {
+        final int index = (int) (this.head & this.mask);
+        return this.sequences.get(index) != this.head + 1;
+    }
+
+    /**
+     * @return How many entries have been consumed
+     */
+    long getConsumed() {
+        return this.head;
+    }
+
+    /**
+     * @return How many entries have been added
+     */
+    long getProduced() {
+        return this.tail.get();
+    }
+
+    int getCapacity() {
+        return this.entries.length;
+    }
+
+    static final class Entry {
+
+        long time;
+        Object type;
+        Object data;
+        boolean timestamped;
+    }
+}
@@ -8,16 +8,29 @@ import com.not2excel.api.util.StringUtil;
  */
 public enum LogType {
 
-    INFO,
-    WARNING,
-    ERROR,
-    FATAL,
-    TRACE,
-    HOOK,
-    SCAN,
-    DEBUG,
-    SUCCESS,
-    IO;
+    INFO(3),
+    WARNING(4),
+    ERROR(5),
+    FATAL(6),
+    TRACE(0),
+    HOOK(2),
+    SCAN(2),
+    DEBUG(1),
+    SUCCESS(3),
+    IO(2);
+
+    private final int severity;
+
+    LogType(final int severity) {
+        this.severity = severity;
+    }
+
+    /**
+     * @return How severe entries of this type are, from {@code 0} for {@link #TRACE} to {@code 6} for {@link #FATAL}
+     */
+    public int getSeverity() {
+        return this.severity;
+    }
 
     public String getLevel() {
         return StringUtil.capitalizeFirstLetterOnly(this.name()).trim();
@@ -0,0 +1,346 @@
+package com.not2excel.api.logging;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes log entries on a background thread so logging never formats or prints on the calling thread, which usually is
+ * the main thread of the server. Entries are put in a bounded {@link LogRingBuffer}, when it is full the {@link
+ * OverflowPolicy} decides if the entry is dropped or the caller waits.
+ * <p>
+ * The data of an entry is converted to a string by the background thread, so only log immutable values like strings.
+ * Data that fails to be converted is written as an error line instead.
+ * The most recent lines are kept in memory, up to {@link #getRetention()} lines.
+ * <p>
+ * The background thread is a daemon, it is started when something is logged and stops when nothing has been logged
+ * for a while, so it does not outlive a plugin that is disabled. While the buffer is empty it sleeps until an entry is
+ * submitted, a caller blocked by a full buffer sleeps until the thread made room.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class LogWriter {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final int DEFAULT_RETENTION = 1000;
+
+    private static final LogWriter INSTANCE = new LogWriter(DEFAULT_CAPACITY);
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long IDLE_STOP_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final LogRingBuffer buffer;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final LongAdder dropped = new LongAdder();
+    private final Object retentionLock = new Object();
+    private final Queue<Thread> blocked = new ConcurrentLinkedQueue<>();
+    private volatile Thread thread;
+    private volatile boolean sleeping;
+    //only written by the background thread, how many entries have been printed
+    private volatile long written;
+    private volatile OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    private volatile PrintStream out = System.out;
+    private volatile CachedTime cachedTime = new CachedTime(Long.MIN_VALUE, "");
+    private String[] recent = new String[DEFAULT_RETENTION];
+    private int recentNext;
+    private int recentSize;
+
+    private LogWriter(final int capacity) {
+        this.buffer = new LogRingBuffer(capacity);
+    }
+
+    public static LogWriter getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queue an entry to be written
+     *
+     * @param type
+     *     The type of the entry, e.g. {@code Info}
+     * @param data
+     *     What to log
+     * @param timestamped
+     *     If the time should be written before the entry
+     *
+     * @return If the entry was queued, {@code false} if it was dropped because the buffer is full
+     */
+    public boolean submit(final Object type, final Object data, final boolean timestamped) {
+        final long time = System.currentTimeMillis();
+        if (!this.buffer.offer(time, type, data, timestamped)) {
+            if (this.overflowPolicy == OverflowPolicy.DROP || Thread.currentThread() == this.thread) {
+                this.dropped.increment();
+                return false;
+            }
+            awaitOffer(time, type, data, timestamped);
+        }
+        ensureRunning();
+        wakeConsumer();
+        return true;
+    }
+
+    /**
+     * Wait until the entry fits in the buffer, the background thread wakes the blocked callers when it made room
+     */
+    private void awaitOffer(final long time, final Object type, final Object data, final boolean timestamped) {
+        final Thread current = Thread.currentThread();
+        this.blocked.add(current);
+        try {
+            while (!this.buffer.offer(time, type, data, timestamped)) {
+                ensureRunning();
+                wakeConsumer();
+                //the consumer advances its position before it looks for blocked callers, so either it is seen here
+                //or this caller is woken
+                if (this.buffer.getProduced() - this.buffer.getConsumed() >= this.buffer.getCapacity()) {
+                    LockSupport.park(this);
+                }
+            }
+        } finally {
+            this.blocked.remove(current);
+        }
+    }
+
+    private void wakeConsumer() {
+        if (this.sleeping) {
+            LockSupport.unpark(this.thread);
+        }
+    }
+
+    private void ensureRunning() {
+        if (!this.running.get() && this.running.compareAndSet(false, true)) {
+            final Thread thread = new Thread(this::drain, "CommandAPI-Logger");
+            thread.setDaemon(true);
+            this.thread = thread;
+            thread.start();
+        }
+    }
+
+    private void drain() {
+        boolean stopped = false;
+        try {
+            stopped = drainUntilIdle();
+        } finally {
+            if (!stopped) {
+                //died on an error, let the next caller start a new thread and retry the blocked callers
+                this.running.set(false);
+                for (final Thread producer : this.blocked) {
+                    LockSupport.unpark(producer);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} when it stopped because nothing was logged for a while
+     */
+    private boolean drainUntilIdle() {
+        final StringBuilder batch = new StringBuilder(1024);
+        final StringBuilder line = new StringBuilder(128);
+        long idleSince = System.nanoTime();
+        while (true) {
+            LogRingBuffer.Entry entry = this.buffer.peek();
+            if (entry == null) {
+                final long idle = System.nanoTime() - idleSince;
+                if (idle < IDLE_STOP_NANOS) {
+                    this.sleeping = true;
+                    //a producer that claimed its slot before sleeping was set does not wake this thread
+                    if (this.buffer.getProduced() == this.buffer.getConsumed()) {
+                        LockSupport.parkNanos(this, IDLE_STOP_NANOS - idle);
+                    }
+                    else {
+                        Thread.yield();
+                    }
+                    this.sleeping = false;
+                    continue;
+                }
+                this.running.set(false);
+                //an entry may have been added after the last peek, but before running was cleared. An entry that is
+                //claimed but not yet published is counted as produced, but not seen by peek
+                if (this.buffer.getProduced() == this.buffer.getConsumed() ||
+                    !this.running.compareAndSet(false, true)) {
+                    return true;
+                }
+                idleSince = System.nanoTime();
+                continue;
+            }
+            batch.setLength(0);
+            while (entry != null && batch.length() < 64 * 1024) {
+                line.setLength(0);
+                line.append('[');
+                if (entry.timestamped) {
+                    line.append(formatTime(entry.time)).append(' ');
+                }
+                final int start = line.length();
+                try {
+                    line.append(entry.type).append("]: ").append(entry.data);
+                } catch (final RuntimeException e) {
+                    //the data is converted to a string here, e.g. a collection modified while it is logged
+                    line.setLength(start);
+                    line.append(LogType.ERROR.getLevel()).append("]: Failed to format a log entry: ")
+                        .append(e.getClass().getName());
+                } finally {
+                    this.buffer.release(entry);
+                }
+                retain(line.toString());
+                batch.append(line).append(System.lineSeparator());
+                entry = this.buffer.peek();
+            }
+            for (final Thread producer : this.blocked) {
+                LockSupport.unpark(producer);
+            }
+            this.out.print(batch);
+            this.out.flush();
+            this.written = this.buffer.getConsumed();
+            idleSince = System.nanoTime();
+        }
+    }
+
+    /**
+     * The time is formatted at most once per second
+     */
+    private String formatTime(final long time) {
+        final long second = time / 1000;
+        final CachedTime cached = this.cachedTime;
+        if (cached.second == second) {
+            return cached.formatted;
+        }
+        final String formatted = TIME_FORMAT.format(Instant.ofEpochMilli(time).atZone(ZoneId.systemDefault()));
+        this.cachedTime = new CachedTime(second, formatted);
+        return formatted;
+    }
+
+    private void retain(final String line) {
+        synchronized (this.retentionLock) {
+            if (this.recent.length == 0) {
+                return;
+            }
+            this.recent[this.recentNext] = line;
+            this.recentNext = (this.recentNext + 1) % this.recent.length;
+            if (this.recentSize < this.recent.length) {
+                this.recentSize++;
+            }
+        }
+    }
+
+    /**
+     * @return The most recently written lines, oldest first
+     */
+    public List<String> getRecent() {
+        synchronized (this.retentionLock) {
+            final List<String> lines = new ArrayList<>(this.recentSize);
+            final int start = (this.recentNext - this.recentSize + this.recent.length) % Math.max(1, this.recent.length);
+            for (int i = 0; i < this.recentSize; i++) {
+                lines.add(this.recent[(start + i) % this.recent.length]);
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * Wait until everything logged so far has been written
+     *
+     * @param timeout
+     *     The maximum time to wait in milliseconds
+     *
+     * @return If everything was written before the timeout
+     */
+    public boolean flush(final long timeout) {
+        final long target = this.buffer.getProduced();
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        while (this.written < target) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            ensureRunning();
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * @return How many lines are kept in memory
+     */
+    public int getRetention() {
+        synchronized (this.retentionLock) {
+            return this.recent.length;
+        }
+    }
+
+    /**
+     * @param retention
+     *     How many of the most recent lines to keep in memory, {@code 0} to keep none
+     */
+    public void setRetention(final int retention) {
+        if (retention < 0) {
+            throw new IllegalArgumentException("The retention cannot be negative");
+        }
+        synchronized (this.retentionLock) {
+            final List<String> lines = getRecent();
+            this.recent = new String[retention];
+            this.recentNext = 0;
+            this.recentSize = 0;
+            for (final String line : lines.subList(Math.max(0, lines.size() - retention), lines.size())) {
+                retain(line);
+            }
+        }
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return this.overflowPolicy;
+    }
+
+    public void setOverflowPolicy(final OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * @param out
+     *     Where to write the log, {@link System#out} by default
+     */
+    public void setOut(final PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * @return How many entries wait to be written
+     */
+    public long getQueueDepth() {
+        return Math.max(0, this.buffer.getProduced() - this.buffer.getConsumed());
+    }
+
+    /**
+     * @return How many entries have been dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * @return How many entries the buffer can hold before the overflow policy is used
+     */
+    public int getCapacity() {
+        return this.buffer.getCapacity();
+    }
+
+    private static final class CachedTime {
+
+        private final long second;
+        private final String formatted;
+
+        private CachedTime(final long second, final String formatted) {
+            this.second = second;
+            this.formatted = formatted;
+        }
+    }
+}
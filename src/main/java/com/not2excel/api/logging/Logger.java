@@ -1,11 +1,11 @@
 package com.not2excel.api.logging;
 
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
 
 /**
+ * Logs to the console through the {@link LogWriter}, the entry is formatted and printed on its background thread so
+ * logging does not block the caller.
+ *
  * @author Richmond Steele
  * @since 12/18/13 All rights Reserved Please read included LICENSE file
  */
@@ -16,21 +16,6 @@ public class Logger<T> {
      */
     private static volatile Logger<Object> instance;
 
-    /**
-     * SimpleDateFormat to format time for logging
-     */
-    private final SimpleDateFormat simpleDateFormat = new SimpleDateFormat("HH:mm:ss");
-
-    /**
-     * Calendar instance to get time for logging
-     */
-    private final Calendar calendar = Calendar.getInstance();
-
-    /**
-     * ConcurrentHashMap to hold everything that has been logged
-     */
-    private final Map<String, String> organizedLogs = new ConcurrentHashMap<>();
-
     /**
      * Returns the singleton instance
      *
@@ -58,38 +43,22 @@ public class Logger<T> {
      * @param type
      *     Prefix for the println
      * @param data
-     *     data to log
+     *     data to log, converted to a string on the logging thread
      */
     public void log(final T type, final T data) {
-        System.out.println(String.format("[%s %s]: %s", getCurrentTime(), type, data.toString()));
-        saveLog(type, getCurrentTime(), data);
+        LogWriter.getInstance().submit(type, data, true);
     }
 
     public void logTimeless(final T type, final T data) {
-        System.out.println(String.format("[%s]: %s", type, data.toString()));
-        saveLog(type, getCurrentTime(), data);
-    }
-
-    /**
-     * Returns the current time in string and properly formatted
-     *
-     * @return time string
-     */
-    private String getCurrentTime() {
-        return this.simpleDateFormat.format(this.calendar.getTime());
+        LogWriter.getInstance().submit(type, data, false);
     }
 
     /**
-     * Saves the logged data to a Map for usage in a possible console or something
+     * Returns the most recently logged lines for usage in a possible console or something
      *
-     * @param type
-     *     type of log
-     * @param time
-     *     timestamp of logged data
-     * @param data
-     *     logged data
+     * @return logged lines, oldest first
      */
-    private void saveLog(final T type, final String time, final T data) {
-        this.organizedLogs.put(type.toString(), String.format("[%s]: %s", time, data.toString()));
+    public List<String> getRecentLogs() {
+        return LogWriter.getInstance().getRecent();
     }
 }
@@ -0,0 +1,19 @@
+package com.not2excel.api.logging;
+
+/**
+ * What to do with a log entry when the buffer of the {@link LogWriter} is full
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Throw the entry away and count it, the logging thread is never slowed down
+     */
+    DROP,
+    /**
+     * Wait until there is room for the entry, nothing is lost but the logging thread may stall
+     */
+    BLOCK
+}
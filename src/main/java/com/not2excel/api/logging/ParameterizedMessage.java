@@ -0,0 +1,38 @@
+package com.not2excel.api.logging;
+
+/**
+ * A message with {@code {}} placeholders that is only formatted when it is written, on the thread of the {@link
+ * LogWriter}
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+final class ParameterizedMessage {
+
+    private final String format;
+    private final Object[] args;
+
+    ParameterizedMessage(final String format, final Object[] args) {
+        this.format = format;
+        this.args = args;
+    }
+
+    @Override
+    public String toString() {
+        if (this.args == null || this.args.length == 0) {
+            return this.format;
+        }
+        final StringBuilder builder = new StringBuilder(this.format.length() + 16 * this.args.length);
+        int start = 0;
+        int arg = 0;
+        while (arg < this.args.length) {
+            final int placeholder = this.format.indexOf("{}", start);
+            if (placeholder < 0) {
+                break;
+            }
+            builder.append(this.format, start, placeholder).append(this.args[arg++]);
+            start = placeholder + 2;
+        }
+        return builder.append(this.format, start, this.format.length()).toString();
+    }
+}
@@ -1,5 +1,7 @@
 package com.not2excel.api.reflection;
 
+import com.not2excel.api.jfr.FlightEvents;
+
 import java.io.File;
 import java.io.IOException;
 import java.net.*;
@@ -31,12 +33,17 @@ public class ClassEnumerator {
      * @return instance
      */
     public static ClassEnumerator getInstance() {
-        if (instance == null) {
-        }
-        {
-            instance = new ClassEnumerator();
+        ClassEnumerator enumerator = instance;
+        if (enumerator == null) {
+            synchronized (ClassEnumerator.class) {
+                enumerator = instance;
+                if (enumerator == null) {
+                    enumerator = new ClassEnumerator();
+                    instance = enumerator;
+                }
+            }
         }
-        return instance;
+        return enumerator;
     }
 
     /**
@@ -100,6 +107,7 @@ public class ClassEnumerator {
      * @return class array
      */
     public Class<?>[] getClassesFromThisJar(final Object object) {
+        final Object event = FlightEvents.beginScan();
         ClassLoader classLoader = null;
         URI uri = null;
         try {
@@ -118,6 +126,7 @@ public class ClassEnumerator {
         }
         final File file = new File(uri);
         final List<Class<?>> classes = new ArrayList<>(getClassesFromLocation(file));
+        FlightEvents.endScan(event, file.getPath(), classes.size());
         return classes.toArray(new Class[classes.size()]);
     }
 
@@ -0,0 +1,138 @@
+package com.not2excel.api.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A Burkhard-Keller tree over lower case strings using the Levenshtein distance as metric. Used to find the closest
+ * known names (sub commands) of a mistyped input without comparing it against every name.
+ * <p>
+ * Words are expected to be added during registration, lookups are safe to do from any thread.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class BKTree {
+
+    private volatile Node root;
+    private volatile int size;
+
+    /**
+     * @param word
+     *     The word to add, case insensitive
+     */
+    public synchronized void add(final String word) {
+        final String lower = word.toLowerCase();
+        if (this.root == null) {
+            this.root = new Node(lower);
+            this.size++;
+            return;
+        }
+        Node node = this.root;
+        while (true) {
+            final int distance = StringUtil.levenshtein(node.word, lower, Integer.MAX_VALUE);
+            if (distance == 0) {
+                return;
+            }
+            final Node child = node.getChild(distance);
+            if (child == null) {
+                node.setChild(distance, new Node(lower));
+                this.size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * @param input
+     *     The (mistyped) word to find the closest match of, case insensitive
+     * @param maxDistance
+     *     The maximum edit distance a word can have to be returned
+     *
+     * @return All words with the smallest distance to {@code input} that is within {@code maxDistance}, sorted
+     * alphabetically. An empty list if there are none.
+     */
+    public List<String> closest(final String input, final int maxDistance) {
+        return closest(input, maxDistance, word -> true);
+    }
+
+    /**
+     * @param input
+     *     The (mistyped) word to find the closest match of, case insensitive
+     * @param maxDistance
+     *     The maximum edit distance a word can have to be returned
+     * @param filter
+     *     Only the words it accepts can be returned, e.g. the sub commands a sender may use
+     *
+     * @return All accepted words with the smallest distance to {@code input} that is within {@code maxDistance},
+     * sorted alphabetically. An empty list if there are none or if {@code input} is a word itself.
+     */
+    public List<String> closest(final String input, final int maxDistance, final Predicate<String> filter) {
+        final Node root = this.root;
+        if (root == null) {
+            return Collections.emptyList();
+        }
+        final String lower = input.toLowerCase();
+        final List<String> result = new ArrayList<>(2);
+        final int best = search(root, lower, maxDistance, filter, result);
+        if (best == 0) {
+            //an exact match is not a suggestion
+            return Collections.emptyList();
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private static int search(final Node node, final String input, int best, final Predicate<String> filter,
+                              final List<String> result) {
+        //the exact distance is needed to prune the children
+        final int distance = StringUtil.levenshtein(node.word, input, Integer.MAX_VALUE);
+        if (distance <= best && (distance == 0 || filter.test(node.word))) {
+            if (distance < best) {
+                result.clear();
+                best = distance;
+            }
+            result.add(node.word);
+        }
+        final Node[] children = node.children;
+        //triangle inequality, only children with a distance in [d - best, d + best] can be closer
+        final int from = Math.max(1, distance - best);
+        final int to = Math.min(children.length - 1, distance + best);
+        for (int i = from; i <= to; i++) {
+            if (children[i] != null) {
+                best = search(children[i], input, best, filter, result);
+            }
+        }
+        return best;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    private static final class Node {
+
+        private static final Node[] EMPTY = new Node[0];
+        private final String word;
+        private volatile Node[] children = EMPTY;
+
+        private Node(final String word) {
+            this.word = word;
+        }
+
+        private Node getChild(final int distance) {
+            final Node[] children = this.children;
+            return distance < children.length ? children[distance] : null;
+        }
+
+        private void setChild(final int distance, final Node child) {
+            final Node[] copy = new Node[Math.max(this.children.length, distance + 1)];
+            System.arraycopy(this.children, 0, copy, 0, this.children.length);
+            copy[distance] = child;
+            this.children = copy;
+        }
+    }
+}
@@ -70,4 +70,51 @@ public class StringUtil {
     public static boolean equalsIgnoreCase(final char c1, final char c2) {
         return Character.toUpperCase(c1) == Character.toUpperCase(c2);
     }
+
+    /**
+     * Calculate the Levenshtein (edit) distance between two strings, giving up as soon as the distance is known to be
+     * greater than {@code max}.
+     *
+     * @param s1
+     *     A string
+     * @param s2
+     *     Another string
+     * @param max
+     *     The greatest distance of interest
+     *
+     * @return The edit distance between {@code s1} and {@code s2}, or {@code max + 1} if it is greater than {@code
+     * max}
+     */
+    public static int levenshtein(final String s1, final String s2, final int max) {
+        final int len1 = s1.length();
+        final int len2 = s2.length();
+        final int over = max == Integer.MAX_VALUE ? max : max + 1;
+        if (Math.abs(len1 - len2) > max) {
+            return over;
+        }
+        //a single row is enough when the diagonal value is kept aside
+        final int[] row = new int[len2 + 1];
+        for (int j = 0; j <= len2; j++) {
+            row[j] = j;
+        }
+        for (int i = 1; i <= len1; i++) {
+            int diagonal = row[0];
+            row[0] = i;
+            int rowMin = i;
+            final char c1 = s1.charAt(i - 1);
+            for (int j = 1; j <= len2; j++) {
+                final int above = row[j];
+                final int cost = c1 == s2.charAt(j - 1) ? 0 : 1;
+                row[j] = Math.min(Math.min(row[j - 1] + 1, above + 1), diagonal + cost);
+                diagonal = above;
+                if (row[j] < rowMin) {
+                    rowMin = row[j];
+                }
+            }
+            if (rowMin > max) {
+                return over;
+            }
+        }
+        return row[len2] > max ? over : row[len2];
+    }
 }
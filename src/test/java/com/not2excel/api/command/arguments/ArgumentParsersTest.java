@@ -0,0 +1,63 @@
+package com.not2excel.api.command.arguments;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Numbers are parsed exactly like the JDK parses them, out of range and malformed input is {@code null}
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class ArgumentParsersTest {
+
+    @Test
+    public void longsInRange() {
+        assertEquals(Long.valueOf(0), ArgumentParsers.parseLong("0"));
+        assertEquals(Long.valueOf(42), ArgumentParsers.parseLong("+42"));
+        assertEquals(Long.valueOf(-42), ArgumentParsers.parseLong("-0042"));
+        assertEquals(Long.valueOf(Long.MAX_VALUE), ArgumentParsers.parseLong("9223372036854775807"));
+        assertEquals(Long.valueOf(Long.MIN_VALUE), ArgumentParsers.parseLong("-9223372036854775808"));
+    }
+
+    @Test
+    public void longsOutOfRange() {
+        assertNull(ArgumentParsers.parseLong("9223372036854775808"));
+        assertNull(ArgumentParsers.parseLong("-9223372036854775809"));
+        assertNull(ArgumentParsers.parseLong("92233720368547758070"));
+        assertNull(ArgumentParsers.parseLong("99999999999999999999"));
+    }
+
+    @Test
+    public void malformedLongs() {
+        assertNull(ArgumentParsers.parseLong(""));
+        assertNull(ArgumentParsers.parseLong("-"));
+        assertNull(ArgumentParsers.parseLong("+"));
+        assertNull(ArgumentParsers.parseLong("1-"));
+        assertNull(ArgumentParsers.parseLong("1.0"));
+        assertNull(ArgumentParsers.parseLong("12a"));
+        assertNull(ArgumentParsers.parseLong(" 1"));
+    }
+
+    @Test
+    public void intsOutOfRange() {
+        assertEquals(Integer.valueOf(Integer.MAX_VALUE), ArgumentParsers.parseInt("2147483647"));
+        assertEquals(Integer.valueOf(Integer.MIN_VALUE), ArgumentParsers.parseInt("-2147483648"));
+        assertNull(ArgumentParsers.parseInt("2147483648"));
+        assertNull(ArgumentParsers.parseInt("-2147483649"));
+        assertNull(ArgumentParsers.parseInt("9223372036854775808"));
+    }
+
+    @Test
+    public void doubles() {
+        assertEquals(Double.valueOf(1.5), ArgumentParsers.parseDouble("1.5"));
+        assertEquals(Double.valueOf(-0.5), ArgumentParsers.parseDouble("-.5"));
+        assertEquals(Double.valueOf(1e3), ArgumentParsers.parseDouble("1E+3"));
+        assertNull(ArgumentParsers.parseDouble("."));
+        assertNull(ArgumentParsers.parseDouble("1e"));
+        assertNull(ArgumentParsers.parseDouble("NaN"));
+        assertNull(ArgumentParsers.parseDouble("1e400"));
+    }
+}
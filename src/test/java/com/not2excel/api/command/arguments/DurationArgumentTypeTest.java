@@ -0,0 +1,74 @@
+package com.not2excel.api.command.arguments;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * The parts of a duration are added together, a duration too long for a long of milliseconds is invalid
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class DurationArgumentTypeTest {
+
+    private final DurationArgumentType type = new DurationArgumentType();
+
+    private Duration parse(final String input) {
+        return this.type.parse(null, input);
+    }
+
+    @Test
+    public void partsAreAddedTogether() {
+        assertEquals(Duration.ofMinutes(90), parse("1h30m"));
+        assertEquals(Duration.ofMinutes(90), parse("90m"));
+        assertEquals(Duration.ofMinutes(90), parse("5400s"));
+        assertEquals(Duration.ofMinutes(90), parse("1H30M"));
+        assertEquals(Duration.ofDays(8).plusSeconds(1), parse("1w1d1s"));
+    }
+
+    @Test
+    public void millisecondsAndTicks() {
+        assertEquals(Duration.ofMillis(250), parse("250ms"));
+        assertEquals(Duration.ofMillis(250), parse("250MS"));
+        assertEquals(Duration.ofMillis(250), parse("5t"));
+        assertEquals(Duration.ofMillis(60 * 1000 + 5), parse("1m5ms"));
+        //"ms" is not minutes followed by seconds
+        assertEquals(Duration.ofMillis(60 * 1000 + 5000), parse("1m5s"));
+    }
+
+    @Test
+    public void malformedDurations() {
+        assertNull(parse(""));
+        assertNull(parse("5"));
+        assertNull(parse("m"));
+        assertNull(parse("1h30"));
+        assertNull(parse("1y"));
+        assertNull(parse("1h 30m"));
+        assertNull(parse("-1h"));
+        assertNull(parse("1\u00e9"));
+    }
+
+    @Test
+    public void tooLongDurations() {
+        //an amount is at most Integer.MAX_VALUE
+        assertEquals(Duration.ofMillis(Integer.MAX_VALUE), parse("2147483647ms"));
+        assertNull(parse("2147483648ms"));
+        assertNull(parse("99999999999999999999s"));
+        //the largest amount of weeks fits a long, adding them together does not
+        assertEquals(Duration.ofDays(7L * Integer.MAX_VALUE), parse("2147483647w"));
+        assertNull(parse("2147483647w2147483647w2147483647w2147483647w2147483647w2147483647w2147483647w2147483647w"));
+    }
+
+    @Test
+    public void unitsAreCompleted() {
+        assertEquals(Arrays.asList("5ms", "5t", "5s", "5m", "5h", "5d", "5w"), this.type.complete(null, "5"));
+        assertEquals(Collections.emptyList(), this.type.complete(null, "5m"));
+        assertEquals(Collections.emptyList(), this.type.complete(null, ""));
+    }
+}
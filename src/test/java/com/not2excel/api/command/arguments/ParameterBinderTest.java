@@ -0,0 +1,122 @@
+package com.not2excel.api.command.arguments;
+
+import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.CommandListener;
+import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.command.Optional;
+import com.not2excel.api.command.objects.CommandInfo;
+import com.not2excel.api.harness.HeadlessServer;
+import com.not2excel.api.harness.SimulatedPlayer;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Arguments are bound to the parameters of the handler, missing optional arguments to the default of their type
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class ParameterBinderTest {
+
+    private static final List<List<Object>> BOUND = new ArrayList<>();
+
+    private HeadlessServer server;
+    private CommandManager manager;
+    private SimulatedPlayer player;
+
+    @Before
+    public void setUp() {
+        //an argument type mismatch is logged as an error
+        LevelLogger.getInstance().setLevel(LogType.FATAL);
+        BOUND.clear();
+        this.server = HeadlessServer.getInstance();
+        this.server.reset();
+        this.manager = new CommandManager(this.server.createPlugin("Binder"));
+        final ArgumentTypes types = this.manager.getArgumentTypes();
+        types.register(Short.class, new SimpleArgumentType<>("short", (sender, input) -> {
+            final Integer value = ArgumentParsers.parseInt(input);
+            return value == null || value != value.shortValue() ? null : value.shortValue();
+        }));
+        types.register(Byte.class, new SimpleArgumentType<>("byte", (sender, input) -> {
+            final Integer value = ArgumentParsers.parseInt(input);
+            return value == null || value != value.byteValue() ? null : value.byteValue();
+        }));
+        types.register(Character.class, new SimpleArgumentType<>("letter", (sender, input) -> input.length() == 1
+                                                                                           ? input.charAt(0)
+                                                                                           : null));
+        this.server.registerCommands(this.manager, BoundCommands.class);
+        this.player = this.server.addPlayer("Robin");
+    }
+
+    @After
+    public void tearDown() {
+        this.manager.disable();
+        BOUND.clear();
+        LevelLogger.getInstance().setLevel(LogType.WARNING);
+    }
+
+    private void dispatch(final String commandLine) {
+        this.server.getCommandMap().dispatch(this.player.asPlayer(), commandLine);
+    }
+
+    @Test
+    public void everyArgumentIsBound() {
+        dispatch("bind 1 2 3 x 4 5.5 6.5 true because");
+        assertEquals(Arrays.<Object>asList(1, (short) 2, (byte) 3, 'x', 4L, 5.5F, 6.5D, true, "because"),
+                     BOUND.get(0));
+    }
+
+    @Test
+    public void missingOptionalPrimitivesAreZeroOfTheirType() {
+        dispatch("bind 1");
+        assertEquals(1, BOUND.size());
+        assertEquals(Arrays.<Object>asList(1, (short) 0, (byte) 0, (char) 0, 0L, 0F, 0D, false, null), BOUND.get(0));
+    }
+
+    @Test
+    public void someOptionalArgumentsAreGiven() {
+        dispatch("bind 1 -2 -3");
+        assertEquals(Arrays.<Object>asList(1, (short) -2, (byte) -3, (char) 0, 0L, 0F, 0D, false, null),
+                     BOUND.get(0));
+    }
+
+    @Test
+    public void missingRequiredArgumentIsNotBound() {
+        dispatch("bind");
+        assertTrue(BOUND.isEmpty());
+        assertTrue(this.player.getLastMessage(), this.player.getLastMessage().contains("bind"));
+    }
+
+    @Test
+    public void invalidOptionalArgumentIsNotBound() {
+        dispatch("bind 1 40000");
+        assertTrue(BOUND.isEmpty());
+        dispatch("bind 1 2 3 xy");
+        assertTrue(BOUND.isEmpty());
+    }
+
+    public static final class BoundCommands implements CommandListener {
+
+        private BoundCommands() {
+        }
+
+        @CommandHandler(command = "bind",
+                        usage = "<amount> [short] [byte] [letter] [long] [float] [double] [flag] [reason]")
+        public static void bind(final CommandInfo info, final int amount, @Optional final short s,
+                                @Optional final byte b, @Optional final char c, @Optional final long l,
+                                @Optional final float f, @Optional final double d, @Optional final boolean flag,
+                                @Optional final String reason) {
+            BOUND.add(Arrays.<Object>asList(amount, s, b, c, l, f, d, flag, reason));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.not2excel.api.command.audit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Writes records with an {@link AuditSegmentWriter} and reads them back with an {@link AuditReader}
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class AuditSegmentWriterTest {
+
+    private static final int SMALLEST_SEGMENT = AuditFormat.HEADER_SIZE + AuditFormat.maxRecordSize();
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("audit").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        final File[] files = this.directory.listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        this.directory.delete();
+    }
+
+    @Test
+    public void recordsAreReadAsTheyWereWritten() throws IOException {
+        final AuditSegmentWriter writer = new AuditSegmentWriter(this.directory, SMALLEST_SEGMENT, 0);
+        final List<AuditRecord> written = new ArrayList<>();
+        written.add(new AuditRecord(1, "Alice", "home.set", new String[] {"bed"}, AuditOutcome.EXECUTED));
+        written.add(new AuditRecord(2, "Bob", "home.set", new String[0], AuditOutcome.DENIED));
+        written.add(new AuditRecord(3, "Alice", "warp", new String[] {"spawn", "-f", "\u00fcn\u00efc\u00f6d\u00e9"},
+                                    AuditOutcome.ERROR));
+        for (final AuditRecord record : written) {
+            writer.write(record);
+        }
+
+        final List<AuditRecord> read = readAll();
+        assertEquals(written.size(), read.size());
+        for (int i = 0; i < written.size(); i++) {
+            assertRecord(written.get(i), read.get(i));
+        }
+    }
+
+    @Test
+    public void stringTableStartsOverInEachSegment() throws IOException {
+        final AuditSegmentWriter writer = new AuditSegmentWriter(this.directory, SMALLEST_SEGMENT, 0);
+        //each record is large enough that only a few fit in a segment
+        final String[] args = new String[AuditFormat.MAX_ARGS];
+        Arrays.fill(args, repeat('a', AuditFormat.MAX_STRING_LENGTH));
+        final List<AuditRecord> written = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            //a sender defined in an earlier segment must be defined again, and get another id, in the next one
+            final String sender = i % 3 == 0 ? "Alice" : i % 3 == 1 ? "Bob" : "Carol" + i;
+            final AuditRecord record = new AuditRecord(i, sender, "cmd" + i % 2, args, AuditOutcome.EXECUTED);
+            writer.write(record);
+            written.add(record);
+        }
+        writer.force();
+
+        final File[] segments = AuditSegmentWriter.listSegments(this.directory);
+        assertTrue("Only " + segments.length + " segments were written", segments.length >= 3);
+        final List<AuditRecord> read = readAll();
+        assertEquals(written.size(), read.size());
+        for (int i = 0; i < written.size(); i++) {
+            assertRecord(written.get(i), read.get(i));
+        }
+    }
+
+    @Test
+    public void oldestSegmentsAreDeleted() throws IOException {
+        final AuditSegmentWriter writer = new AuditSegmentWriter(this.directory, SMALLEST_SEGMENT, 2);
+        final String[] args = new String[AuditFormat.MAX_ARGS];
+        Arrays.fill(args, repeat('a', AuditFormat.MAX_STRING_LENGTH));
+        for (int i = 0; i < 12; i++) {
+            writer.write(new AuditRecord(i, "Alice", "cmd", args, AuditOutcome.EXECUTED));
+        }
+
+        assertEquals(2, AuditSegmentWriter.listSegments(this.directory).length);
+        final List<AuditRecord> read = readAll();
+        assertFalse(read.isEmpty());
+        assertEquals(11, read.get(read.size() - 1).getTime());
+    }
+
+    @Test
+    public void longStringsAndManyArgumentsAreCut() throws IOException {
+        final AuditSegmentWriter writer = new AuditSegmentWriter(this.directory, SMALLEST_SEGMENT, 0);
+        final String longest = repeat('x', AuditFormat.MAX_STRING_LENGTH + 100);
+        final String[] args = new String[AuditFormat.MAX_ARGS + 6];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = i == 0 ? longest : String.valueOf(i);
+        }
+        writer.write(new AuditRecord(1, longest, "cmd", args, AuditOutcome.FAILED));
+        //the largest record there can be, it must fit in an empty segment
+        final String[] largest = new String[AuditFormat.MAX_ARGS];
+        Arrays.fill(largest, repeat('\u20ac', AuditFormat.MAX_STRING_LENGTH));
+        writer.write(new AuditRecord(2, repeat('\u20ac', AuditFormat.MAX_STRING_LENGTH),
+                                     repeat('\u00e9', AuditFormat.MAX_STRING_LENGTH), largest, AuditOutcome.EXECUTED));
+
+        final List<AuditRecord> read = readAll();
+        assertEquals(2, read.size());
+        final AuditRecord cut = read.get(0);
+        final String expected = longest.substring(0, AuditFormat.MAX_STRING_LENGTH);
+        assertEquals(expected, cut.getSender());
+        assertEquals(AuditFormat.MAX_ARGS, cut.getArgs().size());
+        assertEquals(expected, cut.getArgs().get(0));
+        assertEquals(String.valueOf(AuditFormat.MAX_ARGS - 1), cut.getArgs().get(AuditFormat.MAX_ARGS - 1));
+        assertEquals(AuditFormat.MAX_ARGS, read.get(1).getArgs().size());
+        assertEquals(largest[0], read.get(1).getArgs().get(0));
+    }
+
+    private List<AuditRecord> readAll() {
+        final List<AuditRecord> records = new ArrayList<>();
+        try (AuditReader reader = new AuditReader(this.directory)) {
+            while (reader.hasNext()) {
+                records.add(reader.next());
+            }
+        }
+        return records;
+    }
+
+    private static void assertRecord(final AuditRecord expected, final AuditRecord actual) {
+        assertEquals(expected.getTime(), actual.getTime());
+        assertEquals(expected.getSender(), actual.getSender());
+        assertEquals(expected.getCommand(), actual.getCommand());
+        assertEquals(expected.getOutcome(), actual.getOutcome());
+        assertEquals(expected.getArgs(), actual.getArgs());
+    }
+
+    private static String repeat(final char c, final int times) {
+        final char[] chars = new char[times];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,124 @@
+package com.not2excel.api.command.completion;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * What a cached completion is identified by and when it is thrown away
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class CompletionCacheTest {
+
+    private final CompletionCache cache = new CompletionCache(64);
+    private final Object node = new Object();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private Supplier<List<String>> counting(final String... completions) {
+        return () -> {
+            this.calls.incrementAndGet();
+            return new ArrayList<>(Arrays.asList(completions));
+        };
+    }
+
+    @Test
+    public void sameKeyIsAHit() {
+        final List<String> first = this.cache.get(this.node, 0, "Se", 1, counting("set", "setHome"));
+        final List<String> second = this.cache.get(this.node, 0, "sE", 1, counting("other"));
+        assertSame(first, second);
+        assertEquals(1, this.calls.get());
+        assertEquals(1, this.cache.getHitCount());
+        assertEquals(1, this.cache.getMissCount());
+    }
+
+    @Test
+    public void everyPartOfTheKeyCounts() {
+        this.cache.get(this.node, 0, "s", 1, counting("set"));
+        this.cache.get(new Object(), 0, "s", 1, counting("set"));
+        this.cache.get(this.node, 1, "s", 1, counting("set"));
+        this.cache.get(this.node, 0, "se", 1, counting("set"));
+        this.cache.get(this.node, 0, "s", 2, counting("set"));
+        assertEquals(5, this.calls.get());
+        assertEquals(5, this.cache.size());
+    }
+
+    @Test
+    public void resultCannotBeModified() {
+        final List<String> result = this.cache.get(this.node, 0, "", 1, counting("a"));
+        try {
+            result.add("b");
+            fail("The cached result was modified");
+        } catch (final UnsupportedOperationException expected) {
+            //the result is shared by every sender of the profile
+        }
+    }
+
+    @Test
+    public void nullResultIsCachedAsNull() {
+        final Supplier<List<String>> none = () -> {
+            this.calls.incrementAndGet();
+            return null;
+        };
+        assertNull(this.cache.get(this.node, 0, "x", 1, none));
+        assertNull(this.cache.get(this.node, 0, "x", 1, none));
+        assertEquals(1, this.calls.get());
+        assertEquals(1, this.cache.getHitCount());
+    }
+
+    @Test
+    public void emptyResultIsNotNull() {
+        this.cache.get(this.node, 0, "x", 1, counting());
+        final List<String> cached = this.cache.get(this.node, 0, "x", 1, counting());
+        assertTrue(cached != null && cached.isEmpty());
+    }
+
+    @Test
+    public void invalidateAllForgetsEverything() {
+        this.cache.get(this.node, 0, "s", 1, counting("set"));
+        this.cache.invalidateAll();
+        assertEquals(0, this.cache.size());
+        this.cache.get(this.node, 0, "s", 1, counting("set"));
+        assertEquals(2, this.calls.get());
+    }
+
+    @Test
+    public void resultOfAnOldTreeIsNotCached() {
+        final List<String> result = this.cache.get(this.node, 0, "s", 1, () -> {
+            //the tree changes while the completions are calculated
+            this.cache.invalidateAll();
+            return new ArrayList<>(Arrays.asList("set"));
+        });
+        assertEquals(Arrays.asList("set"), result);
+        assertEquals(0, this.cache.size());
+    }
+
+    @Test
+    public void disabledCacheAlwaysCalculates() {
+        this.cache.get(this.node, 0, "s", 1, counting("set"));
+        this.cache.setEnabled(false);
+        this.cache.get(this.node, 0, "s", 1, counting("set"));
+        this.cache.get(this.node, 0, "s", 1, counting("set"));
+        assertEquals(3, this.calls.get());
+        assertEquals(0, this.cache.size());
+    }
+
+    @Test
+    public void sizeIsBounded() {
+        for (int i = 0; i < 1000; i++) {
+            this.cache.get(this.node, 0, "p" + i, 1, counting("p" + i));
+        }
+        assertTrue(this.cache.size() <= 64);
+    }
+}
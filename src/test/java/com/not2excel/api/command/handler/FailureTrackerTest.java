@@ -0,0 +1,178 @@
+package com.not2excel.api.command.handler;
+
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import com.not2excel.api.logging.LogWriter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * When failures disable a command, for how long and how often the same failure is logged, on a clock the test moves
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class FailureTrackerTest {
+
+    private static final String COMMAND = "home.set";
+
+    private final FailureTracker tracker = FailureTracker.getInstance();
+    private final LogWriter writer = LogWriter.getInstance();
+    private long now = TimeUnit.DAYS.toMillis(1);
+    private ByteArrayOutputStream written;
+
+    @Before
+    public void setUp() {
+        LevelLogger.getInstance().setLevel(LogType.WARNING);
+        this.tracker.reset();
+        this.tracker.setClock(() -> this.now);
+        this.tracker.setThreshold(3);
+        this.tracker.setWindow(10, TimeUnit.SECONDS);
+        this.tracker.setCooldown(30, TimeUnit.SECONDS);
+        this.tracker.setReportInterval(60, TimeUnit.SECONDS);
+        this.writer.flush(5000);
+        this.written = new ByteArrayOutputStream();
+        this.writer.setOut(new PrintStream(this.written, true));
+    }
+
+    @After
+    public void tearDown() {
+        this.writer.flush(5000);
+        this.writer.setOut(System.out);
+        this.tracker.reset();
+        this.tracker.setClock(System::currentTimeMillis);
+        this.tracker.setThreshold(5);
+        this.tracker.setWindow(10, TimeUnit.SECONDS);
+        this.tracker.setCooldown(30, TimeUnit.SECONDS);
+        this.tracker.setReportInterval(60, TimeUnit.SECONDS);
+    }
+
+    private void record(final Throwable error) {
+        this.tracker.recordFailure(COMMAND, "Alex", error);
+    }
+
+    private void advance(final long seconds) {
+        this.now += TimeUnit.SECONDS.toMillis(seconds);
+    }
+
+    private String log() {
+        assertTrue(this.writer.flush(5000));
+        final String log = this.written.toString();
+        this.written.reset();
+        return log;
+    }
+
+    private static int count(final String log, final String text) {
+        int count = 0;
+        for (int i = log.indexOf(text); i >= 0; i = log.indexOf(text, i + text.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void thresholdWithinTheWindowDisables() {
+        final Throwable error = new IllegalStateException("broken");
+        record(error);
+        record(error);
+        assertEquals(0, this.tracker.getRemainingCooldown(COMMAND));
+        record(error);
+        assertEquals(TimeUnit.SECONDS.toMillis(30), this.tracker.getRemainingCooldown(COMMAND));
+        assertEquals(3, this.tracker.getFailureCount(COMMAND));
+        assertEquals(1, count(log(), "Disabled /home set for 30 s after 3 failures within 10 s"));
+    }
+
+    @Test
+    public void failuresOutsideTheWindowDoNotAddUp() {
+        final Throwable error = new IllegalStateException("broken");
+        record(error);
+        record(error);
+        advance(10);
+        //a new window starts
+        record(error);
+        record(error);
+        assertEquals(0, this.tracker.getRemainingCooldown(COMMAND));
+        advance(9);
+        record(error);
+        assertTrue(this.tracker.getRemainingCooldown(COMMAND) > 0);
+    }
+
+    @Test
+    public void cooldownEnds() {
+        final Throwable error = new IllegalStateException("broken");
+        for (int i = 0; i < 3; i++) {
+            record(error);
+        }
+        advance(29);
+        assertEquals(TimeUnit.SECONDS.toMillis(1), this.tracker.getRemainingCooldown(COMMAND));
+        advance(1);
+        assertEquals(0, this.tracker.getRemainingCooldown(COMMAND));
+        //the failures that disabled the command do not count again
+        record(error);
+        assertEquals(0, this.tracker.getRemainingCooldown(COMMAND));
+    }
+
+    @Test
+    public void noThresholdNeverDisables() {
+        this.tracker.setThreshold(0);
+        final Throwable error = new IllegalStateException("broken");
+        for (int i = 0; i < 100; i++) {
+            record(error);
+        }
+        assertEquals(0, this.tracker.getRemainingCooldown(COMMAND));
+        assertEquals(100, this.tracker.getFailureCount(COMMAND));
+    }
+
+    @Test
+    public void sameFailureIsReportedOncePerInterval() {
+        this.tracker.setThreshold(0);
+        final Throwable error = new IllegalStateException("broken");
+        record(error);
+        assertEquals(1, count(log(), "/home set of Alex failed: java.lang.IllegalStateException: broken"));
+
+        for (int i = 0; i < 4; i++) {
+            advance(10);
+            record(error);
+        }
+        assertEquals(0, count(log(), "IllegalStateException"));
+
+        advance(20);
+        record(error);
+        final String log = log();
+        assertEquals(1, count(log, "/home set of Alex failed (4 more times like this since the last report): "));
+        assertEquals(1, count(log, "IllegalStateException: broken"));
+    }
+
+    @Test
+    public void differentFailuresAreReportedApart() {
+        this.tracker.setThreshold(0);
+        record(new IllegalStateException("broken"));
+        record(new IllegalArgumentException("wrong"));
+        final String log = log();
+        assertEquals(1, count(log, "IllegalStateException: broken"));
+        assertEquals(1, count(log, "IllegalArgumentException: wrong"));
+    }
+
+    @Test
+    public void pendingFailuresAreFlushed() {
+        this.tracker.setThreshold(0);
+        final Throwable error = new IllegalStateException("broken");
+        record(error);
+        record(error);
+        record(error);
+        log();
+        this.tracker.flush();
+        assertEquals(1, count(log(), "/home set failed 2 more times with java.lang.IllegalStateException: broken"));
+        //nothing is pending anymore
+        this.tracker.flush();
+        assertEquals(0, count(log(), "IllegalStateException"));
+    }
+}
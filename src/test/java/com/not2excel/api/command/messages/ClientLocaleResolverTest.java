@@ -0,0 +1,85 @@
+package com.not2excel.api.command.messages;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * The locale is looked up the way each class of player offers it
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class ClientLocaleResolverTest {
+
+    private final ClientLocaleResolver resolver = new ClientLocaleResolver();
+
+    @Test
+    public void localeOfTheClient() {
+        assertEquals("de_de", this.resolver.getClientLocale(new NewPlayer("de_de")));
+    }
+
+    @Test
+    public void localeOfSpigot() {
+        assertEquals("en_gb", this.resolver.getClientLocale(new OldPlayer("en_gb")));
+    }
+
+    @Test
+    public void playerWithoutALocaleDoesNotDisableTheOthers() {
+        assertNull(this.resolver.getClientLocale(new NpcPlayer()));
+        assertNull(this.resolver.getClientLocale(new BrokenPlayer()));
+        assertNull(this.resolver.getClientLocale(new BrokenPlayer()));
+        assertEquals("fr_fr", this.resolver.getClientLocale(new NewPlayer("fr_fr")));
+        assertEquals("nl_nl", this.resolver.getClientLocale(new OldPlayer("nl_nl")));
+    }
+
+    public static final class NewPlayer {
+
+        private final String locale;
+
+        NewPlayer(final String locale) {
+            this.locale = locale;
+        }
+
+        public String getLocale() {
+            return this.locale;
+        }
+    }
+
+    public static final class OldPlayer {
+
+        private final Spigot spigot;
+
+        OldPlayer(final String locale) {
+            this.spigot = new Spigot(locale);
+        }
+
+        public Spigot spigot() {
+            return this.spigot;
+        }
+    }
+
+    public static class Spigot {
+
+        private final String locale;
+
+        Spigot(final String locale) {
+            this.locale = locale;
+        }
+
+        public String getLocale() {
+            return this.locale;
+        }
+    }
+
+    public static final class NpcPlayer {
+    }
+
+    public static final class BrokenPlayer {
+
+        public String getLocale() {
+            throw new UnsupportedOperationException("Not a real player");
+        }
+    }
+}
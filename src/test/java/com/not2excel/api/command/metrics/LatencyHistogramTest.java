@@ -0,0 +1,119 @@
+package com.not2excel.api.command.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The bucket of a value, the bounds of a bucket and the percentiles read from them
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void smallValuesHaveABucketEach() {
+        for (int value = 0; value < 8; value++) {
+            assertEquals(value, LatencyHistogram.bucketOf(value));
+            assertEquals(value, LatencyHistogram.upperBoundOf(value));
+        }
+        assertEquals(8, LatencyHistogram.bucketOf(8));
+        assertEquals(8, LatencyHistogram.upperBoundOf(8));
+        assertEquals(15, LatencyHistogram.bucketOf(15));
+        assertEquals(15, LatencyHistogram.upperBoundOf(15));
+    }
+
+    @Test
+    public void largerValuesShareABucket() {
+        assertEquals(16, LatencyHistogram.bucketOf(16));
+        assertEquals(16, LatencyHistogram.bucketOf(17));
+        assertEquals(17, LatencyHistogram.upperBoundOf(16));
+        assertEquals(17, LatencyHistogram.bucketOf(18));
+    }
+
+    @Test
+    public void negativeValuesAreInTheFirstBucket() {
+        assertEquals(0, LatencyHistogram.bucketOf(-1));
+        assertEquals(0, LatencyHistogram.bucketOf(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void largestValueIsInTheLastBucket() {
+        final int bucket = LatencyHistogram.bucketOf(Long.MAX_VALUE);
+        assertEquals((64 - 3) * 8 - 1, bucket);
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(bucket));
+        assertEquals(bucket, LatencyHistogram.bucketOf(LatencyHistogram.upperBoundOf(bucket - 1) + 1));
+    }
+
+    @Test
+    public void bucketsAreContiguousAndNarrow() {
+        long lower = 0;
+        for (int bucket = 0; bucket <= LatencyHistogram.bucketOf(Long.MAX_VALUE); bucket++) {
+            final long upper = LatencyHistogram.upperBoundOf(bucket);
+            assertTrue("Bucket " + bucket + " is empty", upper >= lower);
+            assertEquals(bucket, LatencyHistogram.bucketOf(lower));
+            assertEquals(bucket, LatencyHistogram.bucketOf(upper));
+            //at most an eighth of the lower bound wide
+            assertTrue("Bucket " + bucket + " is too wide", (upper - lower) <= Math.max(0, lower / 8));
+            lower = upper + 1;
+        }
+        //the last upper bound was Long.MAX_VALUE
+        assertEquals(Long.MIN_VALUE, lower);
+    }
+
+    @Test
+    public void nothingRecorded() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getCount());
+    }
+
+    @Test
+    public void percentilesOfAKnownDistribution() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(100);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(5_000);
+        }
+        histogram.record(1_000_000);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(90 * 100 + 9 * 5_000 + 1_000_000, histogram.getTotal());
+        assertEquals(1_000_000, histogram.getMax());
+        assertWithinBucket(100, histogram.getPercentile(0));
+        assertWithinBucket(100, histogram.getPercentile(50));
+        assertWithinBucket(100, histogram.getPercentile(90));
+        assertWithinBucket(5_000, histogram.getPercentile(91));
+        assertWithinBucket(5_000, histogram.getPercentile(99));
+        //never more than the largest value recorded
+        assertEquals(1_000_000, histogram.getPercentile(100));
+        assertEquals(1_000_000, histogram.getPercentile(150));
+    }
+
+    @Test
+    public void percentilesOfAUniformDistribution() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertWithinBucket(5_000_000, histogram.getPercentile(50));
+        assertWithinBucket(9_900_000, histogram.getPercentile(99));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(99));
+    }
+
+    /**
+     * A percentile is the upper bound of the bucket of the exact value, at most 12.5% more
+     */
+    private static void assertWithinBucket(final long exact, final long actual) {
+        assertTrue(actual + " is less than " + exact, actual >= exact);
+        assertTrue(actual + " is more than 12.5% over " + exact, actual <= exact + exact / 8);
+    }
+}
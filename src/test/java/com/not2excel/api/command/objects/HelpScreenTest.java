@@ -0,0 +1,100 @@
+package com.not2excel.api.command.objects;
+
+import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.CommandListener;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The pages of the help of a command tell the player what to type for the next page
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class HelpScreenTest {
+
+    private static ParentCommand withSubCommands(final ParentCommand node) {
+        for (final Method method : PagedCommands.class.getDeclaredMethods()) {
+            final CommandHandler commandHandler = method.getAnnotation(CommandHandler.class);
+            if (commandHandler != null && commandHandler.command().startsWith("paged.gen.")) {
+                final String command = commandHandler.command();
+                node.addChild(command.substring(command.lastIndexOf('.') + 1), new ChildCommand(commandHandler, false));
+            }
+        }
+        return node;
+    }
+
+    private static String lastLine(final String[] page) {
+        return page[page.length - 1];
+    }
+
+    @Test
+    public void nextPageOfAGeneratedCommandNamesItsPath() {
+        final HelpScreen help = HelpScreen.render(withSubCommands(new DefaultChildCommand("gen")), null, null);
+        assertNull(help.getUsage());
+        assertEquals(2, help.getPageCount());
+        assertTrue(lastLine(help.getPage(1)), lastLine(help.getPage(1)).contains("/paged gen help 2"));
+        assertEquals(HelpScreen.PAGE_SIZE, help.getPage(1).length - 1);
+        assertEquals(2, help.getPage(2).length);
+    }
+
+    @Test
+    public void nextPageOfACommandNamesItsPath() throws NoSuchMethodException {
+        final CommandHandler commandHandler =
+            PagedCommands.class.getDeclaredMethod("gen", CommandInfo.class).getAnnotation(CommandHandler.class);
+        final HelpScreen help =
+            HelpScreen.render(withSubCommands(new ChildCommand(commandHandler, false)), commandHandler, null);
+        assertTrue(lastLine(help.getPage(1)), lastLine(help.getPage(1)).contains("/paged gen help 2"));
+    }
+
+    public static final class PagedCommands implements CommandListener {
+
+        private PagedCommands() {
+        }
+
+        @CommandHandler(command = "paged.gen")
+        public static void gen(final CommandInfo info) {
+        }
+
+        @CommandHandler(command = "paged.gen.c1")
+        public static void c1(final CommandInfo info) {
+        }
+
+        @CommandHandler(command = "paged.gen.c2")
+        public static void c2(final CommandInfo info) {
+        }
+
+        @CommandHandler(command = "paged.gen.c3")
+        public static void c3(final CommandInfo info) {
+        }
+
+        @CommandHandler(command = "paged.gen.c4")
+        public static void c4(final CommandInfo info) {
+        }
+
+        @CommandHandler(command = "paged.gen.c5")
+        public static void c5(final CommandInfo info) {
+        }
+
+        @CommandHandler(command = "paged.gen.c6")
+        public static void c6(final CommandInfo info) {
+        }
+
+        @CommandHandler(command = "paged.gen.c7")
+        public static void c7(final CommandInfo info) {
+        }
+
+        @CommandHandler(command = "paged.gen.c8")
+        public static void c8(final CommandInfo info) {
+        }
+
+        @CommandHandler(command = "paged.gen.c9")
+        public static void c9(final CommandInfo info) {
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.not2excel.api.command.parser;
+
+import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.CommandListener;
+import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.command.Flag;
+import com.not2excel.api.command.objects.CommandInfo;
+import com.not2excel.api.command.objects.DefaultChildCommand;
+import com.not2excel.api.command.objects.RegisteredCommand;
+import com.not2excel.api.harness.HeadlessServer;
+import com.not2excel.api.harness.SimulatedPlayer;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import org.bukkit.entity.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * How the grammar splits a command line, descends into sub commands and reads the flags and arguments that follow
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class CommandGrammarTest {
+
+    private static final String ADMIN_PERMISSION = "gram.admin";
+
+    private HeadlessServer server;
+    private CommandManager manager;
+    private RegisteredCommand registered;
+    private CommandGrammar grammar;
+    private SimulatedPlayer player;
+
+    @Before
+    public void setUp() {
+        LevelLogger.getInstance().setLevel(LogType.WARNING);
+        this.server = HeadlessServer.getInstance();
+        this.server.reset();
+        this.manager = new CommandManager(this.server.createPlugin("Grammar"));
+        this.server.registerCommands(this.manager, GrammarCommands.class);
+        this.registered = this.manager.getRegisteredCommands().get("gram");
+        this.grammar = this.registered.getGrammar();
+        this.player = this.server.addPlayer("Kim");
+    }
+
+    @After
+    public void tearDown() {
+        this.manager.disable();
+    }
+
+    private ParseResult match(final String... args) {
+        return this.grammar.match(this.player.asPlayer(), args);
+    }
+
+    @Test
+    public void quotedArgumentsAreJoined() {
+        final String[] args = {"say", "\"hello", "big", "world\"", "now"};
+        final int[] offsets = new int[args.length];
+        final List<String> tokens = CommandGrammar.tokenize(args, args.length, offsets);
+        assertEquals(Arrays.asList("say", "hello big world", "now"), tokens);
+        assertEquals(0, offsets[0]);
+        assertEquals(4, offsets[1]);
+        assertEquals(22, offsets[2]);
+    }
+
+    @Test
+    public void singleWordInQuotes() {
+        final String[] args = {"\"word\"", "\""};
+        assertEquals(Arrays.asList("word", "\""), CommandGrammar.tokenize(args, args.length, new int[args.length]));
+    }
+
+    @Test
+    public void unclosedQuoteIsLeftAlone() {
+        final String[] args = {"\"hello", "world"};
+        assertEquals(Arrays.asList("\"hello", "world"),
+                     CommandGrammar.tokenize(args, args.length, new int[args.length]));
+    }
+
+    @Test
+    public void emptyArgumentsAreSkipped() {
+        final String[] args = {"", "a", "", "b", ""};
+        assertEquals(Arrays.asList("a", "b"), CommandGrammar.tokenize(args, args.length, new int[args.length]));
+        //only the arguments before count are tokenized
+        assertEquals(Arrays.asList("a"), CommandGrammar.tokenize(args, 3, new int[args.length]));
+    }
+
+    @Test
+    public void subCommandsAreFoundIgnoringCase() {
+        final ParseResult result = match("GiVe", "Kim", "5");
+        assertSame(this.registered.getChild("give"), result.getNode());
+        assertEquals("GiVe", result.getLabel());
+        assertEquals(Arrays.asList("Kim", "5"), result.getArgs());
+        assertEquals(2, result.getNonFlagCount());
+        assertFalse(result.hasError());
+        assertSame(this.player.asPlayer(), result.getBoundArguments()[0]);
+        assertEquals(5, result.getBoundArguments()[1]);
+    }
+
+    @Test
+    public void unknownSubCommandIsAnArgumentOfTheParent() {
+        final ParseResult result = match("nothing");
+        assertSame(this.registered, result.getNode());
+        assertNull(result.getLabel());
+        assertEquals(1, result.getNonFlagCount());
+    }
+
+    @Test
+    public void helpIsRequestedOfCommandsWithSubCommands() {
+        assertEquals(1, match("help").getHelpPage());
+        assertEquals(2, match("?", "2").getHelpPage());
+        assertEquals(1, match("HELP", "two").getHelpPage());
+        assertEquals(1, match("help", "-3").getHelpPage());
+        //give has no sub commands, help is its argument
+        assertFalse(match("give", "help").isHelpRequest());
+        assertFalse(match("nothing").isHelpRequest());
+    }
+
+    @Test
+    public void unknownSubCommandOfAGeneratedCommand() {
+        final DefaultChildCommand generated = new DefaultChildCommand("gen");
+        generated.addChild("leaf", new DefaultChildCommand("leaf"));
+        this.registered.addChild("gen", generated);
+        this.grammar = this.registered.getGrammar();
+
+        final ParseResult result = match("gen", "nope");
+        assertSame(generated, result.getNode());
+        assertEquals("nope", result.getUnknownSubCommand());
+        assertTrue(result.hasError());
+        assertNull(match("gen", "leaf").getUnknownSubCommand());
+        //a command with a handler takes the argument itself
+        assertNull(match("nothing").getUnknownSubCommand());
+    }
+
+    @Test
+    public void deniedChildStopsTheDescent() {
+        final ParseResult denied = match("admin", "reset");
+        assertSame(this.registered.getChild("admin"), denied.getDeniedChild());
+        assertSame(this.registered, denied.getNode());
+
+        this.player.addPermissions(ADMIN_PERMISSION);
+        final ParseResult allowed = match("admin", "reset");
+        assertNull(allowed.getDeniedChild());
+        assertSame(this.registered.getChild("admin").getChild("reset"), allowed.getNode());
+    }
+
+    @Test
+    public void flagsAreLookedUpInTheTable() {
+        final ParseResult result = match("give", "-f", "Kim", "-x", "5");
+        assertTrue(result.getFlags().containsKey('f'));
+        assertNotNull(result.getFlags().get('f'));
+        assertEquals('x', result.getUnknownFlag());
+        assertEquals(2, result.getNonFlagCount());
+        assertEquals(Arrays.asList("-f", "Kim", "-x", "5"), result.getArgs());
+        assertEquals(5, result.getBoundArguments()[1]);
+    }
+
+    @Test
+    public void flagOfTheWrongCaseIsSuggested() {
+        final ParseResult result = match("give", "-F", "Kim", "5");
+        assertEquals('F', result.getUnknownFlag());
+        assertEquals('f', result.getState().getFlagSuggestion('F').flag());
+    }
+
+    @Test
+    public void dashFollowedByANumberIsNotAFlag() {
+        final ParseResult result = match("give", "Kim", "-5");
+        assertEquals(0, result.getUnknownFlag());
+        assertEquals(-5, result.getBoundArguments()[1]);
+    }
+
+    @Test
+    public void asteriskFlagIsAllowedByDefault() {
+        final ParseResult result = match("give", "-*", "Kim", "5");
+        assertTrue(result.hasAsteriskFlag());
+        assertEquals(0, result.getUnknownFlag());
+    }
+
+    @Test
+    public void asteriskFlagCanBeDisallowed() {
+        final ParseResult result = match("exact", "-*");
+        assertTrue(result.hasAsteriskFlag());
+        assertEquals('*', result.getUnknownFlag());
+    }
+
+    @Test
+    public void strictArgumentsOnlyAllowFlags() {
+        assertNull(match("quiet", "-q").getStrictViolation());
+        final ParseResult result = match("quiet", "-q", "loud");
+        assertEquals("loud", result.getStrictViolation());
+        assertTrue(result.hasError());
+    }
+
+    @Test
+    public void invalidAndMissingArguments() {
+        final ParseResult invalid = match("give", "Kim", "five");
+        assertEquals("five", invalid.getInvalidArgument());
+        assertEquals(1, invalid.getInvalidParameter());
+
+        final ParseResult missing = match("give", "Kim");
+        assertNull(missing.getInvalidArgument());
+        assertEquals(1, missing.getMissingParameter());
+    }
+
+    @Test
+    public void resolveOnlyLooksAtTheFirstArguments() {
+        final ParseResult result = this.grammar.resolve(this.player.asPlayer(), new String[] {"give", "Kim", "f"}, 2);
+        assertSame(this.registered.getChild("give"), result.getNode());
+        assertEquals(1, result.getNonFlagCount());
+    }
+
+    public static final class GrammarCommands implements CommandListener {
+
+        private GrammarCommands() {
+        }
+
+        @CommandHandler(command = "gram",
+                        description = "Commands to parse")
+        public static void gram(final CommandInfo info) {
+        }
+
+        @CommandHandler(command = "gram.give",
+                        usage = "<player> <amount>",
+                        flags = @Flag(flag = 'f', usage = "Force it"),
+                        description = "Typed arguments and a flag")
+        public static void give(final CommandInfo info, final Player target, final int amount) {
+        }
+
+        @CommandHandler(command = "gram.admin",
+                        permission = ADMIN_PERMISSION,
+                        description = "Denied without the permission")
+        public static void admin(final CommandInfo info) {
+        }
+
+        @CommandHandler(command = "gram.admin.reset",
+                        description = "Below a denied sub command")
+        public static void reset(final CommandInfo info) {
+        }
+
+        @CommandHandler(command = "gram.exact",
+                        asteriskFlag = false,
+                        description = "No asterisk flag")
+        public static void exact(final CommandInfo info) {
+        }
+
+        @CommandHandler(command = "gram.quiet",
+                        strictArgs = true,
+                        flags = @Flag(flag = 'q', usage = "Quieter"),
+                        description = "Only flags")
+        public static void quiet(final CommandInfo info) {
+        }
+    }
+}
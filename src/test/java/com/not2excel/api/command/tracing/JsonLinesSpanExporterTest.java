@@ -0,0 +1,101 @@
+package com.not2excel.api.command.tracing;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Each span is a line of JSON, strings are escaped and the queued spans are written when the exporter is closed
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class JsonLinesSpanExporterTest {
+
+    private File directory;
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("spans").toFile();
+        this.file = new File(this.directory, "traces/spans.jsonl");
+    }
+
+    @After
+    public void tearDown() {
+        //noinspection ResultOfMethodCallIgnored
+        this.file.delete();
+        //noinspection ResultOfMethodCallIgnored
+        this.file.getParentFile().delete();
+        //noinspection ResultOfMethodCallIgnored
+        this.directory.delete();
+    }
+
+    private List<String> read() throws IOException {
+        return Files.readAllLines(this.file.toPath(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void spanIsALineOfJson() throws IOException, InterruptedException {
+        final JsonLinesSpanExporter exporter = new JsonLinesSpanExporter(this.file);
+        final Span span = new Span(Tracer.getInstance(), 0x5f0cL, -1, 0x9a41L, "handler", "home.set", null);
+        span.setStatus("EXECUTED");
+        exporter.export(span);
+        exporter.close();
+
+        final List<String> lines = read();
+        assertEquals(1, lines.size());
+        assertEquals("{\"traceId\":\"0000000000005f0c\",\"spanId\":\"ffffffffffffffff\"," +
+                     "\"parentId\":\"0000000000009a41\",\"name\":\"handler\",\"command\":\"home.set\"," +
+                     "\"thread\":\"" + Thread.currentThread().getName() + "\",\"start\":" + span.getStartTime() +
+                     ",\"duration\":-1,\"status\":\"EXECUTED\"}", lines.get(0));
+        assertEquals(0, exporter.getDroppedCount());
+    }
+
+    @Test
+    public void stringsAreEscaped() throws IOException, InterruptedException {
+        final JsonLinesSpanExporter exporter = new JsonLinesSpanExporter(this.file);
+        final Span span = new Span(Tracer.getInstance(), 1, 2, 0, "async", null, null);
+        span.setStatus("java.lang.IllegalStateException: \"a\\b\"\n\tat\r\u0001");
+        exporter.export(span);
+        exporter.close();
+
+        final String line = read().get(0);
+        assertEquals(",\"command\":null,", line.substring(line.indexOf(",\"command\""), line.indexOf("\"thread\"")));
+        assertEquals(",\"status\":\"java.lang.IllegalStateException: \\\"a\\\\b\\\"\\n\\tat\\r\\u0001\"}",
+                     line.substring(line.indexOf(",\"status\"")));
+    }
+
+    @Test
+    public void queuedSpansAreWrittenOnClose() throws IOException, InterruptedException {
+        final JsonLinesSpanExporter exporter = new JsonLinesSpanExporter(this.file);
+        for (int i = 0; i < 1000; i++) {
+            exporter.export(new Span(Tracer.getInstance(), 1, i, 0, "dispatch", "home.set", null));
+        }
+        exporter.close();
+        assertEquals(1000, read().size());
+
+        //spans that end after the exporter is closed are dropped
+        exporter.export(new Span(Tracer.getInstance(), 1, 1000, 0, "dispatch", "home.set", null));
+        assertEquals(1, exporter.getDroppedCount());
+        assertEquals(1000, read().size());
+    }
+
+    @Test
+    public void spansAreAppended() throws IOException, InterruptedException {
+        for (int i = 0; i < 2; i++) {
+            final JsonLinesSpanExporter exporter = new JsonLinesSpanExporter(this.file);
+            exporter.export(new Span(Tracer.getInstance(), 1, i, 0, "dispatch", "home.set", null));
+            exporter.close();
+        }
+        assertEquals(2, read().size());
+    }
+}
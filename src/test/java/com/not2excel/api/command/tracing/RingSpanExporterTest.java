@@ -0,0 +1,82 @@
+package com.not2excel.api.command.tracing;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * The ring keeps the most recent spans in the order they ended
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class RingSpanExporterTest {
+
+    private static Span span(final long traceId, final long spanId) {
+        return new Span(Tracer.getInstance(), traceId, spanId, 0, "dispatch", "home.set", null);
+    }
+
+    @Test
+    public void spansAreKeptInOrder() {
+        final RingSpanExporter exporter = new RingSpanExporter(3);
+        assertEquals(Collections.emptyList(), exporter.getSpans());
+        final Span first = span(1, 1);
+        final Span second = span(1, 2);
+        exporter.export(first);
+        exporter.export(second);
+        assertEquals(Arrays.asList(first, second), exporter.getSpans());
+    }
+
+    @Test
+    public void oldestSpanIsForgotten() {
+        final RingSpanExporter exporter = new RingSpanExporter(3);
+        final Span[] spans = new Span[7];
+        for (int i = 0; i < spans.length; i++) {
+            spans[i] = span(1, i);
+            exporter.export(spans[i]);
+            final int from = Math.max(0, i - 2);
+            assertEquals(Arrays.asList(spans).subList(from, i + 1), exporter.getSpans());
+        }
+    }
+
+    @Test
+    public void spansOfATrace() {
+        final RingSpanExporter exporter = new RingSpanExporter(4);
+        final Span first = span(1, 1);
+        final Span other = span(2, 2);
+        final Span second = span(1, 3);
+        exporter.export(first);
+        exporter.export(other);
+        exporter.export(second);
+        assertEquals(Arrays.asList(first, second), exporter.getTrace(1));
+        assertEquals(Collections.singletonList(other), exporter.getTrace(2));
+        assertEquals(Collections.emptyList(), exporter.getTrace(3));
+    }
+
+    @Test
+    public void clearForgetsAllSpans() {
+        final RingSpanExporter exporter = new RingSpanExporter(2);
+        exporter.export(span(1, 1));
+        exporter.export(span(1, 2));
+        exporter.export(span(1, 3));
+        exporter.clear();
+        assertEquals(Collections.emptyList(), exporter.getSpans());
+        final Span span = span(1, 4);
+        exporter.export(span);
+        assertEquals(Collections.singletonList(span), exporter.getSpans());
+    }
+
+    @Test
+    public void capacityMustBePositive() {
+        try {
+            new RingSpanExporter(0);
+            fail("A ring without room was created");
+        } catch (final IllegalArgumentException expected) {
+            //there is no room for a span
+        }
+    }
+}
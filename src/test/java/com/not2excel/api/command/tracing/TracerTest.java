@@ -0,0 +1,254 @@
+package com.not2excel.api.command.tracing;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Which span is current, which span a span belongs to, also on other threads, and which commands are sampled
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class TracerTest {
+
+    private static final String COMMAND = "home.set";
+
+    private final Tracer tracer = Tracer.getInstance();
+    private final RingSpanExporter exporter = new RingSpanExporter();
+
+    @Before
+    public void setUp() {
+        this.tracer.setExporter(this.exporter);
+        this.tracer.setSampleEvery(1);
+    }
+
+    @After
+    public void tearDown() {
+        this.tracer.setExporter(null);
+        this.tracer.setSampleEvery(1);
+        this.tracer.setSampleEvery(COMMAND, -1);
+        //a failed test must not leave a span current for the next one
+        Span span;
+        while ((span = this.tracer.current()) != null && span.getDuration() < 0) {
+            span.end();
+        }
+    }
+
+    @Test
+    public void spansAreStartedInTheCurrentSpan() {
+        final Span dispatch = this.tracer.startDispatch(COMMAND);
+        assertNotNull(dispatch);
+        assertEquals(0, dispatch.getParentId());
+        assertSame(dispatch, this.tracer.current());
+
+        final Span handler = this.tracer.start("handler");
+        assertEquals(dispatch.getTraceId(), handler.getTraceId());
+        assertEquals(dispatch.getSpanId(), handler.getParentId());
+        assertEquals(COMMAND, handler.getCommand());
+        assertSame(handler, this.tracer.current());
+
+        handler.end();
+        assertSame(dispatch, this.tracer.current());
+        dispatch.end();
+        assertNull(this.tracer.current());
+        assertNull(this.tracer.start("handler"));
+
+        final List<Span> spans = this.exporter.getSpans();
+        assertEquals(2, spans.size());
+        assertSame(handler, spans.get(0));
+        assertSame(dispatch, spans.get(1));
+    }
+
+    @Test
+    public void endingTwiceExportsOnce() {
+        final Span dispatch = this.tracer.startDispatch(COMMAND);
+        dispatch.end();
+        final long duration = dispatch.getDuration();
+        dispatch.end();
+        assertEquals(duration, dispatch.getDuration());
+        assertEquals(1, this.exporter.getSpans().size());
+    }
+
+    @Test
+    public void spanThatEndedFirstIsNotCurrentAgain() {
+        final Span dispatch = this.tracer.startDispatch(COMMAND);
+        final Span handler = this.tracer.start("handler");
+        dispatch.end();
+        //the handler is still running
+        assertSame(handler, this.tracer.current());
+        handler.end();
+        assertNull(this.tracer.current());
+    }
+
+    @Test
+    public void spansOfAnotherTraceAreRestored() {
+        final Span outer = this.tracer.startDispatch("outer");
+        final Span inner = this.tracer.startDispatch(COMMAND);
+        assertNotEquals(outer.getTraceId(), inner.getTraceId());
+        inner.end();
+        assertSame(outer, this.tracer.current());
+        outer.end();
+        assertNull(this.tracer.current());
+    }
+
+    @Test
+    public void wrappedTaskIsASpanOfTheTrace() throws InterruptedException {
+        final Span dispatch = this.tracer.startDispatch(COMMAND);
+        final AtomicReference<Span> during = new AtomicReference<>();
+        final AtomicReference<Span> after = new AtomicReference<>(dispatch);
+        final Runnable task = this.tracer.wrap(() -> during.set(this.tracer.current()), "async");
+        final Thread thread = new Thread(() -> {
+            task.run();
+            after.set(this.tracer.current());
+        }, "Async thread");
+        thread.start();
+        thread.join();
+        dispatch.end();
+
+        final Span span = during.get();
+        assertNotNull(span);
+        assertEquals("async", span.getName());
+        assertEquals(dispatch.getTraceId(), span.getTraceId());
+        assertEquals(dispatch.getSpanId(), span.getParentId());
+        assertEquals("Async thread", span.getThread());
+        assertEquals("OK", span.getStatus());
+        assertTrue(span.getDuration() >= 0);
+        assertNull(after.get());
+        assertEquals(2, this.exporter.getTrace(dispatch.getTraceId()).size());
+    }
+
+    @Test
+    public void wrappedTaskOnTheSameThreadRestoresTheCurrentSpan() {
+        final Span dispatch = this.tracer.startDispatch(COMMAND);
+        final Runnable task = this.tracer.wrap(() -> assertNotEquals(dispatch, this.tracer.current()), "later");
+        task.run();
+        assertSame(dispatch, this.tracer.current());
+        dispatch.end();
+    }
+
+    @Test
+    public void failingWrappedTaskEndsItsSpan() {
+        final Span dispatch = this.tracer.startDispatch(COMMAND);
+        final Runnable task = this.tracer.wrap(() -> {
+            throw new IllegalStateException("broken");
+        }, "async");
+        dispatch.end();
+        try {
+            task.run();
+            fail("The exception of the task was swallowed");
+        } catch (final IllegalStateException expected) {
+            //thrown by the task
+        }
+        assertNull(this.tracer.current());
+        final Span span = this.exporter.getSpans().get(1);
+        assertEquals("async", span.getName());
+        assertEquals("java.lang.IllegalStateException: broken", span.getStatus());
+    }
+
+    @Test
+    public void taskIsNotWrappedWithoutACurrentSpan() {
+        final Runnable task = () -> { };
+        assertSame(task, this.tracer.wrap(task, "async"));
+        final Span dispatch = this.tracer.startDispatch(COMMAND);
+        this.tracer.setExporter(null);
+        assertSame(task, this.tracer.wrap(task, "async"));
+        this.tracer.setExporter(this.exporter);
+        dispatch.end();
+    }
+
+    @Test
+    public void wrappedExecutorCarriesTheSpanOfTheCaller() throws InterruptedException {
+        final ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            final AtomicReference<Span> traced = new AtomicReference<>();
+            final AtomicReference<Span> untraced = new AtomicReference<>();
+            final Span dispatch = this.tracer.startDispatch(COMMAND);
+            this.tracer.wrap(pool).execute(() -> traced.set(this.tracer.current()));
+            dispatch.end();
+            this.tracer.wrap(pool).execute(() -> untraced.set(this.tracer.current()));
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+            assertNotNull(traced.get());
+            assertEquals(dispatch.getTraceId(), traced.get().getTraceId());
+            assertEquals(dispatch.getSpanId(), traced.get().getParentId());
+            assertNull(untraced.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void commandsAreNotTracedWithoutAnExporter() {
+        this.tracer.setExporter(null);
+        assertNull(this.tracer.startDispatch(COMMAND));
+        assertNull(this.tracer.current());
+    }
+
+    @Test
+    public void commandWithASampleRateOfZeroIsNeverTraced() {
+        this.tracer.setSampleEvery(COMMAND, 0);
+        for (int i = 0; i < 100; i++) {
+            assertNull(this.tracer.startDispatch(COMMAND));
+        }
+        final Span other = this.tracer.startDispatch("home.delete");
+        assertNotNull(other);
+        other.end();
+
+        //back to the default rate
+        this.tracer.setSampleEvery(COMMAND, -1);
+        final Span dispatch = this.tracer.startDispatch(COMMAND);
+        assertNotNull(dispatch);
+        dispatch.end();
+    }
+
+    @Test
+    public void commandWithItsOwnSampleRateIsTracedWhenOthersAreNot() {
+        this.tracer.setSampleEvery(0);
+        this.tracer.setSampleEvery(COMMAND, 1);
+        assertNull(this.tracer.startDispatch("home.delete"));
+        final Span dispatch = this.tracer.startDispatch(COMMAND);
+        assertNotNull(dispatch);
+        dispatch.end();
+    }
+
+    @Test
+    public void sampleRateOfOneInManyTracesSome() {
+        this.tracer.setSampleEvery(4);
+        int traced = 0;
+        for (int i = 0; i < 4000; i++) {
+            final Span dispatch = this.tracer.startDispatch(COMMAND);
+            if (dispatch != null) {
+                traced++;
+                dispatch.end();
+            }
+        }
+        //a thousand on average, 200 off is more than 7 standard deviations (27)
+        assertTrue(String.valueOf(traced), traced > 800 && traced < 1200);
+    }
+
+    @Test
+    public void negativeDefaultSampleRateIsRejected() {
+        try {
+            this.tracer.setSampleEvery(-1);
+            fail("A negative sample rate was accepted");
+        } catch (final IllegalArgumentException expected) {
+            assertEquals(1, this.tracer.getSampleEvery());
+        }
+    }
+}
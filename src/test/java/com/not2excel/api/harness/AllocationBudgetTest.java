@@ -0,0 +1,193 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.command.objects.AbstractCommand;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures how many bytes dispatching a command and completing one allocates, from {@link AbstractCommand} through the
+ * grammar and the handler, and fails when a scenario allocates more than its budget in {@value #BUDGETS}. Lower a
+ * budget when the allocations of a scenario are improved, so they cannot come back unnoticed.
+ * <p>
+ * The operations are measured after the JIT compiled them, the least of a few samples counts so a cache that expires
+ * or a histogram that grows during one sample does not fail the test. What is allocated depends on the JVM, so the
+ * test fails on any other JVM than the one the budgets were measured on and with an agent like a coverage tool. Run
+ * with {@code -Dharness.allocation.skip=true} to skip it there instead.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class AllocationBudgetTest {
+
+    private static final String BUDGETS = "allocation-budgets.properties";
+    /**
+     * Run with {@code -Dharness.allocation.skip=true} to skip the test, e.g. on a JVM the budgets were not measured on
+     */
+    private static final String SKIP_PROPERTY = "harness.allocation.skip";
+    private static final String SKIP_HINT = ", run with -D" + SKIP_PROPERTY + "=true to skip the test";
+    private static final String VENDOR_KEY = "jvm.vendor";
+    private static final String VERSION_KEY = "jvm.version";
+    private static final int WARMUP = 20000;
+    private static final int OPERATIONS = 5000;
+    private static final int SAMPLES = 5;
+
+    private static com.sun.management.ThreadMXBean threadBean;
+    private static Properties budgets;
+
+    private HeadlessServer server;
+    private CommandManager manager;
+    private AbstractCommand command;
+    private PlainSender sender;
+
+    @BeforeClass
+    public static void loadBudgets() throws IOException {
+        Assume.assumeTrue("Skipped with -D" + SKIP_PROPERTY + "=true", !Boolean.getBoolean(SKIP_PROPERTY));
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assertTrue("The allocations of a thread cannot be measured on this JVM" + SKIP_HINT,
+                   bean instanceof com.sun.management.ThreadMXBean &&
+                   ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported());
+
+        budgets = new Properties();
+        try (InputStream in = AllocationBudgetTest.class.getClassLoader().getResourceAsStream(BUDGETS)) {
+            assertNotNull("Missing " + BUDGETS, in);
+            budgets.load(in);
+        }
+        final String vendor = System.getProperty("java.vm.vendor");
+        final String version = System.getProperty("java.specification.version");
+        assertTrue("The budgets in " + BUDGETS + " were measured on " + budgets.getProperty(VENDOR_KEY) + ' ' +
+                   budgets.getProperty(VERSION_KEY) + ", not " + vendor + ' ' + version +
+                   ". Measure them on this JVM" + SKIP_HINT,
+                   vendor.equals(budgets.getProperty(VENDOR_KEY)) && version.equals(budgets.getProperty(VERSION_KEY)));
+        for (final String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            assertFalse("An agent changes what is allocated: " + argument + SKIP_HINT,
+                        argument.startsWith("-javaagent") || argument.startsWith("-agent"));
+        }
+
+        threadBean = (com.sun.management.ThreadMXBean) bean;
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Before
+    public void setUp() {
+        LevelLogger.getInstance().setLevel(LogType.WARNING);
+        this.server = HeadlessServer.getInstance();
+        this.server.reset();
+        this.manager = new CommandManager(this.server.createPlugin("Allocation"));
+        this.server.registerCommands(this.manager, AllocationCommands.class);
+        //the governor answers a repeated request without completing it
+        this.manager.getCompletionGovernor().setEnabled(false);
+        this.server.addPlayer("Alice");
+        this.command = (AbstractCommand) this.server.getCommandMap().getCommand("alloc");
+        this.sender = new PlainSender(this.server, "measured");
+    }
+
+    @After
+    public void tearDown() {
+        this.manager.disable();
+    }
+
+    @Test
+    public void dispatchWithoutArguments() {
+        assertDispatchWithinBudget("dispatch.ping", "ping");
+    }
+
+    @Test
+    public void dispatchWithTypedArguments() {
+        assertDispatchWithinBudget("dispatch.typed", "give", "Alice", "5");
+    }
+
+    @Test
+    public void dispatchWithFlags() {
+        assertDispatchWithinBudget("dispatch.flags", "reset", "-f", "all", "-v");
+    }
+
+    @Test
+    public void dispatchThreeLevelsDeep() {
+        assertDispatchWithinBudget("dispatch.deep", "deep", "er", "est");
+    }
+
+    @Test
+    public void dispatchWithoutPermission() {
+        final String[] args = {"admin"};
+        final int messages = this.sender.getMessages();
+        assertWithinBudget("dispatch.denied", () -> this.command.execute(this.sender, "alloc", args));
+        assertTrue("The sender was not told it is denied", this.sender.getMessages() > messages);
+    }
+
+    @Test
+    public void completeSubCommands() {
+        assertCompletionWithinBudget("complete.subcommands", "g");
+    }
+
+    @Test
+    public void completeSubCommandsUncached() {
+        this.manager.getCompletionCache().setEnabled(false);
+        assertCompletionWithinBudget("complete.subcommands.uncached", "g");
+    }
+
+    @Test
+    public void completePlayerNames() {
+        assertCompletionWithinBudget("complete.players", "give", "Al");
+    }
+
+    @Test
+    public void completeThreeLevelsDeep() {
+        assertCompletionWithinBudget("complete.deep", "deep", "er", "");
+    }
+
+    private void assertDispatchWithinBudget(final String scenario, final String... args) {
+        final int handled = AllocationCommands.HANDLED.get();
+        assertWithinBudget(scenario, () -> this.command.execute(this.sender, "alloc", args));
+        assertTrue(scenario + " did not reach its handler, " + this.sender.getLastMessage(),
+                   AllocationCommands.HANDLED.get() > handled);
+    }
+
+    private void assertCompletionWithinBudget(final String scenario, final String... args) {
+        assertNotNull(scenario + " completed nothing", this.command.tabComplete(this.sender, "alloc", args));
+        assertWithinBudget(scenario, () -> this.command.tabComplete(this.sender, "alloc", args));
+    }
+
+    private void assertWithinBudget(final String scenario, final Supplier<?> operation) {
+        final String budget = budgets.getProperty(scenario);
+        assertNotNull("No budget for " + scenario + " in " + BUDGETS, budget);
+        final long allowed = Long.parseLong(budget.trim());
+        final long allocated = measure(operation);
+        assertTrue(scenario + " allocates " + allocated + " bytes per operation, the budget is " + allowed,
+                   allocated <= allowed);
+    }
+
+    /**
+     * @return The least bytes the current thread allocated per call of {@code operation} in a sample
+     */
+    private static long measure(final Supplier<?> operation) {
+        final long thread = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP; i++) {
+            operation.get();
+        }
+        long least = Long.MAX_VALUE;
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            final long before = threadBean.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < OPERATIONS; i++) {
+                operation.get();
+            }
+            least = Math.min(least, (threadBean.getThreadAllocatedBytes(thread) - before) / OPERATIONS);
+        }
+        return least;
+    }
+}
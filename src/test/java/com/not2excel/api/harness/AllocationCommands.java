@@ -0,0 +1,79 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.CommandListener;
+import com.not2excel.api.command.Flag;
+import com.not2excel.api.command.objects.CommandInfo;
+import org.bukkit.entity.Player;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The commands {@link AllocationBudgetTest} dispatches. The handlers only count, so what is measured is what the API
+ * allocates to get there.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public final class AllocationCommands implements CommandListener {
+
+    static final String ADMIN_PERMISSION = "alloc.admin";
+    static final AtomicInteger HANDLED = new AtomicInteger();
+
+    private AllocationCommands() {
+    }
+
+    @CommandHandler(command = "alloc",
+                    description = "Commands to measure the allocations of")
+    public static void alloc(final CommandInfo info) {
+        HANDLED.incrementAndGet();
+    }
+
+    @CommandHandler(command = "alloc.ping",
+                    description = "No arguments")
+    public static void ping(final CommandInfo info) {
+        HANDLED.incrementAndGet();
+    }
+
+    @CommandHandler(command = "alloc.give",
+                    usage = "<player> <amount>",
+                    description = "Typed arguments")
+    public static void give(final CommandInfo info, final Player target, final int amount) {
+        HANDLED.addAndGet(amount);
+    }
+
+    @CommandHandler(command = "alloc.reset",
+                    usage = "[what]",
+                    flags = {@Flag(flag = 'f', usage = "Force it"), @Flag(flag = 'v', usage = "Be verbose")},
+                    description = "Flags")
+    public static void reset(final CommandInfo info) {
+        if (info.hasFlag('f')) {
+            HANDLED.incrementAndGet();
+        }
+    }
+
+    @CommandHandler(command = "alloc.deep",
+                    description = "The first level")
+    public static void deep(final CommandInfo info) {
+        HANDLED.incrementAndGet();
+    }
+
+    @CommandHandler(command = "alloc.deep.er",
+                    description = "The second level")
+    public static void deeper(final CommandInfo info) {
+        HANDLED.incrementAndGet();
+    }
+
+    @CommandHandler(command = "alloc.deep.er.est",
+                    description = "A sub command three levels deep")
+    public static void deepest(final CommandInfo info) {
+        HANDLED.incrementAndGet();
+    }
+
+    @CommandHandler(command = "alloc.admin",
+                    permission = ADMIN_PERMISSION,
+                    description = "Denied to the sender")
+    public static void admin(final CommandInfo info) {
+        HANDLED.incrementAndGet();
+    }
+}
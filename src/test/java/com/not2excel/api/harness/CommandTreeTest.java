@@ -0,0 +1,174 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.CommandListener;
+import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.command.objects.ChildCommand;
+import com.not2excel.api.command.objects.CommandInfo;
+import com.not2excel.api.command.objects.DefaultChildCommand;
+import com.not2excel.api.command.objects.ParentCommand;
+import com.not2excel.api.command.objects.RegisteredCommand;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Where the annotated methods of a plugin end up in the tree of its commands
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class CommandTreeTest {
+
+    private static final String PERMISSION = "tree.use";
+
+    private HeadlessServer server;
+    private CommandManager manager;
+    private RegisteredCommand registered;
+
+    @Before
+    public void setUp() {
+        LevelLogger.getInstance().setLevel(LogType.WARNING);
+        this.server = HeadlessServer.getInstance();
+        this.server.reset();
+        this.manager = new CommandManager(this.server.createPlugin("Tree"));
+        this.server.registerCommands(this.manager, TreeCommands.class);
+        this.registered = this.manager.getRegisteredCommands().get("tree");
+    }
+
+    @After
+    public void tearDown() {
+        this.manager.disable();
+    }
+
+    private static ChildCommand child(final ParentCommand parent, final String... path) {
+        ParentCommand node = parent;
+        for (final String name : path) {
+            assertTrue(name + " is missing", node.hasChild(name));
+            node = node.getChild(name);
+        }
+        return (ChildCommand) node;
+    }
+
+    private static void assertChildren(final ParentCommand node, final String... names) {
+        assertEquals(new HashSet<>(Arrays.asList(names)), node.getAllChildCommands().keySet());
+    }
+
+    @Test
+    public void subCommandsAreChildrenOfTheirParent() {
+        assertChildren(this.registered, "a", "x", "gen");
+        assertChildren(child(this.registered, "a"), "b", "m");
+        assertChildren(child(this.registered, "a", "b"), "c", "d", "e");
+        assertChildren(child(this.registered, "a", "b", "c"));
+        assertEquals("tree.a.b.c", child(this.registered, "a", "b", "c").getCommandHandler().command());
+    }
+
+    @Test
+    public void aliasIsAChildOfTheParent() {
+        final ChildCommand alias = child(this.registered, "a", "b", "e");
+        assertTrue(alias.isAlias());
+        assertSame(child(this.registered, "a", "b", "d").getCommandHandler(), alias.getCommandHandler());
+        assertChildren(child(this.registered, "a", "b", "d"));
+    }
+
+    @Test
+    public void subCommandNamedLikeItsParent() {
+        assertChildren(child(this.registered, "x"), "x");
+        assertChildren(child(this.registered, "x", "x"), "x");
+        assertChildren(child(this.registered, "x", "x", "x"));
+    }
+
+    @Test
+    public void missingParentsAreGenerated() {
+        final ChildCommand generated = child(this.registered, "gen");
+        assertTrue(generated instanceof DefaultChildCommand);
+        assertEquals("", generated.getPermission());
+        assertChildren(generated, "leaf");
+
+        final ChildCommand deep = child(this.registered, "a", "m");
+        assertTrue(deep instanceof DefaultChildCommand);
+        assertEquals(PERMISSION, deep.getPermission());
+        assertChildren(deep, "n");
+        assertChildren(child(deep, "n"));
+        assertFalse(child(deep, "n") instanceof DefaultChildCommand);
+    }
+
+    @Test
+    public void deepSubCommandIsDispatched() {
+        final SimulatedPlayer player = this.server.addPlayer("Sam", PERMISSION);
+        this.server.getCommandMap().dispatch(player.asPlayer(), "tree a m n");
+        assertEquals("tree.a.m.n", player.getLastMessage());
+        this.server.getCommandMap().dispatch(player.asPlayer(), "tree x x x");
+        assertEquals("tree.x.x.x", player.getLastMessage());
+        assertEquals(Arrays.asList("help", "leaf"),
+                     this.server.getCommandMap().tabComplete(player.asPlayer(), "tree gen "));
+    }
+
+    public static final class TreeCommands implements CommandListener {
+
+        private TreeCommands() {
+        }
+
+        @CommandHandler(command = "tree")
+        public static void tree(final CommandInfo info) {
+            info.sendMessage("tree");
+        }
+
+        @CommandHandler(command = "tree.a",
+                        permission = PERMISSION)
+        public static void a(final CommandInfo info) {
+            info.sendMessage("tree.a");
+        }
+
+        @CommandHandler(command = "tree.a.b")
+        public static void b(final CommandInfo info) {
+            info.sendMessage("tree.a.b");
+        }
+
+        @CommandHandler(command = "tree.a.b.c")
+        public static void c(final CommandInfo info) {
+            info.sendMessage("tree.a.b.c");
+        }
+
+        @CommandHandler(command = "tree.a.b.d",
+                        aliases = "e")
+        public static void d(final CommandInfo info) {
+            info.sendMessage("tree.a.b.d");
+        }
+
+        @CommandHandler(command = "tree.a.m.n")
+        public static void n(final CommandInfo info) {
+            info.sendMessage("tree.a.m.n");
+        }
+
+        @CommandHandler(command = "tree.x")
+        public static void x(final CommandInfo info) {
+            info.sendMessage("tree.x");
+        }
+
+        @CommandHandler(command = "tree.x.x")
+        public static void xx(final CommandInfo info) {
+            info.sendMessage("tree.x.x");
+        }
+
+        @CommandHandler(command = "tree.x.x.x")
+        public static void xxx(final CommandInfo info) {
+            info.sendMessage("tree.x.x.x");
+        }
+
+        @CommandHandler(command = "tree.gen.leaf")
+        public static void leaf(final CommandInfo info) {
+            info.sendMessage("tree.gen.leaf");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.command.completion.CompletionGovernor;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import org.bukkit.command.CommandMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * When the {@link CompletionGovernor} answers a request with the result of the previous one
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class CompletionGovernorTest {
+
+    private HeadlessServer server;
+    private CommandManager manager;
+    private CompletionGovernor governor;
+    private CommandMap commandMap;
+    private SimulatedPlayer player;
+
+    @Before
+    public void setUp() {
+        LevelLogger.getInstance().setLevel(LogType.WARNING);
+        this.server = HeadlessServer.getInstance();
+        this.server.reset();
+        this.manager = new CommandManager(this.server.createPlugin("Governor"));
+        this.server.registerCommands(this.manager, HarnessCommands.class);
+        this.manager.getCompletionCache().setEnabled(false);
+        this.governor = this.manager.getCompletionGovernor();
+        this.commandMap = this.server.getCommandMap();
+        this.player = this.server.addPlayer("Frank");
+    }
+
+    @After
+    public void tearDown() {
+        this.manager.disable();
+    }
+
+    private void complete() {
+        this.commandMap.tabComplete(this.player.asPlayer(), "harness ");
+    }
+
+    @Test
+    public void repeatedRequestIsCoalesced() {
+        complete();
+        complete();
+        assertEquals(1, this.governor.getComputedCount());
+        assertEquals(1, this.governor.getCoalescedCount());
+    }
+
+    @Test
+    public void coalescedResultExpires() throws InterruptedException {
+        this.governor.setCoalesceTime(20);
+        complete();
+        Thread.sleep(40);
+        complete();
+        assertEquals(2, this.governor.getComputedCount());
+        assertEquals(0, this.governor.getCoalescedCount());
+    }
+
+    @Test
+    public void changedProfileIsNotCoalesced() {
+        complete();
+        this.player.addPermissions(HarnessCommands.WARP_PERMISSION);
+        this.manager.getPermissionProfiles().invalidate(this.player.asPlayer());
+        complete();
+        assertEquals(2, this.governor.getComputedCount());
+        assertEquals(0, this.governor.getCoalescedCount());
+    }
+
+    @Test
+    public void changedTreeForgetsSenders() {
+        complete();
+        assertEquals(1, this.governor.getTrackedSenderCount());
+        this.server.registerCommands(this.manager, SuggestionTest.StrictCommands.class);
+        assertEquals(0, this.governor.getTrackedSenderCount());
+    }
+
+    @Test
+    public void leavingPlayerIsForgotten() {
+        complete();
+        this.server.removePlayer("Frank");
+        assertEquals(0, this.governor.getTrackedSenderCount());
+    }
+}
@@ -0,0 +1,339 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.CommandListener;
+import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.command.completion.PermissionProfiles;
+import com.not2excel.api.command.objects.ChildCommand;
+import com.not2excel.api.command.objects.DefaultChildCommand;
+import com.not2excel.api.command.objects.ParentCommand;
+import com.not2excel.api.command.objects.RegisteredCommand;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import com.not2excel.api.reflection.ClassEnumerator;
+import org.bukkit.command.CommandMap;
+import org.bukkit.command.CommandSender;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Calls the API from many threads at once, like the async chat and tab completion threads of a server do. The races
+ * on single fields are run the way jcstress runs them: every round a fresh object is made and all actors are released
+ * on it together, then the outcome is checked against the ones the memory model forbids.
+ * <p>
+ * Commands cannot be unregistered yet, when they can that belongs in {@link #registrationDispatchAndCompletionRace()}.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class ConcurrencyStressTest {
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int ROUNDS = 2000;
+    private static final String[] BATCHES = {"b1", "b2", "b3", "b4"};
+    private static final List<Class<? extends CommandListener>> BATCH_LISTENERS = new ArrayList<>();
+
+    static {
+        BATCH_LISTENERS.add(StressCommands.Batch1.class);
+        BATCH_LISTENERS.add(StressCommands.Batch2.class);
+        BATCH_LISTENERS.add(StressCommands.Batch3.class);
+        BATCH_LISTENERS.add(StressCommands.Batch4.class);
+    }
+
+    private HeadlessServer server;
+    private CommandManager manager;
+    private List<SimulatedPlayer> players;
+
+    /**
+     * Run every actor on its own thread, {@code rounds} times. A round starts when all actors finished the last one
+     * and {@code setup} prepared the next one.
+     *
+     * @param rounds
+     *     How many times to run the actors
+     * @param setup
+     *     Called with the number of the round before it starts, no actor runs meanwhile
+     * @param actors
+     *     The code to race, called with the number of the round
+     */
+    private static void race(final int rounds, final IntConsumer setup, final Actor... actors)
+        throws InterruptedException {
+        final AtomicInteger round = new AtomicInteger();
+        final CyclicBarrier barrier = new CyclicBarrier(actors.length, () -> setup.accept(round.getAndIncrement()));
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread[] threads = new Thread[actors.length];
+        for (int i = 0; i < actors.length; i++) {
+            final Actor actor = actors[i];
+            threads[i] = new Thread(() -> {
+                try {
+                    for (int r = 0; r < rounds && failure.get() == null; r++) {
+                        barrier.await(30, TimeUnit.SECONDS);
+                        actor.act(r);
+                    }
+                } catch (final Throwable e) {
+                    //the first failure is the cause, the others only see the broken barrier
+                    failure.compareAndSet(null, e);
+                    barrier.reset();
+                }
+            }, "Stress-" + i);
+            threads[i].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError("An actor failed", failure.get());
+        }
+    }
+
+    @Before
+    public void setUp() {
+        LevelLogger.getInstance().setLevel(LogType.WARNING);
+        this.server = HeadlessServer.getInstance();
+        this.server.reset();
+        this.manager = new CommandManager(this.server.createPlugin("Stress"));
+        this.server.registerCommands(this.manager, StressCommands.class);
+        this.players = this.server.addPlayers(THREADS, "stress");
+        for (int i = 0; i < this.players.size(); i += 2) {
+            this.players.get(i).addPermissions(StressCommands.SECRET_PERMISSION);
+        }
+        StressCommands.PINGS.set(0);
+        StressCommands.BATCHES.set(0);
+    }
+
+    @After
+    public void tearDown() {
+        this.manager.disable();
+    }
+
+    @Test
+    public void registrationDispatchAndCompletionRace() throws InterruptedException {
+        final CommandMap commandMap = this.server.getCommandMap();
+        final RegisteredCommand stress = this.manager.getRegisteredCommands().get("stress");
+        final AtomicInteger pings = new AtomicInteger();
+        final AtomicInteger batches = new AtomicInteger();
+
+        final Actor[] actors = new Actor[THREADS];
+        for (int i = 0; i < actors.length; i++) {
+            final int actor = i;
+            if (actor < 2) {
+                actors[i] = round -> {
+                    for (int n = 0; n < ROUNDS / 10; n++) {
+                        this.server.registerCommands(this.manager,
+                                                     BATCH_LISTENERS.get((n + actor) % BATCH_LISTENERS.size()));
+                    }
+                };
+                continue;
+            }
+            final CommandSender sender = this.players.get(actor).asPlayer();
+            actors[i] = round -> {
+                for (int n = 0; n < ROUNDS; n++) {
+                    final String batch = BATCHES[n % BATCHES.length];
+                    switch ((n + actor) % 4) {
+                        case 0:
+                            assertTrue(commandMap.dispatch(sender, "stress ping"));
+                            pings.incrementAndGet();
+                            break;
+                        case 1:
+                            //a sub command that can be found must have its handler and be in the grammar
+                            if (stress.hasChild(batch)) {
+                                assertTrue(commandMap.dispatch(sender, "stress " + batch));
+                                batches.incrementAndGet();
+                            }
+                            else {
+                                assertTrue(commandMap.dispatch(sender, "stress echo " + batch));
+                            }
+                            break;
+                        case 2:
+                            assertNotNull(commandMap.tabComplete(sender, "stress b"));
+                            assertNotNull(commandMap.tabComplete(sender, "stress " + batch + ' '));
+                            break;
+                        default:
+                            assertNotNull(commandMap.tabComplete(sender, "stress "));
+                            assertTrue(commandMap.dispatch(sender, "stress secret"));
+                            break;
+                    }
+                }
+            };
+        }
+        race(1, round -> { }, actors);
+
+        assertEquals(pings.get(), StressCommands.PINGS.get());
+        assertEquals(batches.get(), StressCommands.BATCHES.get());
+        assertEquals(0, this.server.getVirtualScheduler().getFailureCount());
+        final Map<String, ChildCommand> children = stress.getNoAliasesChildCommands();
+        for (int i = 0; i < BATCHES.length; i++) {
+            assertNotNull(stress.getChild(BATCHES[i]).getQueuedCommand());
+            assertTrue(children.containsKey(BATCHES[i]));
+            assertFalse(children.containsKey("batch" + (i + 1)));
+            assertTrue(stress.hasChild("batch" + (i + 1)));
+        }
+    }
+
+    @Test
+    public void childMapIsNeverStale() throws InterruptedException {
+        final AtomicReference<ParentCommand> parent = new AtomicReference<>();
+        final AtomicReference<ChildCommand> child = new AtomicReference<>();
+        final Actor[] actors = new Actor[THREADS];
+        actors[0] = round -> parent.get().addChild("c", child.get());
+        for (int i = 1; i < actors.length; i++) {
+            actors[i] = round -> {
+                final boolean added = parent.get().hasChild("c");
+                final Map<String, ChildCommand> children = parent.get().getNoAliasesChildCommands();
+                assertFalse(children.containsKey("alias"));
+                if (added && children.get("c") != child.get()) {
+                    fail("Round " + round + ": the child was added but the cached map does not have it");
+                }
+            };
+        }
+        race(ROUNDS, round -> {
+            final ParentCommand fresh = new ParentCommand();
+            fresh.addChild("alias", new ChildCommand(null, true));
+            fresh.addChild("a", new DefaultChildCommand("a"));
+            //the cache is filled before the race, adding the child must replace it
+            fresh.getNoAliasesChildCommands();
+            parent.set(fresh);
+            child.set(new DefaultChildCommand("c"));
+        }, actors);
+    }
+
+    @Test
+    public void grammarIsNeverStale() throws InterruptedException {
+        final CommandSender sender = this.players.get(0).asPlayer();
+        final AtomicReference<RegisteredCommand> registered = new AtomicReference<>();
+        final AtomicReference<ChildCommand> child = new AtomicReference<>();
+        final AtomicBoolean invalidated = new AtomicBoolean();
+        final Actor[] actors = new Actor[THREADS];
+        actors[0] = round -> {
+            registered.get().addChild("c", child.get());
+            registered.get().invalidateGrammar();
+            invalidated.set(true);
+        };
+        final String[] args = {"c"};
+        for (int i = 1; i < actors.length; i++) {
+            actors[i] = round -> {
+                final boolean after = invalidated.get();
+                final ParentCommand node = registered.get().getGrammar().match(sender, args).getNode();
+                if (after && node != child.get()) {
+                    fail("Round " + round + ": the grammar was invalidated but is still compiled without the child");
+                }
+            };
+        }
+        race(ROUNDS, round -> {
+            final RegisteredCommand fresh = new RegisteredCommand(null);
+            fresh.setCommand("race");
+            fresh.addChild("a", new DefaultChildCommand("a"));
+            fresh.getGrammar();
+            registered.set(fresh);
+            child.set(new DefaultChildCommand("c"));
+            invalidated.set(false);
+        }, actors);
+    }
+
+    @Test
+    public void addedChildIsInTheGrammar() throws InterruptedException {
+        final CommandSender sender = this.players.get(0).asPlayer();
+        final AtomicReference<RegisteredCommand> registered = new AtomicReference<>();
+        final AtomicReference<ChildCommand> child = new AtomicReference<>();
+        final Actor[] actors = new Actor[THREADS];
+        actors[0] = round -> registered.get().addChild("c", child.get());
+        final String[] args = {"c"};
+        for (int i = 1; i < actors.length; i++) {
+            actors[i] = round -> {
+                final boolean added = registered.get().hasChild("c");
+                final ParentCommand node = registered.get().getGrammar().match(sender, args).getNode();
+                if (added && node != child.get()) {
+                    fail("Round " + round + ": the child can be found but the grammar is compiled without it");
+                }
+            };
+        }
+        race(ROUNDS, round -> {
+            final RegisteredCommand fresh = new RegisteredCommand(null);
+            fresh.setCommand("race");
+            fresh.addChild("a", new DefaultChildCommand("a"));
+            fresh.getGrammar();
+            registered.set(fresh);
+            child.set(new DefaultChildCommand("c"));
+        }, actors);
+    }
+
+    @Test
+    public void singletonsArePublishedOnce() throws Exception {
+        final Field instance = ClassEnumerator.class.getDeclaredField("instance");
+        instance.setAccessible(true);
+        final AtomicReference<ClassEnumerator> first = new AtomicReference<>();
+        final Actor[] actors = new Actor[THREADS];
+        for (int i = 0; i < actors.length; i++) {
+            actors[i] = round -> {
+                final ClassEnumerator enumerator = ClassEnumerator.getInstance();
+                assertNotNull(enumerator);
+                first.compareAndSet(null, enumerator);
+                assertSame("Round " + round + ": two enumerators were made", first.get(), enumerator);
+                assertSame(this.manager, CommandManager.getInstance());
+            };
+        }
+        race(ROUNDS / 4, round -> {
+            try {
+                instance.set(null, null);
+            } catch (final IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+            first.set(null);
+        }, actors);
+    }
+
+    @Test
+    public void profileIdsAreNeverShared() throws InterruptedException {
+        final PermissionProfiles profiles = this.manager.getPermissionProfiles();
+        final Map<Integer, Boolean> secretById = new ConcurrentHashMap<>();
+        final Actor[] actors = new Actor[THREADS];
+        actors[0] = round -> {
+            for (int n = 0; n < ROUNDS; n++) {
+                profiles.invalidateAll();
+                if (n % 100 == 0) {
+                    this.server.registerCommands(this.manager, BATCH_LISTENERS.get(n / 100 % BATCH_LISTENERS.size()));
+                }
+            }
+        };
+        for (int i = 1; i < actors.length; i++) {
+            final SimulatedPlayer player = this.players.get(i);
+            final boolean secret = player.hasPermission(StressCommands.SECRET_PERMISSION);
+            actors[i] = round -> {
+                for (int n = 0; n < ROUNDS; n++) {
+                    final int id = profiles.getProfileId(player.asPlayer());
+                    final Boolean other = secretById.putIfAbsent(id, secret);
+                    if (other != null && other != secret) {
+                        fail("Profile " + id + " was given to senders with different permissions");
+                    }
+                }
+            };
+        }
+        race(1, round -> { }, actors);
+        assertTrue(secretById.containsValue(true));
+        assertTrue(secretById.containsValue(false));
+    }
+
+    @FunctionalInterface
+    private interface Actor {
+
+        void act(int round) throws Exception;
+    }
+}
@@ -0,0 +1,170 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.CommandListener;
+import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.command.Flag;
+import com.not2excel.api.command.audit.AuditFilter;
+import com.not2excel.api.command.audit.AuditLog;
+import com.not2excel.api.command.audit.AuditOutcome;
+import com.not2excel.api.command.audit.AuditReader;
+import com.not2excel.api.command.audit.AuditRecord;
+import com.not2excel.api.command.handler.FailureTracker;
+import com.not2excel.api.command.objects.CommandInfo;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The outcome a dispatch is audited with is what happened in the handler, not only if the handler returned
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class DispatchOutcomeTest {
+
+    private HeadlessServer server;
+    private CommandManager manager;
+    private SimulatedPlayer player;
+    private File directory;
+    private AuditLog auditLog;
+
+    @Before
+    public void setUp() throws IOException {
+        //the crashing handler is logged as an error
+        LevelLogger.getInstance().setLevel(LogType.FATAL);
+        FailureTracker.getInstance().reset();
+        this.server = HeadlessServer.getInstance();
+        this.server.reset();
+        this.manager = new CommandManager(this.server.createPlugin("Outcomes"));
+        this.server.registerCommands(this.manager, OutcomeCommands.class);
+        this.player = this.server.addPlayer("Dana");
+        this.directory = Files.createTempDirectory("outcomes").toFile();
+        this.auditLog = new AuditLog(this.directory, AuditFilter.all());
+        this.manager.setAuditLog(this.auditLog);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        this.manager.disable();
+        this.auditLog.close();
+        FailureTracker.getInstance().reset();
+        final File[] files = this.directory.listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        this.directory.delete();
+        LevelLogger.getInstance().setLevel(LogType.WARNING);
+    }
+
+    @Test
+    public void handledCommandIsExecuted() throws InterruptedException {
+        assertEquals(AuditOutcome.EXECUTED, dispatch("outcome ok"));
+    }
+
+    @Test
+    public void crashingHandlerIsAnError() throws InterruptedException {
+        assertEquals(AuditOutcome.ERROR, dispatch("outcome crash"));
+    }
+
+    @Test
+    public void disabledCommandFails() throws InterruptedException {
+        FailureTracker.getInstance().setThreshold(1);
+        try {
+            assertEquals(AuditOutcome.ERROR, dispatch("outcome crash"));
+            assertEquals(AuditOutcome.FAILED, dispatch("outcome crash"));
+        } finally {
+            FailureTracker.getInstance().setThreshold(5);
+        }
+    }
+
+    @Test
+    public void missingArgumentFails() throws InterruptedException {
+        assertEquals(AuditOutcome.FAILED, dispatch("outcome give"));
+        assertEquals(AuditOutcome.FAILED, dispatch("outcome give many"));
+        assertEquals(AuditOutcome.EXECUTED, dispatch("outcome give 3"));
+    }
+
+    @Test
+    public void missingPermissionOfTheHandlerIsDenied() throws InterruptedException {
+        assertEquals(AuditOutcome.DENIED, dispatch("outcome -s"));
+        this.player.addPermissions(OutcomeCommands.SECRET_PERMISSION);
+        assertEquals(AuditOutcome.EXECUTED, dispatch("outcome -s"));
+    }
+
+    @Test
+    public void unknownSubCommandFails() throws InterruptedException {
+        assertEquals(AuditOutcome.FAILED, dispatch("outcome strict nothing"));
+        assertEquals(AuditOutcome.EXECUTED, dispatch("outcome strict"));
+    }
+
+    private AuditOutcome dispatch(final String commandLine) throws InterruptedException {
+        final int before = read().size();
+        this.server.getCommandMap().dispatch(this.player.asPlayer(), commandLine);
+        assertTrue(this.auditLog.flush(5000));
+        final List<AuditRecord> records = read();
+        assertEquals(before + 1, records.size());
+        return records.get(records.size() - 1).getOutcome();
+    }
+
+    private List<AuditRecord> read() {
+        final List<AuditRecord> records = new ArrayList<>();
+        try (AuditReader reader = new AuditReader(this.directory)) {
+            while (reader.hasNext()) {
+                records.add(reader.next());
+            }
+        }
+        return records;
+    }
+
+    public static final class OutcomeCommands implements CommandListener {
+
+        static final String SECRET_PERMISSION = "outcome.secret";
+
+        private OutcomeCommands() {
+        }
+
+        @CommandHandler(command = "outcome",
+                        flags = @Flag(flag = 's',
+                                      usage = "Secretly",
+                                      permission = SECRET_PERMISSION))
+        public static void outcome(final CommandInfo info) {
+        }
+
+        @CommandHandler(command = "outcome.ok")
+        public static void ok(final CommandInfo info) {
+            info.sendMessage("ok");
+        }
+
+        @CommandHandler(command = "outcome.crash")
+        public static void crash(final CommandInfo info) {
+            throw new IllegalStateException("crashed on purpose");
+        }
+
+        @CommandHandler(command = "outcome.give",
+                        usage = "<amount>")
+        public static void give(final CommandInfo info, final int amount) {
+            info.sendMessage("gave " + amount);
+        }
+
+        @CommandHandler(command = "outcome.strict",
+                        strictArgs = true)
+        public static void strict(final CommandInfo info) {
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.CommandListener;
+import com.not2excel.api.command.objects.CommandInfo;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The commands {@link LoadHarnessTest} dispatches
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public final class HarnessCommands implements CommandListener {
+
+    static final String WARP_PERMISSION = "harness.warp";
+    static final AtomicInteger HANDLED = new AtomicInteger();
+
+    private HarnessCommands() {
+    }
+
+    @CommandHandler(command = "harness",
+                    description = "Commands to put load on the server")
+    public static void harness(final CommandInfo info) {
+        HANDLED.incrementAndGet();
+    }
+
+    @CommandHandler(command = "harness.ping",
+                    description = "Answer with pong")
+    public static void ping(final CommandInfo info) {
+        HANDLED.incrementAndGet();
+        info.sendMessage("pong");
+    }
+
+    @CommandHandler(command = "harness.warp",
+                    permission = WARP_PERMISSION,
+                    usage = "<name>",
+                    description = "Pretend to warp somewhere")
+    public static void warp(final CommandInfo info, final String name) {
+        HANDLED.incrementAndGet();
+        info.sendMessage("warped to " + name);
+    }
+
+    @CommandHandler(command = "harness.hop",
+                    description = "Do some work off the main thread and answer on the next tick")
+    public static void hop(final CommandInfo info) {
+        HANDLED.incrementAndGet();
+        info.runAsync(() -> info.runSync(() -> info.sendMessage("hopped")));
+    }
+}
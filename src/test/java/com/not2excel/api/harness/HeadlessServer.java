@@ -0,0 +1,319 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.CommandListener;
+import com.not2excel.api.command.CommandManager;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.help.HelpMap;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.SimplePluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A server that only lives in memory, so commands can be registered, dispatched and completed in a test without
+ * starting Minecraft. The command map and plugin manager are the real ones of Bukkit, the scheduler is a {@link
+ * VirtualScheduler} and the players are {@link SimulatedPlayer}s. Everything else the server is asked returns {@code
+ * null}, {@code false} or {@code 0}.
+ * <p>
+ * Bukkit only accepts one server per JVM, so there is a single instance. Call {@link #reset()} before each test.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class HeadlessServer {
+
+    private static HeadlessServer instance;
+
+    private final Server server;
+    private final SimpleCommandMap commandMap;
+    private final SimplePluginManager pluginManager;
+    private final VirtualScheduler scheduler = new VirtualScheduler();
+    private final BukkitScheduler bukkitScheduler = StandIn.of(BukkitScheduler.class, this.scheduler);
+    private final HelpMap helpMap = StandIn.of(HelpMap.class, null);
+    private final Map<String, SimulatedPlayer> players = new ConcurrentHashMap<>();
+    private final Map<String, SimulatedPlayer> departed = new ConcurrentHashMap<>();
+    private final Logger logger = Logger.getLogger("HeadlessServer");
+    private final File dataFolder = new File(System.getProperty("java.io.tmpdir"), "cmdapi-harness");
+
+    private HeadlessServer() {
+        this.logger.setLevel(Level.WARNING);
+        this.server = StandIn.of(Server.class, this);
+        this.commandMap = new SimpleCommandMap(this.server);
+        this.pluginManager = new SimplePluginManager(this.server, this.commandMap);
+    }
+
+    /**
+     * @return The server, it is made the server of {@link Bukkit} if there is none yet
+     */
+    public static synchronized HeadlessServer getInstance() {
+        if (instance == null) {
+            instance = new HeadlessServer();
+            if (Bukkit.getServer() == null) {
+                Bukkit.setServer(instance.server);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Remove the players and the commands and cancel every task
+     */
+    public void reset() {
+        this.players.clear();
+        this.departed.clear();
+        this.commandMap.clearCommands();
+        this.scheduler.reset();
+    }
+
+    /**
+     * @param name
+     *     The name of the plugin
+     *
+     * @return A plugin of this server, give it to a {@link CommandManager}
+     */
+    public Plugin createPlugin(final String name) {
+        return StandIn.of(Plugin.class, new HarnessPlugin(name));
+    }
+
+    /**
+     * Register the commands of {@code listeners}. The manager finds them by scanning the jar of the plugin, a test has
+     * no jar, so this registers them the same way one at a time.
+     *
+     * @param manager
+     *     The manager to register the commands with
+     * @param listeners
+     *     The classes with the commands
+     */
+    @SafeVarargs
+    public final void registerCommands(final CommandManager manager,
+                                       final Class<? extends CommandListener>... listeners) {
+        try {
+            final Method register = CommandManager.class.getDeclaredMethod("registerCommands", Class.class);
+            register.setAccessible(true);
+            for (final Class<? extends CommandListener> listener : listeners) {
+                register.invoke(manager, listener);
+            }
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("Cannot register commands with " + manager, e);
+        } catch (final InvocationTargetException e) {
+            throw new IllegalStateException("Failed to register commands", e.getCause());
+        }
+    }
+
+    /**
+     * @param name
+     *     The name of the player
+     * @param permissions
+     *     The permissions to give the player
+     *
+     * @return A player that is online, it replaces a player with the same name
+     */
+    public SimulatedPlayer addPlayer(final String name, final String... permissions) {
+        final SimulatedPlayer player = new SimulatedPlayer(this, name);
+        player.addPermissions(permissions);
+        this.departed.remove(name.toLowerCase());
+        final SimulatedPlayer old = this.players.put(name.toLowerCase(), player);
+        if (old != null) {
+            old.setOnline(false);
+        }
+        return player;
+    }
+
+    /**
+     * @param count
+     *     How many players to add
+     * @param prefix
+     *     The start of the name of each player, followed by its number
+     * @param permissions
+     *     The permissions to give each player
+     *
+     * @return The added players
+     */
+    public List<SimulatedPlayer> addPlayers(final int count, final String prefix, final String... permissions) {
+        final List<SimulatedPlayer> added = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            added.add(addPlayer(prefix + i, permissions));
+        }
+        return added;
+    }
+
+    /**
+     * @param name
+     *     The name of the player to take offline, the plugins are told it quit. It is still one of the {@link
+     *     #getOfflinePlayers() offline players}.
+     */
+    public void removePlayer(final String name) {
+        final SimulatedPlayer player = this.players.remove(name.toLowerCase());
+        if (player != null) {
+            player.setOnline(false);
+            this.departed.put(name.toLowerCase(), player);
+            this.pluginManager.callEvent(new PlayerQuitEvent(player.asPlayer(), null));
+        }
+    }
+
+    /**
+     * @param name
+     *     The name of the player
+     *
+     * @return The player with the name, {@code null} if it is not online
+     */
+    public SimulatedPlayer getSimulatedPlayer(final String name) {
+        return this.players.get(name.toLowerCase());
+    }
+
+    /**
+     * @return The Bukkit server backed by this
+     */
+    public Server getServer() {
+        return this.server;
+    }
+
+    public SimpleCommandMap getCommandMap() {
+        return this.commandMap;
+    }
+
+    public VirtualScheduler getVirtualScheduler() {
+        return this.scheduler;
+    }
+
+    //below are the methods of Server, the stand-in forwards them here
+
+    public String getName() {
+        return "HeadlessServer";
+    }
+
+    public String getVersion() {
+        return "1.8.8-R0.1-SNAPSHOT";
+    }
+
+    public String getBukkitVersion() {
+        return "1.8.8-R0.1-SNAPSHOT";
+    }
+
+    public Logger getLogger() {
+        return this.logger;
+    }
+
+    public PluginManager getPluginManager() {
+        return this.pluginManager;
+    }
+
+    public BukkitScheduler getScheduler() {
+        return this.bukkitScheduler;
+    }
+
+    public HelpMap getHelpMap() {
+        return this.helpMap;
+    }
+
+    public boolean isPrimaryThread() {
+        return this.scheduler.isPrimaryThread();
+    }
+
+    public boolean dispatchCommand(final CommandSender sender, final String commandLine) {
+        return this.commandMap.dispatch(sender, commandLine);
+    }
+
+    public Collection<? extends Player> getOnlinePlayers() {
+        final List<Player> online = new ArrayList<>(this.players.size());
+        for (final SimulatedPlayer player : this.players.values()) {
+            online.add(player.asPlayer());
+        }
+        return Collections.unmodifiableList(online);
+    }
+
+    public Player getPlayer(final String name) {
+        return getPlayerExact(name);
+    }
+
+    public Player getPlayerExact(final String name) {
+        final SimulatedPlayer player = this.players.get(name.toLowerCase());
+        return player == null ? null : player.asPlayer();
+    }
+
+    public Player getPlayer(final UUID uniqueId) {
+        for (final SimulatedPlayer player : this.players.values()) {
+            if (player.getUniqueId().equals(uniqueId)) {
+                return player.asPlayer();
+            }
+        }
+        return null;
+    }
+
+    public OfflinePlayer getOfflinePlayer(final String name) {
+        return getPlayerExact(name);
+    }
+
+    public OfflinePlayer[] getOfflinePlayers() {
+        final List<OfflinePlayer> known = new ArrayList<>(this.players.size() + this.departed.size());
+        for (final SimulatedPlayer player : this.players.values()) {
+            known.add(player.asPlayer());
+        }
+        for (final SimulatedPlayer player : this.departed.values()) {
+            known.add(player.asPlayer());
+        }
+        return known.toArray(new OfflinePlayer[0]);
+    }
+
+    public List<World> getWorlds() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * The methods of Plugin, the stand-in forwards them here
+     */
+    public final class HarnessPlugin {
+
+        private final String name;
+
+        private HarnessPlugin(final String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public Server getServer() {
+            return HeadlessServer.this.server;
+        }
+
+        public Logger getLogger() {
+            return HeadlessServer.this.logger;
+        }
+
+        public File getDataFolder() {
+            return new File(HeadlessServer.this.dataFolder, this.name);
+        }
+
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "HarnessPlugin{name=" + this.name + '}';
+        }
+    }
+}
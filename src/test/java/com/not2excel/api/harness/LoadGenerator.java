@@ -0,0 +1,172 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.metrics.LatencyHistogram;
+import org.bukkit.command.CommandMap;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Has simulated players issue commands and ask for completions at a fixed rate, on the virtual clock of a {@link
+ * HeadlessServer}. Each tick the operations that are due at the rate are run one after another on the calling thread,
+ * which is the main thread of the server, followed by the sync tasks of the tick. The tick takes as long as the
+ * operations and tasks together and is compared to the {@link VirtualScheduler#TICK_BUDGET budget} of a real server.
+ * <p>
+ * The players take turns, the lines are picked at random from a seeded {@link Random} so a run can be repeated.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class LoadGenerator {
+
+    private final HeadlessServer server;
+    private final List<String> commands = new ArrayList<>();
+    private final List<String> completions = new ArrayList<>();
+    private List<SimulatedPlayer> senders = Collections.emptyList();
+    private int rate = 1000;
+    private double completionShare = 0.25;
+    private long seed = 1;
+
+    public LoadGenerator(final HeadlessServer server) {
+        this.server = server;
+    }
+
+    /**
+     * @param senders
+     *     The players that issue the commands, they take turns
+     *
+     * @return This generator
+     */
+    public LoadGenerator senders(final List<SimulatedPlayer> senders) {
+        this.senders = new ArrayList<>(senders);
+        return this;
+    }
+
+    /**
+     * @param lines
+     *     Command lines to dispatch, without a slash, e.g. {@code warp spawn}
+     *
+     * @return This generator
+     */
+    public LoadGenerator commands(final String... lines) {
+        this.commands.addAll(Arrays.asList(lines));
+        return this;
+    }
+
+    /**
+     * @param lines
+     *     Partial command lines to complete, without a slash, e.g. {@code warp sp}
+     *
+     * @return This generator
+     */
+    public LoadGenerator completions(final String... lines) {
+        this.completions.addAll(Arrays.asList(lines));
+        return this;
+    }
+
+    /**
+     * @param rate
+     *     How many operations to run per second of virtual time, there are 20 ticks in a second
+     *
+     * @return This generator
+     */
+    public LoadGenerator rate(final int rate) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("The rate must be positive");
+        }
+        this.rate = rate;
+        return this;
+    }
+
+    /**
+     * @param completionShare
+     *     Which part of the operations are completions, between {@code 0} and {@code 1}
+     *
+     * @return This generator
+     */
+    public LoadGenerator completionShare(final double completionShare) {
+        if (completionShare < 0 || completionShare > 1) {
+            throw new IllegalArgumentException("The share of completions must be between 0 and 1");
+        }
+        this.completionShare = completionShare;
+        return this;
+    }
+
+    /**
+     * @param seed
+     *     The seed to pick the lines with
+     *
+     * @return This generator
+     */
+    public LoadGenerator seed(final long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * @param ticks
+     *     How many ticks to run the load for
+     *
+     * @return What happened during the run
+     */
+    public LoadReport run(final int ticks) {
+        if (this.senders.isEmpty()) {
+            throw new IllegalStateException("There are no senders");
+        }
+        if (this.commands.isEmpty() && this.completions.isEmpty()) {
+            throw new IllegalStateException("There are no lines to send");
+        }
+        final CommandMap commandMap = this.server.getCommandMap();
+        final VirtualScheduler scheduler = this.server.getVirtualScheduler();
+        final Random random = new Random(this.seed);
+        final LatencyHistogram commandLatency = new LatencyHistogram();
+        final LatencyHistogram completionLatency = new LatencyHistogram();
+        final LatencyHistogram tickTimes = new LatencyHistogram();
+        final double perTick = this.rate / 20D;
+        double due = 0;
+        int next = 0;
+        long errors = 0;
+        long overBudget = 0;
+        Throwable lastError = null;
+
+        final long start = System.nanoTime();
+        for (int tick = 0; tick < ticks; tick++) {
+            final long tickStart = System.nanoTime();
+            due += perTick;
+            for (; due >= 1; due--) {
+                final CommandSender sender = this.senders.get(next).asPlayer();
+                next = (next + 1) % this.senders.size();
+                final boolean completion = this.commands.isEmpty() ||
+                                           (!this.completions.isEmpty() && random.nextDouble() < this.completionShare);
+                final List<String> lines = completion ? this.completions : this.commands;
+                final String line = lines.get(random.nextInt(lines.size()));
+                final long opStart = System.nanoTime();
+                try {
+                    if (completion) {
+                        commandMap.tabComplete(sender, line);
+                    }
+                    else {
+                        commandMap.dispatch(sender, line);
+                    }
+                } catch (final RuntimeException e) {
+                    errors++;
+                    lastError = e;
+                }
+                (completion ? completionLatency : commandLatency).record(System.nanoTime() - opStart);
+            }
+            scheduler.tick();
+            final long tickTime = System.nanoTime() - tickStart;
+            tickTimes.record(tickTime);
+            if (tickTime > VirtualScheduler.TICK_BUDGET) {
+                overBudget++;
+            }
+        }
+        return new LoadReport(ticks, System.nanoTime() - start, commandLatency, completionLatency, tickTimes,
+                              overBudget, errors, lastError);
+    }
+}
@@ -0,0 +1,162 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.command.replay.TrafficEvent;
+import com.not2excel.api.command.replay.TrafficReader;
+import com.not2excel.api.command.replay.TrafficRecorder;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import org.bukkit.Bukkit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class LoadHarnessTest {
+
+    /**
+     * Run with {@code -Dharness.report=true} to print the report of the load test
+     */
+    private static final String REPORT_PROPERTY = "harness.report";
+
+    private HeadlessServer server;
+    private CommandManager manager;
+
+    @Before
+    public void setUp() {
+        LevelLogger.getInstance().setLevel(LogType.WARNING);
+        this.server = HeadlessServer.getInstance();
+        this.server.reset();
+        this.manager = new CommandManager(this.server.createPlugin("Harness"));
+        this.server.registerCommands(this.manager, HarnessCommands.class);
+        HarnessCommands.HANDLED.set(0);
+    }
+
+    @After
+    public void tearDown() {
+        this.manager.disable();
+    }
+
+    @Test
+    public void delayedTasksRunOnTheirTick() {
+        final VirtualScheduler scheduler = this.server.getVirtualScheduler();
+        final AtomicInteger runs = new AtomicInteger();
+        Bukkit.getScheduler().runTaskLater(this.manager.getPlugin(), runs::incrementAndGet, 5);
+        scheduler.tick(4);
+        assertEquals(0, runs.get());
+        scheduler.tick();
+        assertEquals(1, runs.get());
+
+        Bukkit.getScheduler().runTaskTimer(this.manager.getPlugin(), runs::incrementAndGet, 0, 2).cancel();
+        scheduler.tick(10);
+        assertEquals(1, runs.get());
+        assertTrue(scheduler.getPendingTasks().isEmpty());
+    }
+
+    @Test
+    public void commandsReachTheirHandler() {
+        final SimulatedPlayer player = this.server.addPlayer("Alice");
+        assertTrue(Bukkit.dispatchCommand(player.asPlayer(), "harness ping"));
+        assertEquals(1, HarnessCommands.HANDLED.get());
+        assertEquals("pong", player.getLastMessage());
+
+        Bukkit.dispatchCommand(player.asPlayer(), "harness warp spawn");
+        assertEquals(1, HarnessCommands.HANDLED.get());
+        player.addPermissions(HarnessCommands.WARP_PERMISSION);
+        Bukkit.dispatchCommand(player.asPlayer(), "harness warp spawn");
+        assertEquals(2, HarnessCommands.HANDLED.get());
+        assertEquals("warped to spawn", player.getLastMessage());
+    }
+
+    @Test
+    public void asyncWorkAnswersOnTheNextTick() {
+        final SimulatedPlayer player = this.server.addPlayer("Bob");
+        Bukkit.dispatchCommand(player.asPlayer(), "harness hop");
+        assertTrue(this.server.getVirtualScheduler().awaitAsync(5000));
+        assertFalse("hopped".equals(player.getLastMessage()));
+        this.server.getVirtualScheduler().tick();
+        assertEquals("hopped", player.getLastMessage());
+    }
+
+    @Test
+    public void thousandsOfPlayersAtTargetRate() {
+        final List<SimulatedPlayer> players =
+            this.server.addPlayers(2000, "player", HarnessCommands.WARP_PERMISSION);
+        final LoadReport report = new LoadGenerator(this.server).senders(players)
+                                                                .commands("harness", "harness ping",
+                                                                          "harness warp spawn", "harness hop")
+                                                                .completions("harness ", "harness p", "harness warp ")
+                                                                .completionShare(0.3)
+                                                                .rate(20000)
+                                                                .run(100);
+        this.server.getVirtualScheduler().awaitAsync(5000);
+        this.server.getVirtualScheduler().tick();
+        if (Boolean.getBoolean(REPORT_PROPERTY)) {
+            System.out.println(report);
+        }
+
+        assertNull(report.getLastError());
+        assertEquals(0, report.getErrors());
+        assertEquals(100000, report.getOperations());
+        assertEquals(report.getCommandLatency().getCount(), HarnessCommands.HANDLED.get());
+        assertEquals(100, report.getTickTimes().getCount());
+        assertEquals(0, this.server.getVirtualScheduler().getFailureCount());
+    }
+
+    @Test
+    public void recordedTrafficReplays() throws Exception {
+        final File trace = File.createTempFile("traffic", ".trace");
+        trace.deleteOnExit();
+        final TrafficRecorder recorder = this.manager.enableRecording(trace);
+        final List<SimulatedPlayer> players = this.server.addPlayers(50, "rec", HarnessCommands.WARP_PERMISSION);
+        players.get(0).setPermissions();
+        final LoadReport recorded = new LoadGenerator(this.server).senders(players)
+                                                                  .commands("harness ping", "harness warp rec7")
+                                                                  .completions("harness w", "harness warp re")
+                                                                  .rate(1000)
+                                                                  .run(20);
+        this.manager.setTrafficRecorder(null);
+        recorder.close();
+        assertEquals(recorded.getOperations(), recorder.getWrittenCount());
+        assertEquals(0, recorder.getDroppedCount());
+
+        long events = 0;
+        long lastTime = 0;
+        try (TrafficReader reader = new TrafficReader(trace)) {
+            while (reader.hasNext()) {
+                final TrafficEvent event = reader.next();
+                //the names of the senders are not in the trace
+                assertFalse(event.getLine(id -> "#" + id).contains("rec7"));
+                lastTime = event.getTime();
+                events++;
+            }
+        }
+        assertEquals(recorded.getOperations(), events);
+
+        final int handled = HarnessCommands.HANDLED.get();
+        final long start = System.nanoTime();
+        //the recording ran as fast as it could, at half the speed the replay takes twice as long
+        final LoadReport replayed = new TrafficReplayer(this.server).speed(0.5).replay(trace);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MICROSECONDS.toNanos(lastTime) * 2);
+        assertEquals(0, replayed.getErrors());
+        assertEquals(recorded.getCommandLatency().getCount(), replayed.getCommandLatency().getCount());
+        assertEquals(recorded.getCompletionLatency().getCount(), replayed.getCompletionLatency().getCount());
+        assertEquals(2 * handled, HarnessCommands.HANDLED.get());
+
+        assertEquals(0, new TrafficReplayer(this.server).speed(TrafficReplayer.MAX_SPEED).replay(trace).getErrors());
+        assertEquals(3 * handled, HarnessCommands.HANDLED.get());
+    }
+}
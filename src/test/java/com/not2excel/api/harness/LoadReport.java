@@ -0,0 +1,127 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.metrics.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What happened during a run of a {@link LoadGenerator}. Durations are in nanoseconds.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class LoadReport {
+
+    private final int ticks;
+    private final long wallTime;
+    private final LatencyHistogram commandLatency;
+    private final LatencyHistogram completionLatency;
+    private final LatencyHistogram tickTimes;
+    private final long overBudgetTicks;
+    private final long errors;
+    private final Throwable lastError;
+
+    LoadReport(final int ticks, final long wallTime, final LatencyHistogram commandLatency,
+               final LatencyHistogram completionLatency, final LatencyHistogram tickTimes, final long overBudgetTicks,
+               final long errors, final Throwable lastError) {
+        this.ticks = ticks;
+        this.wallTime = wallTime;
+        this.commandLatency = commandLatency;
+        this.completionLatency = completionLatency;
+        this.tickTimes = tickTimes;
+        this.overBudgetTicks = overBudgetTicks;
+        this.errors = errors;
+        this.lastError = lastError;
+    }
+
+    private static String format(final long nanos) {
+        return String.format("%.3f ms", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static String describe(final LatencyHistogram histogram) {
+        return "p50 " + format(histogram.getPercentile(50)) + ", p99 " + format(histogram.getPercentile(99)) +
+               ", p99.9 " + format(histogram.getPercentile(99.9)) + ", max " + format(histogram.getMax());
+    }
+
+    /**
+     * @return How many ticks the run took
+     */
+    public int getTicks() {
+        return this.ticks;
+    }
+
+    /**
+     * @return How long the run took on the wall clock
+     */
+    public long getWallTime() {
+        return this.wallTime;
+    }
+
+    /**
+     * @return How many commands and completions were run
+     */
+    public long getOperations() {
+        return this.commandLatency.getCount() + this.completionLatency.getCount();
+    }
+
+    /**
+     * @return How many operations were run per second of wall clock time
+     */
+    public double getThroughput() {
+        return getOperations() * (double) TimeUnit.SECONDS.toNanos(1) / Math.max(1, this.wallTime);
+    }
+
+    /**
+     * @return How long dispatching a command took
+     */
+    public LatencyHistogram getCommandLatency() {
+        return this.commandLatency;
+    }
+
+    /**
+     * @return How long completing a command took
+     */
+    public LatencyHistogram getCompletionLatency() {
+        return this.completionLatency;
+    }
+
+    /**
+     * @return How long the ticks took, with the operations and the sync tasks
+     */
+    public LatencyHistogram getTickTimes() {
+        return this.tickTimes;
+    }
+
+    /**
+     * @return How many ticks took longer than {@link VirtualScheduler#TICK_BUDGET}
+     */
+    public long getOverBudgetTicks() {
+        return this.overBudgetTicks;
+    }
+
+    /**
+     * @return How many operations threw an exception
+     */
+    public long getErrors() {
+        return this.errors;
+    }
+
+    /**
+     * @return The last exception an operation threw, {@code null} if none did
+     */
+    public Throwable getLastError() {
+        return this.lastError;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d operations in %d ticks (%s), %.0f ops/s, %d errors%n", getOperations(), this.ticks,
+                             format(this.wallTime), getThroughput(), this.errors) +
+               "commands    " + this.commandLatency.getCount() + ": " + describe(this.commandLatency) +
+               System.lineSeparator() +
+               "completions " + this.completionLatency.getCount() + ": " + describe(this.completionLatency) +
+               System.lineSeparator() +
+               "ticks       " + describe(this.tickTimes) + ", " + this.overBudgetTicks + " over budget";
+    }
+}
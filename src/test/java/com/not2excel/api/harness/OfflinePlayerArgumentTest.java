@@ -0,0 +1,57 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.arguments.ArgumentType;
+import com.not2excel.api.command.arguments.ArgumentTypes;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * An offline player argument is only valid for a player that has been on the server
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class OfflinePlayerArgumentTest {
+
+    private HeadlessServer server;
+    private ArgumentType<?> type;
+    private CommandSender sender;
+
+    @Before
+    public void setUp() {
+        this.server = HeadlessServer.getInstance();
+        this.server.reset();
+        this.type = new ArgumentTypes().get(OfflinePlayer.class);
+        this.sender = new PlainSender(this.server, "console");
+    }
+
+    @Test
+    public void onlinePlayerIsFound() {
+        this.server.addPlayer("Grace");
+        final OfflinePlayer player = (OfflinePlayer) this.type.parse(this.sender, "Grace");
+        assertEquals("Grace", player.getName());
+        assertTrue(player.isOnline());
+    }
+
+    @Test
+    public void playerThatLeftIsFoundIgnoringCase() {
+        this.server.addPlayer("Heidi");
+        this.server.removePlayer("Heidi");
+        final OfflinePlayer player = (OfflinePlayer) this.type.parse(this.sender, "heidi");
+        assertEquals("Heidi", player.getName());
+        assertFalse(player.isOnline());
+    }
+
+    @Test
+    public void unknownPlayerIsInvalid() {
+        this.server.addPlayer("Ivan");
+        assertNull(this.type.parse(this.sender, "Judy"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.CommandListener;
+import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.command.Flag;
+import com.not2excel.api.command.completion.PermissionProfiles;
+import com.not2excel.api.command.objects.CommandInfo;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Which senders share a permission profile
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class PermissionProfilesTest {
+
+    private static final String FORCE_PERMISSION = "profile.force";
+
+    private HeadlessServer server;
+    private CommandManager manager;
+    private PermissionProfiles profiles;
+
+    @Before
+    public void setUp() {
+        LevelLogger.getInstance().setLevel(LogType.WARNING);
+        this.server = HeadlessServer.getInstance();
+        this.server.reset();
+        this.manager = new CommandManager(this.server.createPlugin("Profiles"));
+        this.server.registerCommands(this.manager, HarnessCommands.class);
+        this.profiles = this.manager.getPermissionProfiles();
+    }
+
+    @After
+    public void tearDown() {
+        this.manager.disable();
+    }
+
+    private int profileOf(final SimulatedPlayer player) {
+        return this.profiles.getProfileId(player.asPlayer());
+    }
+
+    @Test
+    public void samePermissionsShareAProfile() {
+        final SimulatedPlayer a = this.server.addPlayer("Nina", HarnessCommands.WARP_PERMISSION);
+        final SimulatedPlayer b = this.server.addPlayer("Omar", HarnessCommands.WARP_PERMISSION, "not.in.the.tree");
+        final SimulatedPlayer c = this.server.addPlayer("Pat");
+        assertEquals(profileOf(a), profileOf(b));
+        assertNotEquals(profileOf(a), profileOf(c));
+        assertTrue(Arrays.asList(this.profiles.getProfilePermissions(profileOf(a)))
+                         .contains(HarnessCommands.WARP_PERMISSION));
+        assertEquals(0, this.profiles.getProfilePermissions(profileOf(c)).length);
+        assertNull(this.profiles.getProfilePermissions(-1));
+    }
+
+    @Test
+    public void profileIsRememberedUntilInvalidated() {
+        final SimulatedPlayer player = this.server.addPlayer("Quinn");
+        final int before = profileOf(player);
+        player.addPermissions(HarnessCommands.WARP_PERMISSION);
+        assertEquals(before, profileOf(player));
+        this.profiles.invalidate(player.asPlayer());
+        assertNotEquals(before, profileOf(player));
+    }
+
+    @Test
+    public void changedTreeHandsOutNewIds() {
+        final SimulatedPlayer player = this.server.addPlayer("Rita");
+        final int before = profileOf(player);
+        final int generation = this.profiles.getGeneration();
+        this.server.registerCommands(this.manager, FlagCommands.class);
+        assertTrue(this.profiles.getGeneration() > generation);
+        assertNotEquals(before, profileOf(player));
+    }
+
+    @Test
+    public void flagPermissionsArePartOfTheProfile() {
+        this.server.registerCommands(this.manager, FlagCommands.class);
+        final SimulatedPlayer forced = this.server.addPlayer("Sam", FORCE_PERMISSION);
+        final SimulatedPlayer plain = this.server.addPlayer("Tess");
+        assertNotEquals(profileOf(forced), profileOf(plain));
+    }
+
+    public static final class FlagCommands implements CommandListener {
+
+        private FlagCommands() {
+        }
+
+        @CommandHandler(command = "profile",
+                        flags = @Flag(flag = 'f', permission = FORCE_PERMISSION, usage = "Force it"),
+                        description = "A flag with a permission")
+        public static void profile(final CommandInfo info) {
+        }
+    }
+}
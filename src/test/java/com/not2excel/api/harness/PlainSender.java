@@ -0,0 +1,136 @@
+package com.not2excel.api.harness;
+
+import org.bukkit.Server;
+import org.bukkit.command.CommandSender;
+import org.bukkit.permissions.Permission;
+import org.bukkit.permissions.PermissionAttachment;
+import org.bukkit.permissions.PermissionAttachmentInfo;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A sender of the {@link HeadlessServer} that is a class instead of a {@link StandIn}, so calling it allocates nothing
+ * and does not count towards what the API allocates. It only counts the messages it is sent.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+final class PlainSender implements CommandSender {
+
+    private final HeadlessServer server;
+    private final String name;
+    private final Set<String> permissions = new HashSet<>();
+    private int messages;
+    private String lastMessage;
+
+    PlainSender(final HeadlessServer server, final String name, final String... permissions) {
+        this.server = server;
+        this.name = name;
+        for (final String permission : permissions) {
+            this.permissions.add(permission.toLowerCase());
+        }
+    }
+
+    int getMessages() {
+        return this.messages;
+    }
+
+    String getLastMessage() {
+        return this.lastMessage;
+    }
+
+    @Override
+    public void sendMessage(final String message) {
+        this.messages++;
+        this.lastMessage = message;
+    }
+
+    @Override
+    public void sendMessage(final String[] messages) {
+        for (final String message : messages) {
+            sendMessage(message);
+        }
+    }
+
+    @Override
+    public Server getServer() {
+        return this.server.getServer();
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public boolean isPermissionSet(final String name) {
+        return this.permissions.contains(name);
+    }
+
+    @Override
+    public boolean isPermissionSet(final Permission perm) {
+        return isPermissionSet(perm.getName());
+    }
+
+    @Override
+    public boolean hasPermission(final String name) {
+        return this.permissions.contains(name);
+    }
+
+    @Override
+    public boolean hasPermission(final Permission perm) {
+        return hasPermission(perm.getName());
+    }
+
+    @Override
+    public PermissionAttachment addAttachment(final Plugin plugin, final String name, final boolean value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PermissionAttachment addAttachment(final Plugin plugin) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PermissionAttachment addAttachment(final Plugin plugin, final String name, final boolean value,
+                                              final int ticks) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PermissionAttachment addAttachment(final Plugin plugin, final int ticks) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeAttachment(final PermissionAttachment attachment) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void recalculatePermissions() {
+    }
+
+    @Override
+    public Set<PermissionAttachmentInfo> getEffectivePermissions() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public boolean isOp() {
+        return false;
+    }
+
+    @Override
+    public void setOp(final boolean value) {
+    }
+
+    @Override
+    public String toString() {
+        return "PlainSender{name=" + this.name + '}';
+    }
+}
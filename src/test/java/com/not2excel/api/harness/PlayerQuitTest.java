@@ -0,0 +1,71 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.command.completion.PermissionProfiles;
+import com.not2excel.api.command.messages.MessageCatalog;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * What is remembered per sender is forgotten when the player leaves
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class PlayerQuitTest {
+
+    private HeadlessServer server;
+    private CommandManager manager;
+    private SimulatedPlayer player;
+
+    @Before
+    public void setUp() {
+        LevelLogger.getInstance().setLevel(LogType.WARNING);
+        this.server = HeadlessServer.getInstance();
+        this.server.reset();
+        this.manager = new CommandManager(this.server.createPlugin("Quit"));
+        this.server.registerCommands(this.manager, HarnessCommands.class);
+        this.player = this.server.addPlayer("Dave");
+    }
+
+    @After
+    public void tearDown() {
+        this.manager.disable();
+    }
+
+    @Test
+    public void profileIsForgotten() {
+        final PermissionProfiles profiles = this.manager.getPermissionProfiles();
+        profiles.getProfileId(this.player.asPlayer());
+        profiles.getProfileId(this.server.addPlayer("Erin").asPlayer());
+        assertEquals(2, profiles.getCachedSenderCount());
+
+        this.server.removePlayer("Dave");
+        assertEquals(1, profiles.getCachedSenderCount());
+    }
+
+    @Test
+    public void localeIsForgotten() {
+        final MessageCatalog catalog = MessageCatalog.getInstance();
+        catalog.reload();
+        catalog.getLocale(this.player.asPlayer());
+        assertEquals(1, catalog.getCachedSenderCount());
+
+        this.server.removePlayer("Dave");
+        assertEquals(0, catalog.getCachedSenderCount());
+    }
+
+    @Test
+    public void disabledManagerStopsListening() {
+        final PermissionProfiles profiles = this.manager.getPermissionProfiles();
+        profiles.getProfileId(this.player.asPlayer());
+        this.manager.disable();
+        this.server.removePlayer("Dave");
+        assertEquals(1, profiles.getCachedSenderCount());
+    }
+}
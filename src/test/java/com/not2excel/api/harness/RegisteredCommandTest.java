@@ -0,0 +1,73 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.command.metrics.NodeMetrics;
+import com.not2excel.api.command.objects.CommandInfo;
+import com.not2excel.api.command.objects.RegisteredCommand;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Where a registered command sends a dispatch or a completion
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class RegisteredCommandTest {
+
+    private HeadlessServer server;
+    private CommandManager manager;
+    private SimulatedPlayer player;
+
+    @Before
+    public void setUp() {
+        LevelLogger.getInstance().setLevel(LogType.WARNING);
+        this.server = HeadlessServer.getInstance();
+        this.server.reset();
+        this.manager = new CommandManager(this.server.createPlugin("Registered"));
+        this.server.registerCommands(this.manager, HarnessCommands.class);
+        this.player = this.server.addPlayer("Lee");
+    }
+
+    @After
+    public void tearDown() {
+        this.manager.disable();
+    }
+
+    @Test
+    public void customHandlerSeesSubCommands() {
+        final RegisteredCommand registered = this.manager.getRegisteredCommands().get("harness");
+        final List<CommandInfo> handled = new ArrayList<>();
+        registered.setHandler(handled::add);
+        final int before = HarnessCommands.HANDLED.get();
+
+        this.server.getCommandMap().dispatch(this.player.asPlayer(), "harness ping \"a b\"");
+        assertEquals(1, handled.size());
+        final CommandInfo info = handled.get(0);
+        assertSame(registered, info.getParentCommand());
+        assertEquals(Arrays.asList("ping", "a b"), info.getArgs());
+        assertEquals(before, HarnessCommands.HANDLED.get());
+    }
+
+    @Test
+    public void completingDeniedSubCommandIsMeasured() {
+        final List<String> completions =
+            this.server.getCommandMap().tabComplete(this.player.asPlayer(), "harness warp ");
+        assertTrue(completions == null || completions.isEmpty());
+        final NodeMetrics metrics = this.manager.getMetrics().get("harness.warp");
+        assertNotNull(metrics);
+        assertEquals(1, metrics.getCompletions());
+    }
+}
@@ -0,0 +1,194 @@
+package com.not2excel.api.harness;
+
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.Permission;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A player of the {@link HeadlessServer}. It has the permissions it is given, or all of them when it is an operator,
+ * and counts the messages it receives. Only the last {@value #KEPT_MESSAGES} messages are kept so thousands of players
+ * can receive messages for a long time.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class SimulatedPlayer {
+
+    public static final int KEPT_MESSAGES = 16;
+
+    private final HeadlessServer server;
+    private final String name;
+    private final UUID uniqueId;
+    private final Set<String> permissions = ConcurrentHashMap.newKeySet();
+    private final Deque<String> messages = new ArrayDeque<>(KEPT_MESSAGES);
+    private final LongAdder received = new LongAdder();
+    private final Player player;
+    private volatile boolean op;
+    private volatile boolean online = true;
+
+    SimulatedPlayer(final HeadlessServer server, final String name) {
+        this.server = server;
+        this.name = name;
+        this.uniqueId = UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes());
+        this.player = StandIn.of(Player.class, this);
+    }
+
+    /**
+     * @return This player as a Bukkit player, the same instance every time
+     */
+    public Player asPlayer() {
+        return this.player;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public String getDisplayName() {
+        return this.name;
+    }
+
+    public String getPlayerListName() {
+        return this.name;
+    }
+
+    public UUID getUniqueId() {
+        return this.uniqueId;
+    }
+
+    public Server getServer() {
+        return this.server.getServer();
+    }
+
+    public boolean isOnline() {
+        return this.online;
+    }
+
+    public boolean hasPlayedBefore() {
+        return true;
+    }
+
+    void setOnline(final boolean online) {
+        this.online = online;
+    }
+
+    public boolean isOp() {
+        return this.op;
+    }
+
+    public void setOp(final boolean op) {
+        this.op = op;
+    }
+
+    public boolean hasPermission(final String permission) {
+        return this.op || this.permissions.contains(permission.toLowerCase());
+    }
+
+    public boolean hasPermission(final Permission permission) {
+        return hasPermission(permission.getName());
+    }
+
+    public boolean isPermissionSet(final String permission) {
+        return this.permissions.contains(permission.toLowerCase());
+    }
+
+    public boolean isPermissionSet(final Permission permission) {
+        return isPermissionSet(permission.getName());
+    }
+
+    /**
+     * @param permissions
+     *     The permissions to give this player
+     */
+    public void addPermissions(final String... permissions) {
+        for (final String permission : permissions) {
+            this.permissions.add(permission.toLowerCase());
+        }
+    }
+
+    /**
+     * @param permissions
+     *     The permissions to take from this player
+     */
+    public void removePermissions(final String... permissions) {
+        for (final String permission : permissions) {
+            this.permissions.remove(permission.toLowerCase());
+        }
+    }
+
+    /**
+     * @param permissions
+     *     The only permissions this player has from now on
+     */
+    public void setPermissions(final String... permissions) {
+        this.permissions.clear();
+        addPermissions(permissions);
+    }
+
+    public void sendMessage(final String message) {
+        this.received.increment();
+        synchronized (this.messages) {
+            if (this.messages.size() == KEPT_MESSAGES) {
+                this.messages.removeFirst();
+            }
+            this.messages.addLast(message);
+        }
+    }
+
+    public void sendMessage(final String[] messages) {
+        for (final String message : messages) {
+            sendMessage(message);
+        }
+    }
+
+    /**
+     * @return The last messages this player received, oldest first
+     */
+    public List<String> getMessages() {
+        synchronized (this.messages) {
+            return Collections.unmodifiableList(new ArrayList<>(this.messages));
+        }
+    }
+
+    /**
+     * @return The last message this player received, {@code null} if it received none
+     */
+    public String getLastMessage() {
+        synchronized (this.messages) {
+            return this.messages.peekLast();
+        }
+    }
+
+    /**
+     * @return How many messages this player received
+     */
+    public long getReceivedCount() {
+        return this.received.sum();
+    }
+
+    /**
+     * Forget the received messages
+     */
+    public void clearMessages() {
+        synchronized (this.messages) {
+            this.messages.clear();
+        }
+        this.received.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "SimulatedPlayer{name=" + this.name + '}';
+    }
+}
@@ -0,0 +1,123 @@
+package com.not2excel.api.harness;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implements a Bukkit interface with a plain object. A method of the interface is forwarded to the public method of the
+ * delegate with the same name and parameters, every other method returns {@code null}, {@code false} or {@code 0}.
+ * This keeps the stand-ins small, the interfaces of Bukkit have hundreds of methods the API never calls.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+final class StandIn {
+
+    private static final Method NONE;
+    private static final Map<Method, Map<Class<?>, Method>> TARGETS = new ConcurrentHashMap<>();
+
+    static {
+        try {
+            NONE = Object.class.getMethod("hashCode");
+        } catch (final NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private StandIn() {
+    }
+
+    /**
+     * @param type
+     *     The interface to implement
+     * @param delegate
+     *     The object to forward the methods to, {@code null} to answer every method with a default value
+     *
+     * @return An instance of {@code type} backed by {@code delegate}
+     */
+    static <T> T of(final Class<T> type, final Object delegate) {
+        return type.cast(Proxy.newProxyInstance(StandIn.class.getClassLoader(), new Class<?>[] {type},
+                                                (proxy, method, args) -> {
+                                                    if (method.getDeclaringClass() == Object.class) {
+                                                        return objectMethod(proxy, delegate, method, args);
+                                                    }
+                                                    final Method target = findTarget(method, delegate);
+                                                    if (target == null) {
+                                                        return defaultValue(method.getReturnType());
+                                                    }
+                                                    try {
+                                                        return target.invoke(delegate, args);
+                                                    } catch (final InvocationTargetException e) {
+                                                        throw e.getCause();
+                                                    }
+                                                }));
+    }
+
+    private static Object objectMethod(final Object proxy, final Object delegate, final Method method,
+                                       final Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return String.valueOf(delegate);
+        }
+    }
+
+    private static Method findTarget(final Method method, final Object delegate) {
+        if (delegate == null) {
+            return null;
+        }
+        final Map<Class<?>, Method> targets = TARGETS.computeIfAbsent(method, m -> new ConcurrentHashMap<>());
+        final Method target = targets.computeIfAbsent(delegate.getClass(), type -> lookup(method, type));
+        return target == NONE ? null : target;
+    }
+
+    private static Method lookup(final Method method, final Class<?> type) {
+        try {
+            final Method target = type.getMethod(method.getName(), method.getParameterTypes());
+            target.setAccessible(true);
+            return target;
+        } catch (final NoSuchMethodException ignored) {
+            //look for a method that accepts the arguments, e.g. newer overloads that take a subtype
+        }
+        for (final Method target : type.getMethods()) {
+            if (target.getName().equals(method.getName()) && accepts(target, method.getParameterTypes())) {
+                target.setAccessible(true);
+                return target;
+            }
+        }
+        return NONE;
+    }
+
+    private static boolean accepts(final Method target, final Class<?>[] parameters) {
+        final Class<?>[] types = target.getParameterTypes();
+        if (types.length != parameters.length) {
+            return false;
+        }
+        for (int i = 0; i < types.length; i++) {
+            if (!types[i].isAssignableFrom(parameters[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Object defaultValue(final Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type.isPrimitive() && type != void.class) {
+            //converted to the primitive type by the proxy
+            return type == long.class ? 0L : type == double.class ? 0D : type == float.class ? 0F : 0;
+        }
+        return null;
+    }
+}
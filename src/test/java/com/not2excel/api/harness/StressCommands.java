@@ -0,0 +1,101 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.CommandListener;
+import com.not2excel.api.command.objects.CommandInfo;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The commands {@link ConcurrencyStressTest} dispatches. The batches only add sub commands to {@code /stress}, so they
+ * can be registered while the base command is being dispatched.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public final class StressCommands implements CommandListener {
+
+    static final String SECRET_PERMISSION = "stress.secret";
+    static final AtomicInteger PINGS = new AtomicInteger();
+    static final AtomicInteger BATCHES = new AtomicInteger();
+
+    private StressCommands() {
+    }
+
+    @CommandHandler(command = "stress",
+                    description = "Commands to race against each other")
+    public static void stress(final CommandInfo info) {
+    }
+
+    @CommandHandler(command = "stress.ping",
+                    description = "Count the ping")
+    public static void ping(final CommandInfo info) {
+        PINGS.incrementAndGet();
+    }
+
+    @CommandHandler(command = "stress.echo",
+                    usage = "<word>",
+                    description = "Answer with the word")
+    public static void echo(final CommandInfo info, final String word) {
+        info.sendMessage(word);
+    }
+
+    @CommandHandler(command = "stress.secret",
+                    permission = SECRET_PERMISSION,
+                    description = "Only for some senders")
+    public static void secret(final CommandInfo info) {
+        info.sendMessage("secret");
+    }
+
+    public static final class Batch1 implements CommandListener {
+
+        private Batch1() {
+        }
+
+        @CommandHandler(command = "stress.b1",
+                        aliases = "batch1",
+                        description = "The first batch")
+        public static void batch(final CommandInfo info) {
+            BATCHES.incrementAndGet();
+        }
+    }
+
+    public static final class Batch2 implements CommandListener {
+
+        private Batch2() {
+        }
+
+        @CommandHandler(command = "stress.b2",
+                        aliases = "batch2",
+                        description = "The second batch")
+        public static void batch(final CommandInfo info) {
+            BATCHES.incrementAndGet();
+        }
+    }
+
+    public static final class Batch3 implements CommandListener {
+
+        private Batch3() {
+        }
+
+        @CommandHandler(command = "stress.b3",
+                        aliases = "batch3",
+                        description = "The third batch")
+        public static void batch(final CommandInfo info) {
+            BATCHES.incrementAndGet();
+        }
+    }
+
+    public static final class Batch4 implements CommandListener {
+
+        private Batch4() {
+        }
+
+        @CommandHandler(command = "stress.b4",
+                        aliases = "batch4",
+                        description = "The fourth batch")
+        public static void batch(final CommandInfo info) {
+            BATCHES.incrementAndGet();
+        }
+    }
+}
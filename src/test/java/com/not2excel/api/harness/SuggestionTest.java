@@ -0,0 +1,93 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.CommandHandler;
+import com.not2excel.api.command.CommandListener;
+import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.command.objects.CommandInfo;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import org.bukkit.Bukkit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class SuggestionTest {
+
+    private HeadlessServer server;
+    private CommandManager manager;
+    private SimulatedPlayer player;
+
+    @Before
+    public void setUp() {
+        LevelLogger.getInstance().setLevel(LogType.WARNING);
+        this.server = HeadlessServer.getInstance();
+        this.server.reset();
+        this.manager = new CommandManager(this.server.createPlugin("Suggestions"));
+        this.server.registerCommands(this.manager, HarnessCommands.class, StrictCommands.class);
+        this.player = this.server.addPlayer("Carol");
+        HarnessCommands.HANDLED.set(0);
+    }
+
+    @After
+    public void tearDown() {
+        this.manager.disable();
+    }
+
+    @Test
+    public void subCommandsIgnoreCase() {
+        Bukkit.dispatchCommand(this.player.asPlayer(), "harness PING");
+        assertEquals(1, HarnessCommands.HANDLED.get());
+        assertEquals("pong", this.player.getLastMessage());
+    }
+
+    @Test
+    public void closeSubCommandsAreSuggested() {
+        Bukkit.dispatchCommand(this.player.asPlayer(), "strict pign");
+        assertTrue(this.player.getLastMessage(), this.player.getLastMessage().contains("Did you mean"));
+        assertTrue(this.player.getLastMessage(), this.player.getLastMessage().contains("ping"));
+    }
+
+    @Test
+    public void deniedSubCommandsAreNotSuggested() {
+        Bukkit.dispatchCommand(this.player.asPlayer(), "strict wrap");
+        assertFalse(this.player.getLastMessage(), this.player.getLastMessage().contains("Did you mean"));
+
+        this.player.addPermissions(HarnessCommands.WARP_PERMISSION);
+        Bukkit.dispatchCommand(this.player.asPlayer(), "strict wrap");
+        assertTrue(this.player.getLastMessage(), this.player.getLastMessage().contains("Did you mean"));
+        assertTrue(this.player.getLastMessage(), this.player.getLastMessage().contains("warp"));
+    }
+
+    /**
+     * A base command that takes no arguments, so anything after it must be a sub command
+     */
+    public static final class StrictCommands implements CommandListener {
+
+        private StrictCommands() {
+        }
+
+        @CommandHandler(command = "strict",
+                        strictArgs = true)
+        public static void strict(final CommandInfo info) {
+        }
+
+        @CommandHandler(command = "strict.ping")
+        public static void ping(final CommandInfo info) {
+            info.sendMessage("pong");
+        }
+
+        @CommandHandler(command = "strict.warp",
+                        permission = HarnessCommands.WARP_PERMISSION)
+        public static void warp(final CommandInfo info) {
+            info.sendMessage("warped");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.CommandManager;
+import com.not2excel.api.command.replay.TrafficEvent;
+import com.not2excel.api.command.replay.TrafficFilter;
+import com.not2excel.api.command.replay.TrafficReader;
+import com.not2excel.api.command.replay.TrafficRecorder;
+import com.not2excel.api.logging.LevelLogger;
+import com.not2excel.api.logging.LogType;
+import org.bukkit.command.CommandMap;
+import org.bukkit.entity.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Only what cannot name anything personal is recorded as it was typed
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class TrafficRecorderTest {
+
+    private HeadlessServer server;
+    private CommandManager manager;
+    private CommandMap commandMap;
+    private Player player;
+    private File trace;
+    private TrafficRecorder recorder;
+
+    @Before
+    public void setUp() throws Exception {
+        LevelLogger.getInstance().setLevel(LogType.WARNING);
+        this.server = HeadlessServer.getInstance();
+        this.server.reset();
+        this.manager = new CommandManager(this.server.createPlugin("Traffic"));
+        this.server.registerCommands(this.manager, HarnessCommands.class, SuggestionTest.StrictCommands.class);
+        this.manager.getCompletionGovernor().setEnabled(false);
+        this.commandMap = this.server.getCommandMap();
+        this.player = this.server.addPlayer("Mallory", HarnessCommands.WARP_PERMISSION).asPlayer();
+        this.server.addPlayer("Alice");
+        this.trace = File.createTempFile("traffic", ".trace");
+        this.trace.deleteOnExit();
+        this.recorder = this.manager.enableRecording(this.trace);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        this.manager.setTrafficRecorder(null);
+        this.recorder.close();
+        this.manager.disable();
+    }
+
+    private List<String> readLines() throws Exception {
+        this.manager.setTrafficRecorder(null);
+        this.recorder.close();
+        final List<String> lines = new ArrayList<>();
+        try (TrafficReader reader = new TrafficReader(this.trace)) {
+            while (reader.hasNext()) {
+                final TrafficEvent event = reader.next();
+                lines.add((event.isCompletion() ? "complete " : "") + event.getLine(id -> "#" + id));
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    public void freeTextIsRedacted() throws Exception {
+        this.commandMap.dispatch(this.player, "harness warp secret-base.2");
+        this.commandMap.dispatch(this.player, "harness warp \"my home\"");
+        this.commandMap.dispatch(this.player, "harness PING -f");
+        this.commandMap.dispatch(this.player, "harness warp Alice");
+        assertEquals(Arrays.asList("harness warp xxxxxx-xxxx.0", "harness warp xxx xxxxx", "harness PING -f",
+                                   "harness warp #1"), readLines());
+    }
+
+    @Test
+    public void completedPrefixIsOnlyKeptForSubCommands() throws Exception {
+        this.commandMap.tabComplete(this.player, "harness wa");
+        this.commandMap.tabComplete(this.player, "harness Mal");
+        this.commandMap.tabComplete(this.player, "harness warp Al");
+        this.commandMap.tabComplete(this.player, "strict p");
+        assertEquals(Arrays.asList("complete harness wa", "complete harness xxx", "complete harness warp xx",
+                                   "complete strict p"), readLines());
+    }
+
+    @Test
+    public void filteredCommandsAreNotRecorded() throws Exception {
+        this.recorder.setFilter(TrafficFilter.except("harness.warp", "strict"));
+        this.commandMap.dispatch(this.player, "harness warp spawn");
+        this.commandMap.dispatch(this.player, "strict ping");
+        this.commandMap.tabComplete(this.player, "harness warp s");
+        this.commandMap.dispatch(this.player, "harness ping");
+        assertEquals(Arrays.asList("harness ping"), readLines());
+    }
+}
@@ -0,0 +1,199 @@
+package com.not2excel.api.harness;
+
+import com.not2excel.api.command.metrics.LatencyHistogram;
+import com.not2excel.api.command.replay.SenderType;
+import com.not2excel.api.command.replay.TrafficEvent;
+import com.not2excel.api.command.replay.TrafficReader;
+import org.bukkit.command.BlockCommandSender;
+import org.bukkit.command.CommandMap;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.command.RemoteConsoleCommandSender;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feeds a trace recorded by a {@link com.not2excel.api.command.replay.TrafficRecorder} to a {@link HeadlessServer}.
+ * The events run on the calling thread in the order they were recorded, each in the tick its time falls in, so a
+ * replay is the same every time. Between events the replayer waits as long as the recording did, divided by the {@link
+ * #speed(double) speed}.
+ * <p>
+ * Sender {@code n} of the trace is replayed by the simulated player {@code player<n>} with the permissions it had when
+ * the event was recorded, arguments that were the name of a sender get the name of its player.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings("WeakerAccess")
+public final class TrafficReplayer {
+
+    /**
+     * Replay without waiting between events
+     */
+    public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+
+    private static final long MICROS_PER_TICK = TimeUnit.MILLISECONDS.toMicros(50);
+
+    private final HeadlessServer server;
+    private final Map<Integer, Sender> senders = new HashMap<>();
+    private double speed = 1;
+
+    public TrafficReplayer(final HeadlessServer server) {
+        this.server = server;
+    }
+
+    /**
+     * @param speed
+     *     How much faster than recorded to replay, {@code 1} for the original speed or {@link #MAX_SPEED}
+     *
+     * @return This replayer
+     */
+    public TrafficReplayer speed(final double speed) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("The speed must be positive");
+        }
+        this.speed = speed;
+        return this;
+    }
+
+    /**
+     * @param trace
+     *     The trace to replay
+     *
+     * @return What happened during the replay, the time of waiting between events does not count for the ticks
+     *
+     * @throws IOException
+     *     If the trace cannot be read
+     */
+    public LoadReport replay(final File trace) throws IOException {
+        final CommandMap commandMap = this.server.getCommandMap();
+        final VirtualScheduler scheduler = this.server.getVirtualScheduler();
+        final LatencyHistogram commandLatency = new LatencyHistogram();
+        final LatencyHistogram completionLatency = new LatencyHistogram();
+        final LatencyHistogram tickTimes = new LatencyHistogram();
+        long overBudget = 0;
+        long errors = 0;
+        Throwable lastError = null;
+        int ticks = 0;
+        long tickTime = 0;
+
+        final long start = System.nanoTime();
+        try (TrafficReader reader = new TrafficReader(trace)) {
+            while (reader.hasNext()) {
+                final TrafficEvent event = reader.next();
+                for (final long tick = event.getTime() / MICROS_PER_TICK; ticks < tick; ticks++) {
+                    tickTime += scheduler.tick();
+                    tickTimes.record(tickTime);
+                    if (tickTime > VirtualScheduler.TICK_BUDGET) {
+                        overBudget++;
+                    }
+                    tickTime = 0;
+                }
+                waitFor(start, event.getTime());
+                final CommandSender sender = getSender(event);
+                final String line = event.getLine(this::getName);
+                final long opStart = System.nanoTime();
+                try {
+                    if (event.isCompletion()) {
+                        commandMap.tabComplete(sender, line);
+                    }
+                    else {
+                        commandMap.dispatch(sender, line);
+                    }
+                } catch (final RuntimeException e) {
+                    errors++;
+                    lastError = e;
+                }
+                final long opTime = System.nanoTime() - opStart;
+                (event.isCompletion() ? completionLatency : commandLatency).record(opTime);
+                tickTime += opTime;
+            }
+        }
+        tickTime += scheduler.tick();
+        tickTimes.record(tickTime);
+        if (tickTime > VirtualScheduler.TICK_BUDGET) {
+            overBudget++;
+        }
+        return new LoadReport(ticks + 1, System.nanoTime() - start, commandLatency, completionLatency, tickTimes,
+                              overBudget, errors, lastError);
+    }
+
+    private void waitFor(final long start, final long time) {
+        if (this.speed == MAX_SPEED) {
+            return;
+        }
+        final long deadline = start + (long) (TimeUnit.MICROSECONDS.toNanos(time) / this.speed);
+        for (long left = deadline - System.nanoTime(); left > 0; left = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(left);
+        }
+    }
+
+    private String getName(final int senderId) {
+        final Sender sender = this.senders.get(senderId);
+        if (sender != null) {
+            return sender.player.getName();
+        }
+        //the name of a player that was online but did not issue commands
+        final String name = "player" + senderId;
+        if (this.server.getSimulatedPlayer(name) == null) {
+            this.server.addPlayer(name);
+        }
+        return name;
+    }
+
+    private CommandSender getSender(final TrafficEvent event) {
+        Sender sender = this.senders.get(event.getSenderId());
+        if (sender == null) {
+            sender = new Sender(createSender(event.getSenderType(), event.getSenderId()), event.getSenderType());
+            this.senders.put(event.getSenderId(), sender);
+        }
+        if (sender.profileId != event.getProfileId()) {
+            sender.player.setPermissions(event.getPermissions());
+            sender.profileId = event.getProfileId();
+        }
+        return sender.sender;
+    }
+
+    private SimulatedPlayer createSender(final SenderType type, final int senderId) {
+        if (type == SenderType.PLAYER) {
+            return this.server.addPlayer("player" + senderId);
+        }
+        final SimulatedPlayer sender = new SimulatedPlayer(this.server, type == SenderType.CONSOLE ? "CONSOLE" :
+                                                                        type.name().toLowerCase() + senderId);
+        sender.setOp(type == SenderType.CONSOLE || type == SenderType.REMOTE_CONSOLE);
+        return sender;
+    }
+
+    private static final class Sender {
+
+        private final SimulatedPlayer player;
+        private final CommandSender sender;
+        private int profileId = -1;
+
+        private Sender(final SimulatedPlayer player, final SenderType type) {
+            this.player = player;
+            switch (type) {
+                case PLAYER:
+                    this.sender = player.asPlayer();
+                    break;
+                case CONSOLE:
+                    this.sender = StandIn.of(ConsoleCommandSender.class, player);
+                    break;
+                case REMOTE_CONSOLE:
+                    this.sender = StandIn.of(RemoteConsoleCommandSender.class, player);
+                    break;
+                case COMMAND_BLOCK:
+                    this.sender = StandIn.of(BlockCommandSender.class, player);
+                    break;
+                default:
+                    this.sender = StandIn.of(CommandSender.class, player);
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.not2excel.api.harness;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The scheduler of the {@link HeadlessServer}. Time does not pass on its own, the test decides when a tick happens by
+ * calling {@link #tick()}, which runs the sync tasks that are due on the calling thread. That thread is the main thread
+ * of the server from then on, see {@link #isPrimaryThread()}.
+ * <p>
+ * Async tasks run on a pool of daemon threads. Unlike on a real server an async task without a delay starts at once
+ * instead of on the next tick, delayed and repeating async tasks are started by the tick they are due at.
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class VirtualScheduler {
+
+    /**
+     * How long a tick may take on a server that runs at 20 ticks per second
+     */
+    public static final long TICK_BUDGET = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final Comparator<VirtualTask> ORDER =
+        Comparator.comparingLong(VirtualTask::getNextRun).thenComparingInt(VirtualTask::getTaskId);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicInteger ids = new AtomicInteger();
+    private final Map<Integer, VirtualTask> tasks = new ConcurrentHashMap<>();
+    private final PriorityQueue<VirtualTask> pending = new PriorityQueue<>(ORDER);
+    private final Set<Integer> running = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger asyncActive = new AtomicInteger();
+    private final LongAdder failures = new LongAdder();
+    private final ExecutorService async;
+    private volatile long currentTick;
+    private volatile Thread primaryThread = Thread.currentThread();
+    private volatile Throwable lastFailure;
+
+    VirtualScheduler() {
+        final AtomicInteger threads = new AtomicInteger();
+        this.async = Executors.newCachedThreadPool(task -> {
+            final Thread thread = new Thread(task, "Harness-Async-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Advance the clock by one tick and run the sync tasks that are due
+     *
+     * @return How long running the tasks took in nanoseconds
+     */
+    public long tick() {
+        this.primaryThread = Thread.currentThread();
+        final long start = System.nanoTime();
+        final long tick = ++this.currentTick;
+        while (true) {
+            final VirtualTask task;
+            synchronized (this.pending) {
+                task = this.pending.peek();
+                if (task == null || task.getNextRun() > tick) {
+                    break;
+                }
+                this.pending.poll();
+            }
+            if (task.isCancelled()) {
+                continue;
+            }
+            if (task.isSync()) {
+                run(task);
+            }
+            else {
+                submit(task);
+            }
+            if (task.getPeriod() > 0 && !task.isCancelled()) {
+                task.setNextRun(tick + task.getPeriod());
+                synchronized (this.pending) {
+                    this.pending.add(task);
+                }
+            }
+            else if (task.isSync()) {
+                this.tasks.remove(task.getTaskId());
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * @param ticks
+     *     How many ticks to advance the clock by
+     *
+     * @return How long running the tasks took in nanoseconds
+     */
+    public long tick(final int ticks) {
+        long time = 0;
+        for (int i = 0; i < ticks; i++) {
+            time += tick();
+        }
+        return time;
+    }
+
+    /**
+     * Wait until no async task is running
+     *
+     * @param timeout
+     *     The maximum time to wait in milliseconds
+     *
+     * @return If every async task finished before the timeout
+     */
+    public boolean awaitAsync(final long timeout) {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        while (this.asyncActive.get() > 0) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        return true;
+    }
+
+    private void run(final VirtualTask task) {
+        this.running.add(task.getTaskId());
+        try {
+            task.getTask().run();
+        } catch (final Throwable e) {
+            this.failures.increment();
+            this.lastFailure = e;
+        } finally {
+            this.running.remove(task.getTaskId());
+        }
+    }
+
+    private void submit(final VirtualTask task) {
+        this.asyncActive.incrementAndGet();
+        this.async.execute(() -> {
+            try {
+                run(task);
+            } finally {
+                if (task.getPeriod() == 0) {
+                    this.tasks.remove(task.getTaskId());
+                }
+                this.asyncActive.decrementAndGet();
+            }
+        });
+    }
+
+    private VirtualTask schedule(final Plugin plugin, final Runnable runnable, final boolean sync, final long delay,
+                                 final long period) {
+        //like on a real server a sync task runs on the next tick at the earliest
+        final long nextRun = this.currentTick + Math.max(sync ? 1 : 0, delay);
+        final VirtualTask task =
+            new VirtualTask(this, this.ids.incrementAndGet(), plugin, runnable, sync, nextRun, period);
+        this.tasks.put(task.getTaskId(), task);
+        if (!sync && delay <= 0) {
+            submit(task);
+            if (period > 0) {
+                task.setNextRun(this.currentTick + period);
+                synchronized (this.pending) {
+                    this.pending.add(task);
+                }
+            }
+        }
+        else {
+            synchronized (this.pending) {
+                this.pending.add(task);
+            }
+        }
+        return task;
+    }
+
+    public int scheduleSyncDelayedTask(final Plugin plugin, final Runnable task, final long delay) {
+        return runTaskLater(plugin, task, delay).getTaskId();
+    }
+
+    public int scheduleSyncDelayedTask(final Plugin plugin, final Runnable task) {
+        return runTask(plugin, task).getTaskId();
+    }
+
+    public int scheduleSyncRepeatingTask(final Plugin plugin, final Runnable task, final long delay,
+                                         final long period) {
+        return runTaskTimer(plugin, task, delay, period).getTaskId();
+    }
+
+    public <T> Future<T> callSyncMethod(final Plugin plugin, final Callable<T> task) {
+        final FutureTask<T> future = new FutureTask<>(task);
+        runTask(plugin, future);
+        return future;
+    }
+
+    public BukkitTask runTask(final Plugin plugin, final Runnable task) {
+        return schedule(plugin, task, true, 0, 0);
+    }
+
+    public BukkitTask runTaskLater(final Plugin plugin, final Runnable task, final long delay) {
+        return schedule(plugin, task, true, delay, 0);
+    }
+
+    public BukkitTask runTaskTimer(final Plugin plugin, final Runnable task, final long delay, final long period) {
+        return schedule(plugin, task, true, delay, Math.max(1, period));
+    }
+
+    public BukkitTask runTaskAsynchronously(final Plugin plugin, final Runnable task) {
+        return schedule(plugin, task, false, 0, 0);
+    }
+
+    public BukkitTask runTaskLaterAsynchronously(final Plugin plugin, final Runnable task, final long delay) {
+        return schedule(plugin, task, false, delay, 0);
+    }
+
+    public BukkitTask runTaskTimerAsynchronously(final Plugin plugin, final Runnable task, final long delay,
+                                                 final long period) {
+        return schedule(plugin, task, false, delay, Math.max(1, period));
+    }
+
+    public void cancelTask(final int id) {
+        final VirtualTask task = this.tasks.remove(id);
+        if (task != null) {
+            task.setCancelled();
+            synchronized (this.pending) {
+                this.pending.remove(task);
+            }
+        }
+    }
+
+    public void cancelTasks(final Plugin plugin) {
+        for (final VirtualTask task : this.tasks.values()) {
+            if (task.getOwner() == plugin) {
+                cancelTask(task.getTaskId());
+            }
+        }
+    }
+
+    public void cancelAllTasks() {
+        for (final Integer id : this.tasks.keySet()) {
+            cancelTask(id);
+        }
+    }
+
+    public boolean isCurrentlyRunning(final int id) {
+        return this.running.contains(id);
+    }
+
+    public boolean isQueued(final int id) {
+        final VirtualTask task = this.tasks.get(id);
+        return task != null && !task.isCancelled();
+    }
+
+    public List<BukkitTask> getPendingTasks() {
+        return new ArrayList<>(this.tasks.values());
+    }
+
+    /**
+     * Cancel every task and start the clock over, async tasks that are running are not waited for
+     */
+    public void reset() {
+        cancelAllTasks();
+        this.currentTick = 0;
+        this.failures.reset();
+        this.lastFailure = null;
+    }
+
+    /**
+     * @return If the calling thread is the one that runs the ticks
+     */
+    public boolean isPrimaryThread() {
+        return Thread.currentThread() == this.primaryThread;
+    }
+
+    /**
+     * @return How many ticks have passed
+     */
+    public long getCurrentTick() {
+        return this.currentTick;
+    }
+
+    /**
+     * @return How many tasks threw an exception
+     */
+    public long getFailureCount() {
+        return this.failures.sum();
+    }
+
+    /**
+     * @return The last exception a task threw, {@code null} if none did
+     */
+    public Throwable getLastFailure() {
+        return this.lastFailure;
+    }
+}
@@ -0,0 +1,89 @@
+package com.not2excel.api.harness;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * A task of the {@link VirtualScheduler}
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public final class VirtualTask implements BukkitTask {
+
+    private final VirtualScheduler scheduler;
+    private final int id;
+    private final Plugin owner;
+    private final Runnable task;
+    private final boolean sync;
+    private final long period;
+    private volatile long nextRun;
+    private volatile boolean cancelled;
+
+    VirtualTask(final VirtualScheduler scheduler, final int id, final Plugin owner, final Runnable task,
+                final boolean sync, final long nextRun, final long period) {
+        this.scheduler = scheduler;
+        this.id = id;
+        this.owner = owner;
+        this.task = task;
+        this.sync = sync;
+        this.nextRun = nextRun;
+        this.period = period;
+    }
+
+    @Override
+    public int getTaskId() {
+        return this.id;
+    }
+
+    @Override
+    public Plugin getOwner() {
+        return this.owner;
+    }
+
+    @Override
+    public boolean isSync() {
+        return this.sync;
+    }
+
+    @Override
+    public void cancel() {
+        this.scheduler.cancelTask(this.id);
+    }
+
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * @return The tick the task runs at next
+     */
+    public long getNextRun() {
+        return this.nextRun;
+    }
+
+    /**
+     * @return How many ticks there are between two runs, {@code 0} if the task runs once
+     */
+    public long getPeriod() {
+        return this.period;
+    }
+
+    Runnable getTask() {
+        return this.task;
+    }
+
+    void setNextRun(final long nextRun) {
+        this.nextRun = nextRun;
+    }
+
+    void setCancelled() {
+        this.cancelled = true;
+    }
+
+    @Override
+    public String toString() {
+        return "VirtualTask{id=" + this.id + ", sync=" + this.sync + ", nextRun=" + this.nextRun + ", period=" +
+               this.period + '}';
+    }
+}
@@ -0,0 +1,101 @@
+package com.not2excel.api.logging;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Many producers and one consumer on a buffer that is small enough to be full most of the time
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class LogRingBufferTest {
+
+    private static final int PRODUCERS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int ENTRIES = 50000;
+
+    @Test
+    public void capacityIsRoundedUp() {
+        assertEquals(8, new LogRingBuffer(5).getCapacity());
+        assertEquals(8, new LogRingBuffer(8).getCapacity());
+    }
+
+    @Test
+    public void fullBufferRefusesEntries() {
+        final LogRingBuffer buffer = new LogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i, "Info", i, false));
+        }
+        assertFalse(buffer.offer(4, "Info", 4, false));
+        buffer.release(buffer.peek());
+        assertTrue(buffer.offer(4, "Info", 4, false));
+        assertEquals(5, buffer.getProduced());
+        assertEquals(1, buffer.getConsumed());
+    }
+
+    @Test
+    public void entriesOfEachProducerAreConsumedInOrderAndNoneAreLost() throws InterruptedException {
+        final LogRingBuffer buffer = new LogRingBuffer(64);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread[] producers = new Thread[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            final Integer producer = p;
+            producers[p] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < ENTRIES; i++) {
+                        while (!buffer.offer(i, producer, i, false)) {
+                            Thread.yield();
+                        }
+                    }
+                } catch (final Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "Producer-" + p);
+            producers[p].start();
+        }
+
+        final int[] next = new int[PRODUCERS];
+        final long total = (long) PRODUCERS * ENTRIES;
+        start.countDown();
+        for (long consumed = 0; consumed < total; ) {
+            final LogRingBuffer.Entry entry = buffer.peek();
+            if (entry == null) {
+                if (failure.get() != null) {
+                    break;
+                }
+                Thread.yield();
+                continue;
+            }
+            final int producer = (Integer) entry.type;
+            if ((Integer) entry.data != next[producer] || entry.time != next[producer]) {
+                fail("Producer " + producer + " sent entry " + next[producer] + " next, but " + entry.data +
+                     " was consumed");
+            }
+            next[producer]++;
+            buffer.release(entry);
+            consumed++;
+        }
+        for (final Thread producer : producers) {
+            producer.join();
+        }
+
+        assertNull(failure.get());
+        for (int p = 0; p < PRODUCERS; p++) {
+            assertEquals(ENTRIES, next[p]);
+        }
+        assertTrue(buffer.isEmpty());
+        assertNull(buffer.peek());
+        assertEquals(total, buffer.getProduced());
+        assertEquals(total, buffer.getConsumed());
+    }
+}
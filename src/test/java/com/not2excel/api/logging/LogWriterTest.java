@@ -0,0 +1,117 @@
+package com.not2excel.api.logging;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Callers blocked by a full buffer are woken when there is room again, and the background thread wakes up for entries
+ * submitted while it sleeps
+ *
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class LogWriterTest {
+
+    private static final int PRODUCERS = 4;
+
+    private final LogWriter writer = LogWriter.getInstance();
+    private ByteArrayOutputStream written;
+
+    @Before
+    public void setUp() {
+        this.writer.flush(5000);
+        this.written = new ByteArrayOutputStream();
+        this.writer.setOut(new PrintStream(this.written, true));
+    }
+
+    @After
+    public void tearDown() {
+        this.writer.flush(5000);
+        this.writer.setOverflowPolicy(OverflowPolicy.DROP);
+        this.writer.setOut(System.out);
+    }
+
+    private int countLines(final String type) {
+        int count = 0;
+        for (final String line : this.written.toString().split(System.lineSeparator())) {
+            if (line.startsWith('[' + type + ']')) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void sleepingWriterWakesUp() throws InterruptedException {
+        //give the background thread time to fall asleep
+        this.writer.submit("Wake", "first", false);
+        assertTrue(this.writer.flush(5000));
+        Thread.sleep(50);
+        this.writer.submit("Wake", "second", false);
+        assertTrue(this.writer.flush(1000));
+        assertEquals(2, countLines("Wake"));
+    }
+
+    @Test
+    public void dataThatFailsToFormatDoesNotStopTheWriter() {
+        this.writer.setOverflowPolicy(OverflowPolicy.BLOCK);
+        final Object broken = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("modified while logged");
+            }
+        };
+        //more than fit in the buffer, so a caller blocks if the entries are not released
+        for (int i = 0; i < this.writer.getCapacity() + 10; i++) {
+            assertTrue(this.writer.submit("Broken", broken, false));
+        }
+        this.writer.submit("After", "still written", false);
+        assertTrue(this.writer.flush(5000));
+        assertEquals(this.writer.getCapacity() + 10, countLines(LogType.ERROR.getLevel()));
+        assertEquals(1, countLines("After"));
+    }
+
+    @Test
+    public void blockedCallersLoseNothing() throws InterruptedException {
+        this.writer.setOverflowPolicy(OverflowPolicy.BLOCK);
+        final int entries = this.writer.getCapacity() * 2;
+        final long dropped = this.writer.getDroppedCount();
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread[] producers = new Thread[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            producers[p] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < entries; i++) {
+                        assertTrue(this.writer.submit("Block", i, false));
+                    }
+                } catch (final Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "Producer-" + p);
+            producers[p].start();
+        }
+        start.countDown();
+        for (final Thread producer : producers) {
+            producer.join(30000);
+            assertFalse("A caller is still blocked", producer.isAlive());
+        }
+
+        assertNull(failure.get());
+        assertTrue(this.writer.flush(5000));
+        assertEquals(dropped, this.writer.getDroppedCount());
+        assertEquals(PRODUCERS * entries, countLines("Block"));
+    }
+}
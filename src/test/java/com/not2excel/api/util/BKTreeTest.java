@@ -0,0 +1,86 @@
+package com.not2excel.api.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class BKTreeTest {
+
+    private static BKTree of(final String... words) {
+        final BKTree tree = new BKTree();
+        for (final String word : words) {
+            tree.add(word);
+        }
+        return tree;
+    }
+
+    @Test
+    public void emptyTreeHasNoSuggestions() {
+        assertTrue(new BKTree().closest("warp", 2).isEmpty());
+    }
+
+    @Test
+    public void findsTheClosestWords() {
+        final BKTree tree = of("warp", "ward", "set", "spawn", "home");
+        assertEquals(Arrays.asList("ward", "warp"), tree.closest("war", 2));
+        assertEquals(Collections.singletonList("spawn"), tree.closest("spwan", 2));
+        assertEquals(Collections.singletonList("home"), tree.closest("hmoe", 2));
+        assertTrue(tree.closest("teleport", 2).isEmpty());
+    }
+
+    @Test
+    public void ignoresCase() {
+        final BKTree tree = of("Warp", "set");
+        assertEquals(Collections.singletonList("warp"), tree.closest("WARQ", 1));
+        //an exact match is not a suggestion, whatever its case
+        assertTrue(tree.closest("SET", 2).isEmpty());
+        assertEquals(1, of("set", "SET", "Set").size());
+    }
+
+    @Test
+    public void filterHidesWords() {
+        final BKTree tree = of("warp", "ward");
+        assertEquals(Collections.singletonList("ward"), tree.closest("war", 2, word -> !"warp".equals(word)));
+        //a closer word that is filtered out does not hide a farther one
+        assertEquals(Collections.singletonList("ward"), tree.closest("warp1", 2, word -> !"warp".equals(word)));
+        assertTrue(tree.closest("war", 2, word -> false).isEmpty());
+    }
+
+    @Test
+    public void agreesWithComparingEveryWord() {
+        final Random random = new Random(42);
+        final String[] words = new String[300];
+        final BKTree tree = new BKTree();
+        for (int i = 0; i < words.length; i++) {
+            words[i] = randomWord(random);
+            tree.add(words[i]);
+        }
+        for (int i = 0; i < 200; i++) {
+            final String input = randomWord(random);
+            int best = 3;
+            for (final String word : words) {
+                best = Math.min(best, StringUtil.levenshtein(word, input, 2));
+            }
+            final int found = tree.closest(input, 2).isEmpty() ? 3 :
+                              StringUtil.levenshtein(tree.closest(input, 2).get(0), input, 2);
+            assertEquals(input, best == 0 ? 3 : best, found);
+        }
+    }
+
+    private static String randomWord(final Random random) {
+        final char[] chars = new char[3 + random.nextInt(4)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,38 @@
+package com.not2excel.api.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author kh498
+ * @since 10/19/26 All rights Reserved Please read included LICENSE file
+ */
+public class StringUtilTest {
+
+    @Test
+    public void levenshteinCountsEdits() {
+        assertEquals(0, StringUtil.levenshtein("warp", "warp", Integer.MAX_VALUE));
+        assertEquals(1, StringUtil.levenshtein("warp", "wrp", Integer.MAX_VALUE));
+        assertEquals(1, StringUtil.levenshtein("warp", "warq", Integer.MAX_VALUE));
+        assertEquals(1, StringUtil.levenshtein("warp", "warps", Integer.MAX_VALUE));
+        assertEquals(2, StringUtil.levenshtein("warp", "wpar", Integer.MAX_VALUE));
+        assertEquals(3, StringUtil.levenshtein("kitten", "sitting", Integer.MAX_VALUE));
+        assertEquals(4, StringUtil.levenshtein("", "warp", Integer.MAX_VALUE));
+        assertEquals(4, StringUtil.levenshtein("warp", "", Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void levenshteinIsCaseSensitive() {
+        assertEquals(3, StringUtil.levenshtein("SET", "set", Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void levenshteinGivesUpOverMax() {
+        assertEquals(3, StringUtil.levenshtein("kitten", "sitting", 3));
+        assertEquals(3, StringUtil.levenshtein("kitten", "sitting", 2));
+        //the lengths alone are too far apart
+        assertEquals(2, StringUtil.levenshtein("a", "abcdef", 1));
+        assertEquals(0, StringUtil.levenshtein("same", "same", 0));
+    }
+}